@@ -9,9 +9,11 @@ import java.util.TimeZone;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ConfigurationPropertiesScan
+@EnableScheduling
 @OpenAPIDefinition(
     info = @Info(title = "Craftify API", version = "v1"),
     servers = {@Server(url = "http://localhost:8080")})
@@ -0,0 +1,43 @@
+package com.craftify.backend.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "craftify.boms.import")
+public class BomImportProperties {
+
+  /**
+   * BOMs written per transaction by file imports. A chunk that fails is retried BOM by BOM so the
+   * offending ones can be reported.
+   */
+  @Min(1)
+  @Max(10_000)
+  private int chunkSize = 200;
+
+  /**
+   * Temporary files a CSV import that is not grouped by BOM ID is split into; each one is grouped
+   * in memory on its own, so this bounds the rows held at once to about 1/n of the file.
+   */
+  @Min(1)
+  @Max(1024)
+  private int spillPartitions = 64;
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  public int getSpillPartitions() {
+    return spillPartitions;
+  }
+
+  public void setSpillPartitions(int spillPartitions) {
+    this.spillPartitions = spillPartitions;
+  }
+}
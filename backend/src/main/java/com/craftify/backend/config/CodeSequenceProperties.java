@@ -0,0 +1,36 @@
+package com.craftify.backend.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "craftify.codes")
+public class CodeSequenceProperties {
+
+  /** How many codes a node reserves per round trip to code_sequences. */
+  @Min(1)
+  @Max(10000)
+  private int blockSize = 20;
+
+  /** How many (owner, prefix) blocks a node keeps; the least recently used is dropped first. */
+  @Min(1)
+  private int maxBlocks = 10000;
+
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  public void setBlockSize(int blockSize) {
+    this.blockSize = blockSize;
+  }
+
+  public int getMaxBlocks() {
+    return maxBlocks;
+  }
+
+  public void setMaxBlocks(int maxBlocks) {
+    this.maxBlocks = maxBlocks;
+  }
+}
@@ -0,0 +1,27 @@
+package com.craftify.backend.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "craftify.exports")
+public class ExportProperties {
+
+  /**
+   * Rows fetched from the database cursor per round trip by streaming exports; also the number of
+   * entities held in memory at a time.
+   */
+  @Min(10)
+  @Max(10_000)
+  private int fetchSize = 500;
+
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  public void setFetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+}
@@ -0,0 +1,111 @@
+package com.craftify.backend.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "craftify.imports")
+public class ImportJobProperties {
+
+  /** Imports processed at the same time on this node. */
+  @Min(1)
+  @Max(64)
+  private int workers = 2;
+
+  /** Accepted imports waiting for a worker; further uploads are refused with 503. */
+  @Min(0)
+  @Max(10_000)
+  private int queueCapacity = 20;
+
+  /** Directory that holds uploads until their job has finished. */
+  @NotBlank private String storageDir = System.getProperty("java.io.tmpdir") + "/craftify-imports";
+
+  /** How often a running job writes its progress and checks for cancellation. */
+  @NotNull private Duration progressInterval = Duration.ofSeconds(1);
+
+  /** How often this node refreshes the heartbeat of the jobs it holds. */
+  @NotNull private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+  /**
+   * A queued or running job whose heartbeat is older than this lost its node and is failed. Must be
+   * comfortably longer than {@link #heartbeatInterval}.
+   */
+  @NotNull private Duration staleAfter = Duration.ofMinutes(2);
+
+  /** How long shutdown waits for running jobs to reach a chunk boundary and stop. */
+  @NotNull private Duration shutdownTimeout = Duration.ofSeconds(30);
+
+  /** Row errors kept on a job; the total is always counted. */
+  @Min(0)
+  @Max(100_000)
+  private int maxStoredErrors = 1000;
+
+  public int getWorkers() {
+    return workers;
+  }
+
+  public void setWorkers(int workers) {
+    this.workers = workers;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public String getStorageDir() {
+    return storageDir;
+  }
+
+  public void setStorageDir(String storageDir) {
+    this.storageDir = storageDir;
+  }
+
+  public Duration getProgressInterval() {
+    return progressInterval;
+  }
+
+  public void setProgressInterval(Duration progressInterval) {
+    this.progressInterval = progressInterval;
+  }
+
+  public Duration getHeartbeatInterval() {
+    return heartbeatInterval;
+  }
+
+  public void setHeartbeatInterval(Duration heartbeatInterval) {
+    this.heartbeatInterval = heartbeatInterval;
+  }
+
+  public Duration getStaleAfter() {
+    return staleAfter;
+  }
+
+  public void setStaleAfter(Duration staleAfter) {
+    this.staleAfter = staleAfter;
+  }
+
+  public Duration getShutdownTimeout() {
+    return shutdownTimeout;
+  }
+
+  public void setShutdownTimeout(Duration shutdownTimeout) {
+    this.shutdownTimeout = shutdownTimeout;
+  }
+
+  public int getMaxStoredErrors() {
+    return maxStoredErrors;
+  }
+
+  public void setMaxStoredErrors(int maxStoredErrors) {
+    this.maxStoredErrors = maxStoredErrors;
+  }
+}
@@ -0,0 +1,43 @@
+package com.craftify.backend.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "craftify.items.batch")
+public class ItemBatchProperties {
+
+  /**
+   * Rows written per transaction by bulk item writes; 0 writes the whole request in one
+   * transaction, so it either applies completely or not at all.
+   */
+  @Min(0)
+  @Max(100_000)
+  private int chunkSize = 0;
+
+  /**
+   * Rows written per transaction by file imports. A chunk that fails is retried row by row so the
+   * offending rows can be reported.
+   */
+  @Min(1)
+  @Max(100_000)
+  private int importChunkSize = 1000;
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  public int getImportChunkSize() {
+    return importChunkSize;
+  }
+
+  public void setImportChunkSize(int importChunkSize) {
+    this.importChunkSize = importChunkSize;
+  }
+}
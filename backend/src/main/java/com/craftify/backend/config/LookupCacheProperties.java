@@ -0,0 +1,37 @@
+package com.craftify.backend.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "craftify.cache.lookups")
+public class LookupCacheProperties {
+
+  /** Upper bound of cached codes per lookup cache (items, BOMs), across all owners. */
+  @Min(0)
+  @Max(1_000_000)
+  private int maxEntries = 10_000;
+
+  /** How long an entry may be served before it is reloaded even if its version still matches. */
+  @NotNull private Duration ttl = Duration.ofMinutes(10);
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public void setMaxEntries(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  public Duration getTtl() {
+    return ttl;
+  }
+
+  public void setTtl(Duration ttl) {
+    this.ttl = ttl;
+  }
+}
@@ -0,0 +1,60 @@
+package com.craftify.backend.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "craftify.uploads")
+public class UploadProperties {
+
+  /** Chunk size used when the client does not ask for one. */
+  @Min(64 * 1024)
+  @Max(64 * 1024 * 1024)
+  private int defaultChunkSize = 8 * 1024 * 1024;
+
+  /** Largest file a resumable upload may announce. */
+  @Min(1)
+  private long maxFileSize = 1024L * 1024 * 1024;
+
+  /** How long an unfinished upload is kept after it was started. */
+  @NotNull private Duration ttl = Duration.ofHours(24);
+
+  /** How often expired uploads are removed. */
+  @NotNull private Duration cleanupInterval = Duration.ofHours(1);
+
+  public int getDefaultChunkSize() {
+    return defaultChunkSize;
+  }
+
+  public void setDefaultChunkSize(int defaultChunkSize) {
+    this.defaultChunkSize = defaultChunkSize;
+  }
+
+  public long getMaxFileSize() {
+    return maxFileSize;
+  }
+
+  public void setMaxFileSize(long maxFileSize) {
+    this.maxFileSize = maxFileSize;
+  }
+
+  public Duration getTtl() {
+    return ttl;
+  }
+
+  public void setTtl(Duration ttl) {
+    this.ttl = ttl;
+  }
+
+  public Duration getCleanupInterval() {
+    return cleanupInterval;
+  }
+
+  public void setCleanupInterval(Duration cleanupInterval) {
+    this.cleanupInterval = cleanupInterval;
+  }
+}
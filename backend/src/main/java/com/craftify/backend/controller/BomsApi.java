@@ -88,7 +88,15 @@ public interface BomsApi {
           @Valid
           @RequestParam(value = "status", required = false)
           @Nullable
-          BomStatus status) {
+          BomStatus status,
+      @Parameter(
+              name = "after",
+              description = "Opaque cursor from a previous page's nextCursor; enables keyset paging",
+              in = ParameterIn.QUERY)
+          @Valid
+          @RequestParam(value = "after", required = false)
+          @Nullable
+          String after) {
     getRequest()
         .ifPresent(
             request -> {
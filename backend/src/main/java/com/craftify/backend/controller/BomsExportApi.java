@@ -17,8 +17,10 @@ import jakarta.annotation.Nullable;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Validated
 @Tag(name = "BOMs", description = "the BOMs API")
@@ -49,7 +51,7 @@ public interface BomsExportApi {
       method = RequestMethod.GET,
       value = PATH_BOMS_EXPORT_GET,
       produces = {"text/csv"})
-  default ResponseEntity<org.springframework.core.io.Resource> bomsExportGet(
+  default ResponseEntity<StreamingResponseBody> bomsExportGet(
       @Parameter(name = "q", in = ParameterIn.QUERY)
           @Valid
           @RequestParam(value = "q", required = false)
@@ -67,7 +69,27 @@ public interface BomsExportApi {
           @Valid
           @RequestParam(value = "ids", required = false)
           @Nullable
-          String ids) {
+          String ids,
+      @Parameter(
+              name = "mode",
+              description = "stream (default), or file to render the whole file before answering",
+              in = ParameterIn.QUERY)
+          @Valid
+          @RequestParam(value = "mode", required = false)
+          @Nullable
+          String mode,
+      @Parameter(
+              name = "compression",
+              description = "gzip or zstd for a compressed file; none to disable negotiation",
+              in = ParameterIn.QUERY)
+          @Valid
+          @RequestParam(value = "compression", required = false)
+          @Nullable
+          String compression,
+      @Parameter(name = "Accept-Encoding", in = ParameterIn.HEADER)
+          @RequestHeader(value = "Accept-Encoding", required = false)
+          @Nullable
+          String acceptEncoding) {
     return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
   }
 }
@@ -24,8 +24,10 @@ import jakarta.annotation.Nullable;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Validated
 @Tag(name = "Items", description = "the Items API")
@@ -45,6 +47,9 @@ public interface ItemsExportApi {
    * @param categoryId (optional)
    * @param uom Filter by base or additional UoM code (optional)
    * @param ids Optional selection (comma-separated UUIDs) (optional)
+   * @param mode stream (default) or file (optional)
+   * @param compression gzip, zstd or none (optional)
+   * @param acceptEncoding negotiates a transfer encoding when compression is not given (optional)
    * @return CSV stream (status code 200)
    */
   @Operation(
@@ -66,7 +71,7 @@ public interface ItemsExportApi {
       method = RequestMethod.GET,
       value = ItemsExportApi.PATH_ITEMS_EXPORT_GET,
       produces = {"text/csv"})
-  default ResponseEntity<org.springframework.core.io.Resource> itemsExportGet(
+  default ResponseEntity<StreamingResponseBody> itemsExportGet(
       @Parameter(
               name = "q",
               description = "Search by code or name (substring, case-insensitive)",
@@ -101,7 +106,27 @@ public interface ItemsExportApi {
           @Valid
           @RequestParam(value = "ids", required = false)
           @Nullable
-          String ids) {
+          String ids,
+      @Parameter(
+              name = "mode",
+              description = "stream (default), or file to render the whole file before answering",
+              in = ParameterIn.QUERY)
+          @Valid
+          @RequestParam(value = "mode", required = false)
+          @Nullable
+          String mode,
+      @Parameter(
+              name = "compression",
+              description = "gzip or zstd for a compressed file; none to disable negotiation",
+              in = ParameterIn.QUERY)
+          @Valid
+          @RequestParam(value = "compression", required = false)
+          @Nullable
+          String compression,
+      @Parameter(name = "Accept-Encoding", in = ParameterIn.HEADER)
+          @RequestHeader(value = "Accept-Encoding", required = false)
+          @Nullable
+          String acceptEncoding) {
     return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
   }
 }
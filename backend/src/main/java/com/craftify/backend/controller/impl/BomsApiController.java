@@ -6,6 +6,7 @@ import com.craftify.backend.model.BomPage;
 import com.craftify.backend.model.BomQuery;
 import com.craftify.backend.model.BomStatus;
 import com.craftify.backend.service.BomService;
+import com.craftify.backend.service.DataCollection;
 import com.craftify.backend.utils.HttpHeaderVersionUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -13,6 +14,7 @@ import java.net.URI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import jakarta.annotation.Nullable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,9 +25,11 @@ public class BomsApiController implements BomsApi {
   private static final String ERROR_BOM_CODE_CONFLICT = "bom_code_conflict";
 
   private final BomService bomService;
+  private final CollectionEtags collectionEtags;
 
-  public BomsApiController(BomService bomService) {
+  public BomsApiController(BomService bomService, CollectionEtags collectionEtags) {
     this.bomService = bomService;
+    this.collectionEtags = collectionEtags;
   }
 
   @Override
@@ -34,11 +38,18 @@ public class BomsApiController implements BomsApi {
       Integer size,
       @Nullable String sort,
       @Nullable String q,
-      @Nullable BomStatus status) {
-    log.info("GET /boms page={} size={} sort={} q={} status={}", page, size, sort, q, status);
+      @Nullable BomStatus status,
+      @Nullable String after) {
+    log.info(
+        "GET /boms page={} size={} sort={} q={} status={} after={}", page, size, sort, q, status, after);
+    String etag = collectionEtags.current(DataCollection.BOMS);
+    if (collectionEtags.notModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
     BomPage body =
-        bomService.list(new BomQuery(page == null ? 0 : page, size == null ? 8 : size, sort, q, status));
-    return ResponseEntity.ok(body);
+        bomService.list(
+            new BomQuery(page == null ? 0 : page, size == null ? 8 : size, sort, q, status, after));
+    return ResponseEntity.ok().eTag(etag).cacheControl(CollectionEtags.CACHE_CONTROL).body(body);
   }
 
   @Override
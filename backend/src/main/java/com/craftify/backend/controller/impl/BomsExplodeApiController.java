@@ -0,0 +1,30 @@
+package com.craftify.backend.controller.impl;
+
+import com.craftify.backend.model.BomExplosion;
+import com.craftify.backend.service.BomExplosionService;
+import jakarta.annotation.Nullable;
+import java.math.BigDecimal;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class BomsExplodeApiController {
+
+  private final BomExplosionService bomExplosionService;
+
+  public BomsExplodeApiController(BomExplosionService bomExplosionService) {
+    this.bomExplosionService = bomExplosionService;
+  }
+
+  @GetMapping(
+      value = "/boms/{id}:explode",
+      produces = {"application/json", "application/problem+json"})
+  public ResponseEntity<BomExplosion> bomsIdExplodeGet(
+      @PathVariable("id") String id,
+      @RequestParam(value = "qty", required = false) @Nullable BigDecimal qty) {
+    return ResponseEntity.ok(bomExplosionService.explode(id, qty));
+  }
+}
@@ -3,12 +3,14 @@ package com.craftify.backend.controller.impl;
 import com.craftify.backend.controller.BomsExportApi;
 import com.craftify.backend.model.BomStatus;
 import com.craftify.backend.service.csv.BomsCsvExportService;
+import com.craftify.backend.service.csv.CsvExportOptions;
 import com.craftify.backend.service.csv.CsvExportPayload;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import jakarta.annotation.Nullable;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 public class BomsExportApiController implements BomsExportApi {
@@ -20,13 +22,30 @@ public class BomsExportApiController implements BomsExportApi {
   }
 
   @Override
-  public ResponseEntity<org.springframework.core.io.Resource> bomsExportGet(
-      @Nullable String q, @Nullable BomStatus status, @Nullable String ids) {
-    CsvExportPayload payload = bomsCsvExportService.export(q, status, ids);
-    return ResponseEntity.ok()
-        .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
-        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + payload.filename() + "\"")
-        .header(HttpHeaders.CACHE_CONTROL, "no-store")
-        .body(payload.resource());
+  public ResponseEntity<StreamingResponseBody> bomsExportGet(
+      @Nullable String q,
+      @Nullable BomStatus status,
+      @Nullable String ids,
+      @Nullable String mode,
+      @Nullable String compression,
+      @Nullable String acceptEncoding) {
+    CsvExportPayload payload =
+        bomsCsvExportService.export(
+            q, status, ids, new CsvExportOptions(mode, compression, acceptEncoding));
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(payload.contentType()))
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + payload.filename() + "\"")
+            .header(HttpHeaders.CACHE_CONTROL, "no-store")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (payload.contentEncoding() != null) {
+      response.header(HttpHeaders.CONTENT_ENCODING, payload.contentEncoding());
+    }
+    if (payload.contentLength() >= 0) {
+      response.contentLength(payload.contentLength());
+    }
+    return response.body(payload.body());
   }
 }
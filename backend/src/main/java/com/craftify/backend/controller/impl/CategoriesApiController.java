@@ -6,6 +6,7 @@ import com.craftify.backend.model.CategoryPage;
 import com.craftify.backend.model.CreateCategoryRequest;
 import com.craftify.backend.model.RenameCategoryRequest;
 import com.craftify.backend.service.CategoryService;
+import com.craftify.backend.service.DataCollection;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,6 +14,7 @@ import java.util.Objects;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import jakarta.annotation.Nullable;
 import org.springframework.web.bind.annotation.RestController;
@@ -23,18 +25,25 @@ public class CategoriesApiController implements CategoriesApi {
   private static final Logger log = LoggerFactory.getLogger(CategoriesApiController.class);
 
   private final CategoryService categoryService;
+  private final CollectionEtags collectionEtags;
 
-  public CategoriesApiController(CategoryService categoryService) {
+  public CategoriesApiController(CategoryService categoryService, CollectionEtags collectionEtags) {
     this.categoryService = categoryService;
+    this.collectionEtags = collectionEtags;
   }
 
   @Override
   public ResponseEntity<CategoryPage> categoriesGet(
       Integer page, Integer size, @Nullable String sort, @Nullable String q) {
     log.info("GET /categories page={} size={} sort={} q={}", page, size, sort, q);
-    return ResponseEntity.ok(
+    String etag = collectionEtags.current(DataCollection.CATEGORIES);
+    if (collectionEtags.notModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    CategoryPage body =
         categoryService.list(
-            Objects.requireNonNullElse(page, 0), Objects.requireNonNullElse(size, 8), sort, q));
+            Objects.requireNonNullElse(page, 0), Objects.requireNonNullElse(size, 8), sort, q);
+    return ResponseEntity.ok().eTag(etag).cacheControl(CollectionEtags.CACHE_CONTROL).body(body);
   }
 
   @Override
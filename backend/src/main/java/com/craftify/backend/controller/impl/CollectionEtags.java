@@ -0,0 +1,53 @@
+package com.craftify.backend.controller.impl;
+
+import com.craftify.backend.service.CollectionVersionService;
+import com.craftify.backend.service.CurrentUserService;
+import com.craftify.backend.service.DataCollection;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET support for list endpoints. The ETag is derived from the caller's collection
+ * version and the request's query string only, so a matching {@code If-None-Match} is answered
+ * before the list query runs.
+ */
+@Component
+class CollectionEtags {
+
+  /** Lists are per user and must be revalidated on every use. */
+  static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+  private final CollectionVersionService collectionVersionService;
+  private final CurrentUserService currentUserService;
+
+  CollectionEtags(
+      CollectionVersionService collectionVersionService, CurrentUserService currentUserService) {
+    this.collectionVersionService = collectionVersionService;
+    this.currentUserService = currentUserService;
+  }
+
+  /** ETag of the current request's listing of the caller's {@code collection}. */
+  String current(DataCollection collection) {
+    HttpServletRequest request = currentRequest();
+    return collectionVersionService.listEtag(
+        collection,
+        currentUserService.requiredSub(),
+        request == null ? null : request.getQueryString());
+  }
+
+  /** True when the request's {@code If-None-Match} already names {@code etag}. */
+  boolean notModified(String etag) {
+    HttpServletRequest request = currentRequest();
+    return request != null && new ServletWebRequest(request).checkNotModified(etag);
+  }
+
+  private static HttpServletRequest currentRequest() {
+    ServletRequestAttributes attrs =
+        (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+    return attrs == null ? null : attrs.getRequest();
+  }
+}
@@ -0,0 +1,50 @@
+package com.craftify.backend.controller.impl;
+
+import com.craftify.backend.model.ImportJob;
+import com.craftify.backend.service.csv.ImportJobService;
+import java.net.URI;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+public class ImportJobsApiController {
+
+  private final ImportJobService importJobService;
+
+  public ImportJobsApiController(ImportJobService importJobService) {
+    this.importJobService = importJobService;
+  }
+
+  @PostMapping(
+      value = "/import-jobs",
+      consumes = {"multipart/form-data"},
+      produces = {"application/json", "application/problem+json"})
+  public ResponseEntity<ImportJob> importJobsPost(
+      @RequestPart(value = "file", required = true) MultipartFile file,
+      @RequestParam(value = "type") String type,
+      @RequestParam(value = "mode", required = false, defaultValue = "upsert") String mode) {
+    ImportJob job = importJobService.submit(type, file, mode);
+    return ResponseEntity.accepted().location(URI.create("/import-jobs/" + job.getId())).body(job);
+  }
+
+  @GetMapping(value = "/import-jobs/{id}", produces = {"application/json"})
+  public ResponseEntity<ImportJob> importJobsIdGet(@PathVariable("id") UUID id) {
+    ImportJob job = importJobService.get(id);
+    if (job == null) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(job);
+  }
+
+  @PostMapping(value = "/import-jobs/{id}:cancel", produces = {"application/json"})
+  public ResponseEntity<ImportJob> importJobsIdCancelPost(@PathVariable("id") UUID id) {
+    return ResponseEntity.ok(importJobService.cancel(id));
+  }
+}
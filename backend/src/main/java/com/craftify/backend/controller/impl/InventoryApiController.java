@@ -7,6 +7,7 @@ import com.craftify.backend.model.InventoryNextCodeResponse;
 import com.craftify.backend.model.InventoryPage;
 import com.craftify.backend.model.InventoryQuery;
 import com.craftify.backend.model.InventoryUpsertRequest;
+import com.craftify.backend.service.DataCollection;
 import com.craftify.backend.service.InventoryService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -14,6 +15,7 @@ import java.net.URI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import jakarta.annotation.Nullable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -30,9 +32,11 @@ public class InventoryApiController {
   private static final Logger log = LoggerFactory.getLogger(InventoryApiController.class);
 
   private final InventoryService inventoryService;
+  private final CollectionEtags collectionEtags;
 
-  public InventoryApiController(InventoryService inventoryService) {
+  public InventoryApiController(InventoryService inventoryService, CollectionEtags collectionEtags) {
     this.inventoryService = inventoryService;
+    this.collectionEtags = collectionEtags;
   }
 
   @GetMapping(value = "/inventory", produces = {"application/json"})
@@ -42,22 +46,30 @@ public class InventoryApiController {
       @RequestParam(value = "sort", required = false) @Nullable String sort,
       @RequestParam(value = "q", required = false) @Nullable String q,
       @RequestParam(value = "categoryName", required = false) @Nullable String categoryName,
-      @RequestParam(value = "uom", required = false) @Nullable String uom) {
+      @RequestParam(value = "uom", required = false) @Nullable String uom,
+      @RequestParam(value = "after", required = false) @Nullable String after) {
 
     log.info(
-        "GET /inventory page={} size={} sort={} q={} categoryName={} uom={}",
+        "GET /inventory page={} size={} sort={} q={} categoryName={} uom={} after={}",
         page,
         size,
         sort,
         q,
         categoryName,
-        uom);
+        uom,
+        after);
+
+    String etag = collectionEtags.current(DataCollection.INVENTORY);
+    if (collectionEtags.notModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
 
     InventoryPage body =
         inventoryService.list(
-            new InventoryQuery(page == null ? 0 : page, size == null ? 8 : size, sort, q, categoryName, uom));
+            new InventoryQuery(
+                page == null ? 0 : page, size == null ? 8 : size, sort, q, categoryName, uom, after));
 
-    return ResponseEntity.ok(body);
+    return ResponseEntity.ok().eTag(etag).cacheControl(CollectionEtags.CACHE_CONTROL).body(body);
   }
 
   @GetMapping(value = "/inventory/{id}", produces = {"application/json"})
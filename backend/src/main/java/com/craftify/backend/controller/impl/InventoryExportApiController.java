@@ -0,0 +1,52 @@
+package com.craftify.backend.controller.impl;
+
+import com.craftify.backend.service.csv.InventoryCsvExportService;
+import com.craftify.backend.service.csv.CsvExportOptions;
+import com.craftify.backend.service.csv.CsvExportPayload;
+import jakarta.annotation.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+public class InventoryExportApiController {
+
+  private final InventoryCsvExportService inventoryCsvExportService;
+
+  public InventoryExportApiController(InventoryCsvExportService inventoryCsvExportService) {
+    this.inventoryCsvExportService = inventoryCsvExportService;
+  }
+
+  @GetMapping(value = "/inventory:export", produces = {"text/csv"})
+  public ResponseEntity<StreamingResponseBody> inventoryExportGet(
+      @RequestParam(value = "q", required = false) @Nullable String q,
+      @RequestParam(value = "categoryName", required = false) @Nullable String categoryName,
+      @RequestParam(value = "uom", required = false) @Nullable String uom,
+      @RequestParam(value = "mode", required = false) @Nullable String mode,
+      @RequestParam(value = "compression", required = false) @Nullable String compression,
+      @RequestHeader(value = "Accept-Encoding", required = false) @Nullable String acceptEncoding) {
+    CsvExportPayload payload =
+        inventoryCsvExportService.export(
+            q, categoryName, uom, new CsvExportOptions(mode, compression, acceptEncoding));
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(payload.contentType()))
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + payload.filename() + "\"")
+            .header(HttpHeaders.CACHE_CONTROL, "no-store")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (payload.contentEncoding() != null) {
+      response.header(HttpHeaders.CONTENT_ENCODING, payload.contentEncoding());
+    }
+    if (payload.contentLength() >= 0) {
+      response.contentLength(payload.contentLength());
+    }
+    return response.body(payload.body());
+  }
+}
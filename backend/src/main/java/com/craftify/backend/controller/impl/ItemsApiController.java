@@ -7,6 +7,7 @@ import com.craftify.backend.model.ItemPage;
 import com.craftify.backend.model.ItemQuery;
 import com.craftify.backend.model.Status;
 import com.craftify.backend.model.UpdateItemRequest;
+import com.craftify.backend.service.DataCollection;
 import com.craftify.backend.service.ItemService;
 import com.craftify.backend.utils.HttpHeaderVersionUtil;
 import jakarta.validation.Valid;
@@ -16,6 +17,7 @@ import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import jakarta.annotation.Nullable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -27,9 +29,11 @@ public class ItemsApiController implements ItemsApi {
   private static final Logger log = LoggerFactory.getLogger(ItemsApiController.class);
 
   private final ItemService itemService;
+  private final CollectionEtags collectionEtags;
 
-  public ItemsApiController(ItemService itemService) {
+  public ItemsApiController(ItemService itemService, CollectionEtags collectionEtags) {
     this.itemService = itemService;
+    this.collectionEtags = collectionEtags;
   }
 
   @Override
@@ -43,14 +47,16 @@ public class ItemsApiController implements ItemsApi {
       @Nullable String uom,
       Boolean includeDeleted) {
     String categoryName = null;
+    String after = null;
     ServletRequestAttributes attrs =
         (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
     if (attrs != null && attrs.getRequest() != null) {
       categoryName = attrs.getRequest().getParameter("categoryName");
+      after = attrs.getRequest().getParameter("after");
     }
 
     log.info(
-        "GET /items page={} size={} sort={} q={} status={} categoryId={} categoryName={} uom={} includeDeleted={}",
+        "GET /items page={} size={} sort={} q={} status={} categoryId={} categoryName={} uom={} includeDeleted={} after={}",
         page,
         size,
         sort,
@@ -59,7 +65,13 @@ public class ItemsApiController implements ItemsApi {
         categoryId,
         categoryName,
         uom,
-        includeDeleted);
+        includeDeleted,
+        after);
+
+    String etag = collectionEtags.current(DataCollection.ITEMS);
+    if (collectionEtags.notModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
 
     ItemPage body;
     try {
@@ -73,7 +85,8 @@ public class ItemsApiController implements ItemsApi {
                   status,
                   categoryName,
                   uom,
-                  includeDeleted != null && includeDeleted));
+                  includeDeleted != null && includeDeleted,
+                  after));
     } catch (RuntimeException ex) {
       log.error(
           "GET /items failed page={} size={} sort={} q={} status={} categoryName={} uom={} includeDeleted={}",
@@ -89,7 +102,7 @@ public class ItemsApiController implements ItemsApi {
       throw ex;
     }
 
-    return ResponseEntity.ok(body);
+    return ResponseEntity.ok().eTag(etag).cacheControl(CollectionEtags.CACHE_CONTROL).body(body);
   }
 
   @Override
@@ -26,8 +26,8 @@ public class ItemsBatchDeleteApiController implements ItemsBatchDeleteApi {
   public ResponseEntity<ItemsBatchDeletePost200Response> itemsBatchDeletePost(
       ItemsBatchDeletePostRequest request) {
     List<UUID> ids = (request == null || request.getIds() == null) ? List.of() : request.getIds();
-    int deleted = itemService.deleteByIds(ids);
-    log.info("POST /items:batch-delete ids={} -> deleted={}", ids, deleted);
-    return ResponseEntity.ok(new ItemsBatchDeletePost200Response().deleted(deleted));
+    ItemsBatchDeletePost200Response body = itemService.deleteByIds(ids);
+    log.info("POST /items:batch-delete requested={} -> deleted={}", ids.size(), body.getDeleted());
+    return ResponseEntity.ok(body);
   }
 }
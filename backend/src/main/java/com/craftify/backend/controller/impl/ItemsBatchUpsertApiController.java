@@ -0,0 +1,39 @@
+package com.craftify.backend.controller.impl;
+
+import com.craftify.backend.controller.ItemsBatchUpsertApi;
+import com.craftify.backend.model.ItemsBatchUpsertPost200Response;
+import com.craftify.backend.model.ItemsBatchUpsertPostRequest;
+import com.craftify.backend.model.ItemsBatchUpsertRow;
+import com.craftify.backend.service.ItemBatchService;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class ItemsBatchUpsertApiController implements ItemsBatchUpsertApi {
+
+  private static final Logger log = LoggerFactory.getLogger(ItemsBatchUpsertApiController.class);
+
+  private final ItemBatchService itemBatchService;
+
+  public ItemsBatchUpsertApiController(ItemBatchService itemBatchService) {
+    this.itemBatchService = itemBatchService;
+  }
+
+  @Override
+  public ResponseEntity<ItemsBatchUpsertPost200Response> itemsBatchUpsertPost(
+      ItemsBatchUpsertPostRequest request) {
+    List<ItemsBatchUpsertRow> rows =
+        (request == null || request.getItems() == null) ? List.of() : request.getItems();
+    ItemsBatchUpsertPost200Response body = itemBatchService.upsert(rows);
+    log.info(
+        "POST /items:batch-upsert requested={} -> created={} updated={} rejected={}",
+        rows.size(),
+        body.getCreated(),
+        body.getUpdated(),
+        body.getRejected());
+    return ResponseEntity.ok(body);
+  }
+}
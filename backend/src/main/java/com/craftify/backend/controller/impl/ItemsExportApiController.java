@@ -2,6 +2,7 @@ package com.craftify.backend.controller.impl;
 
 import com.craftify.backend.controller.ItemsExportApi;
 import com.craftify.backend.model.Status;
+import com.craftify.backend.service.csv.CsvExportOptions;
 import com.craftify.backend.service.csv.CsvExportPayload;
 import com.craftify.backend.service.csv.ItemsCsvExportService;
 import java.util.UUID;
@@ -12,6 +13,7 @@ import jakarta.annotation.Nullable;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 public class ItemsExportApiController implements ItemsExportApi {
@@ -23,12 +25,15 @@ public class ItemsExportApiController implements ItemsExportApi {
   }
 
   @Override
-  public ResponseEntity<org.springframework.core.io.Resource> itemsExportGet(
+  public ResponseEntity<StreamingResponseBody> itemsExportGet(
       @Nullable String q,
       @Nullable Status status,
       @Nullable UUID categoryId,
       @Nullable String uom,
-      @Nullable String ids) {
+      @Nullable String ids,
+      @Nullable String mode,
+      @Nullable String compression,
+      @Nullable String acceptEncoding) {
     String categoryName = null;
     ServletRequestAttributes attrs =
         (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
@@ -36,11 +41,29 @@ public class ItemsExportApiController implements ItemsExportApi {
       categoryName = attrs.getRequest().getParameter("categoryName");
     }
 
-    CsvExportPayload payload = itemsCsvExportService.export(q, status, categoryId, categoryName, uom, ids);
-    return ResponseEntity.ok()
-        .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
-        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + payload.filename() + "\"")
-        .header(HttpHeaders.CACHE_CONTROL, "no-store")
-        .body(payload.resource());
+    CsvExportPayload payload =
+        itemsCsvExportService.export(
+            q,
+            status,
+            categoryId,
+            categoryName,
+            uom,
+            ids,
+            new CsvExportOptions(mode, compression, acceptEncoding));
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(payload.contentType()))
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + payload.filename() + "\"")
+            .header(HttpHeaders.CACHE_CONTROL, "no-store")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (payload.contentEncoding() != null) {
+      response.header(HttpHeaders.CONTENT_ENCODING, payload.contentEncoding());
+    }
+    if (payload.contentLength() >= 0) {
+      response.contentLength(payload.contentLength());
+    }
+    return response.body(payload.body());
   }
 }
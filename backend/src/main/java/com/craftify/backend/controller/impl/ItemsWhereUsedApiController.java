@@ -0,0 +1,29 @@
+package com.craftify.backend.controller.impl;
+
+import com.craftify.backend.model.ItemWhereUsed;
+import com.craftify.backend.service.ItemService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class ItemsWhereUsedApiController {
+
+  private final ItemService itemService;
+
+  public ItemsWhereUsedApiController(ItemService itemService) {
+    this.itemService = itemService;
+  }
+
+  @GetMapping(
+      value = "/items/{id}:where-used",
+      produces = {"application/json", "application/problem+json"})
+  public ResponseEntity<ItemWhereUsed> itemsIdWhereUsedGet(
+      @PathVariable("id") String id,
+      @RequestParam(value = "recursive", required = false, defaultValue = "false")
+          boolean recursive) {
+    return ResponseEntity.ok(itemService.whereUsed(id, recursive));
+  }
+}
@@ -0,0 +1,115 @@
+package com.craftify.backend.controller.impl;
+
+import com.craftify.backend.model.ImportResult;
+import com.craftify.backend.service.csv.CsvExportOptions;
+import com.craftify.backend.service.csv.CsvExportPayload;
+import com.craftify.backend.service.csv.CsvImportExecution;
+import com.craftify.backend.service.csv.NdjsonExportService;
+import com.craftify.backend.service.csv.NdjsonImportService;
+import jakarta.annotation.Nullable;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/** Newline-delimited JSON export and import of items, BOMs and inventory. */
+@RestController
+public class NdjsonApiController {
+
+  private static final String NDJSON = "application/x-ndjson";
+
+  private final NdjsonExportService ndjsonExportService;
+  private final NdjsonImportService ndjsonImportService;
+
+  public NdjsonApiController(
+      NdjsonExportService ndjsonExportService, NdjsonImportService ndjsonImportService) {
+    this.ndjsonExportService = ndjsonExportService;
+    this.ndjsonImportService = ndjsonImportService;
+  }
+
+  @GetMapping(value = "/items:export-ndjson", produces = {NDJSON})
+  public ResponseEntity<StreamingResponseBody> itemsExportNdjsonGet(
+      @RequestParam(value = "mode", required = false) @Nullable String mode,
+      @RequestParam(value = "compression", required = false) @Nullable String compression,
+      @RequestHeader(value = "Accept-Encoding", required = false) @Nullable String acceptEncoding) {
+    return toResponse(
+        ndjsonExportService.exportItems(new CsvExportOptions(mode, compression, acceptEncoding)));
+  }
+
+  @GetMapping(value = "/boms:export-ndjson", produces = {NDJSON})
+  public ResponseEntity<StreamingResponseBody> bomsExportNdjsonGet(
+      @RequestParam(value = "mode", required = false) @Nullable String mode,
+      @RequestParam(value = "compression", required = false) @Nullable String compression,
+      @RequestHeader(value = "Accept-Encoding", required = false) @Nullable String acceptEncoding) {
+    return toResponse(
+        ndjsonExportService.exportBoms(new CsvExportOptions(mode, compression, acceptEncoding)));
+  }
+
+  @GetMapping(value = "/inventory:export-ndjson", produces = {NDJSON})
+  public ResponseEntity<StreamingResponseBody> inventoryExportNdjsonGet(
+      @RequestParam(value = "mode", required = false) @Nullable String mode,
+      @RequestParam(value = "compression", required = false) @Nullable String compression,
+      @RequestHeader(value = "Accept-Encoding", required = false) @Nullable String acceptEncoding) {
+    return toResponse(
+        ndjsonExportService.exportInventory(
+            new CsvExportOptions(mode, compression, acceptEncoding)));
+  }
+
+  @PostMapping(
+      value = "/items:import-ndjson",
+      consumes = {NDJSON},
+      produces = {"application/json", "application/problem+json"})
+  public ResponseEntity<ImportResult> itemsImportNdjsonPost(
+      InputStream body,
+      @RequestParam(value = "mode", required = false, defaultValue = "upsert") String mode) {
+    return toResponse(ndjsonImportService.importItems(body, mode));
+  }
+
+  @PostMapping(
+      value = "/boms:import-ndjson",
+      consumes = {NDJSON},
+      produces = {"application/json", "application/problem+json"})
+  public ResponseEntity<ImportResult> bomsImportNdjsonPost(
+      InputStream body,
+      @RequestParam(value = "mode", required = false, defaultValue = "upsert") String mode) {
+    return toResponse(ndjsonImportService.importBoms(body, mode));
+  }
+
+  @PostMapping(
+      value = "/inventory:import-ndjson",
+      consumes = {NDJSON},
+      produces = {"application/json", "application/problem+json"})
+  public ResponseEntity<ImportResult> inventoryImportNdjsonPost(
+      InputStream body,
+      @RequestParam(value = "mode", required = false, defaultValue = "upsert") String mode) {
+    return toResponse(ndjsonImportService.importInventory(body, mode));
+  }
+
+  private static ResponseEntity<ImportResult> toResponse(CsvImportExecution execution) {
+    return ResponseEntity.status(execution.status()).body(execution.body());
+  }
+
+  private static ResponseEntity<StreamingResponseBody> toResponse(CsvExportPayload payload) {
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(payload.contentType()))
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + payload.filename() + "\"")
+            .header(HttpHeaders.CACHE_CONTROL, "no-store")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (payload.contentEncoding() != null) {
+      response.header(HttpHeaders.CONTENT_ENCODING, payload.contentEncoding());
+    }
+    if (payload.contentLength() >= 0) {
+      response.contentLength(payload.contentLength());
+    }
+    return response.body(payload.body());
+  }
+}
@@ -0,0 +1,57 @@
+package com.craftify.backend.controller.impl;
+
+import com.craftify.backend.model.BomList;
+import com.craftify.backend.model.ChangeFeed;
+import com.craftify.backend.model.InventoryList;
+import com.craftify.backend.model.ItemList;
+import com.craftify.backend.service.BomService;
+import com.craftify.backend.service.InventoryService;
+import com.craftify.backend.service.ItemService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.Nullable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class SyncChangesApiController {
+
+  private static final Logger log = LoggerFactory.getLogger(SyncChangesApiController.class);
+
+  private final ItemService itemService;
+  private final BomService bomService;
+  private final InventoryService inventoryService;
+
+  public SyncChangesApiController(
+      ItemService itemService, BomService bomService, InventoryService inventoryService) {
+    this.itemService = itemService;
+    this.bomService = bomService;
+    this.inventoryService = inventoryService;
+  }
+
+  @GetMapping(value = "/items:changes", produces = {"application/json"})
+  public ResponseEntity<ChangeFeed<ItemList>> itemsChangesGet(
+      @RequestParam(value = "since", required = false) @Nullable String since,
+      @RequestParam(value = "limit", required = false) @Nullable Integer limit) {
+    log.info("GET /items:changes since={} limit={}", since, limit);
+    return ResponseEntity.ok(itemService.changes(since, limit));
+  }
+
+  @GetMapping(value = "/boms:changes", produces = {"application/json"})
+  public ResponseEntity<ChangeFeed<BomList>> bomsChangesGet(
+      @RequestParam(value = "since", required = false) @Nullable String since,
+      @RequestParam(value = "limit", required = false) @Nullable Integer limit) {
+    log.info("GET /boms:changes since={} limit={}", since, limit);
+    return ResponseEntity.ok(bomService.changes(since, limit));
+  }
+
+  @GetMapping(value = "/inventory:changes", produces = {"application/json"})
+  public ResponseEntity<ChangeFeed<InventoryList>> inventoryChangesGet(
+      @RequestParam(value = "since", required = false) @Nullable String since,
+      @RequestParam(value = "limit", required = false) @Nullable Integer limit) {
+    log.info("GET /inventory:changes since={} limit={}", since, limit);
+    return ResponseEntity.ok(inventoryService.changes(since, limit));
+  }
+}
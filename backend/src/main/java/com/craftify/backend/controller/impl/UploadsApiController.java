@@ -0,0 +1,80 @@
+package com.craftify.backend.controller.impl;
+
+import com.craftify.backend.model.ImportJob;
+import com.craftify.backend.model.UploadSession;
+import com.craftify.backend.model.UploadSessionCreateRequest;
+import com.craftify.backend.service.csv.ResumableUploadService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class UploadsApiController {
+
+  private final ResumableUploadService resumableUploadService;
+
+  public UploadsApiController(ResumableUploadService resumableUploadService) {
+    this.resumableUploadService = resumableUploadService;
+  }
+
+  @PostMapping(
+      value = "/uploads",
+      consumes = {"application/json"},
+      produces = {"application/json", "application/problem+json"})
+  public ResponseEntity<UploadSession> uploadsPost(
+      @Valid @NotNull @RequestBody UploadSessionCreateRequest req) {
+    UploadSession session = resumableUploadService.create(req);
+    return ResponseEntity.created(URI.create("/uploads/" + session.getId())).body(session);
+  }
+
+  @GetMapping(value = "/uploads/{id}", produces = {"application/json"})
+  public ResponseEntity<UploadSession> uploadsIdGet(@PathVariable("id") UUID id) {
+    UploadSession session = resumableUploadService.get(id);
+    if (session == null) {
+      return ResponseEntity.notFound().build();
+    }
+    return ResponseEntity.ok(session);
+  }
+
+  @PutMapping(
+      value = "/uploads/{id}/chunks/{index}",
+      consumes = {"application/octet-stream"},
+      produces = {"application/problem+json"})
+  public ResponseEntity<Void> uploadsIdChunksIndexPut(
+      @PathVariable("id") UUID id,
+      @PathVariable("index") int index,
+      @RequestHeader(value = "X-Checksum-SHA256", required = false) String checksum,
+      InputStream body) {
+    resumableUploadService.putChunk(id, index, checksum, body);
+    return ResponseEntity.noContent().build();
+  }
+
+  @PostMapping(
+      value = "/uploads/{id}:finalize",
+      produces = {"application/json", "application/problem+json"})
+  public ResponseEntity<ImportJob> uploadsIdFinalizePost(
+      @PathVariable("id") UUID id,
+      @RequestParam(value = "type") String type,
+      @RequestParam(value = "mode", required = false, defaultValue = "upsert") String mode) {
+    ImportJob job = resumableUploadService.finalizeUpload(id, type, mode);
+    return ResponseEntity.accepted().location(URI.create("/import-jobs/" + job.getId())).body(job);
+  }
+
+  @DeleteMapping(value = "/uploads/{id}", produces = {"application/problem+json"})
+  public ResponseEntity<Void> uploadsIdDelete(@PathVariable("id") UUID id) {
+    resumableUploadService.abort(id);
+    return ResponseEntity.noContent().build();
+  }
+}
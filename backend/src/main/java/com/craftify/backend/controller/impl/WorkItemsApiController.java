@@ -5,6 +5,7 @@ import com.craftify.backend.model.WorkItemPage;
 import com.craftify.backend.model.WorkItemQuery;
 import com.craftify.backend.model.WorkItemRequest;
 import com.craftify.backend.model.WorkItemStatus;
+import com.craftify.backend.service.DataCollection;
 import com.craftify.backend.service.WorkItemService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -12,6 +13,7 @@ import java.net.URI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import jakarta.annotation.Nullable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -26,9 +28,11 @@ public class WorkItemsApiController {
   private static final Logger log = LoggerFactory.getLogger(WorkItemsApiController.class);
 
   private final WorkItemService workItemService;
+  private final CollectionEtags collectionEtags;
 
-  public WorkItemsApiController(WorkItemService workItemService) {
+  public WorkItemsApiController(WorkItemService workItemService, CollectionEtags collectionEtags) {
     this.workItemService = workItemService;
+    this.collectionEtags = collectionEtags;
   }
 
   @GetMapping(value = "/work-items", produces = {"application/json"})
@@ -37,12 +41,24 @@ public class WorkItemsApiController {
       @RequestParam(value = "size", required = false, defaultValue = "8") Integer size,
       @RequestParam(value = "sort", required = false) @Nullable String sort,
       @RequestParam(value = "q", required = false) @Nullable String q,
-      @RequestParam(value = "status", required = false) @Nullable WorkItemStatus status) {
-    log.info("GET /work-items page={} size={} sort={} q={} status={}", page, size, sort, q, status);
+      @RequestParam(value = "status", required = false) @Nullable WorkItemStatus status,
+      @RequestParam(value = "after", required = false) @Nullable String after) {
+    log.info(
+        "GET /work-items page={} size={} sort={} q={} status={} after={}",
+        page,
+        size,
+        sort,
+        q,
+        status,
+        after);
+    String etag = collectionEtags.current(DataCollection.WORK_ITEMS);
+    if (collectionEtags.notModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
     WorkItemPage body =
         workItemService.list(
-            new WorkItemQuery(page == null ? 0 : page, size == null ? 8 : size, sort, q, status));
-    return ResponseEntity.ok(body);
+            new WorkItemQuery(page == null ? 0 : page, size == null ? 8 : size, sort, q, status, after));
+    return ResponseEntity.ok().eTag(etag).cacheControl(CollectionEtags.CACHE_CONTROL).body(body);
   }
 
   @PostMapping(
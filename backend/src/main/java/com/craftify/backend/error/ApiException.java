@@ -1,11 +1,15 @@
 package com.craftify.backend.error;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.http.HttpStatus;
 
 public final class ApiException extends RuntimeException {
 
   private final HttpStatus status;
   private final String errorCode;
+  private final Map<String, Object> properties = new LinkedHashMap<>();
 
   private ApiException(HttpStatus status, String errorCode) {
     super(errorCode);
@@ -33,10 +37,20 @@ public final class ApiException extends RuntimeException {
     return new ApiException(HttpStatus.PRECONDITION_FAILED, errorCode);
   }
 
+  public static ApiException serviceUnavailable(String errorCode) {
+    return new ApiException(HttpStatus.SERVICE_UNAVAILABLE, errorCode);
+  }
+
   public static ApiException internalServerError(String errorCode) {
     return new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, errorCode);
   }
 
+  /** Adds a detail that is written into the problem response next to {@code errorCode}. */
+  public ApiException withProperty(String name, Object value) {
+    properties.put(name, value);
+    return this;
+  }
+
   public HttpStatus getStatus() {
     return status;
   }
@@ -44,4 +58,8 @@ public final class ApiException extends RuntimeException {
   public String getErrorCode() {
     return errorCode;
   }
+
+  public Map<String, Object> getProperties() {
+    return Collections.unmodifiableMap(properties);
+  }
 }
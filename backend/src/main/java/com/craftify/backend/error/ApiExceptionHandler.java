@@ -24,6 +24,7 @@ public class ApiExceptionHandler {
     problem.setTitle(ex.getStatus().getReasonPhrase());
     problem.setDetail(ex.getErrorCode());
     problem.setProperty("errorCode", ex.getErrorCode());
+    ex.getProperties().forEach(problem::setProperty);
 
     return ResponseEntity.status(ex.getStatus())
         .header(HttpHeaders.CONTENT_TYPE, "application/problem+json")
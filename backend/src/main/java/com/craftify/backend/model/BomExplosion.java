@@ -0,0 +1,115 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A BOM exploded through all its sub-assemblies for {@code quantity} units of the product.
+ * {@code tree} is the indented BOM in depth-first order; {@code requirements} totals the leaf items
+ * per unit of measure.
+ */
+public class BomExplosion implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private String bomId;
+  private String productId;
+  private BigDecimal quantity;
+  private Integer levels;
+  private List<BomExplosionTreeInner> tree = new ArrayList<>();
+  private List<BomExplosionRequirementsInner> requirements = new ArrayList<>();
+
+  public BomExplosion bomId(String bomId) {
+    this.bomId = bomId;
+    return this;
+  }
+
+  @Schema(name = "bomId", example = "BOM-001")
+  @JsonProperty("bomId")
+  public String getBomId() {
+    return bomId;
+  }
+
+  public void setBomId(String bomId) {
+    this.bomId = bomId;
+  }
+
+  public BomExplosion productId(String productId) {
+    this.productId = productId;
+    return this;
+  }
+
+  @Schema(name = "productId", example = "ITM-001")
+  @JsonProperty("productId")
+  public String getProductId() {
+    return productId;
+  }
+
+  public void setProductId(String productId) {
+    this.productId = productId;
+  }
+
+  public BomExplosion quantity(BigDecimal quantity) {
+    this.quantity = quantity;
+    return this;
+  }
+
+  @Schema(name = "quantity")
+  @JsonProperty("quantity")
+  public BigDecimal getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(BigDecimal quantity) {
+    this.quantity = quantity;
+  }
+
+  public BomExplosion levels(Integer levels) {
+    this.levels = levels;
+    return this;
+  }
+
+  @Schema(name = "levels", description = "Depth of the deepest sub-assembly")
+  @JsonProperty("levels")
+  public Integer getLevels() {
+    return levels;
+  }
+
+  public void setLevels(Integer levels) {
+    this.levels = levels;
+  }
+
+  public BomExplosion tree(List<BomExplosionTreeInner> tree) {
+    this.tree = tree;
+    return this;
+  }
+
+  @Schema(name = "tree", description = "Indented BOM in depth-first order")
+  @JsonProperty("tree")
+  public List<BomExplosionTreeInner> getTree() {
+    return tree;
+  }
+
+  public void setTree(List<BomExplosionTreeInner> tree) {
+    this.tree = tree;
+  }
+
+  public BomExplosion requirements(List<BomExplosionRequirementsInner> requirements) {
+    this.requirements = requirements;
+    return this;
+  }
+
+  @Schema(name = "requirements", description = "Leaf items totalled per unit of measure")
+  @JsonProperty("requirements")
+  public List<BomExplosionRequirementsInner> getRequirements() {
+    return requirements;
+  }
+
+  public void setRequirements(List<BomExplosionRequirementsInner> requirements) {
+    this.requirements = requirements;
+  }
+}
@@ -0,0 +1,61 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/** Total quantity of one leaf item in one unit of measure. */
+public class BomExplosionRequirementsInner implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private String itemId;
+  private BigDecimal quantity;
+  private String uom;
+
+  public BomExplosionRequirementsInner itemId(String itemId) {
+    this.itemId = itemId;
+    return this;
+  }
+
+  @Schema(name = "itemId", example = "ITM-001")
+  @JsonProperty("itemId")
+  public String getItemId() {
+    return itemId;
+  }
+
+  public void setItemId(String itemId) {
+    this.itemId = itemId;
+  }
+
+  public BomExplosionRequirementsInner quantity(BigDecimal quantity) {
+    this.quantity = quantity;
+    return this;
+  }
+
+  @Schema(name = "quantity")
+  @JsonProperty("quantity")
+  public BigDecimal getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(BigDecimal quantity) {
+    this.quantity = quantity;
+  }
+
+  public BomExplosionRequirementsInner uom(String uom) {
+    this.uom = uom;
+    return this;
+  }
+
+  @Schema(name = "uom", example = "pcs")
+  @JsonProperty("uom")
+  public String getUom() {
+    return uom;
+  }
+
+  public void setUom(String uom) {
+    this.uom = uom;
+  }
+}
@@ -0,0 +1,113 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Nullable;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * One component at {@code level} (1 for the root BOM's own components). {@code bomId} is set when
+ * the component is a sub-assembly that was exploded further.
+ */
+public class BomExplosionTreeInner implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private Integer level;
+  private String itemId;
+  private @Nullable String bomId;
+  private BigDecimal quantityPer;
+  private BigDecimal quantity;
+  private String uom;
+
+  public BomExplosionTreeInner level(Integer level) {
+    this.level = level;
+    return this;
+  }
+
+  @Schema(name = "level")
+  @JsonProperty("level")
+  public Integer getLevel() {
+    return level;
+  }
+
+  public void setLevel(Integer level) {
+    this.level = level;
+  }
+
+  public BomExplosionTreeInner itemId(String itemId) {
+    this.itemId = itemId;
+    return this;
+  }
+
+  @Schema(name = "itemId", example = "ITM-001")
+  @JsonProperty("itemId")
+  public String getItemId() {
+    return itemId;
+  }
+
+  public void setItemId(String itemId) {
+    this.itemId = itemId;
+  }
+
+  public BomExplosionTreeInner bomId(@Nullable String bomId) {
+    this.bomId = bomId;
+    return this;
+  }
+
+  @Schema(name = "bomId", description = "Set when the component was exploded further")
+  @JsonProperty("bomId")
+  public @Nullable String getBomId() {
+    return bomId;
+  }
+
+  public void setBomId(@Nullable String bomId) {
+    this.bomId = bomId;
+  }
+
+  public BomExplosionTreeInner quantityPer(BigDecimal quantityPer) {
+    this.quantityPer = quantityPer;
+    return this;
+  }
+
+  @Schema(name = "quantityPer")
+  @JsonProperty("quantityPer")
+  public BigDecimal getQuantityPer() {
+    return quantityPer;
+  }
+
+  public void setQuantityPer(BigDecimal quantityPer) {
+    this.quantityPer = quantityPer;
+  }
+
+  public BomExplosionTreeInner quantity(BigDecimal quantity) {
+    this.quantity = quantity;
+    return this;
+  }
+
+  @Schema(name = "quantity")
+  @JsonProperty("quantity")
+  public BigDecimal getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(BigDecimal quantity) {
+    this.quantity = quantity;
+  }
+
+  public BomExplosionTreeInner uom(String uom) {
+    this.uom = uom;
+    return this;
+  }
+
+  @Schema(name = "uom", example = "pcs")
+  @JsonProperty("uom")
+  public String getUom() {
+    return uom;
+  }
+
+  public void setUom(String uom) {
+    this.uom = uom;
+  }
+}
@@ -18,6 +18,7 @@ public class BomPage implements Serializable {
   private @Nullable Integer totalElements;
   private @Nullable Integer totalPages;
   @Valid private List<String> sort = new ArrayList<>();
+  private @Nullable String nextCursor;
 
   public BomPage content(List<@Valid BomList> content) {
     this.content = content;
@@ -110,4 +111,19 @@ public class BomPage implements Serializable {
   public void setSort(List<String> sort) {
     this.sort = sort;
   }
+
+  public BomPage nextCursor(@Nullable String nextCursor) {
+    this.nextCursor = nextCursor;
+    return this;
+  }
+
+  @Schema(name = "nextCursor")
+  @JsonProperty("nextCursor")
+  public @Nullable String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(@Nullable String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
 }
@@ -1,3 +1,3 @@
 package com.craftify.backend.model;
 
-public record BomQuery(int page, int size, String sort, String q, BomStatus status) {}
+public record BomQuery(int page, int size, String sort, String q, BomStatus status, String after) {}
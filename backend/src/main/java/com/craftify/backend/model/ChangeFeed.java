@@ -0,0 +1,50 @@
+package com.craftify.backend.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a collection's change feed. {@code upserts} are the current list representations of
+ * rows created or changed since the token, {@code deleted} the codes that no longer exist. Pass
+ * {@code nextToken} as {@code since} on the next call; while {@code hasMore} is true, call again
+ * right away.
+ */
+public class ChangeFeed<T> {
+
+  private List<T> upserts = new ArrayList<>();
+  private List<String> deleted = new ArrayList<>();
+  private String nextToken;
+  private boolean hasMore;
+
+  public List<T> getUpserts() {
+    return upserts;
+  }
+
+  public void setUpserts(List<T> upserts) {
+    this.upserts = upserts == null ? new ArrayList<>() : upserts;
+  }
+
+  public List<String> getDeleted() {
+    return deleted;
+  }
+
+  public void setDeleted(List<String> deleted) {
+    this.deleted = deleted == null ? new ArrayList<>() : deleted;
+  }
+
+  public String getNextToken() {
+    return nextToken;
+  }
+
+  public void setNextToken(String nextToken) {
+    this.nextToken = nextToken;
+  }
+
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  public void setHasMore(boolean hasMore) {
+    this.hasMore = hasMore;
+  }
+}
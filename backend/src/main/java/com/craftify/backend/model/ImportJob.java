@@ -0,0 +1,173 @@
+package com.craftify.backend.model;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * State of a background import. Poll {@code GET /import-jobs/{id}} until {@code status} is
+ * succeeded, failed or cancelled; {@code created}, {@code updated} and {@code errors} then hold the
+ * same result a synchronous import returns.
+ */
+public class ImportJob {
+
+  private UUID id;
+  private String type;
+  private String mode;
+  private String fileName;
+
+  /** queued, running, succeeded, failed or cancelled. */
+  private String status;
+
+  private boolean cancelRequested;
+
+  /** Data rows read from the file so far. */
+  private int rowsProcessed;
+
+  private int created;
+  private int updated;
+
+  /** All row errors so far; {@code errors} holds the first of them. */
+  private int errorCount;
+
+  private List<ImportResultErrorsInner> errors = new ArrayList<>();
+
+  /** Rows read per second of running time; null before the job starts. */
+  private Double rowsPerSecond;
+
+  /** Why a job failed. */
+  private String message;
+
+  private OffsetDateTime createdAt;
+  private OffsetDateTime startedAt;
+  private OffsetDateTime finishedAt;
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public String getMode() {
+    return mode;
+  }
+
+  public void setMode(String mode) {
+    this.mode = mode;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public boolean isCancelRequested() {
+    return cancelRequested;
+  }
+
+  public void setCancelRequested(boolean cancelRequested) {
+    this.cancelRequested = cancelRequested;
+  }
+
+  public int getRowsProcessed() {
+    return rowsProcessed;
+  }
+
+  public void setRowsProcessed(int rowsProcessed) {
+    this.rowsProcessed = rowsProcessed;
+  }
+
+  public int getCreated() {
+    return created;
+  }
+
+  public void setCreated(int created) {
+    this.created = created;
+  }
+
+  public int getUpdated() {
+    return updated;
+  }
+
+  public void setUpdated(int updated) {
+    this.updated = updated;
+  }
+
+  public int getErrorCount() {
+    return errorCount;
+  }
+
+  public void setErrorCount(int errorCount) {
+    this.errorCount = errorCount;
+  }
+
+  public List<ImportResultErrorsInner> getErrors() {
+    return errors;
+  }
+
+  public void setErrors(List<ImportResultErrorsInner> errors) {
+    this.errors = errors == null ? new ArrayList<>() : errors;
+  }
+
+  public Double getRowsPerSecond() {
+    return rowsPerSecond;
+  }
+
+  public void setRowsPerSecond(Double rowsPerSecond) {
+    this.rowsPerSecond = rowsPerSecond;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(OffsetDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public OffsetDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(OffsetDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public OffsetDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(OffsetDateTime finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+}
@@ -11,6 +11,7 @@ public class InventoryPage {
   private Integer totalElements;
   private Integer totalPages;
   private List<String> sort = new ArrayList<>();
+  private String nextCursor;
 
   public List<InventoryList> getContent() {
     return content;
@@ -59,4 +60,12 @@ public class InventoryPage {
   public void setSort(List<String> sort) {
     this.sort = sort == null ? new ArrayList<>() : sort;
   }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
 }
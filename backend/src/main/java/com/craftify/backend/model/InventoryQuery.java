@@ -1,3 +1,4 @@
 package com.craftify.backend.model;
 
-public record InventoryQuery(int page, int size, String sort, String q, String categoryName, String uom) {}
+public record InventoryQuery(
+    int page, int size, String sort, String q, String categoryName, String uom, String after) {}
@@ -43,6 +43,8 @@ public class ItemDetail implements Serializable {
 
   private Integer version;
 
+  private @Nullable ItemReferenceCounts references;
+
   public ItemDetail() {
     super();
   }
@@ -309,6 +311,31 @@ public class ItemDetail implements Serializable {
     this.version = version;
   }
 
+  public ItemDetail references(@Nullable ItemReferenceCounts references) {
+    this.references = references;
+    return this;
+  }
+
+  /**
+   * Usage of this item by BOMs, queued work items and inventory; present on single-item reads
+   *
+   * @return references
+   */
+  @Valid
+  @Schema(
+      name = "references",
+      description =
+          "Usage of this item by BOMs, queued work items and inventory; present on single-item reads",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("references")
+  public @Nullable ItemReferenceCounts getReferences() {
+    return references;
+  }
+
+  public void setReferences(@Nullable ItemReferenceCounts references) {
+    this.references = references;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -328,7 +355,8 @@ public class ItemDetail implements Serializable {
         && Objects.equals(this.uoms, itemDetail.uoms)
         && Objects.equals(this.createdAt, itemDetail.createdAt)
         && Objects.equals(this.updatedAt, itemDetail.updatedAt)
-        && Objects.equals(this.version, itemDetail.version);
+        && Objects.equals(this.version, itemDetail.version)
+        && Objects.equals(this.references, itemDetail.references);
   }
 
   @Override
@@ -344,7 +372,8 @@ public class ItemDetail implements Serializable {
         uoms,
         createdAt,
         updatedAt,
-        version);
+        version,
+        references);
   }
 
   @Override
@@ -362,6 +391,7 @@ public class ItemDetail implements Serializable {
     sb.append("    createdAt: ").append(toIndentedString(createdAt)).append("\n");
     sb.append("    updatedAt: ").append(toIndentedString(updatedAt)).append("\n");
     sb.append("    version: ").append(toIndentedString(version)).append("\n");
+    sb.append("    references: ").append(toIndentedString(references)).append("\n");
     sb.append("}");
     return sb.toString();
   }
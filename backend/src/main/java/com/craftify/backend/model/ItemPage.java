@@ -31,6 +31,8 @@ public class ItemPage implements Serializable {
 
   @Valid private List<String> sort = new ArrayList<>();
 
+  private @Nullable String nextCursor;
+
   public ItemPage content(List<@Valid ItemList> content) {
     this.content = content;
     return this;
@@ -172,6 +174,30 @@ public class ItemPage implements Serializable {
     this.sort = sort;
   }
 
+  public ItemPage nextCursor(@Nullable String nextCursor) {
+    this.nextCursor = nextCursor;
+    return this;
+  }
+
+  /**
+   * Opaque token for the next page when listing with &#x60;after&#x60;; null on the last page
+   *
+   * @return nextCursor
+   */
+  @Schema(
+      name = "nextCursor",
+      description =
+          "Opaque token for the next page when listing with `after`; null on the last page",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("nextCursor")
+  public @Nullable String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(@Nullable String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -186,12 +212,13 @@ public class ItemPage implements Serializable {
         && Objects.equals(this.size, itemPage.size)
         && Objects.equals(this.totalElements, itemPage.totalElements)
         && Objects.equals(this.totalPages, itemPage.totalPages)
-        && Objects.equals(this.sort, itemPage.sort);
+        && Objects.equals(this.sort, itemPage.sort)
+        && Objects.equals(this.nextCursor, itemPage.nextCursor);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(content, page, size, totalElements, totalPages, sort);
+    return Objects.hash(content, page, size, totalElements, totalPages, sort, nextCursor);
   }
 
   @Override
@@ -204,6 +231,7 @@ public class ItemPage implements Serializable {
     sb.append("    totalElements: ").append(toIndentedString(totalElements)).append("\n");
     sb.append("    totalPages: ").append(toIndentedString(totalPages)).append("\n");
     sb.append("    sort: ").append(toIndentedString(sort)).append("\n");
+    sb.append("    nextCursor: ").append(toIndentedString(nextCursor)).append("\n");
     sb.append("}");
     return sb.toString();
   }
@@ -8,4 +8,5 @@ public record ItemQuery(
     Status status,
     String categoryName,
     String uom,
-    boolean includeDeleted) {}
+    boolean includeDeleted,
+    String after) {}
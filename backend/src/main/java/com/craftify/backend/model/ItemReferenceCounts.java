@@ -0,0 +1,163 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Generated;
+import jakarta.validation.constraints.Min;
+import java.io.Serializable;
+import java.util.Objects;
+
+/** How many records currently reference an item. Any non-zero count blocks delete and code change. */
+@Generated(
+    value = "org.openapitools.codegen.languages.SpringCodegen",
+    comments = "Generator version: 7.15.0")
+public class ItemReferenceCounts implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private Integer bomsAsProduct = 0;
+
+  private Integer bomsAsComponent = 0;
+
+  private Integer queuedWorkItems = 0;
+
+  private Integer inventoryRecords = 0;
+
+  public ItemReferenceCounts bomsAsProduct(Integer bomsAsProduct) {
+    this.bomsAsProduct = bomsAsProduct;
+    return this;
+  }
+
+  /**
+   * BOMs producing this item minimum: 0
+   *
+   * @return bomsAsProduct
+   */
+  @Min(0)
+  @Schema(
+      name = "bomsAsProduct",
+      description = "BOMs producing this item",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("bomsAsProduct")
+  public Integer getBomsAsProduct() {
+    return bomsAsProduct;
+  }
+
+  public void setBomsAsProduct(Integer bomsAsProduct) {
+    this.bomsAsProduct = bomsAsProduct;
+  }
+
+  public ItemReferenceCounts bomsAsComponent(Integer bomsAsComponent) {
+    this.bomsAsComponent = bomsAsComponent;
+    return this;
+  }
+
+  /**
+   * BOMs using this item as a component minimum: 0
+   *
+   * @return bomsAsComponent
+   */
+  @Min(0)
+  @Schema(
+      name = "bomsAsComponent",
+      description = "BOMs using this item as a component",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("bomsAsComponent")
+  public Integer getBomsAsComponent() {
+    return bomsAsComponent;
+  }
+
+  public void setBomsAsComponent(Integer bomsAsComponent) {
+    this.bomsAsComponent = bomsAsComponent;
+  }
+
+  public ItemReferenceCounts queuedWorkItems(Integer queuedWorkItems) {
+    this.queuedWorkItems = queuedWorkItems;
+    return this;
+  }
+
+  /**
+   * Queued work items producing or consuming this item minimum: 0
+   *
+   * @return queuedWorkItems
+   */
+  @Min(0)
+  @Schema(
+      name = "queuedWorkItems",
+      description = "Queued work items producing or consuming this item",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("queuedWorkItems")
+  public Integer getQueuedWorkItems() {
+    return queuedWorkItems;
+  }
+
+  public void setQueuedWorkItems(Integer queuedWorkItems) {
+    this.queuedWorkItems = queuedWorkItems;
+  }
+
+  public ItemReferenceCounts inventoryRecords(Integer inventoryRecords) {
+    this.inventoryRecords = inventoryRecords;
+    return this;
+  }
+
+  /**
+   * Inventory records for this item minimum: 0
+   *
+   * @return inventoryRecords
+   */
+  @Min(0)
+  @Schema(
+      name = "inventoryRecords",
+      description = "Inventory records for this item",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("inventoryRecords")
+  public Integer getInventoryRecords() {
+    return inventoryRecords;
+  }
+
+  public void setInventoryRecords(Integer inventoryRecords) {
+    this.inventoryRecords = inventoryRecords;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ItemReferenceCounts itemReferenceCounts = (ItemReferenceCounts) o;
+    return Objects.equals(this.bomsAsProduct, itemReferenceCounts.bomsAsProduct)
+        && Objects.equals(this.bomsAsComponent, itemReferenceCounts.bomsAsComponent)
+        && Objects.equals(this.queuedWorkItems, itemReferenceCounts.queuedWorkItems)
+        && Objects.equals(this.inventoryRecords, itemReferenceCounts.inventoryRecords);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(bomsAsProduct, bomsAsComponent, queuedWorkItems, inventoryRecords);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class ItemReferenceCounts {\n");
+    sb.append("    bomsAsProduct: ").append(toIndentedString(bomsAsProduct)).append("\n");
+    sb.append("    bomsAsComponent: ").append(toIndentedString(bomsAsComponent)).append("\n");
+    sb.append("    queuedWorkItems: ").append(toIndentedString(queuedWorkItems)).append("\n");
+    sb.append("    inventoryRecords: ").append(toIndentedString(inventoryRecords)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces (except the first line).
+   */
+  private String toIndentedString(Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
@@ -0,0 +1,125 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * BOMs that consume an item. Level 1 BOMs use the item directly; a level {@code n + 1} BOM uses the
+ * product of a level {@code n} one as {@code componentItemId}. {@code topLevelProducts} are the
+ * products reached that no other BOM consumes; they are only filled for recursive lookups.
+ */
+public class ItemWhereUsed implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private String itemId;
+  private Boolean recursive;
+  private List<ItemWhereUsedUsagesInner> usages = new ArrayList<>();
+  private List<String> topLevelProducts = new ArrayList<>();
+
+  public ItemWhereUsed itemId(String itemId) {
+    this.itemId = itemId;
+    return this;
+  }
+
+  @Schema(name = "itemId", example = "ITM-001")
+  @JsonProperty("itemId")
+  public String getItemId() {
+    return itemId;
+  }
+
+  public void setItemId(String itemId) {
+    this.itemId = itemId;
+  }
+
+  public ItemWhereUsed recursive(Boolean recursive) {
+    this.recursive = recursive;
+    return this;
+  }
+
+  @Schema(name = "recursive")
+  @JsonProperty("recursive")
+  public Boolean getRecursive() {
+    return recursive;
+  }
+
+  public void setRecursive(Boolean recursive) {
+    this.recursive = recursive;
+  }
+
+  public ItemWhereUsed usages(List<ItemWhereUsedUsagesInner> usages) {
+    this.usages = usages;
+    return this;
+  }
+
+  @Schema(name = "usages")
+  @JsonProperty("usages")
+  public List<ItemWhereUsedUsagesInner> getUsages() {
+    return usages;
+  }
+
+  public void setUsages(List<ItemWhereUsedUsagesInner> usages) {
+    this.usages = usages;
+  }
+
+  public ItemWhereUsed topLevelProducts(List<String> topLevelProducts) {
+    this.topLevelProducts = topLevelProducts;
+    return this;
+  }
+
+  @Schema(name = "topLevelProducts")
+  @JsonProperty("topLevelProducts")
+  public List<String> getTopLevelProducts() {
+    return topLevelProducts;
+  }
+
+  public void setTopLevelProducts(List<String> topLevelProducts) {
+    this.topLevelProducts = topLevelProducts;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ItemWhereUsed itemWhereUsed = (ItemWhereUsed) o;
+    return Objects.equals(this.itemId, itemWhereUsed.itemId)
+        && Objects.equals(this.recursive, itemWhereUsed.recursive)
+        && Objects.equals(this.usages, itemWhereUsed.usages)
+        && Objects.equals(this.topLevelProducts, itemWhereUsed.topLevelProducts);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(itemId, recursive, usages, topLevelProducts);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class ItemWhereUsed {\n");
+    sb.append("    itemId: ").append(toIndentedString(itemId)).append("\n");
+    sb.append("    recursive: ").append(toIndentedString(recursive)).append("\n");
+    sb.append("    usages: ").append(toIndentedString(usages)).append("\n");
+    sb.append("    topLevelProducts: ").append(toIndentedString(topLevelProducts)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces (except the first line).
+   */
+  private String toIndentedString(Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
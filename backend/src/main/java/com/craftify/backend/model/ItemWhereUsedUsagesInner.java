@@ -0,0 +1,214 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * A BOM that consumes the item, or at {@code level} 2 and above the product of a BOM below it, as
+ * {@code componentItemId}.
+ */
+public class ItemWhereUsedUsagesInner implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private Integer level;
+  private String bomId;
+  private String productId;
+  private String productName;
+  private String revision;
+  private BomStatus status;
+  private String componentItemId;
+  private BigDecimal quantity;
+  private String uom;
+
+  public ItemWhereUsedUsagesInner level(Integer level) {
+    this.level = level;
+    return this;
+  }
+
+  @Schema(name = "level")
+  @JsonProperty("level")
+  public Integer getLevel() {
+    return level;
+  }
+
+  public void setLevel(Integer level) {
+    this.level = level;
+  }
+
+  public ItemWhereUsedUsagesInner bomId(String bomId) {
+    this.bomId = bomId;
+    return this;
+  }
+
+  @Schema(name = "bomId", example = "BOM-001")
+  @JsonProperty("bomId")
+  public String getBomId() {
+    return bomId;
+  }
+
+  public void setBomId(String bomId) {
+    this.bomId = bomId;
+  }
+
+  public ItemWhereUsedUsagesInner productId(String productId) {
+    this.productId = productId;
+    return this;
+  }
+
+  @Schema(name = "productId", example = "ITM-001")
+  @JsonProperty("productId")
+  public String getProductId() {
+    return productId;
+  }
+
+  public void setProductId(String productId) {
+    this.productId = productId;
+  }
+
+  public ItemWhereUsedUsagesInner productName(String productName) {
+    this.productName = productName;
+    return this;
+  }
+
+  @Schema(name = "productName")
+  @JsonProperty("productName")
+  public String getProductName() {
+    return productName;
+  }
+
+  public void setProductName(String productName) {
+    this.productName = productName;
+  }
+
+  public ItemWhereUsedUsagesInner revision(String revision) {
+    this.revision = revision;
+    return this;
+  }
+
+  @Schema(name = "revision")
+  @JsonProperty("revision")
+  public String getRevision() {
+    return revision;
+  }
+
+  public void setRevision(String revision) {
+    this.revision = revision;
+  }
+
+  public ItemWhereUsedUsagesInner status(BomStatus status) {
+    this.status = status;
+    return this;
+  }
+
+  @Schema(name = "status")
+  @JsonProperty("status")
+  public BomStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(BomStatus status) {
+    this.status = status;
+  }
+
+  public ItemWhereUsedUsagesInner componentItemId(String componentItemId) {
+    this.componentItemId = componentItemId;
+    return this;
+  }
+
+  @Schema(name = "componentItemId", description = "The item this BOM consumes")
+  @JsonProperty("componentItemId")
+  public String getComponentItemId() {
+    return componentItemId;
+  }
+
+  public void setComponentItemId(String componentItemId) {
+    this.componentItemId = componentItemId;
+  }
+
+  public ItemWhereUsedUsagesInner quantity(BigDecimal quantity) {
+    this.quantity = quantity;
+    return this;
+  }
+
+  @Schema(name = "quantity")
+  @JsonProperty("quantity")
+  public BigDecimal getQuantity() {
+    return quantity;
+  }
+
+  public void setQuantity(BigDecimal quantity) {
+    this.quantity = quantity;
+  }
+
+  public ItemWhereUsedUsagesInner uom(String uom) {
+    this.uom = uom;
+    return this;
+  }
+
+  @Schema(name = "uom", example = "pcs")
+  @JsonProperty("uom")
+  public String getUom() {
+    return uom;
+  }
+
+  public void setUom(String uom) {
+    this.uom = uom;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ItemWhereUsedUsagesInner usage = (ItemWhereUsedUsagesInner) o;
+    return Objects.equals(this.level, usage.level)
+        && Objects.equals(this.bomId, usage.bomId)
+        && Objects.equals(this.productId, usage.productId)
+        && Objects.equals(this.productName, usage.productName)
+        && Objects.equals(this.revision, usage.revision)
+        && Objects.equals(this.status, usage.status)
+        && Objects.equals(this.componentItemId, usage.componentItemId)
+        && Objects.equals(this.quantity, usage.quantity)
+        && Objects.equals(this.uom, usage.uom);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        level, bomId, productId, productName, revision, status, componentItemId, quantity, uom);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class ItemWhereUsedUsagesInner {\n");
+    sb.append("    level: ").append(toIndentedString(level)).append("\n");
+    sb.append("    bomId: ").append(toIndentedString(bomId)).append("\n");
+    sb.append("    productId: ").append(toIndentedString(productId)).append("\n");
+    sb.append("    productName: ").append(toIndentedString(productName)).append("\n");
+    sb.append("    revision: ").append(toIndentedString(revision)).append("\n");
+    sb.append("    status: ").append(toIndentedString(status)).append("\n");
+    sb.append("    componentItemId: ").append(toIndentedString(componentItemId)).append("\n");
+    sb.append("    quantity: ").append(toIndentedString(quantity)).append("\n");
+    sb.append("    uom: ").append(toIndentedString(uom)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces (except the first line).
+   */
+  private String toIndentedString(Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
@@ -0,0 +1,43 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.io.Serializable;
+
+/** Per-id outcome of a bulk item delete */
+public enum ItemsBatchDeleteOutcome implements Serializable {
+  DELETED("deleted"),
+  IN_USE("in_use"),
+  NOT_FOUND("not_found"),
+  FOREIGN_OWNER("foreign_owner");
+
+  private final String value;
+
+  ItemsBatchDeleteOutcome(String value) {
+    this.value = value;
+  }
+
+  @JsonValue
+  public String getValue() {
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(value);
+  }
+
+  @JsonCreator
+  public static ItemsBatchDeleteOutcome fromValue(String value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Unexpected value 'null'");
+    }
+    String normalized = value.trim();
+    for (ItemsBatchDeleteOutcome b : ItemsBatchDeleteOutcome.values()) {
+      if (b.value.equalsIgnoreCase(normalized) || b.name().equalsIgnoreCase(normalized)) {
+        return b;
+      }
+    }
+    throw new IllegalArgumentException("Unexpected value '" + value + "'");
+  }
+}
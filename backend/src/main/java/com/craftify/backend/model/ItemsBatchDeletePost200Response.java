@@ -4,8 +4,11 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.annotation.Generated;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import jakarta.annotation.Nullable;
 
@@ -20,6 +23,8 @@ public class ItemsBatchDeletePost200Response implements Serializable {
 
   private @Nullable Integer deleted;
 
+  @Valid private List<@Valid ItemsBatchDeleteResult> results = new ArrayList<>();
+
   public ItemsBatchDeletePost200Response deleted(@Nullable Integer deleted) {
     this.deleted = deleted;
     return this;
@@ -41,6 +46,38 @@ public class ItemsBatchDeletePost200Response implements Serializable {
     this.deleted = deleted;
   }
 
+  public ItemsBatchDeletePost200Response results(List<@Valid ItemsBatchDeleteResult> results) {
+    this.results = results;
+    return this;
+  }
+
+  public ItemsBatchDeletePost200Response addResultsItem(ItemsBatchDeleteResult resultsItem) {
+    if (this.results == null) {
+      this.results = new ArrayList<>();
+    }
+    this.results.add(resultsItem);
+    return this;
+  }
+
+  /**
+   * One entry per distinct requested id, in request order
+   *
+   * @return results
+   */
+  @Valid
+  @Schema(
+      name = "results",
+      description = "One entry per distinct requested id, in request order",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("results")
+  public List<@Valid ItemsBatchDeleteResult> getResults() {
+    return results;
+  }
+
+  public void setResults(List<@Valid ItemsBatchDeleteResult> results) {
+    this.results = results;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -51,12 +88,13 @@ public class ItemsBatchDeletePost200Response implements Serializable {
     }
     ItemsBatchDeletePost200Response itemsBatchDeletePost200Response =
         (ItemsBatchDeletePost200Response) o;
-    return Objects.equals(this.deleted, itemsBatchDeletePost200Response.deleted);
+    return Objects.equals(this.deleted, itemsBatchDeletePost200Response.deleted)
+        && Objects.equals(this.results, itemsBatchDeletePost200Response.results);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(deleted);
+    return Objects.hash(deleted, results);
   }
 
   @Override
@@ -64,6 +102,7 @@ public class ItemsBatchDeletePost200Response implements Serializable {
     StringBuilder sb = new StringBuilder();
     sb.append("class ItemsBatchDeletePost200Response {\n");
     sb.append("    deleted: ").append(toIndentedString(deleted)).append("\n");
+    sb.append("    results: ").append(toIndentedString(results)).append("\n");
     sb.append("}");
     return sb.toString();
   }
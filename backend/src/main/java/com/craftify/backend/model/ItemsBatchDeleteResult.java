@@ -0,0 +1,143 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Generated;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/** ItemsBatchDeleteResult */
+@Generated(
+    value = "org.openapitools.codegen.languages.SpringCodegen",
+    comments = "Generator version: 7.15.0")
+public class ItemsBatchDeleteResult implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private UUID id;
+
+  private @Nullable String code;
+
+  private ItemsBatchDeleteOutcome outcome;
+
+  public ItemsBatchDeleteResult() {
+    super();
+  }
+
+  /** Constructor with only required parameters */
+  public ItemsBatchDeleteResult(UUID id, ItemsBatchDeleteOutcome outcome) {
+    this.id = id;
+    this.outcome = outcome;
+  }
+
+  public ItemsBatchDeleteResult id(UUID id) {
+    this.id = id;
+    return this;
+  }
+
+  /**
+   * Requested item id
+   *
+   * @return id
+   */
+  @NotNull
+  @Schema(
+      name = "id",
+      description = "Requested item id",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty("id")
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public ItemsBatchDeleteResult code(@Nullable String code) {
+    this.code = code;
+    return this;
+  }
+
+  /**
+   * Item code; only present for items owned by the caller
+   *
+   * @return code
+   */
+  @Schema(
+      name = "code",
+      description = "Item code; only present for items owned by the caller",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("code")
+  public @Nullable String getCode() {
+    return code;
+  }
+
+  public void setCode(@Nullable String code) {
+    this.code = code;
+  }
+
+  public ItemsBatchDeleteResult outcome(ItemsBatchDeleteOutcome outcome) {
+    this.outcome = outcome;
+    return this;
+  }
+
+  /**
+   * Get outcome
+   *
+   * @return outcome
+   */
+  @NotNull
+  @Schema(name = "outcome", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty("outcome")
+  public ItemsBatchDeleteOutcome getOutcome() {
+    return outcome;
+  }
+
+  public void setOutcome(ItemsBatchDeleteOutcome outcome) {
+    this.outcome = outcome;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ItemsBatchDeleteResult itemsBatchDeleteResult = (ItemsBatchDeleteResult) o;
+    return Objects.equals(this.id, itemsBatchDeleteResult.id)
+        && Objects.equals(this.code, itemsBatchDeleteResult.code)
+        && Objects.equals(this.outcome, itemsBatchDeleteResult.outcome);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, code, outcome);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class ItemsBatchDeleteResult {\n");
+    sb.append("    id: ").append(toIndentedString(id)).append("\n");
+    sb.append("    code: ").append(toIndentedString(code)).append("\n");
+    sb.append("    outcome: ").append(toIndentedString(outcome)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces (except the first line).
+   */
+  private String toIndentedString(Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
@@ -0,0 +1,47 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.io.Serializable;
+
+/** Per-row outcome of a bulk item upsert */
+public enum ItemsBatchUpsertOutcome implements Serializable {
+  CREATED("created"),
+  UPDATED("updated"),
+  INVALID("invalid"),
+  DUPLICATE("duplicate"),
+  CONFLICT("conflict"),
+  NOT_FOUND("not_found"),
+  VERSION_MISMATCH("version_mismatch"),
+  FAILED("failed");
+
+  private final String value;
+
+  ItemsBatchUpsertOutcome(String value) {
+    this.value = value;
+  }
+
+  @JsonValue
+  public String getValue() {
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(value);
+  }
+
+  @JsonCreator
+  public static ItemsBatchUpsertOutcome fromValue(String value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Unexpected value 'null'");
+    }
+    String normalized = value.trim();
+    for (ItemsBatchUpsertOutcome b : ItemsBatchUpsertOutcome.values()) {
+      if (b.value.equalsIgnoreCase(normalized) || b.name().equalsIgnoreCase(normalized)) {
+        return b;
+      }
+    }
+    throw new IllegalArgumentException("Unexpected value '" + value + "'");
+  }
+}
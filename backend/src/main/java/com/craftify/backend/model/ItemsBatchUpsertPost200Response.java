@@ -0,0 +1,169 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Generated;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import jakarta.annotation.Nullable;
+
+/** ItemsBatchUpsertPost200Response */
+@JsonTypeName("_items_batch_upsert_post_200_response")
+@Generated(
+    value = "org.openapitools.codegen.languages.SpringCodegen",
+    comments = "Generator version: 7.15.0")
+public class ItemsBatchUpsertPost200Response implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private @Nullable Integer created;
+
+  private @Nullable Integer updated;
+
+  private @Nullable Integer rejected;
+
+  @Valid private List<@Valid ItemsBatchUpsertResult> results = new ArrayList<>();
+
+  public ItemsBatchUpsertPost200Response created(@Nullable Integer created) {
+    this.created = created;
+    return this;
+  }
+
+  /**
+   * Get created minimum: 0
+   *
+   * @return created
+   */
+  @Min(0)
+  @Schema(name = "created", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("created")
+  public @Nullable Integer getCreated() {
+    return created;
+  }
+
+  public void setCreated(@Nullable Integer created) {
+    this.created = created;
+  }
+
+  public ItemsBatchUpsertPost200Response updated(@Nullable Integer updated) {
+    this.updated = updated;
+    return this;
+  }
+
+  /**
+   * Get updated minimum: 0
+   *
+   * @return updated
+   */
+  @Min(0)
+  @Schema(name = "updated", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("updated")
+  public @Nullable Integer getUpdated() {
+    return updated;
+  }
+
+  public void setUpdated(@Nullable Integer updated) {
+    this.updated = updated;
+  }
+
+  public ItemsBatchUpsertPost200Response rejected(@Nullable Integer rejected) {
+    this.rejected = rejected;
+    return this;
+  }
+
+  /**
+   * Get rejected minimum: 0
+   *
+   * @return rejected
+   */
+  @Min(0)
+  @Schema(name = "rejected", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("rejected")
+  public @Nullable Integer getRejected() {
+    return rejected;
+  }
+
+  public void setRejected(@Nullable Integer rejected) {
+    this.rejected = rejected;
+  }
+
+  public ItemsBatchUpsertPost200Response results(List<@Valid ItemsBatchUpsertResult> results) {
+    this.results = results;
+    return this;
+  }
+
+  public ItemsBatchUpsertPost200Response addResultsItem(ItemsBatchUpsertResult resultsItem) {
+    if (this.results == null) {
+      this.results = new ArrayList<>();
+    }
+    this.results.add(resultsItem);
+    return this;
+  }
+
+  /**
+   * One entry per request row, in request order
+   *
+   * @return results
+   */
+  @Valid
+  @Schema(
+      name = "results",
+      description = "One entry per request row, in request order",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("results")
+  public List<@Valid ItemsBatchUpsertResult> getResults() {
+    return results;
+  }
+
+  public void setResults(List<@Valid ItemsBatchUpsertResult> results) {
+    this.results = results;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ItemsBatchUpsertPost200Response itemsBatchUpsertPost200Response =
+        (ItemsBatchUpsertPost200Response) o;
+    return Objects.equals(this.created, itemsBatchUpsertPost200Response.created)
+        && Objects.equals(this.updated, itemsBatchUpsertPost200Response.updated)
+        && Objects.equals(this.rejected, itemsBatchUpsertPost200Response.rejected)
+        && Objects.equals(this.results, itemsBatchUpsertPost200Response.results);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(created, updated, rejected, results);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class ItemsBatchUpsertPost200Response {\n");
+    sb.append("    created: ").append(toIndentedString(created)).append("\n");
+    sb.append("    updated: ").append(toIndentedString(updated)).append("\n");
+    sb.append("    rejected: ").append(toIndentedString(rejected)).append("\n");
+    sb.append("    results: ").append(toIndentedString(results)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces (except the first line).
+   */
+  private String toIndentedString(Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
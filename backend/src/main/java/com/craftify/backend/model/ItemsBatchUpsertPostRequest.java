@@ -0,0 +1,103 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Generated;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/** ItemsBatchUpsertPostRequest */
+@JsonTypeName("_items_batch_upsert_post_request")
+@Generated(
+    value = "org.openapitools.codegen.languages.SpringCodegen",
+    comments = "Generator version: 7.15.0")
+public class ItemsBatchUpsertPostRequest implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private List<ItemsBatchUpsertRow> items = new ArrayList<>();
+
+  public ItemsBatchUpsertPostRequest() {
+    super();
+  }
+
+  /** Constructor with only required parameters */
+  public ItemsBatchUpsertPostRequest(List<ItemsBatchUpsertRow> items) {
+    this.items = items;
+  }
+
+  public ItemsBatchUpsertPostRequest items(List<ItemsBatchUpsertRow> items) {
+    this.items = items;
+    return this;
+  }
+
+  public ItemsBatchUpsertPostRequest addItemsItem(ItemsBatchUpsertRow itemsItem) {
+    if (this.items == null) {
+      this.items = new ArrayList<>();
+    }
+    this.items.add(itemsItem);
+    return this;
+  }
+
+  /**
+   * Items to create or update; each row is validated on its own and reported in the results
+   *
+   * @return items
+   */
+  @NotNull
+  @Size(max = 10000)
+  @Schema(
+      name = "items",
+      description =
+          "Items to create or update; each row is validated on its own and reported in the results",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty("items")
+  public List<ItemsBatchUpsertRow> getItems() {
+    return items;
+  }
+
+  public void setItems(List<ItemsBatchUpsertRow> items) {
+    this.items = items;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ItemsBatchUpsertPostRequest itemsBatchUpsertPostRequest = (ItemsBatchUpsertPostRequest) o;
+    return Objects.equals(this.items, itemsBatchUpsertPostRequest.items);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(items);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class ItemsBatchUpsertPostRequest {\n");
+    sb.append("    items: ").append(toIndentedString(items)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces (except the first line).
+   */
+  private String toIndentedString(Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
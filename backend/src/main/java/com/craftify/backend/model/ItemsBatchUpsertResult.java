@@ -0,0 +1,196 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Generated;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.Objects;
+
+/** ItemsBatchUpsertResult */
+@Generated(
+    value = "org.openapitools.codegen.languages.SpringCodegen",
+    comments = "Generator version: 7.15.0")
+public class ItemsBatchUpsertResult implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private Integer index;
+
+  private @Nullable String code;
+
+  private ItemsBatchUpsertOutcome outcome;
+
+  private @Nullable Integer version;
+
+  private @Nullable String error;
+
+  public ItemsBatchUpsertResult() {
+    super();
+  }
+
+  /** Constructor with only required parameters */
+  public ItemsBatchUpsertResult(Integer index, ItemsBatchUpsertOutcome outcome) {
+    this.index = index;
+    this.outcome = outcome;
+  }
+
+  public ItemsBatchUpsertResult index(Integer index) {
+    this.index = index;
+    return this;
+  }
+
+  /**
+   * Zero-based position of the row in the request
+   *
+   * @return index
+   */
+  @NotNull
+  @Schema(
+      name = "index",
+      description = "Zero-based position of the row in the request",
+      requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty("index")
+  public Integer getIndex() {
+    return index;
+  }
+
+  public void setIndex(Integer index) {
+    this.index = index;
+  }
+
+  public ItemsBatchUpsertResult code(@Nullable String code) {
+    this.code = code;
+    return this;
+  }
+
+  /**
+   * Normalized item code, including codes generated for rows without one
+   *
+   * @return code
+   */
+  @Schema(
+      name = "code",
+      description = "Normalized item code, including codes generated for rows without one",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("code")
+  public @Nullable String getCode() {
+    return code;
+  }
+
+  public void setCode(@Nullable String code) {
+    this.code = code;
+  }
+
+  public ItemsBatchUpsertResult outcome(ItemsBatchUpsertOutcome outcome) {
+    this.outcome = outcome;
+    return this;
+  }
+
+  /**
+   * Get outcome
+   *
+   * @return outcome
+   */
+  @NotNull
+  @Schema(name = "outcome", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty("outcome")
+  public ItemsBatchUpsertOutcome getOutcome() {
+    return outcome;
+  }
+
+  public void setOutcome(ItemsBatchUpsertOutcome outcome) {
+    this.outcome = outcome;
+  }
+
+  public ItemsBatchUpsertResult version(@Nullable Integer version) {
+    this.version = version;
+    return this;
+  }
+
+  /**
+   * Version of the item after the write; the current version on version_mismatch
+   *
+   * @return version
+   */
+  @Schema(
+      name = "version",
+      description = "Version of the item after the write; the current version on version_mismatch",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("version")
+  public @Nullable Integer getVersion() {
+    return version;
+  }
+
+  public void setVersion(@Nullable Integer version) {
+    this.version = version;
+  }
+
+  public ItemsBatchUpsertResult error(@Nullable String error) {
+    this.error = error;
+    return this;
+  }
+
+  /**
+   * Why the row was not written
+   *
+   * @return error
+   */
+  @Schema(
+      name = "error",
+      description = "Why the row was not written",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("error")
+  public @Nullable String getError() {
+    return error;
+  }
+
+  public void setError(@Nullable String error) {
+    this.error = error;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ItemsBatchUpsertResult itemsBatchUpsertResult = (ItemsBatchUpsertResult) o;
+    return Objects.equals(this.index, itemsBatchUpsertResult.index)
+        && Objects.equals(this.code, itemsBatchUpsertResult.code)
+        && Objects.equals(this.outcome, itemsBatchUpsertResult.outcome)
+        && Objects.equals(this.version, itemsBatchUpsertResult.version)
+        && Objects.equals(this.error, itemsBatchUpsertResult.error);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(index, code, outcome, version, error);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class ItemsBatchUpsertResult {\n");
+    sb.append("    index: ").append(toIndentedString(index)).append("\n");
+    sb.append("    code: ").append(toIndentedString(code)).append("\n");
+    sb.append("    outcome: ").append(toIndentedString(outcome)).append("\n");
+    sb.append("    version: ").append(toIndentedString(version)).append("\n");
+    sb.append("    error: ").append(toIndentedString(error)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces (except the first line).
+   */
+  private String toIndentedString(Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
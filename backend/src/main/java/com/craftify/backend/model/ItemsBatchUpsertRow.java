@@ -0,0 +1,286 @@
+package com.craftify.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.annotation.Generated;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import jakarta.annotation.Nullable;
+
+/** One item of a bulk upsert; {@code version} is required to update an existing item */
+@Generated(
+    value = "org.openapitools.codegen.languages.SpringCodegen",
+    comments = "Generator version: 7.15.0")
+public class ItemsBatchUpsertRow implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private @Nullable String code;
+
+  private String name;
+
+  private Status status;
+
+  private String categoryName;
+
+  private String uomBase;
+
+  private @Nullable String description;
+
+  @Valid private List<@Valid ItemUom> uoms = new ArrayList<>();
+
+  private @Nullable Integer version;
+
+  public ItemsBatchUpsertRow() {
+    super();
+  }
+
+  /** Constructor with only required parameters */
+  public ItemsBatchUpsertRow(String name, Status status, String categoryName, String uomBase) {
+    this.name = name;
+    this.status = status;
+    this.categoryName = categoryName;
+    this.uomBase = uomBase;
+  }
+
+  public ItemsBatchUpsertRow code(@Nullable String code) {
+    this.code = code;
+    return this;
+  }
+
+  /**
+   * Optional on create; server may generate
+   *
+   * @return code
+   */
+  @Schema(
+      name = "code",
+      example = "ITM-011",
+      description = "Optional on create; server may generate",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("code")
+  public @Nullable String getCode() {
+    return code;
+  }
+
+  public void setCode(@Nullable String code) {
+    this.code = code;
+  }
+
+  public ItemsBatchUpsertRow name(String name) {
+    this.name = name;
+    return this;
+  }
+
+  /**
+   * Get name
+   *
+   * @return name
+   */
+  @NotBlank
+  @Size(max = 200)
+  @Schema(name = "name", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty("name")
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public ItemsBatchUpsertRow status(Status status) {
+    this.status = status;
+    return this;
+  }
+
+  /**
+   * Get status
+   *
+   * @return status
+   */
+  @NotNull
+  @Valid
+  @Schema(name = "status", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty("status")
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  public ItemsBatchUpsertRow categoryName(String categoryName) {
+    this.categoryName = categoryName;
+    return this;
+  }
+
+  /**
+   * Get categoryName
+   *
+   * @return categoryName
+   */
+  @NotBlank
+  @Schema(name = "categoryName", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty("categoryName")
+  public String getCategoryName() {
+    return categoryName;
+  }
+
+  public void setCategoryName(String categoryName) {
+    this.categoryName = categoryName;
+  }
+
+  public ItemsBatchUpsertRow uomBase(String uomBase) {
+    this.uomBase = uomBase;
+    return this;
+  }
+
+  /**
+   * Get uomBase
+   *
+   * @return uomBase
+   */
+  @NotBlank
+  @Size(max = 16)
+  @Schema(name = "uomBase", requiredMode = Schema.RequiredMode.REQUIRED)
+  @JsonProperty("uomBase")
+  public String getUomBase() {
+    return uomBase;
+  }
+
+  public void setUomBase(String uomBase) {
+    this.uomBase = uomBase;
+  }
+
+  public ItemsBatchUpsertRow description(@Nullable String description) {
+    this.description = description;
+    return this;
+  }
+
+  /**
+   * Get description
+   *
+   * @return description
+   */
+  @Size(max = 4000)
+  @Schema(name = "description", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("description")
+  public @Nullable String getDescription() {
+    return description;
+  }
+
+  public void setDescription(@Nullable String description) {
+    this.description = description;
+  }
+
+  public ItemsBatchUpsertRow uoms(List<@Valid ItemUom> uoms) {
+    this.uoms = uoms;
+    return this;
+  }
+
+  public ItemsBatchUpsertRow addUomsItem(ItemUom uomsItem) {
+    if (this.uoms == null) {
+      this.uoms = new ArrayList<>();
+    }
+    this.uoms.add(uomsItem);
+    return this;
+  }
+
+  /**
+   * Get uoms
+   *
+   * @return uoms
+   */
+  @Valid
+  @Schema(name = "uoms", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("uoms")
+  public List<@Valid ItemUom> getUoms() {
+    return uoms;
+  }
+
+  public void setUoms(List<@Valid ItemUom> uoms) {
+    this.uoms = uoms;
+  }
+
+  public ItemsBatchUpsertRow version(@Nullable Integer version) {
+    this.version = version;
+    return this;
+  }
+
+  /**
+   * Current version of the item when it already exists; omitted to create a new item
+   *
+   * @return version
+   */
+  @Schema(
+      name = "version",
+      description =
+          "Current version of the item when it already exists; omitted to create a new item",
+      requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+  @JsonProperty("version")
+  public @Nullable Integer getVersion() {
+    return version;
+  }
+
+  public void setVersion(@Nullable Integer version) {
+    this.version = version;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ItemsBatchUpsertRow itemsBatchUpsertRow = (ItemsBatchUpsertRow) o;
+    return Objects.equals(this.code, itemsBatchUpsertRow.code)
+        && Objects.equals(this.name, itemsBatchUpsertRow.name)
+        && Objects.equals(this.status, itemsBatchUpsertRow.status)
+        && Objects.equals(this.categoryName, itemsBatchUpsertRow.categoryName)
+        && Objects.equals(this.uomBase, itemsBatchUpsertRow.uomBase)
+        && Objects.equals(this.description, itemsBatchUpsertRow.description)
+        && Objects.equals(this.uoms, itemsBatchUpsertRow.uoms)
+        && Objects.equals(this.version, itemsBatchUpsertRow.version);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(code, name, status, categoryName, uomBase, description, uoms, version);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("class ItemsBatchUpsertRow {\n");
+    sb.append("    code: ").append(toIndentedString(code)).append("\n");
+    sb.append("    name: ").append(toIndentedString(name)).append("\n");
+    sb.append("    status: ").append(toIndentedString(status)).append("\n");
+    sb.append("    categoryName: ").append(toIndentedString(categoryName)).append("\n");
+    sb.append("    uomBase: ").append(toIndentedString(uomBase)).append("\n");
+    sb.append("    description: ").append(toIndentedString(description)).append("\n");
+    sb.append("    uoms: ").append(toIndentedString(uoms)).append("\n");
+    sb.append("    version: ").append(toIndentedString(version)).append("\n");
+    sb.append("}");
+    return sb.toString();
+  }
+
+  /**
+   * Convert the given object to string with each line indented by 4 spaces (except the first line).
+   */
+  private String toIndentedString(Object o) {
+    if (o == null) {
+      return "null";
+    }
+    return o.toString().replace("\n", "\n    ");
+  }
+}
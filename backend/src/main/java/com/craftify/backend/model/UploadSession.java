@@ -0,0 +1,87 @@
+package com.craftify.backend.model;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A resumable upload. Chunk {@code i} covers bytes {@code i * chunkSize} up to the next chunk; only
+ * the last one may be shorter. {@code receivedChunks} lists the chunks whose checksum was verified,
+ * so a client that lost its connection only sends the missing ones.
+ */
+public class UploadSession {
+
+  private UUID id;
+  private String fileName;
+  private long size;
+  private int chunkSize;
+  private int chunkCount;
+  private List<Integer> receivedChunks = new ArrayList<>();
+  private OffsetDateTime createdAt;
+  private OffsetDateTime expiresAt;
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public void setSize(long size) {
+    this.size = size;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  public int getChunkCount() {
+    return chunkCount;
+  }
+
+  public void setChunkCount(int chunkCount) {
+    this.chunkCount = chunkCount;
+  }
+
+  public List<Integer> getReceivedChunks() {
+    return receivedChunks;
+  }
+
+  public void setReceivedChunks(List<Integer> receivedChunks) {
+    this.receivedChunks = receivedChunks;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(OffsetDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public OffsetDateTime getExpiresAt() {
+    return expiresAt;
+  }
+
+  public void setExpiresAt(OffsetDateTime expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+}
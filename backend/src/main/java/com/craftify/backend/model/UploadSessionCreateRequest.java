@@ -0,0 +1,41 @@
+package com.craftify.backend.model;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public class UploadSessionCreateRequest {
+
+  @Size(max = 255)
+  private String fileName;
+
+  /** Exact size of the whole file in bytes. */
+  @NotNull @Positive private Long size;
+
+  /** Bytes per chunk; the server default when absent. */
+  @Positive private Integer chunkSize;
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public Long getSize() {
+    return size;
+  }
+
+  public void setSize(Long size) {
+    this.size = size;
+  }
+
+  public Integer getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(Integer chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+}
@@ -15,6 +15,7 @@ public class WorkItemPage implements Serializable {
   private @Nullable Integer totalElements;
   private @Nullable Integer totalPages;
   private @Nullable List<String> sort = new ArrayList<>();
+  private @Nullable String nextCursor;
 
   public @Nullable List<WorkItemList> getContent() {
     return content;
@@ -63,4 +64,12 @@ public class WorkItemPage implements Serializable {
   public void setSort(@Nullable List<String> sort) {
     this.sort = sort;
   }
+
+  public @Nullable String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(@Nullable String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
 }
@@ -1,3 +1,3 @@
 package com.craftify.backend.model;
 
-public record WorkItemQuery(int page, int size, String sort, String q, WorkItemStatus status) {}
+public record WorkItemQuery(int page, int size, String sort, String q, WorkItemStatus status, String after) {}
@@ -65,6 +65,14 @@ public class BomEntity {
   @Column(name = "version", nullable = false)
   private long version;
 
+  /**
+   * Size of {@link #components}, kept so list queries never touch {@code bom_components}. It is set
+   * by {@link #setComponents}, the only way components are replaced, so saving a BOM never has to
+   * load its components just to count them.
+   */
+  @Column(name = "components_count", nullable = false)
+  private int componentsCount;
+
   @ElementCollection(fetch = FetchType.LAZY)
   @CollectionTable(name = "bom_components", joinColumns = @JoinColumn(name = "bom_id"))
   @OrderColumn(name = "ord")
@@ -186,5 +194,10 @@ public class BomEntity {
 
   public void setComponents(List<BomComponentEmbeddable> components) {
     this.components = (components == null) ? new ArrayList<>() : new ArrayList<>(components);
+    this.componentsCount = this.components.size();
+  }
+
+  public int getComponentsCount() {
+    return componentsCount;
   }
 }
@@ -0,0 +1,255 @@
+package com.craftify.backend.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "import_jobs")
+public class ImportJobEntity {
+
+  public enum Kind {
+    ITEMS,
+    BOMS,
+    INVENTORY
+  }
+
+  public enum Status {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Column(name = "owner_sub", nullable = false, length = 191)
+  private String ownerSub;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "kind", nullable = false, length = 16)
+  private Kind kind;
+
+  @Column(name = "mode", nullable = false, length = 16)
+  private String mode;
+
+  @Column(name = "file_name", length = 255)
+  private String fileName;
+
+  @Column(name = "file_size", nullable = false)
+  private long fileSize;
+
+  @Column(name = "storage_path", nullable = false, length = 1024)
+  private String storagePath;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 16)
+  private Status status;
+
+  @Column(name = "cancel_requested", nullable = false)
+  private boolean cancelRequested;
+
+  @Column(name = "rows_processed", nullable = false)
+  private int rowsProcessed;
+
+  @Column(name = "created_count", nullable = false)
+  private int createdCount;
+
+  @Column(name = "updated_count", nullable = false)
+  private int updatedCount;
+
+  @Column(name = "error_count", nullable = false)
+  private int errorCount;
+
+  @Column(name = "errors_json", nullable = false, columnDefinition = "text")
+  private String errorsJson = "[]";
+
+  @Column(name = "message", length = 255)
+  private String message;
+
+  @Column(name = "created_at", nullable = false)
+  private OffsetDateTime createdAt;
+
+  @Column(name = "started_at")
+  private OffsetDateTime startedAt;
+
+  @Column(name = "finished_at")
+  private OffsetDateTime finishedAt;
+
+  /** Refreshed by the node running the job; see {@code ImportJobService}. */
+  @Column(name = "heartbeat_at", nullable = false)
+  private OffsetDateTime heartbeatAt;
+
+  @PrePersist
+  void prePersist() {
+    if (createdAt == null) {
+      createdAt = OffsetDateTime.now();
+    }
+    if (heartbeatAt == null) {
+      heartbeatAt = createdAt;
+    }
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public String getOwnerSub() {
+    return ownerSub;
+  }
+
+  public void setOwnerSub(String ownerSub) {
+    this.ownerSub = ownerSub;
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  public void setKind(Kind kind) {
+    this.kind = kind;
+  }
+
+  public String getMode() {
+    return mode;
+  }
+
+  public void setMode(String mode) {
+    this.mode = mode;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public long getFileSize() {
+    return fileSize;
+  }
+
+  public void setFileSize(long fileSize) {
+    this.fileSize = fileSize;
+  }
+
+  public String getStoragePath() {
+    return storagePath;
+  }
+
+  public void setStoragePath(String storagePath) {
+    this.storagePath = storagePath;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  public boolean isCancelRequested() {
+    return cancelRequested;
+  }
+
+  public void setCancelRequested(boolean cancelRequested) {
+    this.cancelRequested = cancelRequested;
+  }
+
+  public int getRowsProcessed() {
+    return rowsProcessed;
+  }
+
+  public void setRowsProcessed(int rowsProcessed) {
+    this.rowsProcessed = rowsProcessed;
+  }
+
+  public int getCreatedCount() {
+    return createdCount;
+  }
+
+  public void setCreatedCount(int createdCount) {
+    this.createdCount = createdCount;
+  }
+
+  public int getUpdatedCount() {
+    return updatedCount;
+  }
+
+  public void setUpdatedCount(int updatedCount) {
+    this.updatedCount = updatedCount;
+  }
+
+  public int getErrorCount() {
+    return errorCount;
+  }
+
+  public void setErrorCount(int errorCount) {
+    this.errorCount = errorCount;
+  }
+
+  public String getErrorsJson() {
+    return errorsJson;
+  }
+
+  public void setErrorsJson(String errorsJson) {
+    this.errorsJson = errorsJson;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(OffsetDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public OffsetDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public void setStartedAt(OffsetDateTime startedAt) {
+    this.startedAt = startedAt;
+  }
+
+  public OffsetDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(OffsetDateTime finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+
+  public OffsetDateTime getHeartbeatAt() {
+    return heartbeatAt;
+  }
+
+  public void setHeartbeatAt(OffsetDateTime heartbeatAt) {
+    this.heartbeatAt = heartbeatAt;
+  }
+}
@@ -0,0 +1,91 @@
+package com.craftify.backend.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+
+@Entity
+@Table(name = "item_references")
+public class ItemReferenceEntity {
+
+  public enum SourceType {
+    BOM_PRODUCT,
+    BOM_COMPONENT,
+    WORK_ITEM_OUTPUT,
+    WORK_ITEM_COMPONENT
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Column(name = "owner_sub", nullable = false, length = 191)
+  private String ownerSub;
+
+  @Column(name = "item_code", nullable = false, length = 64)
+  private String itemCode;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "source_type", nullable = false, length = 32)
+  private SourceType sourceType;
+
+  @Column(name = "source_id", nullable = false)
+  private UUID sourceId;
+
+  @Column(name = "source_code", nullable = false, length = 64)
+  private String sourceCode;
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public String getOwnerSub() {
+    return ownerSub;
+  }
+
+  public void setOwnerSub(String ownerSub) {
+    this.ownerSub = ownerSub;
+  }
+
+  public String getItemCode() {
+    return itemCode;
+  }
+
+  public void setItemCode(String itemCode) {
+    this.itemCode = itemCode;
+  }
+
+  public SourceType getSourceType() {
+    return sourceType;
+  }
+
+  public void setSourceType(SourceType sourceType) {
+    this.sourceType = sourceType;
+  }
+
+  public UUID getSourceId() {
+    return sourceId;
+  }
+
+  public void setSourceId(UUID sourceId) {
+    this.sourceId = sourceId;
+  }
+
+  public String getSourceCode() {
+    return sourceCode;
+  }
+
+  public void setSourceCode(String sourceCode) {
+    this.sourceCode = sourceCode;
+  }
+}
@@ -0,0 +1,129 @@
+package com.craftify.backend.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "upload_sessions")
+public class UploadSessionEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Column(name = "owner_sub", nullable = false, length = 191)
+  private String ownerSub;
+
+  @Column(name = "file_name", length = 255)
+  private String fileName;
+
+  @Column(name = "file_size", nullable = false)
+  private long fileSize;
+
+  @Column(name = "chunk_size", nullable = false)
+  private int chunkSize;
+
+  @Column(name = "chunk_count", nullable = false)
+  private int chunkCount;
+
+  @Column(name = "storage_path", nullable = false, length = 1024)
+  private String storagePath;
+
+  @Column(name = "created_at", nullable = false)
+  private OffsetDateTime createdAt;
+
+  @Column(name = "expires_at", nullable = false)
+  private OffsetDateTime expiresAt;
+
+  @PrePersist
+  void prePersist() {
+    if (createdAt == null) {
+      createdAt = OffsetDateTime.now();
+    }
+  }
+
+  /** Bytes chunk {@code index} must hold; only the last chunk may be shorter. */
+  public long chunkLength(int index) {
+    long start = (long) index * chunkSize;
+    return Math.min(chunkSize, fileSize - start);
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public String getOwnerSub() {
+    return ownerSub;
+  }
+
+  public void setOwnerSub(String ownerSub) {
+    this.ownerSub = ownerSub;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  public long getFileSize() {
+    return fileSize;
+  }
+
+  public void setFileSize(long fileSize) {
+    this.fileSize = fileSize;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  public int getChunkCount() {
+    return chunkCount;
+  }
+
+  public void setChunkCount(int chunkCount) {
+    this.chunkCount = chunkCount;
+  }
+
+  public String getStoragePath() {
+    return storagePath;
+  }
+
+  public void setStoragePath(String storagePath) {
+    this.storagePath = storagePath;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(OffsetDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public OffsetDateTime getExpiresAt() {
+    return expiresAt;
+  }
+
+  public void setExpiresAt(OffsetDateTime expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+}
@@ -0,0 +1,18 @@
+package com.craftify.backend.persistence.projection;
+
+import com.craftify.backend.model.BomStatus;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * One component of one BOM, with the BOM columns needed to pick and walk sub-assemblies. A BOM
+ * without components yields a single row with null component columns.
+ */
+public record BomGraphRow(
+    String code,
+    String productId,
+    BomStatus status,
+    OffsetDateTime updatedAt,
+    String itemId,
+    BigDecimal quantity,
+    String uom) {}
@@ -0,0 +1,20 @@
+package com.craftify.backend.persistence.projection;
+
+import com.craftify.backend.model.BomStatus;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Columns of {@code boms} shown in the BOM list; component names match {@code BomEntity}. The
+ * component count is the maintained {@code components_count} column, so listing never reads {@code
+ * bom_components}.
+ */
+public record BomListRow(
+    UUID id,
+    String code,
+    String productId,
+    String productName,
+    String revision,
+    BomStatus status,
+    OffsetDateTime updatedAt,
+    int componentsCount) {}
@@ -0,0 +1,16 @@
+package com.craftify.backend.persistence.projection;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Columns of {@code inventory} shown in the inventory list; names match {@code InventoryEntity}. */
+public record InventoryListRow(
+    UUID id,
+    String code,
+    String itemId,
+    String itemName,
+    String categoryName,
+    String uom,
+    BigDecimal available,
+    OffsetDateTime updatedAt) {}
@@ -0,0 +1,15 @@
+package com.craftify.backend.persistence.projection;
+
+import com.craftify.backend.model.Status;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Columns of {@code items} shown in the item list; component names match {@code ItemEntity}. */
+public record ItemListRow(
+    UUID id,
+    String code,
+    String name,
+    Status status,
+    String categoryName,
+    String uomBase,
+    OffsetDateTime updatedAt) {}
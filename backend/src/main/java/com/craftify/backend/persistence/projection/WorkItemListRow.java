@@ -0,0 +1,18 @@
+package com.craftify.backend.persistence.projection;
+
+import com.craftify.backend.model.WorkItemStatus;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Columns of {@code work_items} shown in the work item list; names match {@code WorkItemEntity}. */
+public record WorkItemListRow(
+    UUID id,
+    String code,
+    String bomId,
+    String parentBomItem,
+    String bomVersion,
+    int componentsCount,
+    BigDecimal requestedQty,
+    WorkItemStatus status,
+    OffsetDateTime requestedAt) {}
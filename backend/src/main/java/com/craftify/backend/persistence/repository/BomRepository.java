@@ -1,6 +1,8 @@
 package com.craftify.backend.persistence.repository;
 
 import com.craftify.backend.persistence.entity.BomEntity;
+import com.craftify.backend.persistence.projection.BomGraphRow;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,7 +11,10 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface BomRepository extends JpaRepository<BomEntity, UUID>, JpaSpecificationExecutor<BomEntity> {
+public interface BomRepository
+    extends JpaRepository<BomEntity, UUID>,
+        JpaSpecificationExecutor<BomEntity>,
+        BomRepositoryCustom {
 
   Optional<BomEntity> findByCodeIgnoreCaseAndOwnerSub(String code, String ownerSub);
 
@@ -17,14 +22,22 @@ public interface BomRepository extends JpaRepository<BomEntity, UUID>, JpaSpecif
 
   boolean existsByCodeIgnoreCaseAndOwnerSub(String code, String ownerSub);
 
+  @Query("select b from BomEntity b where b.ownerSub = :ownerSub and lower(b.code) in :codes")
+  List<BomEntity> findByOwnerSubAndLowerCodeIn(
+      @Param("ownerSub") String ownerSub, @Param("codes") Collection<String> lowerCodes);
+
+  @Query("select b.code from BomEntity b where b.ownerSub = :ownerSub and lower(b.code) in :codes")
+  List<String> findCodesByOwnerSubAndLowerCodeIn(
+      @Param("ownerSub") String ownerSub, @Param("codes") Collection<String> lowerCodes);
+
+  /** Every BOM of the owner with its components in order, for walking sub-assemblies in memory. */
   @Query(
-      value =
-          """
-          select coalesce(max(cast(substring(code from '[0-9]+$') as integer)), 0)
-          from boms
-          where owner_sub = :ownerSub
-            and code like 'BOM-%'
-          """,
-      nativeQuery = true)
-  int findMaxCodeSuffixByOwnerSub(@Param("ownerSub") String ownerSub);
+      """
+      select new com.craftify.backend.persistence.projection.BomGraphRow(
+        b.code, b.productId, b.status, b.updatedAt, c.itemId, c.quantity, c.uom)
+      from BomEntity b left join b.components c
+      where b.ownerSub = :ownerSub
+      order by b.code, index(c)
+      """)
+  List<BomGraphRow> findGraphRows(@Param("ownerSub") String ownerSub);
 }
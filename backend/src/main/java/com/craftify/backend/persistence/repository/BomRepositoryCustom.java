@@ -0,0 +1,25 @@
+package com.craftify.backend.persistence.repository;
+
+import com.craftify.backend.persistence.entity.BomEntity;
+import com.craftify.backend.persistence.projection.BomListRow;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/** List queries that read only the list columns into {@link BomListRow}, and the export scan. */
+public interface BomRepositoryCustom {
+
+  Page<BomListRow> findListRows(Specification<BomEntity> spec, Pageable pageable);
+
+  List<BomListRow> findListRows(Specification<BomEntity> spec, Sort sort, int limit);
+
+  /**
+   * Streams all matching BOMs with their components to {@code action}, {@code chunkSize} at a time,
+   * through a database cursor. The entities are detached once {@code action} returns.
+   */
+  void scan(
+      Specification<BomEntity> spec, Sort sort, int chunkSize, Consumer<List<BomEntity>> action);
+}
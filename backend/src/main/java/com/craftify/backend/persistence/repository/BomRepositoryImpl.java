@@ -0,0 +1,54 @@
+package com.craftify.backend.persistence.repository;
+
+import com.craftify.backend.persistence.entity.BomEntity;
+import com.craftify.backend.persistence.projection.BomListRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+class BomRepositoryImpl implements BomRepositoryCustom {
+
+  private final ListRowQueries<BomEntity, BomListRow> rows;
+  private final EntityScans<BomEntity> scans;
+
+  BomRepositoryImpl(EntityManager entityManager) {
+    this.scans = new EntityScans<>(entityManager, BomEntity.class, "components");
+    this.rows =
+        new ListRowQueries<>(
+            entityManager,
+            BomEntity.class,
+            BomListRow.class,
+            (root, cb) ->
+                new Selection<?>[] {
+                  root.get("id"),
+                  root.get("code"),
+                  root.get("productId"),
+                  root.get("productName"),
+                  root.get("revision"),
+                  root.get("status"),
+                  root.get("updatedAt"),
+                  root.get("componentsCount")
+                });
+  }
+
+  @Override
+  public Page<BomListRow> findListRows(Specification<BomEntity> spec, Pageable pageable) {
+    return rows.page(spec, pageable);
+  }
+
+  @Override
+  public List<BomListRow> findListRows(Specification<BomEntity> spec, Sort sort, int limit) {
+    return rows.slice(spec, sort, limit);
+  }
+
+  @Override
+  public void scan(
+      Specification<BomEntity> spec, Sort sort, int chunkSize, Consumer<List<BomEntity>> action) {
+    scans.forEachChunk(spec, sort, chunkSize, action);
+  }
+}
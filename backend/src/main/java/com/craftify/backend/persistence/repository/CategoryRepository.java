@@ -1,10 +1,14 @@
 package com.craftify.backend.persistence.repository;
 
 import com.craftify.backend.persistence.entity.CategoryEntity;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CategoryRepository
     extends JpaRepository<CategoryEntity, UUID>, JpaSpecificationExecutor<CategoryEntity> {
@@ -18,4 +22,12 @@ public interface CategoryRepository
   Optional<CategoryEntity> findByNameIgnoreCaseAndOwnerSub(String name, String ownerSub);
 
   Optional<CategoryEntity> findByIdAndOwnerSub(UUID id, String ownerSub);
+
+  @Query(
+      """
+      select lower(c.name) from CategoryEntity c
+      where c.ownerSub = :ownerSub and lower(c.name) in :names
+      """)
+  List<String> findExistingLowerNames(
+      @Param("ownerSub") String ownerSub, @Param("names") Collection<String> lowerNames);
 }
@@ -0,0 +1,92 @@
+package com.craftify.backend.persistence.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+/**
+ * Reads every entity matching a specification through a forward-only cursor, a chunk at a time.
+ *
+ * <p>Each chunk's lazy collection, if any, is loaded with one extra query, the chunk is handed out
+ * while its entities are still managed, and the entities are then detached, so memory stays flat
+ * however many rows match. Must run inside a transaction: PostgreSQL only honours the fetch size
+ * with auto-commit off.
+ */
+final class EntityScans<E> {
+
+  private final EntityManager entityManager;
+  private final Class<E> entityType;
+  private final String collection;
+
+  /** {@code collection} names a lazy collection to load with each chunk, or is null. */
+  EntityScans(EntityManager entityManager, Class<E> entityType, String collection) {
+    this.entityManager = entityManager;
+    this.entityType = entityType;
+    this.collection = collection;
+  }
+
+  void forEachChunk(Specification<E> spec, Sort sort, int chunkSize, Consumer<List<E>> action) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<E> cq = cb.createQuery(entityType);
+    Root<E> root = cq.from(entityType);
+    Predicate predicate = spec.toPredicate(root, cq, cb);
+    if (predicate != null) {
+      cq.where(predicate);
+    }
+    if (sort.isSorted()) {
+      cq.orderBy(QueryUtils.toOrders(sort, root, cb));
+    }
+
+    List<E> chunk = new ArrayList<>(chunkSize);
+    try (Stream<E> rows =
+        entityManager
+            .createQuery(cq)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream()) {
+      Iterator<E> it = rows.iterator();
+      while (it.hasNext()) {
+        chunk.add(it.next());
+        if (chunk.size() >= chunkSize) {
+          emit(chunk, action);
+        }
+      }
+      emit(chunk, action);
+    }
+  }
+
+  private void emit(List<E> chunk, Consumer<List<E>> action) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    if (collection != null) {
+      loadCollections(chunk);
+    }
+    action.accept(Collections.unmodifiableList(chunk));
+    chunk.forEach(entityManager::detach);
+    chunk.clear();
+  }
+
+  /** Initializes the chunk's collections in one query instead of one per entity. */
+  private void loadCollections(List<E> chunk) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<E> cq = cb.createQuery(entityType);
+    Root<E> root = cq.from(entityType);
+    root.fetch(collection, JoinType.LEFT);
+    cq.select(root).distinct(true).where(root.in(chunk));
+    entityManager.createQuery(cq).getResultList();
+  }
+}
@@ -0,0 +1,136 @@
+package com.craftify.backend.persistence.repository;
+
+import com.craftify.backend.persistence.entity.ImportJobEntity;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Import jobs. State changes are conditional single-row updates, so the worker and cancellation
+ * requests arriving on other nodes never overwrite each other.
+ */
+public interface ImportJobRepository extends JpaRepository<ImportJobEntity, UUID> {
+
+  Optional<ImportJobEntity> findByIdAndOwnerSub(UUID id, String ownerSub);
+
+  List<ImportJobEntity> findByStatusInAndHeartbeatAtBefore(
+      Collection<ImportJobEntity.Status> statuses, OffsetDateTime cutoff);
+
+  @Query("select j.cancelRequested from ImportJobEntity j where j.id = :id")
+  boolean isCancelRequested(@Param("id") UUID id);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+      update ImportJobEntity j set j.status = :to, j.startedAt = :now
+      where j.id = :id and j.status = :from
+      """)
+  int markStarted(
+      @Param("id") UUID id,
+      @Param("from") ImportJobEntity.Status from,
+      @Param("to") ImportJobEntity.Status to,
+      @Param("now") OffsetDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+      update ImportJobEntity j set j.status = :to, j.finishedAt = :now
+      where j.id = :id and j.ownerSub = :ownerSub and j.status = :from
+      """)
+  int markCancelled(
+      @Param("id") UUID id,
+      @Param("ownerSub") String ownerSub,
+      @Param("from") ImportJobEntity.Status from,
+      @Param("to") ImportJobEntity.Status to,
+      @Param("now") OffsetDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+      update ImportJobEntity j set j.cancelRequested = true
+      where j.id = :id and j.ownerSub = :ownerSub and j.status = :status
+      """)
+  int requestCancel(
+      @Param("id") UUID id,
+      @Param("ownerSub") String ownerSub,
+      @Param("status") ImportJobEntity.Status status);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+      update ImportJobEntity j set j.heartbeatAt = :now
+      where j.id in :ids and j.status in :statuses
+      """)
+  int heartbeat(
+      @Param("ids") Collection<UUID> ids,
+      @Param("statuses") Collection<ImportJobEntity.Status> statuses,
+      @Param("now") OffsetDateTime now);
+
+  /** Fails the job if it is still active and its heartbeat is still older than {@code cutoff}. */
+  @Transactional
+  @Modifying
+  @Query(
+      """
+      update ImportJobEntity j
+      set j.status = :to, j.message = :message, j.finishedAt = :now
+      where j.id = :id and j.status in :from and j.heartbeatAt < :cutoff
+      """)
+  int failStale(
+      @Param("id") UUID id,
+      @Param("from") Collection<ImportJobEntity.Status> from,
+      @Param("cutoff") OffsetDateTime cutoff,
+      @Param("to") ImportJobEntity.Status to,
+      @Param("message") String message,
+      @Param("now") OffsetDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query(
+      """
+      update ImportJobEntity j
+      set j.rowsProcessed = :rows, j.createdCount = :created, j.updatedCount = :updated,
+          j.errorCount = :errorCount, j.errorsJson = :errorsJson
+      where j.id = :id
+      """)
+  int updateProgress(
+      @Param("id") UUID id,
+      @Param("rows") int rows,
+      @Param("created") int created,
+      @Param("updated") int updated,
+      @Param("errorCount") int errorCount,
+      @Param("errorsJson") String errorsJson);
+
+  /** Finishes the job if it is still {@code from}; a job failed as stale meanwhile is kept. */
+  @Transactional
+  @Modifying
+  @Query(
+      """
+      update ImportJobEntity j
+      set j.status = :status, j.rowsProcessed = :rows, j.createdCount = :created,
+          j.updatedCount = :updated, j.errorCount = :errorCount, j.errorsJson = :errorsJson,
+          j.message = :message, j.finishedAt = :now
+      where j.id = :id and j.status = :from
+      """)
+  int finish(
+      @Param("id") UUID id,
+      @Param("from") ImportJobEntity.Status from,
+      @Param("status") ImportJobEntity.Status status,
+      @Param("rows") int rows,
+      @Param("created") int created,
+      @Param("updated") int updated,
+      @Param("errorCount") int errorCount,
+      @Param("errorsJson") String errorsJson,
+      @Param("message") String message,
+      @Param("now") OffsetDateTime now);
+}
@@ -1,6 +1,8 @@
 package com.craftify.backend.persistence.repository;
 
 import com.craftify.backend.persistence.entity.InventoryEntity;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,7 +11,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface InventoryRepository
-    extends JpaRepository<InventoryEntity, UUID>, JpaSpecificationExecutor<InventoryEntity> {
+    extends JpaRepository<InventoryEntity, UUID>,
+        JpaSpecificationExecutor<InventoryEntity>,
+        InventoryRepositoryCustom {
 
   Optional<InventoryEntity> findByCodeIgnoreCaseAndOwnerSub(String code, String ownerSub);
 
@@ -22,11 +26,12 @@ public interface InventoryRepository
   @Query(
       value =
           """
-          select coalesce(max(cast(substring(code from '[0-9]+$') as integer)), 0)
+          select distinct upper(item_id)
           from inventory
           where owner_sub = :ownerSub
-            and code like 'INV-%'
+            and upper(item_id) in (:itemIds)
           """,
       nativeQuery = true)
-  int findMaxCodeSuffixByOwnerSub(@Param("ownerSub") String ownerSub);
+  List<String> findStockedItemIds(
+      @Param("ownerSub") String ownerSub, @Param("itemIds") Collection<String> itemIds);
 }
@@ -0,0 +1,30 @@
+package com.craftify.backend.persistence.repository;
+
+import com.craftify.backend.persistence.entity.InventoryEntity;
+import com.craftify.backend.persistence.projection.InventoryListRow;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * List queries that read only the list columns into {@link InventoryListRow}, and the export scan.
+ */
+public interface InventoryRepositoryCustom {
+
+  Page<InventoryListRow> findListRows(Specification<InventoryEntity> spec, Pageable pageable);
+
+  List<InventoryListRow> findListRows(Specification<InventoryEntity> spec, Sort sort, int limit);
+
+  /**
+   * Streams all matching inventory rows to {@code action}, {@code chunkSize} at a time, through a
+   * database cursor. The entities are detached once {@code action} returns.
+   */
+  void scan(
+      Specification<InventoryEntity> spec,
+      Sort sort,
+      int chunkSize,
+      Consumer<List<InventoryEntity>> action);
+}
@@ -0,0 +1,57 @@
+package com.craftify.backend.persistence.repository;
+
+import com.craftify.backend.persistence.entity.InventoryEntity;
+import com.craftify.backend.persistence.projection.InventoryListRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+class InventoryRepositoryImpl implements InventoryRepositoryCustom {
+
+  private final ListRowQueries<InventoryEntity, InventoryListRow> rows;
+  private final EntityScans<InventoryEntity> scans;
+
+  InventoryRepositoryImpl(EntityManager entityManager) {
+    this.scans = new EntityScans<>(entityManager, InventoryEntity.class, null);
+    this.rows =
+        new ListRowQueries<>(
+            entityManager,
+            InventoryEntity.class,
+            InventoryListRow.class,
+            (root, cb) ->
+                new Selection<?>[] {
+                  root.get("id"),
+                  root.get("code"),
+                  root.get("itemId"),
+                  root.get("itemName"),
+                  root.get("categoryName"),
+                  root.get("uom"),
+                  root.get("available"),
+                  root.get("updatedAt")
+                });
+  }
+
+  @Override
+  public Page<InventoryListRow> findListRows(Specification<InventoryEntity> spec, Pageable pageable) {
+    return rows.page(spec, pageable);
+  }
+
+  @Override
+  public List<InventoryListRow> findListRows(Specification<InventoryEntity> spec, Sort sort, int limit) {
+    return rows.slice(spec, sort, limit);
+  }
+
+  @Override
+  public void scan(
+      Specification<InventoryEntity> spec,
+      Sort sort,
+      int chunkSize,
+      Consumer<List<InventoryEntity>> action) {
+    scans.forEachChunk(spec, sort, chunkSize, action);
+  }
+}
@@ -0,0 +1,155 @@
+package com.craftify.backend.persistence.repository;
+
+import com.craftify.backend.persistence.entity.ItemReferenceEntity;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ItemReferenceRepository extends JpaRepository<ItemReferenceEntity, UUID> {
+
+  interface SourceTypeCount {
+    ItemReferenceEntity.SourceType getSourceType();
+
+    long getTotal();
+  }
+
+  interface WhereUsedRow {
+    int getLevel();
+
+    String getBomId();
+
+    String getProductId();
+
+    String getProductName();
+
+    String getRevision();
+
+    String getStatus();
+
+    String getItemId();
+
+    BigDecimal getQuantity();
+
+    String getUom();
+  }
+
+  boolean existsByOwnerSubAndItemCode(String ownerSub, String itemCode);
+
+  /**
+   * BOMs that consume {@code itemCode}, then the BOMs that consume their products, up to {@code
+   * maxLevel} levels. Each BOM is reported once per consumed item at the lowest level it was
+   * reached; the level cap also ends component loops.
+   */
+  @Query(
+      value =
+          """
+          with recursive used(bom_id, item_code, product_code, level) as (
+            select c.source_id, c.item_code, p.item_code, 1
+            from item_references c
+            join item_references p
+              on p.source_id = c.source_id and p.source_type = 'BOM_PRODUCT'
+            where c.owner_sub = :ownerSub
+              and c.item_code = :itemCode
+              and c.source_type = 'BOM_COMPONENT'
+            union
+            select c.source_id, c.item_code, p.item_code, u.level + 1
+            from used u
+            join item_references c
+              on c.owner_sub = :ownerSub
+              and c.item_code = u.product_code
+              and c.source_type = 'BOM_COMPONENT'
+            join item_references p
+              on p.source_id = c.source_id and p.source_type = 'BOM_PRODUCT'
+            where u.level < :maxLevel
+          )
+          select min(u.level) as level,
+            b.code as "bomId",
+            b.product_id as "productId",
+            b.product_name as "productName",
+            b.revision as revision,
+            b.status as status,
+            u.item_code as "itemId",
+            (select sum(bc.quantity) from bom_components bc
+              where bc.bom_id = b.id and upper(trim(bc.item_id)) = u.item_code) as quantity,
+            (select min(bc.uom) from bom_components bc
+              where bc.bom_id = b.id and upper(trim(bc.item_id)) = u.item_code) as uom
+          from used u
+          join boms b on b.id = u.bom_id
+          group by b.id, b.code, b.product_id, b.product_name, b.revision, b.status, u.item_code
+          order by level, "bomId", "itemId"
+          """,
+      nativeQuery = true)
+  List<WhereUsedRow> findWhereUsed(
+      @Param("ownerSub") String ownerSub,
+      @Param("itemCode") String itemCode,
+      @Param("maxLevel") int maxLevel);
+
+  @Query(
+      value =
+          """
+          select r.sourceType as sourceType, count(r) as total
+          from ItemReferenceEntity r
+          where r.ownerSub = :ownerSub and r.itemCode = :itemCode
+          group by r.sourceType
+          """)
+  List<SourceTypeCount> countBySourceType(
+      @Param("ownerSub") String ownerSub, @Param("itemCode") String itemCode);
+
+  @Query(
+      value =
+          """
+          select distinct r.itemCode from ItemReferenceEntity r
+          where r.ownerSub = :ownerSub and r.itemCode in :itemCodes
+          """)
+  List<String> findReferencedItemCodes(
+      @Param("ownerSub") String ownerSub, @Param("itemCodes") Collection<String> itemCodes);
+
+  /**
+   * Those of {@code bomIds} whose product can be reached again by following components through the
+   * owner's BOMs, i.e. the BOMs that close a component loop.
+   */
+  @Query(
+      value =
+          """
+          with recursive reach(start_id, product_code, item_code) as (
+            select p.source_id, p.item_code, c.item_code
+            from item_references p
+            join item_references c
+              on c.source_id = p.source_id and c.source_type = 'BOM_COMPONENT'
+            where p.source_id in (:bomIds) and p.source_type = 'BOM_PRODUCT'
+            union
+            select r.start_id, r.product_code, c.item_code
+            from reach r
+            join item_references p
+              on p.owner_sub = :ownerSub
+              and p.item_code = r.item_code
+              and p.source_type = 'BOM_PRODUCT'
+            join item_references c
+              on c.source_id = p.source_id and c.source_type = 'BOM_COMPONENT'
+            where r.item_code <> r.product_code
+          )
+          select distinct start_id from reach where item_code = product_code
+          """,
+      nativeQuery = true)
+  List<UUID> findBomsOnCycle(
+      @Param("ownerSub") String ownerSub, @Param("bomIds") Collection<UUID> bomIds);
+
+  /** Serializes BOM graph changes of one owner until the transaction ends. */
+  @Query(
+      value = "select count(*) from pg_advisory_xact_lock(hashtextextended(:lockKey, 0))",
+      nativeQuery = true)
+  long lockBomGraph(@Param("lockKey") String lockKey);
+
+  @Modifying
+  @Query("delete from ItemReferenceEntity r where r.sourceId = :sourceId")
+  int deleteBySourceId(@Param("sourceId") UUID sourceId);
+
+  @Modifying
+  @Query("delete from ItemReferenceEntity r where r.sourceId in :sourceIds")
+  int deleteBySourceIdIn(@Param("sourceIds") Collection<UUID> sourceIds);
+}
@@ -2,14 +2,28 @@ package com.craftify.backend.persistence.repository;
 
 import com.craftify.backend.model.Status;
 import com.craftify.backend.persistence.entity.ItemEntity;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface ItemRepository extends JpaRepository<ItemEntity, UUID>, JpaSpecificationExecutor<ItemEntity> {
+public interface ItemRepository
+    extends JpaRepository<ItemEntity, UUID>,
+        JpaSpecificationExecutor<ItemEntity>,
+        ItemRepositoryCustom {
+
+  interface ItemOwnership {
+    UUID getId();
+
+    String getCode();
+
+    String getOwnerSub();
+  }
 
   Optional<ItemEntity> findByCodeIgnoreCaseAndOwnerSub(String code, String ownerSub);
 
@@ -22,11 +36,26 @@ public interface ItemRepository extends JpaRepository<ItemEntity, UUID>, JpaSpec
   @Query(
       value =
           """
-          select coalesce(max(cast(substring(code from '[0-9]+$') as integer)), 0)
-          from items
-          where owner_sub = :ownerSub
-            and code like 'ITM-%'
-          """,
-      nativeQuery = true)
-  int findMaxCodeSuffixByOwnerSub(@Param("ownerSub") String ownerSub);
+          select i.id as id, i.code as code, i.ownerSub as ownerSub
+          from ItemEntity i
+          where i.id in :ids
+          """)
+  List<ItemOwnership> findOwnershipByIdIn(@Param("ids") Collection<UUID> ids);
+
+  @Query("select i from ItemEntity i where i.ownerSub = :ownerSub and lower(i.code) in :codes")
+  List<ItemEntity> findByOwnerSubAndLowerCodeIn(
+      @Param("ownerSub") String ownerSub, @Param("codes") Collection<String> lowerCodes);
+
+  @Query(
+      "select i.code from ItemEntity i where i.ownerSub = :ownerSub and lower(i.code) in :codes")
+  List<String> findCodesByOwnerSubAndLowerCodeIn(
+      @Param("ownerSub") String ownerSub, @Param("codes") Collection<String> lowerCodes);
+
+  @Query("select i.code from ItemEntity i where i.ownerSub = :ownerSub")
+  List<String> findCodesByOwnerSub(@Param("ownerSub") String ownerSub);
+
+  @Modifying
+  @Query("delete from ItemEntity i where i.ownerSub = :ownerSub and i.id in :ids")
+  int deleteByOwnerSubAndIdIn(
+      @Param("ownerSub") String ownerSub, @Param("ids") Collection<UUID> ids);
 }
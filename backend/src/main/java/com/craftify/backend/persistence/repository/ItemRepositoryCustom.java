@@ -0,0 +1,25 @@
+package com.craftify.backend.persistence.repository;
+
+import com.craftify.backend.persistence.entity.ItemEntity;
+import com.craftify.backend.persistence.projection.ItemListRow;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/** List queries that read only the list columns into {@link ItemListRow}, and the export scan. */
+public interface ItemRepositoryCustom {
+
+  Page<ItemListRow> findListRows(Specification<ItemEntity> spec, Pageable pageable);
+
+  List<ItemListRow> findListRows(Specification<ItemEntity> spec, Sort sort, int limit);
+
+  /**
+   * Streams all matching items with their uoms to {@code action}, {@code chunkSize} at a time,
+   * through a database cursor. The entities are detached once {@code action} returns.
+   */
+  void scan(
+      Specification<ItemEntity> spec, Sort sort, int chunkSize, Consumer<List<ItemEntity>> action);
+}
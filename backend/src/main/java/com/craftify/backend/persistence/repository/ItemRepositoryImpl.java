@@ -0,0 +1,53 @@
+package com.craftify.backend.persistence.repository;
+
+import com.craftify.backend.persistence.entity.ItemEntity;
+import com.craftify.backend.persistence.projection.ItemListRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+  private final ListRowQueries<ItemEntity, ItemListRow> rows;
+  private final EntityScans<ItemEntity> scans;
+
+  ItemRepositoryImpl(EntityManager entityManager) {
+    this.scans = new EntityScans<>(entityManager, ItemEntity.class, "uoms");
+    this.rows =
+        new ListRowQueries<>(
+            entityManager,
+            ItemEntity.class,
+            ItemListRow.class,
+            (root, cb) ->
+                new Selection<?>[] {
+                  root.get("id"),
+                  root.get("code"),
+                  root.get("name"),
+                  root.get("status"),
+                  root.get("categoryName"),
+                  root.get("uomBase"),
+                  root.get("updatedAt")
+                });
+  }
+
+  @Override
+  public Page<ItemListRow> findListRows(Specification<ItemEntity> spec, Pageable pageable) {
+    return rows.page(spec, pageable);
+  }
+
+  @Override
+  public List<ItemListRow> findListRows(Specification<ItemEntity> spec, Sort sort, int limit) {
+    return rows.slice(spec, sort, limit);
+  }
+
+  @Override
+  public void scan(
+      Specification<ItemEntity> spec, Sort sort, int chunkSize, Consumer<List<ItemEntity>> action) {
+    scans.forEachChunk(spec, sort, chunkSize, action);
+  }
+}
@@ -0,0 +1,84 @@
+package com.craftify.backend.persistence.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * Runs list specifications as constructor-expression queries, so only the list columns are read
+ * and no entities enter the persistence context.
+ *
+ * <p>A specification that sets its own {@code orderBy} (relevance ranking) is honoured when the
+ * requested sort is unsorted; the count query is built separately and never carries an order.
+ */
+final class ListRowQueries<E, R> {
+
+  private final EntityManager entityManager;
+  private final Class<E> entityType;
+  private final Class<R> rowType;
+  private final BiFunction<Root<E>, CriteriaBuilder, Selection<?>[]> columns;
+
+  ListRowQueries(
+      EntityManager entityManager,
+      Class<E> entityType,
+      Class<R> rowType,
+      BiFunction<Root<E>, CriteriaBuilder, Selection<?>[]> columns) {
+    this.entityManager = entityManager;
+    this.entityType = entityType;
+    this.rowType = rowType;
+    this.columns = columns;
+  }
+
+  Page<R> page(Specification<E> spec, Pageable pageable) {
+    List<R> content =
+        entityManager
+            .createQuery(rowQuery(spec, pageable.getSort()))
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+    return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+  }
+
+  List<R> slice(Specification<E> spec, Sort sort, int limit) {
+    return entityManager.createQuery(rowQuery(spec, sort)).setMaxResults(limit).getResultList();
+  }
+
+  private CriteriaQuery<R> rowQuery(Specification<E> spec, Sort sort) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<R> cq = cb.createQuery(rowType);
+    Root<E> root = cq.from(entityType);
+    cq.select(cb.construct(rowType, columns.apply(root, cb)));
+    Predicate predicate = spec.toPredicate(root, cq, cb);
+    if (predicate != null) {
+      cq.where(predicate);
+    }
+    if (sort.isSorted()) {
+      cq.orderBy(QueryUtils.toOrders(sort, root, cb));
+    }
+    return cq;
+  }
+
+  private long count(Specification<E> spec) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+    Root<E> root = cq.from(entityType);
+    Predicate predicate = spec.toPredicate(root, cq, cb);
+    if (predicate != null) {
+      cq.where(predicate);
+    }
+    cq.select(cb.count(root));
+    cq.orderBy(List.of());
+    return entityManager.createQuery(cq).getSingleResult();
+  }
+}
@@ -0,0 +1,59 @@
+package com.craftify.backend.persistence.repository;
+
+import com.craftify.backend.persistence.entity.UploadSessionEntity;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Resumable upload sessions and the chunks verified for them. Chunk rows are removed with their
+ * session by the foreign key.
+ */
+public interface UploadSessionRepository extends JpaRepository<UploadSessionEntity, UUID> {
+
+  Optional<UploadSessionEntity> findByIdAndOwnerSub(UUID id, String ownerSub);
+
+  List<UploadSessionEntity> findByExpiresAtBefore(OffsetDateTime now);
+
+  @Query(
+      value =
+          "select chunk_index from upload_chunks where upload_id = :uploadId order by chunk_index",
+      nativeQuery = true)
+  List<Integer> findReceivedChunks(@Param("uploadId") UUID uploadId);
+
+  @Query(
+      value = "select count(*) from upload_chunks where upload_id = :uploadId",
+      nativeQuery = true)
+  int countReceivedChunks(@Param("uploadId") UUID uploadId);
+
+  /** Records a verified chunk; sending a chunk again replaces its checksum. */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          """
+          insert into upload_chunks (upload_id, chunk_index, sha256, received_at)
+          values (:uploadId, :chunkIndex, :sha256, now())
+          on conflict (upload_id, chunk_index)
+          do update set sha256 = excluded.sha256, received_at = excluded.received_at
+          """,
+      nativeQuery = true)
+  int recordChunk(
+      @Param("uploadId") UUID uploadId,
+      @Param("chunkIndex") int chunkIndex,
+      @Param("sha256") String sha256);
+
+  /** Forgets a chunk whose bytes are being rewritten, so it never counts as verified meanwhile. */
+  @Transactional
+  @Modifying
+  @Query(
+      value = "delete from upload_chunks where upload_id = :uploadId and chunk_index = :chunkIndex",
+      nativeQuery = true)
+  int forgetChunk(@Param("uploadId") UUID uploadId, @Param("chunkIndex") int chunkIndex);
+}
@@ -0,0 +1,30 @@
+package com.craftify.backend.persistence.repository;
+
+import com.craftify.backend.persistence.entity.WorkItemEntity;
+import com.craftify.backend.persistence.projection.WorkItemListRow;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * List queries that read only the list columns into {@link WorkItemListRow}, and the export scan.
+ */
+public interface WorkItemRepositoryCustom {
+
+  Page<WorkItemListRow> findListRows(Specification<WorkItemEntity> spec, Pageable pageable);
+
+  List<WorkItemListRow> findListRows(Specification<WorkItemEntity> spec, Sort sort, int limit);
+
+  /**
+   * Streams all matching work items to {@code action}, {@code chunkSize} at a time, through a
+   * database cursor. The entities are detached once {@code action} returns.
+   */
+  void scan(
+      Specification<WorkItemEntity> spec,
+      Sort sort,
+      int chunkSize,
+      Consumer<List<WorkItemEntity>> action);
+}
@@ -0,0 +1,58 @@
+package com.craftify.backend.persistence.repository;
+
+import com.craftify.backend.persistence.entity.WorkItemEntity;
+import com.craftify.backend.persistence.projection.WorkItemListRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+class WorkItemRepositoryImpl implements WorkItemRepositoryCustom {
+
+  private final ListRowQueries<WorkItemEntity, WorkItemListRow> rows;
+  private final EntityScans<WorkItemEntity> scans;
+
+  WorkItemRepositoryImpl(EntityManager entityManager) {
+    this.scans = new EntityScans<>(entityManager, WorkItemEntity.class, null);
+    this.rows =
+        new ListRowQueries<>(
+            entityManager,
+            WorkItemEntity.class,
+            WorkItemListRow.class,
+            (root, cb) ->
+                new Selection<?>[] {
+                  root.get("id"),
+                  root.get("code"),
+                  root.get("bomId"),
+                  root.get("parentBomItem"),
+                  root.get("bomVersion"),
+                  root.get("componentsCount"),
+                  root.get("requestedQty"),
+                  root.get("status"),
+                  root.get("requestedAt")
+                });
+  }
+
+  @Override
+  public Page<WorkItemListRow> findListRows(Specification<WorkItemEntity> spec, Pageable pageable) {
+    return rows.page(spec, pageable);
+  }
+
+  @Override
+  public List<WorkItemListRow> findListRows(Specification<WorkItemEntity> spec, Sort sort, int limit) {
+    return rows.slice(spec, sort, limit);
+  }
+
+  @Override
+  public void scan(
+      Specification<WorkItemEntity> spec,
+      Sort sort,
+      int chunkSize,
+      Consumer<List<WorkItemEntity>> action) {
+    scans.forEachChunk(spec, sort, chunkSize, action);
+  }
+}
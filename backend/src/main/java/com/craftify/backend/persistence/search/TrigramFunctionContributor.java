@@ -0,0 +1,28 @@
+package com.craftify.backend.persistence.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the pg_trgm operators used by {@link TrigramSearch} so they can be called from
+ * criteria queries. Picked up through {@code META-INF/services}.
+ */
+public class TrigramFunctionContributor implements FunctionContributor {
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+    functionContributions
+        .getFunctionRegistry()
+        .registerPattern(
+            TrigramSearch.WORD_MATCH, "(?1 <% ?2)", types.resolve(StandardBasicTypes.BOOLEAN));
+    functionContributions
+        .getFunctionRegistry()
+        .registerPattern(
+            TrigramSearch.WORD_SIMILARITY,
+            "word_similarity(?1, ?2)",
+            types.resolve(StandardBasicTypes.DOUBLE));
+  }
+}
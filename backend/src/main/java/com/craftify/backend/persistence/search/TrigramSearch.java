@@ -0,0 +1,76 @@
+package com.craftify.backend.persistence.search;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria building blocks for the list {@code q} filters, backed by the pg_trgm GIN indexes from
+ * V18. A field matches when it contains the term or, for terms of at least three characters, when
+ * some word in it is within pg_trgm's word-similarity threshold of the term (typo tolerance).
+ * Fields must be passed exactly as indexed, i.e. {@code LOWER(column)}, which {@link #lower}
+ * produces.
+ */
+public final class TrigramSearch {
+
+  static final String WORD_MATCH = "trgm_word_match";
+  static final String WORD_SIMILARITY = "trgm_word_similarity";
+
+  private static final int FUZZY_MIN_LENGTH = 3;
+
+  private TrigramSearch() {}
+
+  public static String normalize(String q) {
+    return q == null ? "" : q.trim().toLowerCase(Locale.ROOT);
+  }
+
+  public static boolean hasTerm(String q) {
+    return !normalize(q).isEmpty();
+  }
+
+  public static List<Expression<String>> lower(CriteriaBuilder cb, List<Expression<String>> fields) {
+    return fields.stream().map(cb::lower).toList();
+  }
+
+  /** OR of substring and (when long enough) fuzzy word matches across the given fields. */
+  public static Predicate matches(CriteriaBuilder cb, String q, List<Expression<String>> fields) {
+    String term = normalize(q);
+    String pattern = "%" + term + "%";
+    boolean fuzzy = term.length() >= FUZZY_MIN_LENGTH;
+    List<Predicate> alternatives = new ArrayList<>();
+    for (Expression<String> field : lower(cb, fields)) {
+      alternatives.add(cb.like(field, pattern));
+      if (fuzzy) {
+        alternatives.add(
+            cb.isTrue(cb.function(WORD_MATCH, Boolean.class, cb.literal(term), field)));
+      }
+    }
+    return cb.or(alternatives.toArray(Predicate[]::new));
+  }
+
+  /** Best word similarity of the term across the given fields, for ordering by relevance. */
+  public static Expression<Double> relevance(
+      CriteriaBuilder cb, String q, List<Expression<String>> fields) {
+    String term = normalize(q);
+    List<Expression<String>> lowered = lower(cb, fields);
+    if (lowered.size() == 1) {
+      return cb.function(WORD_SIMILARITY, Double.class, cb.literal(term), lowered.getFirst());
+    }
+    Expression<?>[] scores =
+        lowered.stream()
+            .map(field -> cb.function(WORD_SIMILARITY, Double.class, cb.literal(term), field))
+            .toArray(Expression<?>[]::new);
+    return cb.function("greatest", Double.class, scores);
+  }
+
+  /** Whether a list request should be ordered by relevance rather than by its sort key. */
+  public static boolean ranked(String q, String sort) {
+    if (!hasTerm(q)) {
+      return false;
+    }
+    return sort == null || sort.isBlank() || sort.trim().toLowerCase(Locale.ROOT).startsWith("relevance");
+  }
+}
@@ -0,0 +1,237 @@
+package com.craftify.backend.service;
+
+import com.craftify.backend.error.ApiException;
+import com.craftify.backend.model.BomExplosion;
+import com.craftify.backend.model.BomExplosionRequirementsInner;
+import com.craftify.backend.model.BomExplosionTreeInner;
+import com.craftify.backend.model.BomStatus;
+import com.craftify.backend.persistence.projection.BomGraphRow;
+import com.craftify.backend.persistence.repository.BomRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Explodes a BOM through all levels of sub-assemblies.
+ *
+ * <p>The owner's whole BOM graph is read in one query and walked in memory. A component is a
+ * sub-assembly when its item is the product of another BOM with components; of several such BOMs
+ * the Active one wins, then Draft, then Hold, the most recently updated first, and obsolete BOMs
+ * are never used. Each BOM is exploded once per request per unit of its product, and that result is
+ * scaled wherever the sub-assembly appears. Component quantities are taken to be in the
+ * sub-assembly's own unit; nothing is converted.
+ */
+@Service
+public class BomExplosionService {
+
+  /** Indented lines allowed in one explosion; shared sub-assemblies repeat in the tree. */
+  static final int MAX_TREE_LINES = 100_000;
+
+  private static final int SCALE = 6;
+
+  private static final Comparator<Node> SUB_ASSEMBLY_PREFERENCE =
+      Comparator.comparingInt((Node node) -> statusRank(node.status))
+          .thenComparing(
+              node -> node.updatedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+  private final BomRepository bomRepository;
+  private final CurrentUserService currentUserService;
+
+  public BomExplosionService(BomRepository bomRepository, CurrentUserService currentUserService) {
+    this.bomRepository = bomRepository;
+    this.currentUserService = currentUserService;
+  }
+
+  @Transactional(readOnly = true)
+  public BomExplosion explode(String bomId, BigDecimal quantity) {
+    String ownerSub = currentUserService.requiredSub();
+    BigDecimal qty = quantity == null ? BigDecimal.ONE : quantity;
+    if (qty.signum() <= 0) {
+      throw ApiException.badRequest("invalid_quantity");
+    }
+    Graph graph = new Graph(bomRepository.findGraphRows(ownerSub));
+    Node root = bomId == null ? null : graph.byCode.get(key(bomId));
+    if (root == null) {
+      throw ApiException.notFound("bom_not_found");
+    }
+
+    Exploded exploded = new Explosion(graph).explode(root);
+    List<BomExplosionTreeInner> tree = new ArrayList<>(exploded.lines.size());
+    for (Line line : exploded.lines) {
+      tree.add(
+          new BomExplosionTreeInner()
+              .level(line.level())
+              .itemId(line.itemId())
+              .bomId(line.bomId())
+              .quantityPer(scale(line.quantityPer()))
+              .quantity(scale(line.quantity().multiply(qty)))
+              .uom(line.uom()));
+    }
+    List<Leaf> leaves = new ArrayList<>(exploded.leaves.keySet());
+    leaves.sort(
+        Comparator.comparing(Leaf::itemId)
+            .thenComparing(Leaf::uom, Comparator.nullsFirst(Comparator.naturalOrder())));
+    List<BomExplosionRequirementsInner> requirements = new ArrayList<>(leaves.size());
+    for (Leaf leaf : leaves) {
+      requirements.add(
+          new BomExplosionRequirementsInner()
+              .itemId(leaf.itemId())
+              .quantity(scale(exploded.leaves.get(leaf).multiply(qty)))
+              .uom(leaf.uom()));
+    }
+    return new BomExplosion()
+        .bomId(root.code)
+        .productId(root.productId)
+        .quantity(qty)
+        .levels(exploded.depth)
+        .tree(tree)
+        .requirements(requirements);
+  }
+
+  private static int statusRank(BomStatus status) {
+    if (status == null) {
+      return 3;
+    }
+    return switch (status) {
+      case ACTIVE -> 0;
+      case DRAFT -> 1;
+      case HOLD -> 2;
+      case OBSOLITE -> 3;
+    };
+  }
+
+  private static String key(String code) {
+    return code == null ? "" : code.trim().toUpperCase(Locale.ROOT);
+  }
+
+  private static BigDecimal scale(BigDecimal value) {
+    return value.setScale(SCALE, RoundingMode.HALF_UP);
+  }
+
+  private record Component(String itemId, BigDecimal quantity, String uom) {}
+
+  /** A tree line per unit of the exploded BOM; {@code bomId} is set for sub-assemblies. */
+  private record Line(
+      int level,
+      String itemId,
+      String bomId,
+      BigDecimal quantityPer,
+      BigDecimal quantity,
+      String uom) {}
+
+  private record Leaf(String itemId, String uom) {}
+
+  private static final class Node {
+    final String code;
+    final String productId;
+    final BomStatus status;
+    final OffsetDateTime updatedAt;
+    final List<Component> components = new ArrayList<>();
+
+    Node(BomGraphRow row) {
+      this.code = row.code();
+      this.productId = row.productId();
+      this.status = row.status();
+      this.updatedAt = row.updatedAt();
+    }
+  }
+
+  /** The owner's BOMs by code, and the BOM that builds each sub-assembly item. */
+  private static final class Graph {
+    final Map<String, Node> byCode = new HashMap<>();
+    final Map<String, Node> byProduct = new HashMap<>();
+
+    Graph(List<BomGraphRow> rows) {
+      for (BomGraphRow row : rows) {
+        Node node = byCode.computeIfAbsent(key(row.code()), code -> new Node(row));
+        if (row.itemId() != null) {
+          node.components.add(
+              new Component(
+                  key(row.itemId()),
+                  Objects.requireNonNullElse(row.quantity(), BigDecimal.ZERO),
+                  row.uom()));
+        }
+      }
+      for (Node node : byCode.values()) {
+        if (node.components.isEmpty() || node.status == BomStatus.OBSOLITE) {
+          continue;
+        }
+        byProduct.merge(
+            key(node.productId),
+            node,
+            (current, candidate) ->
+                SUB_ASSEMBLY_PREFERENCE.compare(candidate, current) < 0 ? candidate : current);
+      }
+    }
+  }
+
+  /** Per-unit explosion of one BOM: its indented lines and leaf totals. */
+  private record Exploded(List<Line> lines, Map<Leaf, BigDecimal> leaves, int depth) {}
+
+  /** Memoizes per-unit explosions for one request and refuses component loops. */
+  private static final class Explosion {
+    final Graph graph;
+    final Map<String, Exploded> memo = new HashMap<>();
+    final Set<String> inProgress = new HashSet<>();
+
+    Explosion(Graph graph) {
+      this.graph = graph;
+    }
+
+    Exploded explode(Node node) {
+      String code = key(node.code);
+      Exploded cached = memo.get(code);
+      if (cached != null) {
+        return cached;
+      }
+      if (!inProgress.add(code)) {
+        throw ApiException.conflict("bom_cycle");
+      }
+      List<Line> lines = new ArrayList<>();
+      Map<Leaf, BigDecimal> leaves = new LinkedHashMap<>();
+      int depth = node.components.isEmpty() ? 0 : 1;
+      for (Component component : node.components) {
+        Node sub = graph.byProduct.get(component.itemId());
+        BigDecimal per = component.quantity();
+        String subCode = sub == null ? null : sub.code;
+        lines.add(new Line(1, component.itemId(), subCode, per, per, component.uom()));
+        if (sub == null) {
+          leaves.merge(new Leaf(component.itemId(), component.uom()), per, BigDecimal::add);
+          continue;
+        }
+        Exploded child = explode(sub);
+        if (lines.size() + child.lines.size() > MAX_TREE_LINES) {
+          throw ApiException.badRequest("bom_explosion_too_large");
+        }
+        for (Line line : child.lines) {
+          lines.add(
+              new Line(
+                  line.level() + 1,
+                  line.itemId(),
+                  line.bomId(),
+                  line.quantityPer(),
+                  line.quantity().multiply(per),
+                  line.uom()));
+        }
+        child.leaves.forEach((leaf, qty) -> leaves.merge(leaf, qty.multiply(per), BigDecimal::add));
+        depth = Math.max(depth, child.depth + 1);
+      }
+      inProgress.remove(code);
+      Exploded exploded = new Exploded(lines, leaves, depth);
+      memo.put(code, exploded);
+      return exploded;
+    }
+  }
+}
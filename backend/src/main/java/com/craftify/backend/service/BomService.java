@@ -7,17 +7,27 @@ import com.craftify.backend.model.BomList;
 import com.craftify.backend.model.BomPage;
 import com.craftify.backend.model.BomQuery;
 import com.craftify.backend.model.BomStatus;
+import com.craftify.backend.model.ChangeFeed;
 import com.craftify.backend.persistence.entity.BomComponentEmbeddable;
 import com.craftify.backend.persistence.entity.BomEntity;
-import com.craftify.backend.persistence.entity.ItemEntity;
+import com.craftify.backend.persistence.projection.BomListRow;
 import com.craftify.backend.persistence.repository.BomRepository;
-import com.craftify.backend.persistence.repository.ItemRepository;
+import com.craftify.backend.persistence.search.TrigramSearch;
 import jakarta.persistence.criteria.Predicate;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,43 +40,41 @@ import org.springframework.transaction.annotation.Transactional;
 public class BomService {
 
   private final BomRepository bomRepository;
-  private final ItemRepository itemRepository;
   private final CurrentUserService currentUserService;
+  private final ItemReferenceService itemReferenceService;
+  private final CodeSequenceService codeSequenceService;
+  private final CodeLookupService codeLookupService;
+  private final CollectionVersionService collectionVersionService;
+  private final SyncChangeService syncChangeService;
 
   public BomService(
       BomRepository bomRepository,
-      ItemRepository itemRepository,
-      CurrentUserService currentUserService) {
+      CurrentUserService currentUserService,
+      ItemReferenceService itemReferenceService,
+      CodeSequenceService codeSequenceService,
+      CodeLookupService codeLookupService,
+      CollectionVersionService collectionVersionService,
+      SyncChangeService syncChangeService) {
     this.bomRepository = bomRepository;
-    this.itemRepository = itemRepository;
     this.currentUserService = currentUserService;
+    this.itemReferenceService = itemReferenceService;
+    this.codeSequenceService = codeSequenceService;
+    this.codeLookupService = codeLookupService;
+    this.collectionVersionService = collectionVersionService;
+    this.syncChangeService = syncChangeService;
   }
 
   @Transactional(readOnly = true)
   public BomPage list(BomQuery query) {
     String ownerSub = currentUserService.requiredSub();
+    Specification<BomEntity> spec = listSpecification(query, ownerSub);
+    if (query.after() != null) {
+      return listAfter(spec, query);
+    }
+
     Pageable pageable =
         PageRequest.of(Math.max(query.page(), 0), Math.max(query.size(), 1), parseSort(query.sort()));
-
-    Specification<BomEntity> spec =
-        (root, cq, cb) -> {
-          List<Predicate> predicates = new ArrayList<>();
-          predicates.add(cb.equal(root.get("ownerSub"), ownerSub));
-          if (query.q() != null && !query.q().isBlank()) {
-            String pattern = "%" + query.q().toLowerCase(Locale.ROOT) + "%";
-            predicates.add(
-                cb.or(
-                    cb.like(cb.lower(root.get("code")), pattern),
-                    cb.like(cb.lower(root.get("productId")), pattern),
-                    cb.like(cb.lower(root.get("productName")), pattern)));
-          }
-          if (query.status() != null) {
-            predicates.add(cb.equal(root.get("status"), query.status()));
-          }
-          return cb.and(predicates.toArray(Predicate[]::new));
-        };
-
-    Page<BomEntity> result = bomRepository.findAll(spec, pageable);
+    Page<BomListRow> result = bomRepository.findListRows(spec, pageable);
 
     return new BomPage()
         .content(result.stream().map(this::toListModel).toList())
@@ -77,6 +85,64 @@ public class BomService {
         .sort(List.of(query.sort() == null || query.sort().isBlank() ? "updatedAt,desc" : query.sort()));
   }
 
+  private BomPage listAfter(Specification<BomEntity> spec, BomQuery query) {
+    int size = Math.max(query.size(), 1);
+    Sort sort = KeysetCursor.withTieBreaker(parseSort(query.sort()));
+    KeysetCursor cursor = KeysetCursor.decode(query.after(), sort);
+    Specification<BomEntity> seek = cursor == null ? spec : spec.and(cursor.toSpecification());
+
+    List<BomListRow> rows = bomRepository.findListRows(seek, sort, size + 1);
+    boolean hasMore = rows.size() > size;
+    List<BomListRow> content = hasMore ? rows.subList(0, size) : rows;
+
+    return new BomPage()
+        .content(content.stream().map(this::toListModel).toList())
+        .size(size)
+        .sort(List.of(query.sort() == null || query.sort().isBlank() ? "updatedAt,desc" : query.sort()))
+        .nextCursor(hasMore ? KeysetCursor.after(content.getLast(), sort).encode() : null);
+  }
+
+  private Specification<BomEntity> listSpecification(BomQuery query, String ownerSub) {
+    return (root, cq, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+      predicates.add(cb.equal(root.get("ownerSub"), ownerSub));
+      if (TrigramSearch.hasTerm(query.q())) {
+        predicates.add(
+            TrigramSearch.matches(
+                cb,
+                query.q(),
+                List.of(root.get("code"), root.get("productId"), root.get("productName"))));
+      }
+      if (query.status() != null) {
+        predicates.add(cb.equal(root.get("status"), query.status()));
+      }
+      return cb.and(predicates.toArray(Predicate[]::new));
+    };
+  }
+
+  /** Delta sync: list rows changed since {@code since} and the codes deleted since. */
+  @Transactional(readOnly = true)
+  public ChangeFeed<BomList> changes(String since, Integer limit) {
+    String ownerSub = currentUserService.requiredSub();
+    SyncChangeService.Batch batch =
+        syncChangeService.read(DataCollection.BOMS, ownerSub, since, limit);
+    if (batch.upserted().isEmpty()) {
+      return batch.toFeed(List.of());
+    }
+    return batch.toFeed(
+        bomRepository
+            .findListRows(
+                (root, cq, cb) ->
+                    cb.and(
+                        cb.equal(root.get("ownerSub"), ownerSub),
+                        root.get("code").in(batch.upserted())),
+                Sort.by("code"),
+                batch.upserted().size())
+            .stream()
+            .map(this::toListModel)
+            .toList());
+  }
+
   @Transactional(readOnly = true)
   public BomDetail getByCode(String code) {
     String ownerSub = currentUserService.requiredSub();
@@ -110,7 +176,11 @@ public class BomService {
     entity.setComponents(toEmbeddables(req.getComponents()));
     entity.setOwnerSub(ownerSub);
 
-    return toDetailModel(bomRepository.save(entity));
+    BomEntity saved = bomRepository.save(entity);
+    itemReferenceService.replaceForBom(saved);
+    itemReferenceService.requireAcyclic(ownerSub, List.of(saved.getId()));
+    collectionVersionService.markChanged(DataCollection.BOMS, ownerSub);
+    return toDetailModel(saved);
   }
 
   @Transactional
@@ -133,7 +203,11 @@ public class BomService {
     existing.setNote(req.getNote());
     existing.setComponents(toEmbeddables(req.getComponents()));
 
-    return toDetailModel(bomRepository.save(existing));
+    BomEntity saved = bomRepository.save(existing);
+    itemReferenceService.replaceForBom(saved);
+    itemReferenceService.requireAcyclic(ownerSub, List.of(saved.getId()));
+    collectionVersionService.markChanged(DataCollection.BOMS, ownerSub);
+    return toDetailModel(saved);
   }
 
   @Transactional
@@ -146,24 +220,28 @@ public class BomService {
     if (expectedVersion == null || existing.getVersion() != expectedVersion.longValue()) {
       throw ApiException.preconditionFailed("version_mismatch");
     }
+    itemReferenceService.removeForSource(existing.getId());
     bomRepository.delete(existing);
+    collectionVersionService.markChanged(DataCollection.BOMS, ownerSub);
     return true;
   }
 
+  /**
+   * Passes every matching BOM to {@code action} in code order, reading them through a database
+   * cursor {@code chunkSize} rows at a time instead of loading the whole result.
+   */
   @Transactional(readOnly = true)
-  public List<BomDetail> listForExport(String q, BomStatus status, List<String> codes) {
+  public void scanForExport(
+      String q, BomStatus status, List<String> codes, int chunkSize, Consumer<BomDetail> action) {
     String ownerSub = currentUserService.requiredSub();
     Specification<BomEntity> spec =
         (root, cq, cb) -> {
           List<Predicate> predicates = new ArrayList<>();
           predicates.add(cb.equal(root.get("ownerSub"), ownerSub));
-          if (q != null && !q.isBlank()) {
-            String pattern = "%" + q.toLowerCase(Locale.ROOT) + "%";
+          if (TrigramSearch.hasTerm(q)) {
             predicates.add(
-                cb.or(
-                    cb.like(cb.lower(root.get("code")), pattern),
-                    cb.like(cb.lower(root.get("productId")), pattern),
-                    cb.like(cb.lower(root.get("productName")), pattern)));
+                TrigramSearch.matches(
+                    cb, q, List.of(root.get("code"), root.get("productId"), root.get("productName"))));
           }
           if (status != null) {
             predicates.add(cb.equal(root.get("status"), status));
@@ -174,60 +252,18 @@ public class BomService {
           return cb.and(predicates.toArray(Predicate[]::new));
         };
 
-    return bomRepository.findAll(spec, Sort.by(Sort.Direction.ASC, "code")).stream()
-        .map(this::toDetailModel)
-        .toList();
-  }
-
-  @Transactional
-  public void upsertFromImport(
-      String code,
-      String productId,
-      String productName,
-      String revision,
-      BomStatus status,
-      String description,
-      String note,
-      List<BomComponent> components,
-      boolean createOnly) {
-    String ownerSub = currentUserService.requiredSub();
-    String normalizedCode =
-        (code == null || code.isBlank()) ? generateNextCode(ownerSub) : code.trim().toUpperCase(Locale.ROOT);
-
-    BomEntity existing = bomRepository.findByCodeIgnoreCaseAndOwnerSub(normalizedCode, ownerSub).orElse(null);
-    if (existing != null) {
-      if (createOnly) {
-        throw ApiException.conflict("create_only_conflict");
-      }
-      validateItemReferences(productId, components, ownerSub);
-      existing.setProductId(productId.trim().toUpperCase(Locale.ROOT));
-      existing.setProductName(productName == null ? null : productName.trim());
-      existing.setRevision(revision.trim());
-      existing.setStatus(status);
-      existing.setDescription(description == null ? null : description.trim());
-      existing.setNote(note == null ? null : note.trim());
-      existing.setComponents(toEmbeddables(components));
-      bomRepository.save(existing);
-      return;
-    }
-
-    BomEntity entity = new BomEntity();
-    validateItemReferences(productId, components, ownerSub);
-    entity.setCode(normalizedCode);
-    entity.setProductId(productId.trim().toUpperCase(Locale.ROOT));
-    entity.setProductName(productName == null ? null : productName.trim());
-    entity.setRevision(revision.trim());
-    entity.setStatus(status);
-    entity.setDescription(description == null ? null : description.trim());
-    entity.setNote(note == null ? null : note.trim());
-    entity.setComponents(toEmbeddables(components));
-    entity.setOwnerSub(ownerSub);
-    bomRepository.save(entity);
+    bomRepository.scan(
+        spec,
+        Sort.by(Sort.Direction.ASC, "code"),
+        chunkSize,
+        chunk -> chunk.forEach(entity -> action.accept(toDetailModel(entity))));
   }
 
   private String generateNextCode(String ownerSub) {
-    int max = bomRepository.findMaxCodeSuffixByOwnerSub(ownerSub);
-    return "BOM-" + String.format("%03d", max + 1);
+    return codeSequenceService.nextCode(
+        CodeSequence.BOM,
+        ownerSub,
+        code -> bomRepository.existsByCodeIgnoreCaseAndOwnerSub(code, ownerSub));
   }
 
   private Sort parseSort(String sort) {
@@ -251,15 +287,15 @@ public class BomService {
     return Sort.by(direction, "productName");
   }
 
-  private BomList toListModel(BomEntity entity) {
+  private BomList toListModel(BomListRow row) {
     return new BomList()
-        .id(entity.getCode())
-        .productId(entity.getProductId())
-        .productName(entity.getProductName())
-        .revision(entity.getRevision())
-        .status(entity.getStatus())
-        .updatedAt(entity.getUpdatedAt())
-        .componentsCount(Objects.requireNonNullElse(entity.getComponents(), List.<BomComponentEmbeddable>of()).size());
+        .id(row.code())
+        .productId(row.productId())
+        .productName(row.productName())
+        .revision(row.revision())
+        .status(row.status())
+        .updatedAt(row.updatedAt())
+        .componentsCount(row.componentsCount());
   }
 
   private BomDetail toDetailModel(BomEntity entity) {
@@ -295,31 +331,194 @@ public class BomService {
         .toList();
   }
 
-  private void validateItemReferences(String productId, List<BomComponent> components, String ownerSub) {
-    String normalizedProductId = productId == null ? "" : productId.trim().toUpperCase(Locale.ROOT);
-    if (normalizedProductId.isBlank()) {
-      throw ApiException.badRequest("invalid_product_item");
-    }
-    ItemEntity product = itemRepository.findByCodeIgnoreCaseAndOwnerSub(normalizedProductId, ownerSub).orElse(null);
-    if (product == null) {
-      throw ApiException.conflict("product_item_not_found");
+  /** One BOM of a file import; {@code index} is echoed in its result. */
+  public record BomImport(
+      int index,
+      String code,
+      String productId,
+      String productName,
+      String revision,
+      BomStatus status,
+      String description,
+      String note,
+      List<BomComponent> components) {}
+
+  /** What happened to one {@link BomImport}. */
+  public enum BomImportOutcome {
+    CREATED,
+    UPDATED,
+    CREATE_ONLY_CONFLICT,
+    PRODUCT_NOT_FOUND,
+    COMPONENT_NOT_FOUND
+  }
+
+  /**
+   * {@code missingItemIds} lists the unknown product and component codes of a rejected BOM, product
+   * first; it is empty otherwise.
+   */
+  public record BomImportResult(
+      int index, String code, BomImportOutcome outcome, List<String> missingItemIds) {
+
+    BomImportResult(int index, String code, BomImportOutcome outcome) {
+      this(index, code, outcome, List.of());
     }
+  }
 
-    if (components == null) {
-      return;
+  /**
+   * Writes a chunk of imported BOMs in one transaction. Product and component references of the
+   * whole chunk are checked with one query and existing BOMs are loaded with another; new BOMs,
+   * their {@code bom_components} rows and the item references are flushed together, so they go out
+   * as JDBC batches. Codes must be distinct within the chunk; BOMs without one get generated codes
+   * from one sequence reservation. Results are in chunk order. When the chunk closes a component
+   * loop the whole chunk fails with {@code bom_cycle}.
+   */
+  @Transactional
+  public List<BomImportResult> importChunk(List<BomImport> boms, boolean createOnly) {
+    String ownerSub = currentUserService.requiredSub();
+    Set<String> referenced = new HashSet<>();
+    Set<String> lowerCodes = new HashSet<>();
+    int missingCodes = 0;
+    for (BomImport bom : boms) {
+      if (bom.code() == null || bom.code().isBlank()) {
+        missingCodes++;
+      } else {
+        lowerCodes.add(bom.code().trim().toLowerCase(Locale.ROOT));
+      }
+      referenced.add(bom.productId());
+      bom.components().forEach(c -> referenced.add(c.getItemId()));
     }
-    for (BomComponent component : components) {
-      if (component == null) {
+    Set<String> itemCodes = codeLookupService.findItemCodes(referenced, ownerSub);
+    Map<String, BomEntity> existing = new HashMap<>();
+    if (!lowerCodes.isEmpty()) {
+      for (BomEntity entity : bomRepository.findByOwnerSubAndLowerCodeIn(ownerSub, lowerCodes)) {
+        existing.put(entity.getCode().toUpperCase(Locale.ROOT), entity);
+      }
+    }
+    Iterator<String> generatedCodes =
+        missingCodes == 0
+            ? Collections.emptyIterator()
+            : codeSequenceService
+                .nextCodes(
+                    CodeSequence.BOM,
+                    ownerSub,
+                    missingCodes,
+                    candidates -> takenCodes(candidates, lowerCodes, ownerSub))
+                .iterator();
+
+    List<BomImportResult> results = new ArrayList<>(boms.size());
+    List<BomEntity> written = new ArrayList<>();
+    List<BomEntity> inserts = new ArrayList<>();
+    for (BomImport bom : boms) {
+      String code =
+          bom.code() == null || bom.code().isBlank()
+              ? generatedCodes.next()
+              : bom.code().trim().toUpperCase(Locale.ROOT);
+      List<String> missing = missingItems(bom, itemCodes);
+      if (!missing.isEmpty()) {
+        BomImportOutcome rejection =
+            missing.getFirst().equals(bom.productId().trim().toUpperCase(Locale.ROOT))
+                ? BomImportOutcome.PRODUCT_NOT_FOUND
+                : BomImportOutcome.COMPONENT_NOT_FOUND;
+        results.add(new BomImportResult(bom.index(), code, rejection, missing));
         continue;
       }
-      String itemId = component.getItemId() == null ? "" : component.getItemId().trim().toUpperCase(Locale.ROOT);
-      if (itemId.isBlank()) {
+      BomEntity entity = existing.get(code);
+      if (entity != null && createOnly) {
+        results.add(new BomImportResult(bom.index(), code, BomImportOutcome.CREATE_ONLY_CONFLICT));
         continue;
       }
-      if (itemRepository.findByCodeIgnoreCaseAndOwnerSub(itemId, ownerSub).isEmpty()) {
-        throw ApiException.conflict("component_item_not_found");
+      if (entity == null) {
+        entity = new BomEntity();
+        entity.setCode(code);
+        entity.setOwnerSub(ownerSub);
+        inserts.add(entity);
+        results.add(new BomImportResult(bom.index(), code, BomImportOutcome.CREATED));
+      } else {
+        results.add(new BomImportResult(bom.index(), entity.getCode(), BomImportOutcome.UPDATED));
+      }
+      entity.setProductId(bom.productId().trim().toUpperCase(Locale.ROOT));
+      entity.setProductName(bom.productName() == null ? null : bom.productName().trim());
+      entity.setRevision(bom.revision().trim());
+      entity.setStatus(bom.status());
+      entity.setDescription(bom.description() == null ? null : bom.description().trim());
+      entity.setNote(bom.note() == null ? null : bom.note().trim());
+      // A new list replaces the stored one without loading it first.
+      entity.setComponents(toEmbeddables(bom.components()));
+      written.add(entity);
+    }
+
+    if (!written.isEmpty()) {
+      bomRepository.saveAll(inserts);
+      itemReferenceService.replaceForBoms(written);
+      bomRepository.flush();
+      itemReferenceService.requireAcyclic(
+          ownerSub, written.stream().map(BomEntity::getId).toList());
+      collectionVersionService.markChanged(DataCollection.BOMS, ownerSub);
+    }
+    return results;
+  }
+
+  /** Unknown item codes referenced by {@code bom}, product first, each once. */
+  private static List<String> missingItems(BomImport bom, Set<String> itemCodes) {
+    Set<String> missing = new LinkedHashSet<>();
+    String productId = bom.productId().trim().toUpperCase(Locale.ROOT);
+    if (!itemCodes.contains(productId)) {
+      missing.add(productId);
+    }
+    for (BomComponent component : bom.components()) {
+      String itemId = component.getItemId();
+      if (itemId != null && !itemId.isBlank()) {
+        String code = itemId.trim().toUpperCase(Locale.ROOT);
+        if (!itemCodes.contains(code)) {
+          missing.add(code);
+        }
+      }
+    }
+    return List.copyOf(missing);
+  }
+
+  /** Generated candidates already used by a stored BOM or by an explicit code in the chunk. */
+  private Set<String> takenCodes(
+      List<String> candidates, Set<String> chunkLowerCodes, String ownerSub) {
+    Set<String> lowerCandidates = new HashSet<>();
+    candidates.forEach(code -> lowerCandidates.add(code.toLowerCase(Locale.ROOT)));
+    Set<String> taken = new HashSet<>(chunkLowerCodes);
+    bomRepository
+        .findCodesByOwnerSubAndLowerCodeIn(ownerSub, lowerCandidates)
+        .forEach(code -> taken.add(code.toLowerCase(Locale.ROOT)));
+    return candidates.stream()
+        .filter(code -> taken.contains(code.toLowerCase(Locale.ROOT)))
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Checks the product and all component items with one query. When any is missing, the error
+   * lists every missing code as {@code missingItemIds}, product first, then components in order.
+   */
+  private void validateItemReferences(String productId, List<BomComponent> components, String ownerSub) {
+    String normalizedProductId = productId == null ? "" : productId.trim().toUpperCase(Locale.ROOT);
+    if (normalizedProductId.isBlank()) {
+      throw ApiException.badRequest("invalid_product_item");
+    }
+    Set<String> referenced = new LinkedHashSet<>();
+    referenced.add(normalizedProductId);
+    if (components != null) {
+      for (BomComponent component : components) {
+        String itemId = component == null ? null : component.getItemId();
+        if (itemId != null && !itemId.isBlank()) {
+          referenced.add(itemId.trim().toUpperCase(Locale.ROOT));
+        }
       }
     }
+
+    Set<String> found = codeLookupService.findItemCodes(referenced, ownerSub);
+    List<String> missing = referenced.stream().filter(code -> !found.contains(code)).toList();
+    if (missing.isEmpty()) {
+      return;
+    }
+    String errorCode =
+        found.contains(normalizedProductId) ? "component_item_not_found" : "product_item_not_found";
+    throw ApiException.conflict(errorCode).withProperty("missingItemIds", missing);
   }
 
   private List<BomComponent> toModels(List<BomComponentEmbeddable> components) {
@@ -336,5 +535,4 @@ public class BomService {
                     .note(c.getNote()))
         .toList();
   }
-
 }
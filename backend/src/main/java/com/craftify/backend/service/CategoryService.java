@@ -11,9 +11,12 @@ import com.craftify.backend.persistence.repository.InventoryRepository;
 import com.craftify.backend.persistence.repository.ItemRepository;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -32,16 +35,19 @@ public class CategoryService {
   private final ItemRepository itemRepository;
   private final InventoryRepository inventoryRepository;
   private final CurrentUserService currentUserService;
+  private final CollectionVersionService collectionVersionService;
 
   public CategoryService(
       CategoryRepository categoryRepository,
       ItemRepository itemRepository,
       InventoryRepository inventoryRepository,
-      CurrentUserService currentUserService) {
+      CurrentUserService currentUserService,
+      CollectionVersionService collectionVersionService) {
     this.categoryRepository = categoryRepository;
     this.itemRepository = itemRepository;
     this.inventoryRepository = inventoryRepository;
     this.currentUserService = currentUserService;
+    this.collectionVersionService = collectionVersionService;
   }
 
   @Transactional(readOnly = true)
@@ -93,7 +99,9 @@ public class CategoryService {
     CategoryEntity entity = new CategoryEntity();
     entity.setName(normalized);
     entity.setOwnerSub(ownerSub);
-    return toModel(categoryRepository.save(entity));
+    CategoryEntity saved = categoryRepository.save(entity);
+    collectionVersionService.markChanged(DataCollection.CATEGORIES, ownerSub);
+    return toModel(saved);
   }
 
   @Transactional
@@ -113,6 +121,39 @@ public class CategoryService {
     entity.setName(normalized);
     entity.setOwnerSub(ownerSub);
     categoryRepository.save(entity);
+    collectionVersionService.markChanged(DataCollection.CATEGORIES, ownerSub);
+  }
+
+  /**
+   * Set-wise {@link #ensureExistsForCurrentUser}: one lookup for all names, one batched insert for
+   * the missing ones. Names are matched case-insensitively; the first spelling seen is stored.
+   */
+  @Transactional
+  public void ensureAllExistForCurrentUser(Collection<String> names) {
+    String ownerSub = currentUserService.requiredSub();
+    Map<String, String> byLower = new LinkedHashMap<>();
+    for (String name : names) {
+      String normalized = name == null ? "" : name.trim();
+      if (!normalized.isBlank()) {
+        byLower.putIfAbsent(normalized.toLowerCase(Locale.ROOT), normalized);
+      }
+    }
+    if (byLower.isEmpty()) {
+      return;
+    }
+    categoryRepository.findExistingLowerNames(ownerSub, byLower.keySet()).forEach(byLower::remove);
+    if (byLower.isEmpty()) {
+      return;
+    }
+    List<CategoryEntity> missing = new ArrayList<>(byLower.size());
+    for (String normalized : byLower.values()) {
+      CategoryEntity entity = new CategoryEntity();
+      entity.setName(normalized);
+      entity.setOwnerSub(ownerSub);
+      missing.add(entity);
+    }
+    categoryRepository.saveAll(missing);
+    collectionVersionService.markChanged(DataCollection.CATEGORIES, ownerSub);
   }
 
   @Transactional
@@ -138,6 +179,7 @@ public class CategoryService {
     String oldName = existing.getName();
     existing.setName(normalized);
     categoryRepository.save(existing);
+    collectionVersionService.markChanged(DataCollection.CATEGORIES, ownerSub);
 
     // Keep item/categoryName denormalized value in sync.
     itemRepository
@@ -150,6 +192,7 @@ public class CategoryService {
                 item.setCategoryName(normalized);
               }
             });
+    collectionVersionService.markChanged(DataCollection.ITEMS, ownerSub);
 
     return toModel(existing);
   }
@@ -172,6 +215,7 @@ public class CategoryService {
     reassignInventoryToUnknown(ownerSub, categoryName, unknown);
 
     categoryRepository.delete(existing);
+    collectionVersionService.markChanged(DataCollection.CATEGORIES, ownerSub);
     return true;
   }
 
@@ -221,6 +265,7 @@ public class CategoryService {
     }
     if (!changed.isEmpty()) {
       itemRepository.saveAll(changed);
+      collectionVersionService.markChanged(DataCollection.ITEMS, ownerSub);
     }
   }
 
@@ -259,6 +304,7 @@ public class CategoryService {
     }
     if (!changed.isEmpty()) {
       inventoryRepository.saveAll(changed);
+      collectionVersionService.markChanged(DataCollection.INVENTORY, ownerSub);
     }
   }
 }
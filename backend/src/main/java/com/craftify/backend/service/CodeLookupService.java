@@ -0,0 +1,100 @@
+package com.craftify.backend.service;
+
+import com.craftify.backend.config.LookupCacheProperties;
+import com.craftify.backend.persistence.repository.BomRepository;
+import com.craftify.backend.persistence.repository.ItemRepository;
+import com.craftify.backend.service.cache.BomSnapshot;
+import com.craftify.backend.service.cache.ItemSnapshot;
+import com.craftify.backend.service.cache.LookupCache;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.stereotype.Service;
+
+/**
+ * Read-through lookups of items and BOMs by code for services that only need to resolve a
+ * reference (BOM validation, work item requests, inventory from item, imports).
+ *
+ * <p>Entries are validated against the owner's collection version, so a write committed on any
+ * node invalidates them. A transaction that has itself changed a collection reads that collection
+ * from the database, because its uncommitted changes are not reflected in any version yet.
+ */
+@Service
+public class CodeLookupService {
+
+  private final ItemRepository itemRepository;
+  private final BomRepository bomRepository;
+  private final CollectionVersionService collectionVersionService;
+  private final LookupCache<ItemSnapshot> items;
+  private final LookupCache<BomSnapshot> boms;
+
+  public CodeLookupService(
+      ItemRepository itemRepository,
+      BomRepository bomRepository,
+      CollectionVersionService collectionVersionService,
+      LookupCacheProperties properties) {
+    this.itemRepository = itemRepository;
+    this.bomRepository = bomRepository;
+    this.collectionVersionService = collectionVersionService;
+    this.items = new LookupCache<>("items", properties.getMaxEntries(), properties.getTtl());
+    this.boms = new LookupCache<>("boms", properties.getMaxEntries(), properties.getTtl());
+  }
+
+  public Optional<ItemSnapshot> findItem(String code, String ownerSub) {
+    if (code == null || code.isBlank()) {
+      return Optional.empty();
+    }
+    if (collectionVersionService.changedInTransaction(DataCollection.ITEMS, ownerSub)) {
+      return loadItem(code.trim(), ownerSub);
+    }
+    long version = collectionVersionService.currentVersion(DataCollection.ITEMS, ownerSub);
+    return items.get(ownerSub, code, version, c -> loadItem(c, ownerSub).orElse(null));
+  }
+
+  public Optional<BomSnapshot> findBom(String code, String ownerSub) {
+    if (code == null || code.isBlank()) {
+      return Optional.empty();
+    }
+    if (collectionVersionService.changedInTransaction(DataCollection.BOMS, ownerSub)) {
+      return loadBom(code.trim(), ownerSub);
+    }
+    long version = collectionVersionService.currentVersion(DataCollection.BOMS, ownerSub);
+    return boms.get(ownerSub, code, version, c -> loadBom(c, ownerSub).orElse(null));
+  }
+
+  /**
+   * The subset of {@code codes} that names an item of the owner, upper-cased. Resolved with one
+   * query and not cached; meant for bulk writers that check many references at once.
+   */
+  public Set<String> findItemCodes(Collection<String> codes, String ownerSub) {
+    Set<String> lowerCodes = new HashSet<>();
+    for (String code : codes) {
+      if (code != null && !code.isBlank()) {
+        lowerCodes.add(code.trim().toLowerCase(Locale.ROOT));
+      }
+    }
+    Set<String> found = new HashSet<>();
+    if (!lowerCodes.isEmpty()) {
+      itemRepository
+          .findCodesByOwnerSubAndLowerCodeIn(ownerSub, lowerCodes)
+          .forEach(code -> found.add(code.toUpperCase(Locale.ROOT)));
+    }
+    return found;
+  }
+
+  /** The item and BOM caches, for {@link LookupCacheMetrics}. */
+  List<LookupCache<?>> caches() {
+    return List.of(items, boms);
+  }
+
+  private Optional<ItemSnapshot> loadItem(String code, String ownerSub) {
+    return itemRepository.findByCodeIgnoreCaseAndOwnerSub(code, ownerSub).map(ItemSnapshot::of);
+  }
+
+  private Optional<BomSnapshot> loadBom(String code, String ownerSub) {
+    return bomRepository.findByCodeIgnoreCaseAndOwnerSub(code, ownerSub).map(BomSnapshot::of);
+  }
+}
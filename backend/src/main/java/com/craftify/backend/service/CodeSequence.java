@@ -0,0 +1,29 @@
+package com.craftify.backend.service;
+
+/** Generated business code families; each owner has one counter per prefix. */
+public enum CodeSequence {
+  ITEM("ITM-", "items"),
+  BOM("BOM-", "boms"),
+  INVENTORY("INV-", "inventory"),
+  WORK_ITEM("WI-", "work_items");
+
+  private final String prefix;
+  private final String table;
+
+  CodeSequence(String prefix, String table) {
+    this.prefix = prefix;
+    this.table = table;
+  }
+
+  public String prefix() {
+    return prefix;
+  }
+
+  String table() {
+    return table;
+  }
+
+  public String format(long value) {
+    return prefix + String.format("%03d", value);
+  }
+}
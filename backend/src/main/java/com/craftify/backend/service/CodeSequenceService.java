@@ -0,0 +1,238 @@
+package com.craftify.backend.service;
+
+import com.craftify.backend.config.CodeSequenceProperties;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out generated business codes from {@code code_sequences}.
+ *
+ * <p>Each node reserves a block of numbers per (owner, prefix) with one atomic upsert in its own
+ * transaction and then serves codes from memory, so generating a code is O(1) and two nodes (or
+ * two threads) never produce the same number. Numbers of a block that are not used before a
+ * restart, or whose creating transaction rolls back, are skipped; codes stay unique but may have
+ * gaps. Numbers whose code was already taken by a user-supplied code are skipped as well.
+ *
+ * <p>Reservations run outside every block's monitor: they need a connection of their own, and the
+ * callers waiting on a monitor each hold one already. Blocks are kept for the most recently used
+ * {@code craftify.codes.max-blocks} (owner, prefix) pairs; an evicted block's numbers are skipped.
+ */
+@Service
+public class CodeSequenceService {
+
+  private static final String RESERVE_SQL =
+      """
+      update code_sequences
+      set next_value = next_value + ?
+      where owner_sub = ? and prefix = ?
+      returning next_value
+      """;
+
+  private static final String SEED_SQL =
+      """
+      insert into code_sequences (owner_sub, prefix, next_value)
+      values (?, ?, ?)
+      on conflict (owner_sub, prefix) do update
+        set next_value = code_sequences.next_value + ?
+      returning next_value
+      """;
+
+  private static final String CURRENT_SQL =
+      "select next_value from code_sequences where owner_sub = ? and prefix = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate requiresNew;
+  private final CodeSequenceProperties properties;
+  private final Map<String, Block> blocks;
+
+  public CodeSequenceService(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      CodeSequenceProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.requiresNew = new TransactionTemplate(transactionManager);
+    this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.properties = properties;
+    this.blocks =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Block> eldest) {
+            return size() > properties.getMaxBlocks();
+          }
+        };
+  }
+
+  /**
+   * Returns the next free code for the owner. {@code taken} is asked about each candidate so codes
+   * that users entered by hand are never handed out twice.
+   */
+  public String nextCode(CodeSequence sequence, String ownerSub, Predicate<String> taken) {
+    Block block = block(sequence, ownerSub);
+    while (true) {
+      Long number = block.poll();
+      if (number == null) {
+        Range range = reserve(sequence, ownerSub, properties.getBlockSize());
+        block.add(range.after(1));
+        number = range.first();
+      }
+      String code = sequence.format(number);
+      if (!taken.test(code)) {
+        return code;
+      }
+    }
+  }
+
+  /**
+   * Returns {@code count} free codes for the owner, for bulk writes. Numbers are taken from the
+   * node's block, which is topped up with one reservation of at least the missing amount, and
+   * {@code takenAmong} is asked once per round for the candidates that are already in use.
+   */
+  public List<String> nextCodes(
+      CodeSequence sequence,
+      String ownerSub,
+      int count,
+      Function<List<String>, Set<String>> takenAmong) {
+    Block block = block(sequence, ownerSub);
+    List<String> codes = new ArrayList<>(count);
+    while (codes.size() < count) {
+      List<Long> numbers = block.poll(count - codes.size());
+      int missing = count - codes.size() - numbers.size();
+      if (missing > 0) {
+        Range range = reserve(sequence, ownerSub, Math.max(missing, properties.getBlockSize()));
+        block.add(range.after(missing));
+        for (long number = range.first(); number < range.first() + missing; number++) {
+          numbers.add(number);
+        }
+      }
+      List<String> candidates = numbers.stream().map(sequence::format).toList();
+      Set<String> taken = takenAmong.apply(candidates);
+      candidates.stream().filter(code -> !taken.contains(code)).forEach(codes::add);
+    }
+    return codes;
+  }
+
+  /** Preview of the code {@link #nextCode} would most likely return; reserves nothing. */
+  public String peekCode(CodeSequence sequence, String ownerSub, Predicate<String> taken) {
+    Block block;
+    synchronized (blocks) {
+      block = blocks.get(key(sequence, ownerSub));
+    }
+    Long candidate = block == null ? null : block.peek();
+    if (candidate == null) {
+      List<Long> current =
+          jdbcTemplate.queryForList(CURRENT_SQL, Long.class, ownerSub, sequence.prefix());
+      candidate =
+          current.isEmpty() ? maxExistingSuffix(sequence, ownerSub) + 1 : current.getFirst();
+    }
+    String code = sequence.format(candidate);
+    while (taken.test(code)) {
+      code = sequence.format(++candidate);
+    }
+    return code;
+  }
+
+  /** Reserves a fresh block of numbers in its own transaction so it survives caller rollbacks. */
+  private Range reserve(CodeSequence sequence, String ownerSub, int size) {
+    Long end =
+        requiresNew.execute(
+            status -> {
+              List<Long> updated =
+                  jdbcTemplate.queryForList(
+                      RESERVE_SQL, Long.class, size, ownerSub, sequence.prefix());
+              if (!updated.isEmpty()) {
+                return updated.getFirst();
+              }
+              // First code for this owner and prefix: start after anything already stored.
+              long seed = maxExistingSuffix(sequence, ownerSub) + 1;
+              return jdbcTemplate.queryForObject(
+                  SEED_SQL, Long.class, ownerSub, sequence.prefix(), seed + size, size);
+            });
+    return new Range(end - size, end);
+  }
+
+  private long maxExistingSuffix(CodeSequence sequence, String ownerSub) {
+    Long max =
+        jdbcTemplate.queryForObject(
+            "select coalesce(max(cast(substring(code from '[0-9]+$') as bigint)), 0) from "
+                + sequence.table()
+                + " where owner_sub = ? and code like ?",
+            Long.class,
+            ownerSub,
+            sequence.prefix() + "%");
+    return max == null ? 0 : max;
+  }
+
+  private Block block(CodeSequence sequence, String ownerSub) {
+    synchronized (blocks) {
+      return blocks.computeIfAbsent(key(sequence, ownerSub), k -> new Block());
+    }
+  }
+
+  private static String key(CodeSequence sequence, String ownerSub) {
+    return sequence.prefix() + ownerSub;
+  }
+
+  /** Numbers {@code first} (inclusive) to {@code end} (exclusive). */
+  private record Range(long first, long end) {
+
+    Range after(long count) {
+      return new Range(first + count, end);
+    }
+  }
+
+  /**
+   * Numbers reserved by this node for one (owner, prefix); guarded by its own monitor, which is
+   * never held during a reservation. Ranges reserved by threads that raced each other queue up
+   * behind the current one.
+   */
+  private static final class Block {
+    private final Deque<Range> spare = new ArrayDeque<>();
+    private long next;
+    private long end;
+
+    /** The next reserved number, or null when a new range must be reserved. */
+    synchronized Long poll() {
+      return advance() ? next++ : null;
+    }
+
+    /** Up to {@code count} reserved numbers; fewer when the block runs dry. */
+    synchronized List<Long> poll(int count) {
+      List<Long> out = new ArrayList<>(count);
+      while (out.size() < count && advance()) {
+        out.add(next++);
+      }
+      return out;
+    }
+
+    synchronized void add(Range range) {
+      if (range.first() < range.end()) {
+        spare.addLast(range);
+      }
+    }
+
+    synchronized Long peek() {
+      return advance() ? next : null;
+    }
+
+    private boolean advance() {
+      while (next >= end && !spare.isEmpty()) {
+        Range range = spare.pollFirst();
+        next = range.first();
+        end = range.end();
+      }
+      return next < end;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.craftify.backend.service;
+
+import com.craftify.backend.utils.HttpHeaderVersionUtil;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-owner data versions of {@link DataCollection}s, shared by all nodes through {@code
+ * collection_versions}.
+ *
+ * <p>Write paths call {@link #markChanged}; the version is bumped once per transaction right before
+ * commit, so it becomes visible together with the data and the row lock is held only for the
+ * commit itself. Readers get the committed version with {@link #currentVersion}, which is read at
+ * most once per transaction for each (collection, owner).
+ */
+@Service
+public class CollectionVersionService {
+
+  private static final String BUMP_SQL =
+      """
+      insert into collection_versions (owner_sub, collection, version)
+      values (?, ?, 1)
+      on conflict (owner_sub, collection) do update
+        set version = collection_versions.version + 1
+      """;
+
+  private static final String CURRENT_SQL =
+      "select version from collection_versions where owner_sub = ? and collection = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public CollectionVersionService(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Records that the current transaction changes {@code collection} for the owner. */
+  public void markChanged(DataCollection collection, String ownerSub) {
+    TransactionState state = transactionState();
+    if (state == null) {
+      bump(new Key(collection, ownerSub));
+      return;
+    }
+    state.changed.add(new Key(collection, ownerSub));
+  }
+
+  /** Last committed version of the collection for the owner; 0 when it was never written. */
+  public long currentVersion(DataCollection collection, String ownerSub) {
+    Key key = new Key(collection, ownerSub);
+    TransactionState state = transactionState();
+    if (state == null) {
+      return read(key);
+    }
+    return state.read.computeIfAbsent(key, this::read);
+  }
+
+  /**
+   * Weak ETag of one listing of the owner's collection; {@code variant} identifies the listing
+   * (query string). It changes whenever a write to the collection commits, on any node.
+   */
+  public String listEtag(DataCollection collection, String ownerSub, String variant) {
+    return HttpHeaderVersionUtil.toCollectionEtag(
+        collection.key(),
+        currentVersion(collection, ownerSub),
+        ownerSub + '\n' + Objects.requireNonNullElse(variant, ""));
+  }
+
+  /**
+   * True when the current transaction has uncommitted changes to the collection; such reads must
+   * bypass anything cached by version because the version does not reflect them yet.
+   */
+  public boolean changedInTransaction(DataCollection collection, String ownerSub) {
+    TransactionState state = transactionState();
+    return state != null && state.changed.contains(new Key(collection, ownerSub));
+  }
+
+  private long read(Key key) {
+    List<Long> version =
+        jdbcTemplate.queryForList(CURRENT_SQL, Long.class, key.ownerSub(), key.collection().key());
+    return version.isEmpty() ? 0 : version.getFirst();
+  }
+
+  private void bump(Key key) {
+    jdbcTemplate.update(BUMP_SQL, key.ownerSub(), key.collection().key());
+  }
+
+  private TransactionState transactionState() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return null;
+    }
+    TransactionState state =
+        (TransactionState) TransactionSynchronizationManager.getResource(TransactionState.class);
+    if (state == null) {
+      state = new TransactionState();
+      TransactionSynchronizationManager.bindResource(TransactionState.class, state);
+      TransactionSynchronizationManager.registerSynchronization(state);
+    }
+    return state;
+  }
+
+  private record Key(DataCollection collection, String ownerSub) {}
+
+  private final class TransactionState implements TransactionSynchronization {
+    // Sorted so concurrent transactions lock version rows in the same order.
+    private final Set<Key> changed =
+        new TreeSet<>(
+            Comparator.comparing((Key k) -> k.collection().key()).thenComparing(Key::ownerSub));
+    private final Map<Key, Long> read = new HashMap<>();
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      changed.forEach(CollectionVersionService.this::bump);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(TransactionState.class);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.craftify.backend.service;
+
+/** Owner-scoped data sets whose changes are versioned in {@code collection_versions}. */
+public enum DataCollection {
+  ITEMS("items"),
+  BOMS("boms"),
+  INVENTORY("inventory"),
+  CATEGORIES("categories"),
+  WORK_ITEMS("work_items");
+
+  private final String key;
+
+  DataCollection(String key) {
+    this.key = key;
+  }
+
+  /** Value stored in {@code collection_versions.collection}. */
+  public String key() {
+    return key;
+  }
+}
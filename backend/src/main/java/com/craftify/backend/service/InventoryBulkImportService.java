@@ -0,0 +1,426 @@
+package com.craftify.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Set-based inventory import for large stock-count files.
+ *
+ * <p>Rows are copied into a temporary staging table with PostgreSQL {@code COPY}, a batch at a
+ * time, so the row source never runs while a {@code COPY} holds the connection. Rows that cannot
+ * be written are removed from it with one statement per rule and reported by row number;
+ * the rest are merged into {@code categories} and {@code inventory} with one {@code INSERT ... ON
+ * CONFLICT} each, keyed on {@code ux_categories_owner_name_lower} and {@code
+ * ux_inventory_owner_code_upper}. Everything runs in one transaction, so a file applies completely
+ * or, when the caller stops early, not at all.
+ */
+@Service
+public class InventoryBulkImportService {
+
+  private static final int COPY_BUFFER_BYTES = 64 * 1024;
+  private static final int COPY_BATCH_ROWS = 5_000;
+
+  /** {@code inventory.available} is {@code NUMERIC(19,6)}. */
+  private static final BigDecimal AVAILABLE_LIMIT = new BigDecimal("1E13");
+
+  private static final CSVFormat COPY_FORMAT =
+      CSVFormat.DEFAULT.builder().setRecordSeparator('\n').build();
+
+  private static final String CREATE_STAGING_SQL =
+      """
+      create temporary table inventory_import_staging (
+        row_no integer not null,
+        code varchar(64),
+        item_id varchar(64) not null,
+        item_name varchar(200) not null,
+        item_category_name varchar(100) not null,
+        category_detached boolean not null,
+        detached_category_name varchar(100),
+        category_name varchar(100) not null,
+        uom varchar(16) not null,
+        available numeric(19,6) not null
+      ) on commit drop
+      """;
+
+  private static final String COPY_SQL =
+      """
+      copy inventory_import_staging (row_no, code, item_id, item_name, item_category_name,
+        category_detached, detached_category_name, category_name, uom, available)
+      from stdin with (format csv)
+      """;
+
+  /** Rows whose code appears again; {@code %s} is the order that picks the row to keep. */
+  private static final String DUPLICATE_CODES_SQL =
+      """
+      delete from inventory_import_staging
+      where row_no in (
+        select row_no
+        from (
+          select row_no, row_number() over (partition by code order by row_no %s) as n
+          from inventory_import_staging
+          where code is not null
+        ) ranked
+        where n > 1)
+      returning row_no
+      """;
+
+  private static final String MISSING_CODES_SQL =
+      "select row_no from inventory_import_staging where code is null order by row_no";
+
+  private static final String TAKEN_CODES_SQL =
+      """
+      select code from inventory_import_staging where code = any (?)
+      union
+      select upper(code) from inventory where owner_sub = ? and upper(code) = any (?)
+      """;
+
+  private static final String EXISTING_CODES_SQL =
+      """
+      delete from inventory_import_staging s
+      where exists (
+        select 1 from inventory i where i.owner_sub = ? and upper(i.code) = s.code)
+      returning row_no
+      """;
+
+  /**
+   * Rows for an item that already has an inventory record under another code, in the table or in
+   * an earlier row of the file. An earlier row that is itself rejected for the first reason does
+   * not count, so a file may re-state an item's existing code after a row that tried to move it.
+   */
+  private static final String STOCKED_ITEMS_SQL =
+      """
+      with stocked as (
+        select s.row_no from inventory_import_staging s
+        where exists (
+          select 1 from inventory i
+          where i.owner_sub = ? and upper(i.item_id) = s.item_id and upper(i.code) <> s.code))
+      delete from inventory_import_staging s
+      where s.row_no in (select row_no from stocked)
+        or exists (
+          select 1 from inventory_import_staging o
+          where o.item_id = s.item_id and o.row_no < s.row_no
+            and o.row_no not in (select row_no from stocked))
+      returning row_no
+      """;
+
+  private static final String ENSURE_CATEGORIES_SQL =
+      """
+      insert into categories (id, name, owner_sub)
+      select gen_random_uuid(), min(name), ?
+      from (
+        select item_category_name as name from inventory_import_staging
+        union all
+        select category_name from inventory_import_staging
+      ) names
+      group by lower(name)
+      on conflict (owner_sub, lower(name)) do nothing
+      """;
+
+  /** {@code %s} is the conflict action; {@code xmax = 0} tells inserted rows from updated ones. */
+  private static final String MERGE_SQL =
+      """
+      with merged as (
+        insert into inventory (id, code, item_id, item_name, item_category_name,
+          category_detached, detached_category_name, category_name, uom, available, owner_sub,
+          created_at, updated_at, version)
+        select gen_random_uuid(), code, item_id, item_name, item_category_name,
+          category_detached, detached_category_name, category_name, uom, available, ?,
+          now(), now(), 0
+        from inventory_import_staging
+        order by row_no
+        on conflict (owner_sub, upper(code)) %s
+        returning (xmax = 0) as inserted
+      )
+      select count(*) filter (where inserted) as created,
+             count(*) filter (where not inserted) as updated
+      from merged
+      """;
+
+  private static final String UPSERT_ACTION =
+      """
+      do update set
+          item_id = excluded.item_id,
+          item_name = excluded.item_name,
+          item_category_name = excluded.item_category_name,
+          category_detached = excluded.category_detached,
+          detached_category_name = excluded.detached_category_name,
+          category_name = excluded.category_name,
+          uom = excluded.uom,
+          available = excluded.available,
+          updated_at = excluded.updated_at,
+          version = inventory.version + 1
+      """;
+
+  private static final String CREATE_ONLY_ACTION = "do nothing";
+
+  /** One parsed row, as read from the file; it is normalized the way the single-row import is. */
+  public record StagedRow(
+      int rowNumber,
+      String code,
+      String itemId,
+      String itemName,
+      String itemCategoryName,
+      boolean categoryDetached,
+      String detachedCategoryName,
+      String uom,
+      BigDecimal available) {
+
+    /**
+     * Values the staging table cannot hold. Importers check them before staging, so one over-long
+     * or out-of-range value is reported against its row instead of failing the whole file. Missing
+     * values are left to the importer.
+     */
+    public List<Violation> violations() {
+      List<Violation> violations = new ArrayList<>();
+      if (available != null && available.abs().compareTo(AVAILABLE_LIMIT) >= 0) {
+        violations.add(new Violation("available", "Available is out of range"));
+      }
+      checkLength(violations, code, 64, "code", "Code");
+      checkLength(violations, itemId, 64, "itemId", "Item Ref");
+      checkLength(violations, itemName, 200, "itemName", "Item Name");
+      checkLength(violations, itemCategoryName, 100, "categoryName", "Category");
+      checkLength(
+          violations, detachedCategoryName, 100, "detachedCategoryName", "Detached category");
+      checkLength(violations, uom, 16, "uom", "UoM");
+      return violations;
+    }
+
+    private static void checkLength(
+        List<Violation> violations, String value, int maxLength, String field, String label) {
+      if (value != null && value.trim().length() > maxLength) {
+        violations.add(
+            new Violation(field, label + " must be at most " + maxLength + " characters"));
+      }
+    }
+  }
+
+  /** A value of a row that cannot be staged, by import field. */
+  public record Violation(String field, String message) {}
+
+  /** Receives the rows to stage. */
+  @FunctionalInterface
+  public interface Sink {
+    void add(StagedRow row) throws IOException;
+  }
+
+  /**
+   * Writes all rows to the sink; returns false to abandon the import, so nothing is written. It
+   * runs inside the import transaction but between {@code COPY} batches, so it may use the
+   * database.
+   */
+  @FunctionalInterface
+  public interface RowSource {
+    boolean writeTo(Sink sink) throws IOException;
+  }
+
+  /** Why a row was not written. */
+  public enum Rejection {
+    CREATE_ONLY_CONFLICT,
+    ITEM_ALREADY_STOCKED
+  }
+
+  public record RejectedRow(int rowNumber, Rejection reason) {}
+
+  /**
+   * {@code updated} includes rows superseded by a later row with the same code, which the
+   * single-row import would have written and then overwritten.
+   */
+  public record Result(boolean completed, int created, int updated, List<RejectedRow> rejected) {}
+
+  private final JdbcTemplate jdbcTemplate;
+  private final CurrentUserService currentUserService;
+  private final CodeSequenceService codeSequenceService;
+  private final CollectionVersionService collectionVersionService;
+  private final TransactionTemplate transactionTemplate;
+
+  public InventoryBulkImportService(
+      JdbcTemplate jdbcTemplate,
+      CurrentUserService currentUserService,
+      CodeSequenceService codeSequenceService,
+      CollectionVersionService collectionVersionService,
+      PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.currentUserService = currentUserService;
+    this.codeSequenceService = codeSequenceService;
+    this.collectionVersionService = collectionVersionService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Stages the rows of {@code source} and merges them. In create-only mode rows whose code exists,
+   * in the table or in an earlier row, are rejected; otherwise the last row for a code wins.
+   */
+  public Result importRows(RowSource source, boolean createOnly) throws IOException {
+    String ownerSub = currentUserService.requiredSub();
+    try {
+      return transactionTemplate.execute(
+          status -> {
+            jdbcTemplate.execute(CREATE_STAGING_SQL);
+            if (!copy(source)) {
+              status.setRollbackOnly();
+              return new Result(false, 0, 0, List.of());
+            }
+            jdbcTemplate.execute("analyze inventory_import_staging");
+
+            List<RejectedRow> rejected = new ArrayList<>();
+            List<Integer> duplicates =
+                jdbcTemplate.queryForList(
+                    DUPLICATE_CODES_SQL.formatted(createOnly ? "asc" : "desc"), Integer.class);
+            if (createOnly) {
+              duplicates.forEach(
+                  row -> rejected.add(new RejectedRow(row, Rejection.CREATE_ONLY_CONFLICT)));
+              reject(rejected, EXISTING_CODES_SQL, ownerSub, Rejection.CREATE_ONLY_CONFLICT);
+            }
+            assignMissingCodes(ownerSub);
+            reject(rejected, STOCKED_ITEMS_SQL, ownerSub, Rejection.ITEM_ALREADY_STOCKED);
+
+            if (jdbcTemplate.update(ENSURE_CATEGORIES_SQL, ownerSub) > 0) {
+              collectionVersionService.markChanged(DataCollection.CATEGORIES, ownerSub);
+            }
+            MergeCounts counts =
+                jdbcTemplate.queryForObject(
+                    MERGE_SQL.formatted(createOnly ? CREATE_ONLY_ACTION : UPSERT_ACTION),
+                    (rs, i) -> new MergeCounts(rs.getInt("created"), rs.getInt("updated")),
+                    ownerSub);
+            if (counts.created() + counts.updated() > 0) {
+              collectionVersionService.markChanged(DataCollection.INVENTORY, ownerSub);
+            }
+            rejected.sort(Comparator.comparingInt(RejectedRow::rowNumber));
+            int superseded = createOnly ? 0 : duplicates.size();
+            return new Result(true, counts.created(), counts.updated() + superseded, rejected);
+          });
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private boolean copy(RowSource source) {
+    List<StagedRow> batch = new ArrayList<>(COPY_BATCH_ROWS);
+    try {
+      boolean completed =
+          source.writeTo(
+              row -> {
+                batch.add(row);
+                if (batch.size() == COPY_BATCH_ROWS) {
+                  copyBatch(batch);
+                  batch.clear();
+                }
+              });
+      if (completed && !batch.isEmpty()) {
+        copyBatch(batch);
+      }
+      return completed;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private void copyBatch(List<StagedRow> rows) {
+    jdbcTemplate.execute(
+        (ConnectionCallback<Void>)
+            con -> {
+              PGConnection pg = con.unwrap(PGConnection.class);
+              try (CSVPrinter printer =
+                  COPY_FORMAT.print(
+                      new OutputStreamWriter(
+                          new PGCopyOutputStream(pg, COPY_SQL, COPY_BUFFER_BYTES),
+                          StandardCharsets.UTF_8))) {
+                for (StagedRow row : rows) {
+                  printer.printRecord(stagingValues(row));
+                }
+              } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+              }
+              return null;
+            });
+  }
+
+  private static List<Object> stagingValues(StagedRow row) {
+    String itemCategory = row.itemCategoryName().trim();
+    String detached = blankToNull(row.detachedCategoryName());
+    String effectiveCategory =
+        row.categoryDetached() && detached != null ? detached : itemCategory;
+    List<Object> values = new ArrayList<>(10);
+    values.add(row.rowNumber());
+    String code = blankToNull(row.code());
+    values.add(code == null ? null : code.toUpperCase(Locale.ROOT));
+    values.add(row.itemId().trim().toUpperCase(Locale.ROOT));
+    values.add(row.itemName().trim());
+    values.add(itemCategory);
+    values.add(row.categoryDetached());
+    values.add(row.categoryDetached() ? detached : null);
+    values.add(effectiveCategory);
+    values.add(row.uom().trim());
+    values.add(row.available().toPlainString());
+    return values;
+  }
+
+  private void reject(
+      List<RejectedRow> rejected, String sql, String ownerSub, Rejection reason) {
+    jdbcTemplate
+        .queryForList(sql, Integer.class, ownerSub)
+        .forEach(row -> rejected.add(new RejectedRow(row, reason)));
+  }
+
+  /** Generates codes for rows without one, from one block reservation. */
+  private void assignMissingCodes(String ownerSub) {
+    List<Integer> rows = jdbcTemplate.queryForList(MISSING_CODES_SQL, Integer.class);
+    if (rows.isEmpty()) {
+      return;
+    }
+    List<String> codes =
+        codeSequenceService.nextCodes(
+            CodeSequence.INVENTORY,
+            ownerSub,
+            rows.size(),
+            candidates -> takenCodes(candidates, ownerSub));
+    List<Object[]> updates = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      updates.add(new Object[] {codes.get(i), rows.get(i)});
+    }
+    jdbcTemplate.batchUpdate(
+        "update inventory_import_staging set code = ? where row_no = ?", updates);
+  }
+
+  private Set<String> takenCodes(List<String> candidates, String ownerSub) {
+    Object[] upper = candidates.stream().map(c -> c.toUpperCase(Locale.ROOT)).toArray();
+    Set<String> taken =
+        new HashSet<>(
+            jdbcTemplate.query(
+                TAKEN_CODES_SQL,
+                ps -> {
+                  ps.setArray(1, ps.getConnection().createArrayOf("varchar", upper));
+                  ps.setString(2, ownerSub);
+                  ps.setArray(3, ps.getConnection().createArrayOf("varchar", upper));
+                },
+                (rs, i) -> rs.getString(1)));
+    return candidates.stream()
+        .filter(code -> taken.contains(code.toUpperCase(Locale.ROOT)))
+        .collect(Collectors.toSet());
+  }
+
+  private record MergeCounts(int created, int updated) {}
+
+  private static String blankToNull(String value) {
+    return value == null || value.isBlank() ? null : value.trim();
+  }
+}
@@ -1,6 +1,7 @@
 package com.craftify.backend.service;
 
 import com.craftify.backend.error.ApiException;
+import com.craftify.backend.model.ChangeFeed;
 import com.craftify.backend.model.CreateFromItemResult;
 import com.craftify.backend.model.InventoryDetail;
 import com.craftify.backend.model.InventoryList;
@@ -8,15 +9,17 @@ import com.craftify.backend.model.InventoryPage;
 import com.craftify.backend.model.InventoryQuery;
 import com.craftify.backend.model.InventoryUpsertRequest;
 import com.craftify.backend.model.Status;
-import com.craftify.backend.persistence.entity.ItemEntity;
 import com.craftify.backend.persistence.entity.InventoryEntity;
-import com.craftify.backend.persistence.repository.ItemRepository;
+import com.craftify.backend.persistence.projection.InventoryListRow;
 import com.craftify.backend.persistence.repository.InventoryRepository;
+import com.craftify.backend.service.cache.ItemSnapshot;
+import com.craftify.backend.persistence.search.TrigramSearch;
 import jakarta.persistence.criteria.Predicate;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -29,51 +32,41 @@ import org.springframework.transaction.annotation.Transactional;
 public class InventoryService {
 
   private final InventoryRepository inventoryRepository;
-  private final ItemRepository itemRepository;
   private final CurrentUserService currentUserService;
   private final CategoryService categoryService;
+  private final CodeSequenceService codeSequenceService;
+  private final CodeLookupService codeLookupService;
+  private final CollectionVersionService collectionVersionService;
+  private final SyncChangeService syncChangeService;
 
   public InventoryService(
       InventoryRepository inventoryRepository,
-      ItemRepository itemRepository,
       CurrentUserService currentUserService,
-      CategoryService categoryService) {
+      CategoryService categoryService,
+      CodeSequenceService codeSequenceService,
+      CodeLookupService codeLookupService,
+      CollectionVersionService collectionVersionService,
+      SyncChangeService syncChangeService) {
     this.inventoryRepository = inventoryRepository;
-    this.itemRepository = itemRepository;
     this.currentUserService = currentUserService;
     this.categoryService = categoryService;
+    this.codeSequenceService = codeSequenceService;
+    this.codeLookupService = codeLookupService;
+    this.collectionVersionService = collectionVersionService;
+    this.syncChangeService = syncChangeService;
   }
 
   @Transactional(readOnly = true)
   public InventoryPage list(InventoryQuery query) {
     String ownerSub = currentUserService.requiredSub();
+    Specification<InventoryEntity> spec = listSpecification(query, ownerSub);
+    if (query.after() != null) {
+      return listAfter(spec, query);
+    }
+
     Pageable pageable =
         PageRequest.of(Math.max(query.page(), 0), Math.max(query.size(), 1), parseSort(query.sort()));
-
-    Specification<InventoryEntity> spec =
-        (root, cq, cb) -> {
-          List<Predicate> predicates = new ArrayList<>();
-          predicates.add(cb.equal(root.get("ownerSub"), ownerSub));
-          if (query.q() != null && !query.q().isBlank()) {
-            String pattern = "%" + query.q().toLowerCase(Locale.ROOT) + "%";
-            predicates.add(
-                cb.or(
-                    cb.like(cb.lower(root.get("code")), pattern),
-                    cb.like(cb.lower(root.get("itemId")), pattern),
-                    cb.like(cb.lower(root.get("itemName")), pattern)));
-          }
-          if (query.categoryName() != null && !query.categoryName().isBlank()) {
-            predicates.add(
-                cb.equal(
-                    cb.lower(root.get("categoryName")), query.categoryName().toLowerCase(Locale.ROOT)));
-          }
-          if (query.uom() != null && !query.uom().isBlank()) {
-            predicates.add(cb.equal(cb.lower(root.get("uom")), query.uom().toLowerCase(Locale.ROOT)));
-          }
-          return cb.and(predicates.toArray(Predicate[]::new));
-        };
-
-    Page<InventoryEntity> result = inventoryRepository.findAll(spec, pageable);
+    Page<InventoryListRow> result = inventoryRepository.findListRows(spec, pageable);
 
     InventoryPage page = new InventoryPage();
     page.setContent(result.stream().map(this::toListModel).toList());
@@ -85,6 +78,83 @@ public class InventoryService {
     return page;
   }
 
+  private InventoryPage listAfter(Specification<InventoryEntity> spec, InventoryQuery query) {
+    int size = Math.max(query.size(), 1);
+    Sort sort = KeysetCursor.withTieBreaker(parseSort(query.sort()));
+    KeysetCursor cursor = KeysetCursor.decode(query.after(), sort);
+    Specification<InventoryEntity> seek = cursor == null ? spec : spec.and(cursor.toSpecification());
+
+    List<InventoryListRow> rows = inventoryRepository.findListRows(seek, sort, size + 1);
+    boolean hasMore = rows.size() > size;
+    List<InventoryListRow> content = hasMore ? rows.subList(0, size) : rows;
+
+    InventoryPage page = new InventoryPage();
+    page.setContent(content.stream().map(this::toListModel).toList());
+    page.setSize(size);
+    page.setSort(List.of(query.sort() == null || query.sort().isBlank() ? "updatedAt,desc" : query.sort()));
+    page.setNextCursor(hasMore ? KeysetCursor.after(content.getLast(), sort).encode() : null);
+    return page;
+  }
+
+  private Specification<InventoryEntity> listSpecification(InventoryQuery query, String ownerSub) {
+    return (root, cq, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+      predicates.add(cb.equal(root.get("ownerSub"), ownerSub));
+      if (TrigramSearch.hasTerm(query.q())) {
+        predicates.add(
+            TrigramSearch.matches(
+                cb, query.q(), List.of(root.get("code"), root.get("itemId"), root.get("itemName"))));
+      }
+      if (query.categoryName() != null && !query.categoryName().isBlank()) {
+        predicates.add(
+            cb.equal(
+                cb.lower(root.get("categoryName")), query.categoryName().toLowerCase(Locale.ROOT)));
+      }
+      if (query.uom() != null && !query.uom().isBlank()) {
+        predicates.add(cb.equal(cb.lower(root.get("uom")), query.uom().toLowerCase(Locale.ROOT)));
+      }
+      return cb.and(predicates.toArray(Predicate[]::new));
+    };
+  }
+
+  /** Delta sync: list rows changed since {@code since} and the codes deleted since. */
+  @Transactional(readOnly = true)
+  public ChangeFeed<InventoryList> changes(String since, Integer limit) {
+    String ownerSub = currentUserService.requiredSub();
+    SyncChangeService.Batch batch =
+        syncChangeService.read(DataCollection.INVENTORY, ownerSub, since, limit);
+    if (batch.upserted().isEmpty()) {
+      return batch.toFeed(List.of());
+    }
+    return batch.toFeed(
+        inventoryRepository
+            .findListRows(
+                (root, cq, cb) ->
+                    cb.and(
+                        cb.equal(root.get("ownerSub"), ownerSub),
+                        root.get("code").in(batch.upserted())),
+                Sort.by("code"),
+                batch.upserted().size())
+            .stream()
+            .map(this::toListModel)
+            .toList());
+  }
+
+  /**
+   * Passes the caller's inventory rows matching the list filters (null for none) to {@code
+   * action} in code order, reading them through a database cursor {@code chunkSize} rows at a time.
+   */
+  @Transactional(readOnly = true)
+  public void scanForExport(
+      String q, String categoryName, String uom, int chunkSize, Consumer<InventoryDetail> action) {
+    String ownerSub = currentUserService.requiredSub();
+    inventoryRepository.scan(
+        listSpecification(new InventoryQuery(0, 0, null, q, categoryName, uom, null), ownerSub),
+        Sort.by(Sort.Direction.ASC, "code"),
+        chunkSize,
+        chunk -> chunk.forEach(entity -> action.accept(toDetailModel(entity))));
+  }
+
   @Transactional(readOnly = true)
   public InventoryDetail getByCode(String code) {
     String ownerSub = currentUserService.requiredSub();
@@ -114,7 +184,9 @@ public class InventoryService {
     entity.setOwnerSub(ownerSub);
     collectCategoriesFromRequest(req);
     apply(entity, req);
-    return toDetailModel(inventoryRepository.save(entity));
+    InventoryEntity saved = inventoryRepository.save(entity);
+    collectionVersionService.markChanged(DataCollection.INVENTORY, ownerSub);
+    return toDetailModel(saved);
   }
 
   @Transactional
@@ -126,7 +198,9 @@ public class InventoryService {
     }
     collectCategoriesFromRequest(req);
     apply(existing, req);
-    return toDetailModel(inventoryRepository.save(existing));
+    InventoryEntity saved = inventoryRepository.save(existing);
+    collectionVersionService.markChanged(DataCollection.INVENTORY, ownerSub);
+    return toDetailModel(saved);
   }
 
   @Transactional
@@ -137,80 +211,17 @@ public class InventoryService {
       return false;
     }
     inventoryRepository.delete(existing);
+    collectionVersionService.markChanged(DataCollection.INVENTORY, ownerSub);
     return true;
   }
 
   @Transactional(readOnly = true)
   public String nextCode() {
-    return generateNextCode(currentUserService.requiredSub());
-  }
-
-  @Transactional
-  public void upsertFromImport(
-      String code,
-      String itemId,
-      String itemName,
-      String itemCategoryName,
-      boolean categoryDetached,
-      String detachedCategoryName,
-      String uom,
-      BigDecimal available,
-      boolean createOnly) {
     String ownerSub = currentUserService.requiredSub();
-    String normalizedCode =
-        (code == null || code.isBlank()) ? generateNextCode(ownerSub) : code.trim().toUpperCase(Locale.ROOT);
-
-    InventoryEntity existing =
-        inventoryRepository.findByCodeIgnoreCaseAndOwnerSub(normalizedCode, ownerSub).orElse(null);
-    if (existing != null) {
-      if (createOnly) {
-        throw ApiException.conflict("create_only_conflict");
-      }
-      String normalizedItemCategory = itemCategoryName.trim();
-      String normalizedDetached = normalize(detachedCategoryName);
-      String effectiveCategory =
-              categoryDetached
-                  ? normalizedDetached.isBlank()
-                      ? normalizedItemCategory
-                      : normalizedDetached
-                  : normalizedItemCategory;
-      categoryService.ensureExistsForCurrentUser(normalizedItemCategory);
-      categoryService.ensureExistsForCurrentUser(effectiveCategory);
-      existing.setItemId(itemId.trim().toUpperCase(Locale.ROOT));
-      existing.setItemName(itemName.trim());
-      existing.setItemCategoryName(normalizedItemCategory);
-      existing.setCategoryDetached(categoryDetached);
-      existing.setDetachedCategoryName(categoryDetached ? normalizedDetached : null);
-      existing.setCategoryName(effectiveCategory);
-      existing.setUom(uom.trim());
-      existing.setAvailable(available == null ? BigDecimal.ZERO : available);
-      inventoryRepository.save(existing);
-      return;
-    }
-
-    String normalizedItemCategory = itemCategoryName.trim();
-    String normalizedDetached = normalize(detachedCategoryName);
-    String effectiveCategory =
-        categoryDetached
-            ? (normalizedDetached == null || normalizedDetached.isBlank()
-                ? normalizedItemCategory
-                : normalizedDetached)
-            : normalizedItemCategory;
-    categoryService.ensureExistsForCurrentUser(normalizedItemCategory);
-    categoryService.ensureExistsForCurrentUser(effectiveCategory);
-
-    InventoryEntity entity = new InventoryEntity();
-    entity.setCode(normalizedCode);
-    entity.setOwnerSub(ownerSub);
-    entity.setItemId(itemId.trim().toUpperCase(Locale.ROOT));
-    entity.setItemName(itemName.trim());
-    entity.setItemCategoryName(normalizedItemCategory);
-    entity.setCategoryDetached(categoryDetached);
-    entity.setDetachedCategoryName(categoryDetached ? normalizedDetached : null);
-    entity.setCategoryName(effectiveCategory);
-    entity.setUom(uom.trim());
-    entity.setAvailable(available == null ? BigDecimal.ZERO : available);
-    inventoryRepository.save(entity);
+    return codeSequenceService.peekCode(
+        CodeSequence.INVENTORY,
+        ownerSub,
+        code -> inventoryRepository.existsByCodeIgnoreCaseAndOwnerSub(code, ownerSub));
   }
 
   @Transactional
@@ -220,16 +231,16 @@ public class InventoryService {
       throw ApiException.notFound("item_not_found");
     }
 
-    ItemEntity item = itemRepository.findByCodeIgnoreCaseAndOwnerSub(itemCode.trim(), ownerSub).orElse(null);
+    ItemSnapshot item = codeLookupService.findItem(itemCode.trim(), ownerSub).orElse(null);
     if (item == null) {
       throw ApiException.notFound("item_not_found");
     }
-    if (item.getStatus() != Status.ACTIVE) {
+    if (item.status() != Status.ACTIVE) {
       throw ApiException.conflict("item_not_active");
     }
 
     InventoryEntity existing =
-        inventoryRepository.findByItemIdIgnoreCaseAndOwnerSub(item.getCode(), ownerSub).orElse(null);
+        inventoryRepository.findByItemIdIgnoreCaseAndOwnerSub(item.code(), ownerSub).orElse(null);
     if (existing != null) {
       String normalizedMode = mode == null ? "" : mode.trim().toLowerCase(Locale.ROOT);
       if ("add".equals(normalizedMode)) {
@@ -240,26 +251,28 @@ public class InventoryService {
       } else {
         throw ApiException.conflict("inventory_exists_for_item");
       }
-      existing.setItemName(item.getName());
-      existing.setItemCategoryName(item.getCategoryName());
-      existing.setCategoryName(existing.isCategoryDetached() ? existing.getCategoryName() : item.getCategoryName());
+      existing.setItemName(item.name());
+      existing.setItemCategoryName(item.categoryName());
+      existing.setCategoryName(existing.isCategoryDetached() ? existing.getCategoryName() : item.categoryName());
       categoryService.ensureExistsForCurrentUser(existing.getCategoryName());
-      existing.setUom(item.getUomBase());
+      existing.setUom(item.uomBase());
+      collectionVersionService.markChanged(DataCollection.INVENTORY, ownerSub);
       return new CreateFromItemResult(toDetailModel(inventoryRepository.save(existing)), false);
     }
 
     InventoryEntity entity = new InventoryEntity();
     entity.setCode(generateNextCode(ownerSub));
-    entity.setItemId(item.getCode());
-    entity.setItemName(item.getName());
-    entity.setItemCategoryName(item.getCategoryName());
+    entity.setItemId(item.code());
+    entity.setItemName(item.name());
+    entity.setItemCategoryName(item.categoryName());
     entity.setCategoryDetached(false);
     entity.setDetachedCategoryName(null);
-    entity.setCategoryName(item.getCategoryName());
-    categoryService.ensureExistsForCurrentUser(item.getCategoryName());
-    entity.setUom(item.getUomBase());
+    entity.setCategoryName(item.categoryName());
+    categoryService.ensureExistsForCurrentUser(item.categoryName());
+    entity.setUom(item.uomBase());
     entity.setAvailable(available == null ? BigDecimal.ZERO : available);
     entity.setOwnerSub(ownerSub);
+    collectionVersionService.markChanged(DataCollection.INVENTORY, ownerSub);
 
     return new CreateFromItemResult(toDetailModel(inventoryRepository.save(entity)), true);
   }
@@ -281,8 +294,10 @@ public class InventoryService {
   }
 
   private String generateNextCode(String ownerSub) {
-    int max = inventoryRepository.findMaxCodeSuffixByOwnerSub(ownerSub);
-    return "INV-" + String.format("%03d", max + 1);
+    return codeSequenceService.nextCode(
+        CodeSequence.INVENTORY,
+        ownerSub,
+        code -> inventoryRepository.existsByCodeIgnoreCaseAndOwnerSub(code, ownerSub));
   }
 
   private Sort parseSort(String sort) {
@@ -315,15 +330,15 @@ public class InventoryService {
     return Sort.by(direction, "updatedAt");
   }
 
-  private InventoryList toListModel(InventoryEntity entity) {
+  private InventoryList toListModel(InventoryListRow row) {
     InventoryList item = new InventoryList();
-    item.setCode(entity.getCode());
-    item.setItemId(entity.getItemId());
-    item.setItemName(entity.getItemName());
-    item.setCategoryName(entity.getCategoryName());
-    item.setUom(entity.getUom());
-    item.setAvailable(entity.getAvailable());
-    item.setUpdatedAt(entity.getUpdatedAt());
+    item.setCode(row.code());
+    item.setItemId(row.itemId());
+    item.setItemName(row.itemName());
+    item.setCategoryName(row.categoryName());
+    item.setUom(row.uom());
+    item.setAvailable(row.available());
+    item.setUpdatedAt(row.updatedAt());
     return item;
   }
 
@@ -0,0 +1,351 @@
+package com.craftify.backend.service;
+
+import com.craftify.backend.config.ItemBatchProperties;
+import com.craftify.backend.model.ItemUom;
+import com.craftify.backend.model.ItemsBatchUpsertOutcome;
+import com.craftify.backend.model.ItemsBatchUpsertPost200Response;
+import com.craftify.backend.model.ItemsBatchUpsertResult;
+import com.craftify.backend.model.ItemsBatchUpsertRow;
+import com.craftify.backend.model.Status;
+import com.craftify.backend.persistence.entity.ItemEntity;
+import com.craftify.backend.persistence.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk create/update of items, shared by the batch API and file imports.
+ *
+ * <p>Rows are written in chunks, each in its own transaction: existing items and categories are
+ * resolved for the whole chunk with one query each, generated codes come from one block
+ * reservation, and inserts and updates are flushed together so Hibernate sends them as JDBC
+ * batches. A chunk that fails to write is rolled back; its rows are reported as {@code failed},
+ * or retried one by one when the caller asks to isolate failures.
+ */
+@Service
+public class ItemBatchService {
+
+  private static final Logger log = LoggerFactory.getLogger(ItemBatchService.class);
+
+  /** What a row does when an item with its code already exists. */
+  public enum ExistingItems {
+    /** Update only when the row carries the item's current version (the API semantics). */
+    REQUIRE_VERSION,
+    /** Update unconditionally. */
+    OVERWRITE,
+    /** Report a conflict. */
+    REJECT
+  }
+
+  /**
+   * One row to write. {@code code} null generates a code; {@code uoms} null keeps the existing
+   * units on update; {@code index} is echoed in the result.
+   */
+  public record ItemWrite(
+      int index,
+      String code,
+      String name,
+      Status status,
+      String categoryName,
+      String uomBase,
+      String description,
+      List<ItemUom> uoms,
+      Integer version) {}
+
+  private final ItemRepository itemRepository;
+  private final CategoryService categoryService;
+  private final CurrentUserService currentUserService;
+  private final CodeSequenceService codeSequenceService;
+  private final CollectionVersionService collectionVersionService;
+  private final EntityManager entityManager;
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+  private final ItemBatchProperties properties;
+
+  public ItemBatchService(
+      ItemRepository itemRepository,
+      CategoryService categoryService,
+      CurrentUserService currentUserService,
+      CodeSequenceService codeSequenceService,
+      CollectionVersionService collectionVersionService,
+      EntityManager entityManager,
+      Validator validator,
+      PlatformTransactionManager transactionManager,
+      ItemBatchProperties properties) {
+    this.itemRepository = itemRepository;
+    this.categoryService = categoryService;
+    this.currentUserService = currentUserService;
+    this.codeSequenceService = codeSequenceService;
+    this.collectionVersionService = collectionVersionService;
+    this.entityManager = entityManager;
+    this.validator = validator;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = properties;
+  }
+
+  /**
+   * Batch API: rows are validated up front, then written with {@link
+   * ExistingItems#REQUIRE_VERSION} in chunks of {@link ItemBatchProperties#getChunkSize()} (by
+   * default the whole request in one transaction).
+   */
+  public ItemsBatchUpsertPost200Response upsert(List<ItemsBatchUpsertRow> rows) {
+    List<ItemsBatchUpsertRow> input = rows == null ? List.of() : rows;
+    ItemsBatchUpsertResult[] results = new ItemsBatchUpsertResult[input.size()];
+
+    List<ItemWrite> writes = new ArrayList<>(input.size());
+    Set<String> seenCodes = new HashSet<>();
+    for (int i = 0; i < input.size(); i++) {
+      ItemsBatchUpsertRow row = input.get(i);
+      String code = normalizeCode(row == null ? null : row.getCode());
+      String error = row == null ? "row: must not be null" : validate(row);
+      if (error != null) {
+        results[i] =
+            new ItemsBatchUpsertResult(i, ItemsBatchUpsertOutcome.INVALID).code(code).error(error);
+      } else if (code != null && !seenCodes.add(code)) {
+        results[i] =
+            new ItemsBatchUpsertResult(i, ItemsBatchUpsertOutcome.DUPLICATE)
+                .code(code)
+                .error("duplicate_code_in_request");
+      } else {
+        writes.add(
+            new ItemWrite(
+                i,
+                code,
+                row.getName(),
+                row.getStatus(),
+                row.getCategoryName(),
+                row.getUomBase(),
+                row.getDescription(),
+                row.getUoms(),
+                row.getVersion()));
+      }
+    }
+
+    for (ItemsBatchUpsertResult result :
+        write(writes, ExistingItems.REQUIRE_VERSION, properties.getChunkSize(), false)) {
+      results[result.getIndex()] = result;
+    }
+
+    int created = 0;
+    int updated = 0;
+    for (ItemsBatchUpsertResult result : results) {
+      if (result.getOutcome() == ItemsBatchUpsertOutcome.CREATED) {
+        created++;
+      } else if (result.getOutcome() == ItemsBatchUpsertOutcome.UPDATED) {
+        updated++;
+      }
+    }
+    return new ItemsBatchUpsertPost200Response()
+        .created(created)
+        .updated(updated)
+        .rejected(results.length - created - updated)
+        .results(List.of(results));
+  }
+
+  /**
+   * Writes already validated rows in chunks of {@code chunkSize} (0 for a single chunk). Returns
+   * one result per row, in row order. With {@code isolateFailures} a chunk that fails is retried
+   * row by row, so only the offending rows are reported as failed.
+   */
+  public List<ItemsBatchUpsertResult> write(
+      List<ItemWrite> rows, ExistingItems existingItems, int chunkSize, boolean isolateFailures) {
+    String ownerSub = currentUserService.requiredSub();
+    int size = chunkSize <= 0 ? Math.max(rows.size(), 1) : chunkSize;
+    List<ItemsBatchUpsertResult> results = new ArrayList<>(rows.size());
+    for (int from = 0; from < rows.size(); from += size) {
+      List<ItemWrite> chunk = rows.subList(from, Math.min(from + size, rows.size()));
+      try {
+        results.addAll(writeInTransaction(chunk, existingItems, ownerSub));
+      } catch (DataAccessException | TransactionException ex) {
+        log.warn("Bulk item write of {} rows rolled back: {}", chunk.size(), ex.getMessage());
+        if (!isolateFailures || chunk.size() == 1) {
+          chunk.forEach(row -> results.add(failed(row, ex)));
+          continue;
+        }
+        for (ItemWrite row : chunk) {
+          try {
+            results.addAll(writeInTransaction(List.of(row), existingItems, ownerSub));
+          } catch (DataAccessException | TransactionException rowEx) {
+            results.add(failed(row, rowEx));
+          }
+        }
+      }
+    }
+    return results;
+  }
+
+  private List<ItemsBatchUpsertResult> writeInTransaction(
+      List<ItemWrite> chunk, ExistingItems existingItems, String ownerSub) {
+    return transactionTemplate.execute(status -> writeChunk(chunk, existingItems, ownerSub));
+  }
+
+  private List<ItemsBatchUpsertResult> writeChunk(
+      List<ItemWrite> chunk, ExistingItems existingItems, String ownerSub) {
+    Set<String> lowerCodes = new HashSet<>();
+    int missingCodes = 0;
+    for (ItemWrite row : chunk) {
+      String code = normalizeCode(row.code());
+      if (code == null) {
+        missingCodes++;
+      } else {
+        lowerCodes.add(code.toLowerCase(Locale.ROOT));
+      }
+    }
+    Map<String, ItemEntity> existing = new HashMap<>();
+    if (!lowerCodes.isEmpty()) {
+      for (ItemEntity entity : itemRepository.findByOwnerSubAndLowerCodeIn(ownerSub, lowerCodes)) {
+        existing.put(entity.getCode().toUpperCase(Locale.ROOT), entity);
+      }
+    }
+    Iterator<String> generatedCodes =
+        missingCodes == 0
+            ? Collections.emptyIterator()
+            : codeSequenceService
+                .nextCodes(
+                    CodeSequence.ITEM,
+                    ownerSub,
+                    missingCodes,
+                    candidates -> takenCodes(candidates, lowerCodes, ownerSub))
+                .iterator();
+
+    List<ItemsBatchUpsertResult> results = new ArrayList<>(chunk.size());
+    Map<ItemsBatchUpsertResult, ItemEntity> written = new IdentityHashMap<>();
+    Set<String> categories = new HashSet<>();
+    List<ItemEntity> inserts = new ArrayList<>();
+    for (ItemWrite row : chunk) {
+      String code = normalizeCode(row.code());
+      if (code == null) {
+        code = generatedCodes.next();
+      }
+      ItemEntity entity = existing.get(code);
+      ItemsBatchUpsertResult result = new ItemsBatchUpsertResult().index(row.index()).code(code);
+      results.add(result);
+
+      ItemsBatchUpsertOutcome rejection = rejection(entity, row.version(), existingItems);
+      if (rejection != null) {
+        result
+            .outcome(rejection)
+            .version(entity == null ? null : (int) entity.getVersion())
+            .error(
+                rejection == ItemsBatchUpsertOutcome.CONFLICT
+                    ? "code_conflict"
+                    : rejection.getValue());
+        continue;
+      }
+
+      if (entity == null) {
+        entity = new ItemEntity();
+        entity.setCode(code);
+        entity.setOwnerSub(ownerSub);
+        inserts.add(entity);
+        // Later rows of the chunk with the same code see the new item.
+        existing.put(code, entity);
+        result.outcome(ItemsBatchUpsertOutcome.CREATED);
+      } else {
+        result.code(entity.getCode()).outcome(ItemsBatchUpsertOutcome.UPDATED);
+      }
+      entity.setName(row.name().trim());
+      entity.setStatus(row.status());
+      entity.setCategoryName(row.categoryName().trim());
+      entity.setUomBase(row.uomBase().trim());
+      entity.setDescription(row.description());
+      if (row.uoms() != null || result.getOutcome() == ItemsBatchUpsertOutcome.CREATED) {
+        entity.setUoms(ItemService.toEmbeddables(row.uoms()));
+      }
+      categories.add(row.categoryName());
+      written.put(result, entity);
+    }
+
+    if (!written.isEmpty()) {
+      categoryService.ensureAllExistForCurrentUser(categories);
+      itemRepository.saveAll(inserts);
+      // Managed entities are dirty-checked here; inserts and updates go out as JDBC batches.
+      itemRepository.flush();
+      written.forEach((result, entity) -> result.version((int) entity.getVersion()));
+      collectionVersionService.markChanged(DataCollection.ITEMS, ownerSub);
+      entityManager.clear();
+    }
+    return results;
+  }
+
+  private static ItemsBatchUpsertOutcome rejection(
+      ItemEntity entity, Integer version, ExistingItems existingItems) {
+    if (entity == null) {
+      return existingItems == ExistingItems.REQUIRE_VERSION && version != null
+          ? ItemsBatchUpsertOutcome.NOT_FOUND
+          : null;
+    }
+    return switch (existingItems) {
+      case OVERWRITE -> null;
+      case REJECT -> ItemsBatchUpsertOutcome.CONFLICT;
+      case REQUIRE_VERSION -> {
+        if (version == null) {
+          yield ItemsBatchUpsertOutcome.CONFLICT;
+        }
+        yield entity.getVersion() == version.longValue()
+            ? null
+            : ItemsBatchUpsertOutcome.VERSION_MISMATCH;
+      }
+    };
+  }
+
+  /** Generated candidates that collide with a code of the chunk or a stored item. */
+  private Set<String> takenCodes(
+      List<String> candidates, Set<String> chunkLowerCodes, String ownerSub) {
+    Set<String> lowerCandidates = new HashSet<>();
+    candidates.forEach(code -> lowerCandidates.add(code.toLowerCase(Locale.ROOT)));
+    Set<String> taken = new HashSet<>();
+    itemRepository
+        .findCodesByOwnerSubAndLowerCodeIn(ownerSub, lowerCandidates)
+        .forEach(code -> taken.add(code.toLowerCase(Locale.ROOT)));
+    taken.addAll(chunkLowerCodes);
+    return candidates.stream()
+        .filter(code -> taken.contains(code.toLowerCase(Locale.ROOT)))
+        .collect(Collectors.toSet());
+  }
+
+  private static ItemsBatchUpsertResult failed(ItemWrite row, RuntimeException ex) {
+    return new ItemsBatchUpsertResult(row.index(), ItemsBatchUpsertOutcome.FAILED)
+        .code(row.code())
+        .error(
+            ex instanceof DataIntegrityViolationException
+                ? "constraint_violation"
+                : "write_failed");
+  }
+
+  /** Bean-validation problems of {@code row} as one message, or null when it is valid. */
+  public String validate(ItemsBatchUpsertRow row) {
+    Set<ConstraintViolation<ItemsBatchUpsertRow>> violations = validator.validate(row);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+        .sorted(Comparator.naturalOrder())
+        .collect(Collectors.joining("; "));
+  }
+
+  private static String normalizeCode(String code) {
+    return code == null || code.isBlank() ? null : code.trim().toUpperCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,238 @@
+package com.craftify.backend.service;
+
+import com.craftify.backend.error.ApiException;
+import com.craftify.backend.model.BomStatus;
+import com.craftify.backend.model.ItemWhereUsed;
+import com.craftify.backend.model.ItemWhereUsedUsagesInner;
+import com.craftify.backend.persistence.entity.BomComponentEmbeddable;
+import com.craftify.backend.persistence.entity.BomEntity;
+import com.craftify.backend.persistence.entity.ItemReferenceEntity;
+import com.craftify.backend.persistence.entity.ItemReferenceEntity.SourceType;
+import com.craftify.backend.persistence.entity.WorkItemEntity;
+import com.craftify.backend.persistence.repository.ItemReferenceRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains {@code item_references}, the reverse index from item codes to the BOMs and queued work
+ * items that use them. Writers replace a source's rows whenever they save it, so usage checks never
+ * have to scan BOM components or work item snapshots.
+ */
+@Service
+public class ItemReferenceService {
+
+  /** Levels followed by a recursive where-used lookup. */
+  static final int MAX_WHERE_USED_LEVELS = 32;
+
+  private final ItemReferenceRepository itemReferenceRepository;
+
+  public ItemReferenceService(ItemReferenceRepository itemReferenceRepository) {
+    this.itemReferenceRepository = itemReferenceRepository;
+  }
+
+  @Transactional
+  public void replaceForBom(BomEntity bom) {
+    itemReferenceRepository.deleteBySourceId(bom.getId());
+    List<ItemReferenceEntity> rows = new ArrayList<>();
+    addBomReferences(rows, bom);
+    itemReferenceRepository.saveAll(rows);
+  }
+
+  /** {@link #replaceForBom} for several BOMs, with one delete and one batch of inserts. */
+  @Transactional
+  public void replaceForBoms(Collection<BomEntity> boms) {
+    if (boms.isEmpty()) {
+      return;
+    }
+    itemReferenceRepository.deleteBySourceIdIn(boms.stream().map(BomEntity::getId).toList());
+    List<ItemReferenceEntity> rows = new ArrayList<>();
+    for (BomEntity bom : boms) {
+      addBomReferences(rows, bom);
+    }
+    itemReferenceRepository.saveAll(rows);
+  }
+
+  /**
+   * Fails with {@code bom_cycle} when one of the just written {@code bomIds} closes a component
+   * loop. Their references must have been replaced in the current transaction. The walk follows
+   * the reverse index from the written BOMs' components only, under a per-owner lock held until
+   * commit, so concurrent writes cannot close a loop between them.
+   */
+  @Transactional
+  public void requireAcyclic(String ownerSub, Collection<UUID> bomIds) {
+    if (bomIds.isEmpty()) {
+      return;
+    }
+    itemReferenceRepository.flush();
+    itemReferenceRepository.lockBomGraph("bom-graph:" + ownerSub);
+    if (!itemReferenceRepository.findBomsOnCycle(ownerSub, bomIds).isEmpty()) {
+      throw ApiException.conflict("bom_cycle");
+    }
+  }
+
+  @Transactional
+  public void replaceForWorkItem(WorkItemEntity workItem, Collection<String> componentItemCodes) {
+    itemReferenceRepository.deleteBySourceId(workItem.getId());
+    List<ItemReferenceEntity> rows = new ArrayList<>();
+    Set<String> seen = new HashSet<>();
+    addReference(
+        rows,
+        seen,
+        workItem.getOwnerSub(),
+        workItem.getId(),
+        workItem.getCode(),
+        SourceType.WORK_ITEM_OUTPUT,
+        workItem.getOutputItemId());
+    for (String itemCode : componentItemCodes) {
+      addReference(
+          rows,
+          seen,
+          workItem.getOwnerSub(),
+          workItem.getId(),
+          workItem.getCode(),
+          SourceType.WORK_ITEM_COMPONENT,
+          itemCode);
+    }
+    itemReferenceRepository.saveAll(rows);
+  }
+
+  @Transactional
+  public void removeForSource(UUID sourceId) {
+    if (sourceId != null) {
+      itemReferenceRepository.deleteBySourceId(sourceId);
+    }
+  }
+
+  @Transactional(readOnly = true)
+  public boolean isReferenced(String ownerSub, String itemCode) {
+    String normalized = normalize(itemCode);
+    return !normalized.isEmpty()
+        && itemReferenceRepository.existsByOwnerSubAndItemCode(ownerSub, normalized);
+  }
+
+  /** The subset of {@code itemCodes} (already upper-cased) that has at least one reference. */
+  @Transactional(readOnly = true)
+  public Set<String> findReferencedItemCodes(String ownerSub, Collection<String> itemCodes) {
+    if (itemCodes == null || itemCodes.isEmpty()) {
+      return Set.of();
+    }
+    return new HashSet<>(itemReferenceRepository.findReferencedItemCodes(ownerSub, itemCodes));
+  }
+
+  @Transactional(readOnly = true)
+  public Map<SourceType, Long> countBySourceType(String ownerSub, String itemCode) {
+    Map<SourceType, Long> counts = new EnumMap<>(SourceType.class);
+    for (SourceType type : SourceType.values()) {
+      counts.put(type, 0L);
+    }
+    String normalized = normalize(itemCode);
+    if (normalized.isEmpty()) {
+      return counts;
+    }
+    for (ItemReferenceRepository.SourceTypeCount row :
+        itemReferenceRepository.countBySourceType(ownerSub, normalized)) {
+      counts.put(row.getSourceType(), row.getTotal());
+    }
+    return counts;
+  }
+
+  /**
+   * BOMs that use {@code itemCode} as a component, and with {@code recursive} the BOMs above them
+   * up to the top-level products, read from the reverse index in one query.
+   */
+  @Transactional(readOnly = true)
+  public ItemWhereUsed whereUsed(String ownerSub, String itemCode, boolean recursive) {
+    String normalized = normalize(itemCode);
+    List<ItemWhereUsedUsagesInner> usages = new ArrayList<>();
+    Set<String> consumed = new HashSet<>();
+    for (ItemReferenceRepository.WhereUsedRow row :
+        itemReferenceRepository.findWhereUsed(
+            ownerSub, normalized, recursive ? MAX_WHERE_USED_LEVELS : 1)) {
+      usages.add(
+          new ItemWhereUsedUsagesInner()
+              .level(row.getLevel())
+              .bomId(row.getBomId())
+              .productId(row.getProductId())
+              .productName(row.getProductName())
+              .revision(row.getRevision())
+              .status(row.getStatus() == null ? null : BomStatus.valueOf(row.getStatus()))
+              .componentItemId(row.getItemId())
+              .quantity(row.getQuantity())
+              .uom(row.getUom()));
+      consumed.add(row.getItemId());
+    }
+    Set<String> topLevelProducts = new LinkedHashSet<>();
+    if (recursive) {
+      for (ItemWhereUsedUsagesInner usage : usages) {
+        String product = normalize(usage.getProductId());
+        if (!consumed.contains(product)) {
+          topLevelProducts.add(product);
+        }
+      }
+    }
+    return new ItemWhereUsed()
+        .itemId(normalized)
+        .recursive(recursive)
+        .usages(usages)
+        .topLevelProducts(new ArrayList<>(topLevelProducts));
+  }
+
+  private void addBomReferences(List<ItemReferenceEntity> rows, BomEntity bom) {
+    Set<String> seen = new HashSet<>();
+    addReference(
+        rows,
+        seen,
+        bom.getOwnerSub(),
+        bom.getId(),
+        bom.getCode(),
+        SourceType.BOM_PRODUCT,
+        bom.getProductId());
+    if (bom.getComponents() != null) {
+      for (BomComponentEmbeddable c : bom.getComponents()) {
+        addReference(
+            rows,
+            seen,
+            bom.getOwnerSub(),
+            bom.getId(),
+            bom.getCode(),
+            SourceType.BOM_COMPONENT,
+            c.getItemId());
+      }
+    }
+  }
+
+  private void addReference(
+      List<ItemReferenceEntity> rows,
+      Set<String> seen,
+      String ownerSub,
+      UUID sourceId,
+      String sourceCode,
+      SourceType type,
+      String itemCode) {
+    String normalized = normalize(itemCode);
+    if (normalized.isEmpty() || "UNKNOWN".equals(normalized) || !seen.add(type + ":" + normalized)) {
+      return;
+    }
+    ItemReferenceEntity row = new ItemReferenceEntity();
+    row.setOwnerSub(ownerSub);
+    row.setItemCode(normalized);
+    row.setSourceType(type);
+    row.setSourceId(sourceId);
+    row.setSourceCode(sourceCode);
+    rows.add(row);
+  }
+
+  private static String normalize(String itemCode) {
+    return itemCode == null ? "" : itemCode.trim().toUpperCase(Locale.ROOT);
+  }
+}
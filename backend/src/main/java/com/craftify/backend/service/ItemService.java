@@ -1,30 +1,42 @@
 package com.craftify.backend.service;
 
 import com.craftify.backend.error.ApiException;
+import com.craftify.backend.model.ChangeFeed;
 import com.craftify.backend.model.ItemDetail;
 import com.craftify.backend.model.ItemList;
 import com.craftify.backend.model.ItemPage;
 import com.craftify.backend.model.ItemQuery;
+import com.craftify.backend.model.ItemReferenceCounts;
 import com.craftify.backend.model.ItemUom;
+import com.craftify.backend.model.ItemWhereUsed;
+import com.craftify.backend.model.ItemsBatchDeleteOutcome;
+import com.craftify.backend.model.ItemsBatchDeletePost200Response;
+import com.craftify.backend.model.ItemsBatchDeleteResult;
 import com.craftify.backend.model.Status;
 import com.craftify.backend.model.CreateItemRequest;
 import com.craftify.backend.model.UpdateItemRequest;
 import com.craftify.backend.persistence.entity.ItemEntity;
+import com.craftify.backend.persistence.entity.ItemReferenceEntity.SourceType;
 import com.craftify.backend.persistence.entity.ItemUomEmbeddable;
-import com.craftify.backend.persistence.entity.WorkItemEntity;
-import com.craftify.backend.persistence.repository.BomRepository;
+import com.craftify.backend.persistence.projection.ItemListRow;
 import com.craftify.backend.persistence.repository.InventoryRepository;
 import com.craftify.backend.persistence.repository.ItemRepository;
-import com.craftify.backend.persistence.repository.WorkItemRepository;
+import com.craftify.backend.persistence.search.TrigramSearch;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -38,61 +50,53 @@ public class ItemService {
 
   private final ItemRepository itemRepository;
   private final InventoryRepository inventoryRepository;
-  private final BomRepository bomRepository;
-  private final WorkItemRepository workItemRepository;
   private final CurrentUserService currentUserService;
   private final CategoryService categoryService;
-  private static final Pattern SNAPSHOT_ITEM_ID_PATTERN =
-      Pattern.compile("\"itemId\"\\s*:\\s*\"([^\"]+)\"", Pattern.CASE_INSENSITIVE);
+  private final ItemReferenceService itemReferenceService;
+  private final CodeSequenceService codeSequenceService;
+  private final CollectionVersionService collectionVersionService;
+  private final SyncChangeService syncChangeService;
 
   public ItemService(
       ItemRepository itemRepository,
       InventoryRepository inventoryRepository,
-      BomRepository bomRepository,
-      WorkItemRepository workItemRepository,
       CurrentUserService currentUserService,
-      CategoryService categoryService) {
+      CategoryService categoryService,
+      ItemReferenceService itemReferenceService,
+      CodeSequenceService codeSequenceService,
+      CollectionVersionService collectionVersionService,
+      SyncChangeService syncChangeService) {
     this.itemRepository = itemRepository;
     this.inventoryRepository = inventoryRepository;
-    this.bomRepository = bomRepository;
-    this.workItemRepository = workItemRepository;
     this.currentUserService = currentUserService;
     this.categoryService = categoryService;
+    this.itemReferenceService = itemReferenceService;
+    this.codeSequenceService = codeSequenceService;
+    this.collectionVersionService = collectionVersionService;
+    this.syncChangeService = syncChangeService;
   }
 
   @Transactional(readOnly = true)
   public ItemPage list(ItemQuery query) {
     String ownerSub = currentUserService.requiredSub();
-    Pageable pageable =
-        PageRequest.of(Math.max(query.page(), 0), Math.max(query.size(), 1), parseSort(query.sort()));
-
-    Specification<ItemEntity> spec =
-        (root, cq, cb) -> {
-          List<Predicate> predicates = new ArrayList<>();
-          predicates.add(cb.equal(root.get("ownerSub"), ownerSub));
-          if (query.q() != null && !query.q().isBlank()) {
-            String pattern = "%" + query.q().toLowerCase(Locale.ROOT) + "%";
-            predicates.add(
-                cb.or(
-                    cb.like(cb.lower(root.get("code")), pattern),
-                    cb.like(cb.lower(root.get("name")), pattern),
-                    cb.like(cb.lower(root.get("categoryName")), pattern)));
-          }
-          if (query.status() != null) {
-            predicates.add(cb.equal(root.get("status"), query.status()));
-          }
-          if (query.categoryName() != null && !query.categoryName().isBlank()) {
-            predicates.add(
-                cb.equal(
-                    cb.lower(root.get("categoryName")), query.categoryName().toLowerCase(Locale.ROOT)));
-          }
-          if (query.uom() != null && !query.uom().isBlank()) {
-            predicates.add(cb.equal(cb.lower(root.get("uomBase")), query.uom().toLowerCase(Locale.ROOT)));
-          }
-          return cb.and(predicates.toArray(Predicate[]::new));
-        };
+    Specification<ItemEntity> spec = listSpecification(query, ownerSub);
+    boolean ranked = TrigramSearch.ranked(query.q(), query.sort());
+    if (query.after() != null) {
+      if (ranked) {
+        // Relevance is not a stored key a cursor could seek past.
+        throw ApiException.badRequest("unsupported_sort");
+      }
+      return listAfter(spec, query);
+    }
 
-    Page<ItemEntity> result = itemRepository.findAll(spec, pageable);
+    Pageable pageable =
+        PageRequest.of(
+            Math.max(query.page(), 0),
+            Math.max(query.size(), 1),
+            ranked ? Sort.unsorted() : parseSort(query.sort()));
+    Page<ItemListRow> result =
+        itemRepository.findListRows(
+            ranked ? spec.and(orderByRelevance(query.q())) : spec, pageable);
 
     return new ItemPage()
         .content(result.stream().map(this::toListModel).toList())
@@ -100,7 +104,94 @@ public class ItemService {
         .size(result.getSize())
         .totalElements((int) result.getTotalElements())
         .totalPages(Math.max(1, result.getTotalPages()))
-        .sort(List.of(query.sort() == null || query.sort().isBlank() ? "updatedAt,desc" : query.sort()));
+        .sort(
+            List.of(
+                ranked
+                    ? "relevance,desc"
+                    : query.sort() == null || query.sort().isBlank() ? "updatedAt,desc" : query.sort()));
+  }
+
+  /**
+   * Cursor mode: seeks past the row encoded in {@code after} and reads one extra row to know
+   * whether another page exists, so no count query runs and deep pages cost the same as the first.
+   */
+  private ItemPage listAfter(Specification<ItemEntity> spec, ItemQuery query) {
+    int size = Math.max(query.size(), 1);
+    Sort sort = KeysetCursor.withTieBreaker(parseSort(query.sort()));
+    KeysetCursor cursor = KeysetCursor.decode(query.after(), sort);
+    Specification<ItemEntity> seek = cursor == null ? spec : spec.and(cursor.toSpecification());
+
+    List<ItemListRow> rows = itemRepository.findListRows(seek, sort, size + 1);
+    boolean hasMore = rows.size() > size;
+    List<ItemListRow> content = hasMore ? rows.subList(0, size) : rows;
+
+    return new ItemPage()
+        .content(content.stream().map(this::toListModel).toList())
+        .size(size)
+        .sort(List.of(query.sort() == null || query.sort().isBlank() ? "updatedAt,desc" : query.sort()))
+        .nextCursor(hasMore ? KeysetCursor.after(content.getLast(), sort).encode() : null);
+  }
+
+  private Specification<ItemEntity> listSpecification(ItemQuery query, String ownerSub) {
+    return (root, cq, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+      predicates.add(cb.equal(root.get("ownerSub"), ownerSub));
+      if (TrigramSearch.hasTerm(query.q())) {
+        predicates.add(TrigramSearch.matches(cb, query.q(), searchFields(root)));
+      }
+      if (query.status() != null) {
+        predicates.add(cb.equal(root.get("status"), query.status()));
+      }
+      if (query.categoryName() != null && !query.categoryName().isBlank()) {
+        predicates.add(
+            cb.equal(
+                cb.lower(root.get("categoryName")), query.categoryName().toLowerCase(Locale.ROOT)));
+      }
+      if (query.uom() != null && !query.uom().isBlank()) {
+        predicates.add(cb.equal(cb.lower(root.get("uomBase")), query.uom().toLowerCase(Locale.ROOT)));
+      }
+      return cb.and(predicates.toArray(Predicate[]::new));
+    };
+  }
+
+  /** Orders by best trigram similarity to {@code q}; skipped for the count query. */
+  private Specification<ItemEntity> orderByRelevance(String q) {
+    return (root, cq, cb) -> {
+      if (cq != null && !Long.class.equals(cq.getResultType())) {
+        cq.orderBy(
+            cb.desc(TrigramSearch.relevance(cb, q, searchFields(root))),
+            cb.desc(root.get("updatedAt")),
+            cb.asc(root.get("id")));
+      }
+      return cb.conjunction();
+    };
+  }
+
+  private static List<Expression<String>> searchFields(Root<ItemEntity> root) {
+    return List.of(root.get("code"), root.get("name"), root.get("categoryName"));
+  }
+
+  /** Delta sync: list rows changed since {@code since} and the codes deleted since. */
+  @Transactional(readOnly = true)
+  public ChangeFeed<ItemList> changes(String since, Integer limit) {
+    String ownerSub = currentUserService.requiredSub();
+    SyncChangeService.Batch batch =
+        syncChangeService.read(DataCollection.ITEMS, ownerSub, since, limit);
+    if (batch.upserted().isEmpty()) {
+      return batch.toFeed(List.of());
+    }
+    return batch.toFeed(
+        itemRepository
+            .findListRows(
+                (root, cq, cb) ->
+                    cb.and(
+                        cb.equal(root.get("ownerSub"), ownerSub),
+                        root.get("code").in(batch.upserted())),
+                Sort.by("code"),
+                batch.upserted().size())
+            .stream()
+            .map(this::toListModel)
+            .toList());
   }
 
   @Transactional(readOnly = true)
@@ -111,10 +202,35 @@ public class ItemService {
     }
     return itemRepository
         .findByCodeIgnoreCaseAndOwnerSub(code, ownerSub)
-        .map(this::toDetailModel)
+        .map(entity -> toDetailModel(entity).references(referenceCounts(entity.getCode(), ownerSub)))
         .orElse(null);
   }
 
+  /** BOMs that use the item, directly or with {@code recursive} through sub-assemblies. */
+  @Transactional(readOnly = true)
+  public ItemWhereUsed whereUsed(String code, boolean recursive) {
+    String ownerSub = currentUserService.requiredSub();
+    ItemEntity item =
+        code == null || code.isBlank()
+            ? null
+            : itemRepository.findByCodeIgnoreCaseAndOwnerSub(code, ownerSub).orElse(null);
+    if (item == null) {
+      throw ApiException.notFound("item_not_found");
+    }
+    return itemReferenceService.whereUsed(ownerSub, item.getCode(), recursive);
+  }
+
+  /** Upper-cased codes of all the caller's items, for checking many references at once. */
+  @Transactional(readOnly = true)
+  public Set<String> codesForCurrentUser() {
+    String ownerSub = currentUserService.requiredSub();
+    Set<String> codes = new HashSet<>();
+    for (String code : itemRepository.findCodesByOwnerSub(ownerSub)) {
+      codes.add(code.toUpperCase(Locale.ROOT));
+    }
+    return codes;
+  }
+
   @Transactional
   public ItemDetail create(CreateItemRequest req) {
     String ownerSub = currentUserService.requiredSub();
@@ -138,7 +254,9 @@ public class ItemService {
     entity.setUoms(toEmbeddables(req.getUoms()));
     entity.setOwnerSub(ownerSub);
 
-    return toDetailModel(itemRepository.save(entity));
+    ItemEntity saved = itemRepository.save(entity);
+    collectionVersionService.markChanged(DataCollection.ITEMS, ownerSub);
+    return toDetailModel(saved);
   }
 
   @Transactional
@@ -173,7 +291,9 @@ public class ItemService {
     existing.setDescription(req.getDescription());
     existing.setUoms(toEmbeddables(req.getUoms()));
 
-    return toDetailModel(itemRepository.save(existing));
+    ItemEntity saved = itemRepository.save(existing);
+    collectionVersionService.markChanged(DataCollection.ITEMS, ownerSub);
+    return toDetailModel(saved);
   }
 
   @Transactional
@@ -190,92 +310,87 @@ public class ItemService {
       throw ApiException.conflict("item_in_use");
     }
     itemRepository.delete(existing);
+    collectionVersionService.markChanged(DataCollection.ITEMS, ownerSub);
     return true;
   }
 
+  /**
+   * Deletes the caller's items among {@code ids} that nothing references. Ownership, inventory and
+   * item_references are each resolved for the whole set in one query and the deletable rows go in a
+   * single statement, so cost does not grow with per-row usage scans.
+   */
   @Transactional
-  public int deleteByIds(List<UUID> ids) {
+  public ItemsBatchDeletePost200Response deleteByIds(List<UUID> ids) {
     String ownerSub = currentUserService.requiredSub();
-    if (ids == null || ids.isEmpty()) {
-      return 0;
+    Set<UUID> requested = new LinkedHashSet<>(ids == null ? List.of() : ids);
+    requested.remove(null);
+    if (requested.isEmpty()) {
+      return new ItemsBatchDeletePost200Response().deleted(0).results(List.of());
+    }
+
+    Map<UUID, ItemRepository.ItemOwnership> rows = new HashMap<>();
+    for (ItemRepository.ItemOwnership row : itemRepository.findOwnershipByIdIn(requested)) {
+      rows.put(row.getId(), row);
     }
-    int deleted = 0;
-    List<ItemEntity> rows = itemRepository.findAllById(ids);
-    List<ItemEntity> toDelete = new ArrayList<>();
-    for (ItemEntity row : rows) {
+    Set<String> ownedCodes = new HashSet<>();
+    for (ItemRepository.ItemOwnership row : rows.values()) {
       if (ownerSub.equals(row.getOwnerSub())) {
-        if (isItemInUse(row.getCode(), ownerSub)) {
-          continue;
-        }
-        toDelete.add(row);
-        deleted++;
+        ownedCodes.add(row.getCode().trim().toUpperCase(Locale.ROOT));
       }
     }
-    if (!toDelete.isEmpty()) {
-      itemRepository.deleteAll(toDelete);
+    Set<String> inUseCodes = new HashSet<>();
+    if (!ownedCodes.isEmpty()) {
+      inUseCodes.addAll(inventoryRepository.findStockedItemIds(ownerSub, ownedCodes));
+      inUseCodes.addAll(itemReferenceService.findReferencedItemCodes(ownerSub, ownedCodes));
     }
-    return deleted;
-  }
-
-  @Transactional
-  public void upsertFromImport(
-      String code,
-      String name,
-      Status status,
-      String categoryName,
-      String uomBase,
-      String description,
-      List<ItemUom> uoms,
-      boolean createOnly) {
-    String ownerSub = currentUserService.requiredSub();
-    String normalizedCode =
-        (code == null || code.isBlank()) ? generateNextCode(ownerSub) : code.trim().toUpperCase(Locale.ROOT);
 
-    ItemEntity existing = itemRepository.findByCodeIgnoreCaseAndOwnerSub(normalizedCode, ownerSub).orElse(null);
-    if (existing != null) {
-      if (createOnly) {
-        throw ApiException.conflict("create_only_conflict");
-      }
-      existing.setName(name.trim());
-      existing.setStatus(status);
-      categoryService.ensureExistsForCurrentUser(categoryName);
-      existing.setCategoryName(categoryName.trim());
-      existing.setUomBase(uomBase.trim());
-      existing.setDescription(description);
-      if (uoms != null) {
-        existing.setUoms(toEmbeddables(uoms));
+    List<ItemsBatchDeleteResult> results = new ArrayList<>(requested.size());
+    List<UUID> deletable = new ArrayList<>();
+    for (UUID id : requested) {
+      ItemRepository.ItemOwnership row = rows.get(id);
+      if (row == null) {
+        results.add(new ItemsBatchDeleteResult(id, ItemsBatchDeleteOutcome.NOT_FOUND));
+      } else if (!ownerSub.equals(row.getOwnerSub())) {
+        results.add(new ItemsBatchDeleteResult(id, ItemsBatchDeleteOutcome.FOREIGN_OWNER));
+      } else if (inUseCodes.contains(row.getCode().trim().toUpperCase(Locale.ROOT))) {
+        results.add(
+            new ItemsBatchDeleteResult(id, ItemsBatchDeleteOutcome.IN_USE).code(row.getCode()));
+      } else {
+        results.add(
+            new ItemsBatchDeleteResult(id, ItemsBatchDeleteOutcome.DELETED).code(row.getCode()));
+        deletable.add(id);
       }
-      itemRepository.save(existing);
-      return;
     }
 
-    ItemEntity entity = new ItemEntity();
-    categoryService.ensureExistsForCurrentUser(categoryName);
-    entity.setCode(normalizedCode);
-    entity.setName(name.trim());
-    entity.setStatus(status);
-    entity.setCategoryName(categoryName.trim());
-    entity.setUomBase(uomBase.trim());
-    entity.setDescription(description);
-    entity.setUoms(toEmbeddables(Objects.requireNonNullElse(uoms, List.of())));
-    entity.setOwnerSub(ownerSub);
-    itemRepository.save(entity);
+    int deleted =
+        deletable.isEmpty() ? 0 : itemRepository.deleteByOwnerSubAndIdIn(ownerSub, deletable);
+    if (deleted > 0) {
+      collectionVersionService.markChanged(DataCollection.ITEMS, ownerSub);
+    }
+    return new ItemsBatchDeletePost200Response().deleted(deleted).results(results);
   }
 
+  /**
+   * Passes every matching item to {@code action} in code order, reading them through a database
+   * cursor {@code chunkSize} rows at a time instead of loading the whole result.
+   */
   @Transactional(readOnly = true)
-  public List<ItemDetail> listForExport(String q, Status status, String categoryName, String uom, List<String> codes) {
+  public void scanForExport(
+      String q,
+      Status status,
+      String categoryName,
+      String uom,
+      List<String> codes,
+      int chunkSize,
+      Consumer<ItemDetail> action) {
     String ownerSub = currentUserService.requiredSub();
     Specification<ItemEntity> spec =
         (root, cq, cb) -> {
           List<Predicate> predicates = new ArrayList<>();
           predicates.add(cb.equal(root.get("ownerSub"), ownerSub));
 
-          if (q != null && !q.isBlank()) {
-            String pattern = "%" + q.toLowerCase(Locale.ROOT) + "%";
-            predicates.add(
-                cb.or(
-                    cb.like(cb.lower(root.get("code")), pattern),
-                    cb.like(cb.lower(root.get("name")), pattern)));
+          if (TrigramSearch.hasTerm(q)) {
+            predicates.add(TrigramSearch.matches(cb, q, searchFields(root)));
           }
           if (status != null) {
             predicates.add(cb.equal(root.get("status"), status));
@@ -293,12 +408,18 @@ public class ItemService {
           return cb.and(predicates.toArray(Predicate[]::new));
         };
 
-    return itemRepository.findAll(spec, Sort.by(Sort.Direction.ASC, "code")).stream().map(this::toDetailModel).toList();
+    itemRepository.scan(
+        spec,
+        Sort.by(Sort.Direction.ASC, "code"),
+        chunkSize,
+        chunk -> chunk.forEach(entity -> action.accept(toDetailModel(entity))));
   }
 
   private String generateNextCode(String ownerSub) {
-    int max = itemRepository.findMaxCodeSuffixByOwnerSub(ownerSub);
-    return "ITM-" + String.format("%03d", max + 1);
+    return codeSequenceService.nextCode(
+        CodeSequence.ITEM,
+        ownerSub,
+        code -> itemRepository.existsByCodeIgnoreCaseAndOwnerSub(code, ownerSub));
   }
 
   private boolean isItemInUse(String itemCode, String ownerSub) {
@@ -309,49 +430,20 @@ public class ItemService {
     if (inventoryRepository.existsByItemIdIgnoreCaseAndOwnerSub(normalizedItemCode, ownerSub)) {
       return true;
     }
-    if (isReferencedInBoms(normalizedItemCode, ownerSub)) {
-      return true;
-    }
-    return isReferencedInQueuedWorkItems(normalizedItemCode, ownerSub);
-  }
-
-  private boolean isReferencedInBoms(String normalizedItemCode, String ownerSub) {
-    return bomRepository.findAllByOwnerSub(ownerSub).stream()
-        .anyMatch(
-            bom ->
-                (bom.getProductId() != null && bom.getProductId().trim().equalsIgnoreCase(normalizedItemCode))
-                    || (bom.getComponents() != null
-                        && bom.getComponents().stream()
-                            .anyMatch(
-                                c ->
-                                    c.getItemId() != null
-                                        && c.getItemId().trim().equalsIgnoreCase(normalizedItemCode))));
-  }
-
-  private boolean isReferencedInQueuedWorkItems(String normalizedItemCode, String ownerSub) {
-    for (WorkItemEntity wi : workItemRepository.findAllByOwnerSubAndStatus(ownerSub, com.craftify.backend.model.WorkItemStatus.QUEUED)) {
-      if (wi.getOutputItemId() != null && wi.getOutputItemId().trim().equalsIgnoreCase(normalizedItemCode)) {
-        return true;
-      }
-      if (isInAllocatedSnapshot(wi.getAllocatedComponentsJson(), normalizedItemCode)) {
-        return true;
-      }
-    }
-    return false;
+    return itemReferenceService.isReferenced(ownerSub, normalizedItemCode);
   }
 
-  private boolean isInAllocatedSnapshot(String json, String normalizedItemCode) {
-    if (json == null || json.isBlank()) {
-      return false;
-    }
-    Matcher matcher = SNAPSHOT_ITEM_ID_PATTERN.matcher(json);
-    while (matcher.find()) {
-      String itemId = matcher.group(1);
-      if (itemId != null && itemId.trim().equalsIgnoreCase(normalizedItemCode)) {
-        return true;
-      }
-    }
-    return false;
+  private ItemReferenceCounts referenceCounts(String itemCode, String ownerSub) {
+    Map<SourceType, Long> counts = itemReferenceService.countBySourceType(ownerSub, itemCode);
+    return new ItemReferenceCounts()
+        .bomsAsProduct(counts.get(SourceType.BOM_PRODUCT).intValue())
+        .bomsAsComponent(counts.get(SourceType.BOM_COMPONENT).intValue())
+        .queuedWorkItems(
+            (int)
+                (counts.get(SourceType.WORK_ITEM_OUTPUT)
+                    + counts.get(SourceType.WORK_ITEM_COMPONENT)))
+        .inventoryRecords(
+            inventoryRepository.existsByItemIdIgnoreCaseAndOwnerSub(itemCode, ownerSub) ? 1 : 0);
   }
 
   private Sort parseSort(String sort) {
@@ -372,18 +464,17 @@ public class ItemService {
     return Sort.by(direction, "name");
   }
 
-  private ItemList toListModel(ItemEntity entity) {
+  private ItemList toListModel(ItemListRow row) {
     return new ItemList()
-        .id(entity.getCode())
-        .code(entity.getCode())
-        .name(entity.getName())
-        .status(entity.getStatus())
-        .categoryName(entity.getCategoryName())
-        .uomBase(entity.getUomBase())
-        .updatedAt(entity.getUpdatedAt());
+        .id(row.code())
+        .code(row.code())
+        .name(row.name())
+        .status(row.status())
+        .categoryName(row.categoryName())
+        .uomBase(row.uomBase())
+        .updatedAt(row.updatedAt());
   }
 
-
   private ItemDetail toDetailModel(ItemEntity entity) {
     return new ItemDetail()
         .id(entity.getCode())
@@ -399,7 +490,7 @@ public class ItemService {
         .version((int) entity.getVersion());
   }
 
-  private List<ItemUomEmbeddable> toEmbeddables(List<ItemUom> uoms) {
+  static List<ItemUomEmbeddable> toEmbeddables(List<ItemUom> uoms) {
     if (uoms == null) {
       return List.of();
     }
@@ -0,0 +1,177 @@
+package com.craftify.backend.service;
+
+import com.craftify.backend.error.ApiException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Opaque "after" token for keyset pagination on list endpoints.
+ *
+ * <p>The token carries the primary sort property and direction together with the sort value and
+ * id of the last row returned, so the next page is read with a seek predicate on the sort index
+ * instead of an offset. Rows are always ordered by the sort key and then by id, which keeps the
+ * order total even when sort values repeat. Null sort values follow PostgreSQL's default placement
+ * (last for ascending, first for descending).
+ */
+public final class KeysetCursor {
+
+  private static final String ID_PROPERTY = "id";
+  private static final char SEPARATOR = '\n';
+  private static final String NULL_MARKER = "~";
+
+  private final String property;
+  private final Sort.Direction direction;
+  private final String value;
+  private final UUID id;
+
+  private KeysetCursor(String property, Sort.Direction direction, String value, UUID id) {
+    this.property = property;
+    this.direction = direction;
+    this.value = value;
+    this.id = id;
+  }
+
+  /** Appends the id tie-breaker (same direction as the primary order) to a single-key sort. */
+  public static Sort withTieBreaker(Sort sort) {
+    Sort.Order primary = primaryOrder(sort);
+    return Sort.by(primary, new Sort.Order(primary.getDirection(), ID_PROPERTY));
+  }
+
+  /**
+   * Decodes an "after" token for the given sort. A blank token means "first page" and yields null.
+   * Tokens produced for a different sort are rejected rather than silently reinterpreted.
+   */
+  public static KeysetCursor decode(String token, Sort sort) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+    Sort.Order primary = primaryOrder(sort);
+    String[] parts;
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+      parts = raw.split(String.valueOf(SEPARATOR), -1);
+    } catch (IllegalArgumentException ex) {
+      throw ApiException.badRequest("invalid_cursor");
+    }
+    if (parts.length != 4
+        || !primary.getProperty().equals(parts[0])
+        || !primary.getDirection().name().equals(parts[1])) {
+      throw ApiException.badRequest("invalid_cursor");
+    }
+    UUID lastId;
+    try {
+      lastId = UUID.fromString(parts[3]);
+    } catch (IllegalArgumentException ex) {
+      throw ApiException.badRequest("invalid_cursor");
+    }
+    String lastValue = NULL_MARKER.equals(parts[2]) ? null : parts[2].substring(1);
+    return new KeysetCursor(parts[0], primary.getDirection(), lastValue, lastId);
+  }
+
+  /** Builds the cursor pointing just past {@code row}, reading the sort property and id from it. */
+  public static KeysetCursor after(Object row, Sort sort) {
+    Sort.Order primary = primaryOrder(sort);
+    var accessor = PropertyAccessorFactory.forDirectFieldAccess(row);
+    Object sortValue = accessor.getPropertyValue(primary.getProperty());
+    UUID lastId = (UUID) accessor.getPropertyValue(ID_PROPERTY);
+    return new KeysetCursor(
+        primary.getProperty(), primary.getDirection(), format(sortValue), lastId);
+  }
+
+  public String encode() {
+    String raw =
+        property
+            + SEPARATOR
+            + direction.name()
+            + SEPARATOR
+            // Non-null values get a one-character prefix so they can never collide with the marker.
+            + (value == null ? NULL_MARKER : "=" + value)
+            + SEPARATOR
+            + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public <T> Specification<T> toSpecification() {
+    return (root, cq, cb) -> toPredicate(root, cb);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private <T> Predicate toPredicate(Root<T> root, CriteriaBuilder cb) {
+    Path path = root.get(property);
+    Path<UUID> idPath = root.get(ID_PROPERTY);
+    boolean ascending = direction.isAscending();
+    Predicate idAfter = ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+
+    if (value == null) {
+      Predicate sameNull = cb.and(cb.isNull(path), idAfter);
+      return ascending ? sameNull : cb.or(sameNull, cb.isNotNull(path));
+    }
+
+    Comparable typed = parse(path.getJavaType(), value);
+    Predicate beyond = ascending ? cb.greaterThan(path, typed) : cb.lessThan(path, typed);
+    Predicate seek = cb.or(beyond, cb.and(cb.equal(path, typed), idAfter));
+    return ascending ? cb.or(seek, cb.isNull(path)) : seek;
+  }
+
+  private static Sort.Order primaryOrder(Sort sort) {
+    if (sort == null || sort.isUnsorted()) {
+      throw ApiException.badRequest("invalid_cursor");
+    }
+    return sort.iterator().next();
+  }
+
+  private static String format(Object value) {
+    if (value == null) {
+      return null;
+    }
+    if (value instanceof Enum<?> e) {
+      return e.name();
+    }
+    if (value instanceof BigDecimal decimal) {
+      return decimal.toPlainString();
+    }
+    return value.toString();
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Comparable parse(Class<?> type, String raw) {
+    try {
+      if (String.class.equals(type)) {
+        return raw;
+      }
+      if (OffsetDateTime.class.equals(type)) {
+        return OffsetDateTime.parse(raw);
+      }
+      if (BigDecimal.class.equals(type)) {
+        return new BigDecimal(raw);
+      }
+      if (Integer.class.equals(type) || int.class.equals(type)) {
+        return Integer.valueOf(raw);
+      }
+      if (Long.class.equals(type) || long.class.equals(type)) {
+        return Long.valueOf(raw);
+      }
+      if (UUID.class.equals(type)) {
+        return UUID.fromString(raw);
+      }
+      if (type.isEnum()) {
+        return Enum.valueOf((Class<? extends Enum>) type, raw);
+      }
+    } catch (RuntimeException ex) {
+      throw ApiException.badRequest("invalid_cursor");
+    }
+    throw ApiException.badRequest("invalid_cursor");
+  }
+}
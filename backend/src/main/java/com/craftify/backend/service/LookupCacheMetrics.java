@@ -0,0 +1,49 @@
+package com.craftify.backend.service;
+
+import com.craftify.backend.service.cache.LookupCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the {@link CodeLookupService} caches under Micrometer's cache meter names, tagged with
+ * {@code cache=items|boms}: {@code cache.gets} (with {@code result=hit|miss}), {@code
+ * cache.evictions} and {@code cache.size}.
+ */
+@Component
+public class LookupCacheMetrics implements MeterBinder {
+
+  private final CodeLookupService codeLookupService;
+
+  public LookupCacheMetrics(CodeLookupService codeLookupService) {
+    this.codeLookupService = codeLookupService;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (LookupCache<?> cache : codeLookupService.caches()) {
+      Tags tags = Tags.of("cache", cache.name());
+      FunctionCounter.builder("cache.gets", cache, LookupCache::hits)
+          .tags(tags)
+          .tag("result", "hit")
+          .description("Lookups answered from the cache")
+          .register(registry);
+      FunctionCounter.builder("cache.gets", cache, LookupCache::misses)
+          .tags(tags)
+          .tag("result", "miss")
+          .description("Lookups that were loaded from the database")
+          .register(registry);
+      FunctionCounter.builder("cache.evictions", cache, LookupCache::evictions)
+          .tags(tags)
+          .description("Entries evicted to stay within the size limit")
+          .register(registry);
+      Gauge.builder("cache.size", cache, LookupCache::size)
+          .tags(tags)
+          .description("Entries currently cached")
+          .register(registry);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.craftify.backend.service;
+
+import com.craftify.backend.error.ApiException;
+import com.craftify.backend.model.ChangeFeed;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads the {@code sync_changes} feed that database triggers maintain for items, BOMs and
+ * inventory.
+ *
+ * <p>Changes are ordered by (writing transaction id, code). A read only returns changes of
+ * transactions below the snapshot's xmin, i.e. transactions that can no longer commit, so a token
+ * handed out never has an unseen change behind it. A write that is still in flight simply shows up
+ * on a later call.
+ */
+@Service
+public class SyncChangeService {
+
+  public static final int DEFAULT_LIMIT = 500;
+  public static final int MAX_LIMIT = 5000;
+
+  private static final String HORIZON_SQL =
+      "select pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+  private static final String FEED_SQL =
+      """
+      select code, deleted, txid
+      from sync_changes
+      where owner_sub = ?
+        and collection = ?
+        and (txid, code) > (?, ?)
+        and txid < ?
+      order by txid, code
+      limit ?
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public SyncChangeService(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Codes changed after {@code since} (null for "from the beginning"), at most {@code limit}. */
+  public Batch read(DataCollection collection, String ownerSub, String since, Integer limit) {
+    Position from = Position.decode(since);
+    int size = Math.min(Math.max(limit == null ? DEFAULT_LIMIT : limit, 1), MAX_LIMIT);
+    long horizon = jdbcTemplate.queryForObject(HORIZON_SQL, Long.class);
+
+    List<Change> rows =
+        jdbcTemplate.query(
+            FEED_SQL,
+            (rs, i) -> new Change(rs.getString("code"), rs.getBoolean("deleted"), rs.getLong("txid")),
+            ownerSub,
+            collection.key(),
+            from.txid(),
+            from.code(),
+            horizon,
+            size + 1);
+
+    boolean hasMore = rows.size() > size;
+    List<Change> page = hasMore ? rows.subList(0, size) : rows;
+    List<String> upserted = new ArrayList<>();
+    List<String> deleted = new ArrayList<>();
+    for (Change change : page) {
+      (change.deleted() ? deleted : upserted).add(change.code());
+    }
+    // Once the feed is drained, everything below the horizon has been seen.
+    Position next =
+        hasMore
+            ? new Position(page.getLast().txid(), page.getLast().code())
+            : new Position(Math.max(horizon, from.txid()), "");
+    return new Batch(upserted, deleted, next.encode(), hasMore);
+  }
+
+  private record Change(String code, boolean deleted, long txid) {}
+
+  /** Codes to re-read and codes deleted, plus the token to continue from. */
+  public record Batch(List<String> upserted, List<String> deleted, String nextToken, boolean hasMore) {
+
+    public <T> ChangeFeed<T> toFeed(List<T> upserts) {
+      ChangeFeed<T> feed = new ChangeFeed<>();
+      feed.setUpserts(upserts);
+      feed.setDeleted(deleted);
+      feed.setNextToken(nextToken);
+      feed.setHasMore(hasMore);
+      return feed;
+    }
+  }
+
+  private record Position(long txid, String code) {
+
+    private static final char SEPARATOR = '\n';
+
+    static Position decode(String token) {
+      if (token == null || token.isBlank()) {
+        return new Position(0, "");
+      }
+      try {
+        String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        int split = raw.indexOf(SEPARATOR);
+        if (split < 0) {
+          throw ApiException.badRequest("invalid_sync_token");
+        }
+        return new Position(Long.parseLong(raw.substring(0, split)), raw.substring(split + 1));
+      } catch (IllegalArgumentException ex) {
+        throw ApiException.badRequest("invalid_sync_token");
+      }
+    }
+
+    String encode() {
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString((txid + String.valueOf(SEPARATOR) + code).getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
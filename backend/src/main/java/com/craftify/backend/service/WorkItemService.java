@@ -8,15 +8,13 @@ import com.craftify.backend.model.WorkItemList;
 import com.craftify.backend.model.WorkItemPage;
 import com.craftify.backend.model.WorkItemQuery;
 import com.craftify.backend.model.WorkItemStatus;
-import com.craftify.backend.persistence.entity.BomComponentEmbeddable;
-import com.craftify.backend.persistence.entity.BomEntity;
-import com.craftify.backend.persistence.entity.ItemEntity;
 import com.craftify.backend.persistence.entity.InventoryEntity;
 import com.craftify.backend.persistence.entity.WorkItemEntity;
-import com.craftify.backend.persistence.repository.BomRepository;
-import com.craftify.backend.persistence.repository.ItemRepository;
+import com.craftify.backend.persistence.projection.WorkItemListRow;
 import com.craftify.backend.persistence.repository.InventoryRepository;
 import com.craftify.backend.persistence.repository.WorkItemRepository;
+import com.craftify.backend.service.cache.BomSnapshot;
+import com.craftify.backend.service.cache.ItemSnapshot;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.criteria.Predicate;
@@ -27,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -39,56 +38,47 @@ import org.springframework.transaction.annotation.Transactional;
 public class WorkItemService {
 
   private final WorkItemRepository workItemRepository;
-  private final BomRepository bomRepository;
-  private final ItemRepository itemRepository;
   private final InventoryRepository inventoryRepository;
   private final CurrentUserService currentUserService;
   private final CategoryService categoryService;
   private final ObjectMapper objectMapper;
+  private final ItemReferenceService itemReferenceService;
+  private final CodeSequenceService codeSequenceService;
+  private final CodeLookupService codeLookupService;
+  private final CollectionVersionService collectionVersionService;
 
   public WorkItemService(
       WorkItemRepository workItemRepository,
-      BomRepository bomRepository,
-      ItemRepository itemRepository,
       InventoryRepository inventoryRepository,
       CurrentUserService currentUserService,
       CategoryService categoryService,
-      ObjectMapper objectMapper) {
+      ObjectMapper objectMapper,
+      ItemReferenceService itemReferenceService,
+      CodeSequenceService codeSequenceService,
+      CodeLookupService codeLookupService,
+      CollectionVersionService collectionVersionService) {
     this.workItemRepository = workItemRepository;
-    this.bomRepository = bomRepository;
-    this.itemRepository = itemRepository;
     this.inventoryRepository = inventoryRepository;
     this.currentUserService = currentUserService;
     this.categoryService = categoryService;
     this.objectMapper = objectMapper;
+    this.itemReferenceService = itemReferenceService;
+    this.codeSequenceService = codeSequenceService;
+    this.codeLookupService = codeLookupService;
+    this.collectionVersionService = collectionVersionService;
   }
 
   @Transactional(readOnly = true)
   public WorkItemPage list(WorkItemQuery query) {
     String ownerSub = currentUserService.requiredSub();
+    Specification<WorkItemEntity> spec = listSpecification(query, ownerSub);
+    if (query.after() != null) {
+      return listAfter(spec, query);
+    }
+
     Pageable pageable =
         PageRequest.of(Math.max(query.page(), 0), Math.max(query.size(), 1), parseSort(query.sort()));
-
-    Specification<WorkItemEntity> spec =
-        (root, cq, cb) -> {
-          List<Predicate> predicates = new ArrayList<>();
-          predicates.add(cb.equal(root.get("ownerSub"), ownerSub));
-          if (query.q() != null && !query.q().isBlank()) {
-            String pattern = "%" + query.q().toLowerCase(Locale.ROOT) + "%";
-            predicates.add(
-                cb.or(
-                    cb.like(cb.lower(root.get("code")), pattern),
-                    cb.like(cb.lower(root.get("bomId")), pattern),
-                    cb.like(cb.lower(root.get("parentBomItem")), pattern),
-                    cb.like(cb.lower(root.get("bomVersion")), pattern)));
-          }
-          if (query.status() != null) {
-            predicates.add(cb.equal(root.get("status"), query.status()));
-          }
-          return cb.and(predicates.toArray(Predicate[]::new));
-        };
-
-    Page<WorkItemEntity> result = workItemRepository.findAll(spec, pageable);
+    Page<WorkItemListRow> result = workItemRepository.findListRows(spec, pageable);
     WorkItemPage page = new WorkItemPage();
     page.setContent(result.stream().map(this::toListModel).toList());
     page.setPage(result.getNumber());
@@ -99,6 +89,74 @@ public class WorkItemService {
     return page;
   }
 
+  private WorkItemPage listAfter(Specification<WorkItemEntity> spec, WorkItemQuery query) {
+    int size = Math.max(query.size(), 1);
+    Sort sort = KeysetCursor.withTieBreaker(parseSort(query.sort()));
+    KeysetCursor cursor = KeysetCursor.decode(query.after(), sort);
+    Specification<WorkItemEntity> seek = cursor == null ? spec : spec.and(cursor.toSpecification());
+
+    List<WorkItemListRow> rows = workItemRepository.findListRows(seek, sort, size + 1);
+    boolean hasMore = rows.size() > size;
+    List<WorkItemListRow> content = hasMore ? rows.subList(0, size) : rows;
+
+    WorkItemPage page = new WorkItemPage();
+    page.setContent(content.stream().map(this::toListModel).toList());
+    page.setSize(size);
+    page.setSort(List.of(query.sort() == null || query.sort().isBlank() ? "requestedAt,desc" : query.sort()));
+    page.setNextCursor(hasMore ? KeysetCursor.after(content.getLast(), sort).encode() : null);
+    return page;
+  }
+
+  private Specification<WorkItemEntity> listSpecification(WorkItemQuery query, String ownerSub) {
+    return (root, cq, cb) -> {
+      List<Predicate> predicates = new ArrayList<>();
+      predicates.add(cb.equal(root.get("ownerSub"), ownerSub));
+      if (query.q() != null && !query.q().isBlank()) {
+        String pattern = "%" + query.q().toLowerCase(Locale.ROOT) + "%";
+        predicates.add(
+            cb.or(
+                cb.like(cb.lower(root.get("code")), pattern),
+                cb.like(cb.lower(root.get("bomId")), pattern),
+                cb.like(cb.lower(root.get("parentBomItem")), pattern),
+                cb.like(cb.lower(root.get("bomVersion")), pattern)));
+      }
+      if (query.status() != null) {
+        predicates.add(cb.equal(root.get("status"), query.status()));
+      }
+      return cb.and(predicates.toArray(Predicate[]::new));
+    };
+  }
+
+  /** A work item as exported: its detail, output snapshot and allocated components. */
+  public record WorkItemExport(
+      WorkItemDetail detail, OutputSnapshot output, List<AllocatedComponentSnapshot> components) {}
+
+  /**
+   * Passes the caller's work items matching the list filters (null for none) to {@code action} in
+   * code order, reading them through a database cursor {@code chunkSize} rows at a time.
+   */
+  @Transactional(readOnly = true)
+  public void scanForExport(
+      String q, WorkItemStatus status, int chunkSize, Consumer<WorkItemExport> action) {
+    String ownerSub = currentUserService.requiredSub();
+    workItemRepository.scan(
+        listSpecification(new WorkItemQuery(0, 0, null, q, status, null), ownerSub),
+        Sort.by(Sort.Direction.ASC, "code"),
+        chunkSize,
+        chunk ->
+            chunk.forEach(
+                e ->
+                    action.accept(
+                        new WorkItemExport(
+                            toDetailModel(e),
+                            new OutputSnapshot(
+                                e.getOutputItemId(),
+                                e.getOutputItemName(),
+                                e.getOutputItemCategoryName(),
+                                e.getOutputItemUom()),
+                            parseAllocatedComponentsJson(e.getAllocatedComponentsJson())))));
+  }
+
   @Transactional
   public WorkItemDetail requestFromBom(String bomId, BigDecimal requestedQty) {
     String ownerSub = currentUserService.requiredSub();
@@ -110,36 +168,36 @@ public class WorkItemService {
       throw ApiException.badRequest("invalid_requested_qty");
     }
 
-    BomEntity bom = bomRepository.findByCodeIgnoreCaseAndOwnerSub(bomId.trim(), ownerSub).orElse(null);
+    BomSnapshot bom = codeLookupService.findBom(bomId.trim(), ownerSub).orElse(null);
     if (bom == null) {
       throw ApiException.notFound("bom_not_found");
     }
-    String outputItemId = bom.getProductId() == null ? "" : bom.getProductId().trim().toUpperCase(Locale.ROOT);
+    String outputItemId = bom.productId() == null ? "" : bom.productId().trim().toUpperCase(Locale.ROOT);
     if (outputItemId.isBlank()) {
       throw ApiException.badRequest("invalid_product_item");
     }
-    ItemEntity outputItem = itemRepository.findByCodeIgnoreCaseAndOwnerSub(outputItemId, ownerSub).orElse(null);
+    ItemSnapshot outputItem = codeLookupService.findItem(outputItemId, ownerSub).orElse(null);
     if (outputItem == null) {
       throw ApiException.conflict("output_item_not_found");
     }
 
-    List<BomComponentEmbeddable> components = bom.getComponents() == null ? List.of() : bom.getComponents();
+    List<BomSnapshot.Component> components = bom.components();
     if (components.isEmpty()) {
       throw ApiException.badRequest("invalid_bom_components");
     }
 
     Map<String, BigDecimal> requiredByItemCode = new HashMap<>();
-    Map<String, ItemEntity> componentItems = new HashMap<>();
-    for (BomComponentEmbeddable c : components) {
-      String itemCode = c.getItemId() == null ? "" : c.getItemId().trim().toUpperCase(Locale.ROOT);
+    Map<String, ItemSnapshot> componentItems = new HashMap<>();
+    for (BomSnapshot.Component c : components) {
+      String itemCode = c.itemId() == null ? "" : c.itemId().trim().toUpperCase(Locale.ROOT);
       BigDecimal perUnit =
-          c.getQuantity() == null
+          c.quantity() == null
               ? BigDecimal.ZERO
-              : c.getQuantity().setScale(6, RoundingMode.HALF_UP);
+              : c.quantity().setScale(6, RoundingMode.HALF_UP);
       if (itemCode.isBlank() || perUnit.compareTo(BigDecimal.ZERO) <= 0) {
         throw ApiException.badRequest("invalid_bom_components");
       }
-      ItemEntity componentItem = itemRepository.findByCodeIgnoreCaseAndOwnerSub(itemCode, ownerSub).orElse(null);
+      ItemSnapshot componentItem = codeLookupService.findItem(itemCode, ownerSub).orElse(null);
       if (componentItem == null) {
         throw ApiException.conflict("component_item_not_found");
       }
@@ -162,15 +220,15 @@ public class WorkItemService {
 
     List<AllocatedComponentSnapshot> allocatedComponents = new ArrayList<>();
     for (Map.Entry<String, BigDecimal> e : requiredByItemCode.entrySet()) {
-      ItemEntity item = componentItems.get(e.getKey());
+      ItemSnapshot item = componentItems.get(e.getKey());
       allocatedComponents.add(
           new AllocatedComponentSnapshot(
               e.getKey(),
-              item != null && item.getName() != null && !item.getName().isBlank() ? item.getName() : e.getKey(),
-              item != null && item.getCategoryName() != null && !item.getCategoryName().isBlank()
-                  ? item.getCategoryName()
+              item != null && item.name() != null && !item.name().isBlank() ? item.name() : e.getKey(),
+              item != null && item.categoryName() != null && !item.categoryName().isBlank()
+                  ? item.categoryName()
                   : "Unknown",
-              item != null && item.getUomBase() != null && !item.getUomBase().isBlank() ? item.getUomBase() : "pcs",
+              item != null && item.uomBase() != null && !item.uomBase().isBlank() ? item.uomBase() : "pcs",
               e.getValue().setScale(6, RoundingMode.HALF_UP)));
     }
 
@@ -182,32 +240,34 @@ public class WorkItemService {
 
     WorkItemEntity entity = new WorkItemEntity();
     entity.setCode(generateNextCode(ownerSub));
-    entity.setBomId(bom.getCode());
+    entity.setBomId(bom.code());
     entity.setParentBomItem(
-        bom.getProductName() == null || bom.getProductName().isBlank()
-            ? bom.getProductId()
-            : bom.getProductName());
+        bom.productName() == null || bom.productName().isBlank()
+            ? bom.productId()
+            : bom.productName());
     entity.setBomVersion(
-        (bom.getCode() == null ? "" : bom.getCode())
+        (bom.code() == null ? "" : bom.code())
             + " "
-            + (bom.getRevision() == null ? "" : bom.getRevision()));
+            + (bom.revision() == null ? "" : bom.revision()));
     entity.setComponentsCount(components.size());
     entity.setOutputItemId(outputItemId);
     entity.setOutputItemName(
-        outputItem.getName() != null && !outputItem.getName().isBlank()
-            ? outputItem.getName()
-            : (bom.getProductName() == null || bom.getProductName().isBlank() ? outputItemId : bom.getProductName()));
+        outputItem.name() != null && !outputItem.name().isBlank()
+            ? outputItem.name()
+            : (bom.productName() == null || bom.productName().isBlank() ? outputItemId : bom.productName()));
     entity.setOutputItemCategoryName(
-        outputItem.getCategoryName() != null && !outputItem.getCategoryName().isBlank()
-            ? outputItem.getCategoryName()
+        outputItem.categoryName() != null && !outputItem.categoryName().isBlank()
+            ? outputItem.categoryName()
             : "Unknown");
     entity.setOutputItemUom(
-        outputItem.getUomBase() != null && !outputItem.getUomBase().isBlank() ? outputItem.getUomBase() : "pcs");
+        outputItem.uomBase() != null && !outputItem.uomBase().isBlank() ? outputItem.uomBase() : "pcs");
     entity.setAllocatedComponentsJson(toAllocatedComponentsJson(allocatedComponents));
     entity.setRequestedQty(normalizedRequestedQty.setScale(6, RoundingMode.HALF_UP));
     entity.setStatus(WorkItemStatus.QUEUED);
     entity.setOwnerSub(ownerSub);
     WorkItemEntity created = workItemRepository.save(entity);
+    itemReferenceService.replaceForWorkItem(created, requiredByItemCode.keySet());
+    markWorkItemChange(ownerSub);
     return toDetailModel(created);
   }
 
@@ -258,6 +318,8 @@ public class WorkItemService {
     }
 
     existing.setStatus(WorkItemStatus.CANCELED);
+    itemReferenceService.removeForSource(existing.getId());
+    markWorkItemChange(ownerSub);
     return toDetailModel(workItemRepository.save(existing));
   }
 
@@ -325,17 +387,29 @@ public class WorkItemService {
     }
 
     existing.setStatus(WorkItemStatus.COMPLETED);
+    itemReferenceService.removeForSource(existing.getId());
+    markWorkItemChange(ownerSub);
     return toDetailModel(workItemRepository.save(existing));
   }
 
+  /** Work item transitions always move stock as well. */
+  private void markWorkItemChange(String ownerSub) {
+    collectionVersionService.markChanged(DataCollection.WORK_ITEMS, ownerSub);
+    collectionVersionService.markChanged(DataCollection.INVENTORY, ownerSub);
+  }
+
   private String generateNextCode(String ownerSub) {
-    int max = workItemRepository.findMaxCodeSuffixByOwnerSub(ownerSub);
-    return "WI-" + String.format("%03d", max + 1);
+    return codeSequenceService.nextCode(
+        CodeSequence.WORK_ITEM,
+        ownerSub,
+        code -> workItemRepository.existsByCodeIgnoreCaseAndOwnerSub(code, ownerSub));
   }
 
   private String generateNextInventoryCode(String ownerSub) {
-    int max = inventoryRepository.findMaxCodeSuffixByOwnerSub(ownerSub);
-    return "INV-" + String.format("%03d", max + 1);
+    return codeSequenceService.nextCode(
+        CodeSequence.INVENTORY,
+        ownerSub,
+        code -> inventoryRepository.existsByCodeIgnoreCaseAndOwnerSub(code, ownerSub));
   }
 
   private Sort parseSort(String sort) {
@@ -362,16 +436,16 @@ public class WorkItemService {
     return Sort.by(direction, "requestedAt");
   }
 
-  private WorkItemList toListModel(WorkItemEntity e) {
+  private WorkItemList toListModel(WorkItemListRow row) {
     WorkItemList model = new WorkItemList();
-    model.setId(e.getCode());
-    model.setBomId(e.getBomId());
-    model.setParentBomItem(e.getParentBomItem());
-    model.setBomVersion(e.getBomVersion());
-    model.setComponentsCount(e.getComponentsCount());
-    model.setRequestedQty(e.getRequestedQty());
-    model.setStatus(e.getStatus());
-    model.setRequestedAt(e.getRequestedAt());
+    model.setId(row.code());
+    model.setBomId(row.bomId());
+    model.setParentBomItem(row.parentBomItem());
+    model.setBomVersion(row.bomVersion());
+    model.setComponentsCount(row.componentsCount());
+    model.setRequestedQty(row.requestedQty());
+    model.setStatus(row.status());
+    model.setRequestedAt(row.requestedAt());
     return model;
   }
 
@@ -414,50 +488,50 @@ public class WorkItemService {
 
   private List<AllocatedComponentSnapshot> deriveAllocationsFromBom(
       String bomId, BigDecimal requestedQty, String ownerSub) {
-    BomEntity bom = bomRepository.findByCodeIgnoreCaseAndOwnerSub(bomId, ownerSub).orElse(null);
-    if (bom == null || bom.getComponents() == null || bom.getComponents().isEmpty()) {
+    BomSnapshot bom = codeLookupService.findBom(bomId, ownerSub).orElse(null);
+    if (bom == null || bom.components().isEmpty()) {
       return List.of();
     }
     List<AllocatedComponentSnapshot> out = new ArrayList<>();
-    for (BomComponentEmbeddable c : bom.getComponents()) {
-      String itemCode = c.getItemId() == null ? "" : c.getItemId().trim().toUpperCase(Locale.ROOT);
+    for (BomSnapshot.Component c : bom.components()) {
+      String itemCode = c.itemId() == null ? "" : c.itemId().trim().toUpperCase(Locale.ROOT);
       BigDecimal perUnit =
-          c.getQuantity() == null ? BigDecimal.ZERO : c.getQuantity().setScale(6, RoundingMode.HALF_UP);
+          c.quantity() == null ? BigDecimal.ZERO : c.quantity().setScale(6, RoundingMode.HALF_UP);
       if (itemCode.isBlank() || perUnit.compareTo(BigDecimal.ZERO) <= 0) {
         return List.of();
       }
       BigDecimal allocated = perUnit.multiply(requestedQty).setScale(6, RoundingMode.HALF_UP);
-      ItemEntity item = itemRepository.findByCodeIgnoreCaseAndOwnerSub(itemCode, ownerSub).orElse(null);
+      ItemSnapshot item = codeLookupService.findItem(itemCode, ownerSub).orElse(null);
       out.add(
           new AllocatedComponentSnapshot(
               itemCode,
-              item != null && item.getName() != null && !item.getName().isBlank() ? item.getName() : itemCode,
-              item != null && item.getCategoryName() != null && !item.getCategoryName().isBlank()
-                  ? item.getCategoryName()
+              item != null && item.name() != null && !item.name().isBlank() ? item.name() : itemCode,
+              item != null && item.categoryName() != null && !item.categoryName().isBlank()
+                  ? item.categoryName()
                   : "Unknown",
-              item != null && item.getUomBase() != null && !item.getUomBase().isBlank() ? item.getUomBase() : "pcs",
+              item != null && item.uomBase() != null && !item.uomBase().isBlank() ? item.uomBase() : "pcs",
               allocated));
     }
     return out;
   }
 
   private OutputSnapshot deriveOutputFromBom(String bomId, String ownerSub) {
-    BomEntity bom = bomRepository.findByCodeIgnoreCaseAndOwnerSub(bomId, ownerSub).orElse(null);
-    if (bom == null || bom.getProductId() == null || bom.getProductId().isBlank()) {
+    BomSnapshot bom = codeLookupService.findBom(bomId, ownerSub).orElse(null);
+    if (bom == null || bom.productId() == null || bom.productId().isBlank()) {
       return null;
     }
-    String productCode = bom.getProductId().trim().toUpperCase(Locale.ROOT);
-    ItemEntity item = itemRepository.findByCodeIgnoreCaseAndOwnerSub(productCode, ownerSub).orElse(null);
+    String productCode = bom.productId().trim().toUpperCase(Locale.ROOT);
+    ItemSnapshot item = codeLookupService.findItem(productCode, ownerSub).orElse(null);
     if (item == null) {
       return null;
     }
     String name =
-        item.getName() != null && !item.getName().isBlank()
-            ? item.getName()
-            : (bom.getProductName() == null || bom.getProductName().isBlank() ? productCode : bom.getProductName());
+        item.name() != null && !item.name().isBlank()
+            ? item.name()
+            : (bom.productName() == null || bom.productName().isBlank() ? productCode : bom.productName());
     String category =
-        item.getCategoryName() != null && !item.getCategoryName().isBlank() ? item.getCategoryName() : "Unknown";
-    String uom = item.getUomBase() != null && !item.getUomBase().isBlank() ? item.getUomBase() : "pcs";
+        item.categoryName() != null && !item.categoryName().isBlank() ? item.categoryName() : "Unknown";
+    String uom = item.uomBase() != null && !item.uomBase().isBlank() ? item.uomBase() : "pcs";
     return new OutputSnapshot(productCode, name, category, uom);
   }
 
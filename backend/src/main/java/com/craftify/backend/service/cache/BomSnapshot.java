@@ -0,0 +1,37 @@
+package com.craftify.backend.service.cache;
+
+import com.craftify.backend.model.BomStatus;
+import com.craftify.backend.persistence.entity.BomEntity;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/** Immutable copy of a BOM header and its component lines, as used by work item requests. */
+public record BomSnapshot(
+    UUID id,
+    String code,
+    String productId,
+    String productName,
+    String revision,
+    BomStatus status,
+    List<Component> components) {
+
+  public record Component(String itemId, BigDecimal quantity, String uom) {}
+
+  public static BomSnapshot of(BomEntity entity) {
+    List<Component> components =
+        entity.getComponents() == null
+            ? List.of()
+            : entity.getComponents().stream()
+                .map(c -> new Component(c.getItemId(), c.getQuantity(), c.getUom()))
+                .toList();
+    return new BomSnapshot(
+        entity.getId(),
+        entity.getCode(),
+        entity.getProductId(),
+        entity.getProductName(),
+        entity.getRevision(),
+        entity.getStatus(),
+        components);
+  }
+}
@@ -0,0 +1,20 @@
+package com.craftify.backend.service.cache;
+
+import com.craftify.backend.model.Status;
+import com.craftify.backend.persistence.entity.ItemEntity;
+import java.util.UUID;
+
+/** Immutable copy of the item fields other services read when they resolve an item code. */
+public record ItemSnapshot(
+    UUID id, String code, String name, Status status, String categoryName, String uomBase) {
+
+  public static ItemSnapshot of(ItemEntity entity) {
+    return new ItemSnapshot(
+        entity.getId(),
+        entity.getCode(),
+        entity.getName(),
+        entity.getStatus(),
+        entity.getCategoryName(),
+        entity.getUomBase());
+  }
+}
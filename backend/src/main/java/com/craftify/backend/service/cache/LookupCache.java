@@ -0,0 +1,102 @@
+package com.craftify.backend.service.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, owner-keyed LRU cache of lookups by business code.
+ *
+ * <p>Every entry remembers the collection version it was loaded under; an entry whose version
+ * differs from the caller's current version is treated as a miss and reloaded, which is what keeps
+ * nodes consistent with each other. Entries also expire after a fixed time to live, and the least
+ * recently used entry is evicted once {@code maxEntries} is reached. Absent codes are cached too,
+ * since creating the code bumps the version.
+ */
+public final class LookupCache<V> {
+
+  private final String name;
+  private final int maxEntries;
+  private final long ttlNanos;
+  private final Map<Key, Entry<V>> entries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public LookupCache(String name, int maxEntries, Duration ttl) {
+    this.name = name;
+    this.maxEntries = maxEntries;
+    this.ttlNanos = ttl.toNanos();
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, Entry<V>> eldest) {
+            if (size() > LookupCache.this.maxEntries) {
+              evictions.increment();
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /**
+   * Returns the cached value for (owner, code) if it was loaded under {@code version}; otherwise
+   * calls {@code loader} outside the lock and caches its result, which may be null.
+   */
+  public Optional<V> get(
+      String ownerSub, String code, long version, Function<String, V> loader) {
+    Key key = new Key(ownerSub, code.trim().toUpperCase(Locale.ROOT));
+    long now = System.nanoTime();
+    synchronized (entries) {
+      Entry<V> entry = entries.get(key);
+      if (entry != null && entry.version() == version && now - entry.loadedAt() < ttlNanos) {
+        hits.increment();
+        return Optional.ofNullable(entry.value());
+      }
+    }
+    misses.increment();
+    V value = loader.apply(key.code());
+    synchronized (entries) {
+      Entry<V> current = entries.get(key);
+      // Never replace an entry loaded under a newer version with an older one.
+      if (current == null || current.version() <= version) {
+        entries.put(key, new Entry<>(value, version, now));
+      }
+    }
+    return Optional.ofNullable(value);
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /** Lookups answered from the cache since startup. */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /** Lookups that went to the database since startup, including stale and expired entries. */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /** Entries dropped to stay within {@code maxEntries} since startup. */
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  private record Key(String ownerSub, String code) {}
+
+  private record Entry<V>(V value, long version, long loadedAt) {}
+}
@@ -0,0 +1,156 @@
+package com.craftify.backend.service.csv;
+
+import com.craftify.backend.error.ApiException;
+import com.craftify.backend.model.ImportResultErrorsInner;
+import com.craftify.backend.service.BomService;
+import com.craftify.backend.service.BomService.BomImport;
+import com.craftify.backend.service.BomService.BomImportResult;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionException;
+
+/**
+ * Collects complete BOMs of a file import into chunks and writes each full chunk through {@link
+ * BomService#importChunk}, translating rejected BOMs into import errors. A chunk that fails to
+ * write or closes a component loop is retried BOM by BOM. {@link BomImport#index()} is the row
+ * number reported. A BOM whose code is already queued starts a new chunk, so a later occurrence
+ * overwrites an earlier one as the per-row import did.
+ */
+final class BomChunkWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(BomChunkWriter.class);
+
+  private final BomService bomService;
+  private final boolean createOnly;
+  private final int chunkSize;
+  private final List<ImportResultErrorsInner> errors;
+  private final List<BomImport> chunk;
+  private final Set<String> chunkCodes = new HashSet<>();
+  private int created;
+  private int updated;
+
+  BomChunkWriter(
+      BomService bomService,
+      boolean createOnly,
+      int chunkSize,
+      List<ImportResultErrorsInner> errors) {
+    this.bomService = bomService;
+    this.createOnly = createOnly;
+    this.chunkSize = chunkSize;
+    this.errors = errors;
+    this.chunk = new ArrayList<>(chunkSize);
+  }
+
+  /** Queues {@code bom}; returns true when that filled the chunk and it was written. */
+  boolean add(BomImport bom) {
+    boolean written = false;
+    if (bom.code() != null
+        && !bom.code().isBlank()
+        && !chunkCodes.add(bom.code().trim().toUpperCase(Locale.ROOT))) {
+      flush();
+      chunkCodes.add(bom.code().trim().toUpperCase(Locale.ROOT));
+      written = true;
+    }
+    chunk.add(bom);
+    if (chunk.size() < chunkSize) {
+      return written;
+    }
+    flush();
+    return true;
+  }
+
+  /** Writes whatever is queued. */
+  void flush() {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    try {
+      record(bomService.importChunk(chunk, createOnly));
+    } catch (RuntimeException ex) {
+      if (!isRejectedWrite(ex)) {
+        throw ex;
+      }
+      log.warn("BOM import chunk of {} rolled back: {}", chunk.size(), ex.getMessage());
+      if (chunk.size() == 1) {
+        failed(chunk.getFirst(), ex);
+      } else {
+        for (BomImport bom : chunk) {
+          try {
+            record(bomService.importChunk(List.of(bom), createOnly));
+          } catch (RuntimeException bomEx) {
+            if (!isRejectedWrite(bomEx)) {
+              throw bomEx;
+            }
+            failed(bom, bomEx);
+          }
+        }
+      }
+    }
+    chunk.clear();
+    chunkCodes.clear();
+  }
+
+  int created() {
+    return created;
+  }
+
+  int updated() {
+    return updated;
+  }
+
+  private void record(List<BomImportResult> results) {
+    for (BomImportResult result : results) {
+      switch (result.outcome()) {
+        case CREATED -> created++;
+        case UPDATED -> updated++;
+        case CREATE_ONLY_CONFLICT ->
+            errors.add(error(result.index(), "bomId", "BOM already exists in create-only mode"));
+        case PRODUCT_NOT_FOUND ->
+            errors.add(
+                error(
+                    result.index(),
+                    "productId",
+                    withMissingItems("Product item not found", result.missingItemIds())));
+        case COMPONENT_NOT_FOUND ->
+            errors.add(
+                error(
+                    result.index(),
+                    "componentItemId",
+                    withMissingItems("Component item not found", result.missingItemIds())));
+      }
+    }
+  }
+
+  /** Failures that only concern the BOMs written, as opposed to the import as a whole. */
+  private static boolean isRejectedWrite(RuntimeException ex) {
+    return ex instanceof DataAccessException
+        || ex instanceof TransactionException
+        || ex instanceof ApiException apiEx && "bom_cycle".equals(apiEx.getErrorCode());
+  }
+
+  private void failed(BomImport bom, RuntimeException ex) {
+    if (ex instanceof ApiException) {
+      errors.add(error(bom.index(), "componentItemId", "BOM components would form a cycle"));
+    } else if (ex instanceof DataIntegrityViolationException) {
+      errors.add(error(bom.index(), "bomId", "BOM code already exists"));
+    } else {
+      log.error("Unexpected import error at row {}", bom.index(), ex);
+      errors.add(error(bom.index(), "row", "Unexpected error while importing this BOM"));
+    }
+  }
+
+  private static String withMissingItems(String message, List<String> missingItemIds) {
+    return missingItemIds.isEmpty() ? message : message + ": " + String.join(", ", missingItemIds);
+  }
+
+  private static ImportResultErrorsInner error(int row, String field, String message) {
+    return new ImportResultErrorsInner().row(row).field(field).message(message);
+  }
+}
@@ -1,18 +1,12 @@
 package com.craftify.backend.service.csv;
 
-import com.craftify.backend.error.ApiException;
+import com.craftify.backend.config.ExportProperties;
 import com.craftify.backend.model.BomComponent;
 import com.craftify.backend.model.BomDetail;
 import com.craftify.backend.model.BomStatus;
 import com.craftify.backend.service.BomService;
-import com.craftify.backend.utils.TempFileResource;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
@@ -24,18 +18,39 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+/** BOM CSV export, one row per component; streamed or file-backed like the item export. */
 @Service
 public class BomsCsvExportService {
 
   private static final Logger log = LoggerFactory.getLogger(BomsCsvExportService.class);
 
+  private static final CSVFormat FORMAT =
+      CSVFormat.DEFAULT.builder()
+          .setHeader(
+              "BomId",
+              "ProductId",
+              "ProductName",
+              "Revision",
+              "Status",
+              "Description",
+              "Note",
+              "ComponentOrder",
+              "ComponentItemId",
+              "ComponentQuantity",
+              "ComponentUom",
+              "ComponentNote")
+          .build();
+
   private final BomService bomService;
+  private final ExportProperties exportProperties;
 
-  public BomsCsvExportService(BomService bomService) {
+  public BomsCsvExportService(BomService bomService, ExportProperties exportProperties) {
     this.bomService = bomService;
+    this.exportProperties = exportProperties;
   }
 
-  public CsvExportPayload export(String q, BomStatus status, String ids) {
+  public CsvExportPayload export(
+      String q, BomStatus status, String ids, CsvExportOptions options) {
     List<String> codes =
         (ids == null || ids.isBlank())
             ? List.of()
@@ -45,67 +60,33 @@ public class BomsCsvExportService {
                 .map(s -> s.toUpperCase(Locale.ROOT))
                 .toList();
 
-    log.info("GET /boms:export q={} status={} codes={}", q, status, codes.size());
-    List<BomDetail> rows = bomService.listForExport(q, status, codes);
+    log.info(
+        "GET /boms:export q={} status={} codes={} mode={} compression={}",
+        q,
+        status,
+        codes.size(),
+        options.mode(),
+        options.compression());
     String filename = "boms_" + LocalDate.now() + ".csv";
-    return new CsvExportPayload(writeCsv(rows, filename), filename);
+    Exports.Rows rows =
+        printer ->
+            bomService.scanForExport(
+                q, status, codes, exportProperties.getFetchSize(), d -> printBom(printer, d));
+    return Exports.csv(options, filename, "boms-export-", FORMAT, rows);
   }
 
-  private TempFileResource writeCsv(List<BomDetail> rows, String filename) {
-    Path tempFile;
+  private static void printBom(CSVPrinter printer, BomDetail d) {
     try {
-      tempFile = Files.createTempFile("boms-export-", ".csv");
-    } catch (IOException ex) {
-      throw ApiException.internalServerError("failed_to_generate_csv");
-    }
-
-    try (BufferedOutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
-      outputStream.write(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
-    } catch (IOException ex) {
-      deleteQuietly(tempFile);
-      throw ApiException.internalServerError("failed_to_generate_csv");
-    }
-
-    try (CSVPrinter printer =
-        new CSVPrinter(
-            new OutputStreamWriter(
-                new BufferedOutputStream(Files.newOutputStream(tempFile, StandardOpenOption.APPEND)),
-                StandardCharsets.UTF_8),
-            CSVFormat.DEFAULT.builder()
-                .setHeader(
-                    "BomId",
-                    "ProductId",
-                    "ProductName",
-                    "Revision",
-                    "Status",
-                    "Description",
-                    "Note",
-                    "ComponentOrder",
-                    "ComponentItemId",
-                    "ComponentQuantity",
-                    "ComponentUom",
-                    "ComponentNote")
-                .build())) {
-      for (BomDetail d : rows) {
-        List<BomComponent> components = Objects.requireNonNullElse(d.getComponents(), List.of());
-        if (components.isEmpty()) {
-          appendRow(printer, d, null, -1);
-          continue;
-        }
-        for (int i = 0; i < components.size(); i++) {
-          appendRow(printer, d, components.get(i), i);
-        }
+      List<BomComponent> components = Objects.requireNonNullElse(d.getComponents(), List.of());
+      if (components.isEmpty()) {
+        appendRow(printer, d, null, -1);
+        return;
+      }
+      for (int i = 0; i < components.size(); i++) {
+        appendRow(printer, d, components.get(i), i);
       }
     } catch (IOException ex) {
-      deleteQuietly(tempFile);
-      throw ApiException.internalServerError("failed_to_generate_csv");
-    }
-
-    try {
-      return TempFileResource.from(tempFile, filename);
-    } catch (IOException ex) {
-      deleteQuietly(tempFile);
-      throw ApiException.internalServerError("failed_to_generate_csv");
+      throw new UncheckedIOException(ex);
     }
   }
 
@@ -125,12 +106,4 @@ public class BomsCsvExportService {
         c == null ? "" : c.getUom(),
         c == null ? "" : c.getNote());
   }
-
-  private void deleteQuietly(Path path) {
-    try {
-      Files.deleteIfExists(path);
-    } catch (IOException suppressed) {
-      log.warn("Failed to delete temp export file {}", path, suppressed);
-    }
-  }
 }
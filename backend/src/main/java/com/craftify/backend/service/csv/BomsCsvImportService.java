@@ -1,67 +1,88 @@
 package com.craftify.backend.service.csv;
 
-import com.craftify.backend.error.ApiException;
+import com.craftify.backend.config.BomImportProperties;
 import com.craftify.backend.model.BomComponent;
 import com.craftify.backend.model.BomStatus;
 import com.craftify.backend.model.ImportResult;
 import com.craftify.backend.model.ImportResultErrorsInner;
 import com.craftify.backend.service.BomService;
+import com.craftify.backend.service.BomService.BomImport;
+import com.craftify.backend.service.ItemService;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+/**
+ * BOM CSV import. Rows of a BOM are grouped by BOM ID and complete BOMs are written in chunks of
+ * {@link BomImportProperties#getChunkSize()} through {@link BomService#importChunk}. A file whose
+ * rows are already grouped by BOM ID is streamed; any other file is first split into temporary
+ * files by BOM ID, so neither case holds the whole file in memory. In {@code validate} mode rows
+ * are only checked, in parallel, and nothing is written.
+ */
 @Service
 public class BomsCsvImportService {
 
   private static final Logger log = LoggerFactory.getLogger(BomsCsvImportService.class);
 
   private final BomService bomService;
+  private final ItemService itemService;
+  private final BomImportProperties properties;
 
-  public BomsCsvImportService(BomService bomService) {
+  public BomsCsvImportService(
+      BomService bomService, ItemService itemService, BomImportProperties properties) {
     this.bomService = bomService;
+    this.itemService = itemService;
+    this.properties = properties;
   }
 
   public CsvImportExecution importCsv(MultipartFile file, String mode) {
     if (file == null || file.isEmpty()) {
       return badRequest(error("file", "CSV file is required"));
     }
-
-    boolean createOnly = "create-only".equalsIgnoreCase(mode);
-    boolean upsert = mode == null || mode.isBlank() || "upsert".equalsIgnoreCase(mode);
-    if (!createOnly && !upsert) {
-      return badRequest(error("mode", "Mode must be 'upsert' or 'create-only'"));
-    }
-
     log.info(
         "POST /boms:import mode={} fileName={} size={}",
         mode,
         file.getOriginalFilename(),
         file.getSize());
+    return importCsv(file.getResource(), mode, ImportProgress.NONE);
+  }
 
-    List<ImportResultErrorsInner> errors = new ArrayList<>();
-    int created = 0;
-    int updated = 0;
-    Map<String, GroupedBom> grouped = new HashMap<>();
+  /** Imports a stored upload, reporting to {@code progress} and stopping once it is cancelled. */
+  public CsvImportExecution importCsv(Resource file, String mode, ImportProgress progress) {
+    boolean createOnly = "create-only".equalsIgnoreCase(mode);
+    boolean upsert = mode == null || mode.isBlank() || "upsert".equalsIgnoreCase(mode);
+    boolean validateOnly = "validate".equalsIgnoreCase(mode);
+    if (!createOnly && !upsert && !validateOnly) {
+      return badRequest(
+          error("mode", "Mode must be 'upsert', 'create-only' or 'validate'"));
+    }
 
-    try (BufferedReader reader =
-            new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
-        CSVParser parser = CSVFormat.DEFAULT.parse(reader)) {
+    Map<String, Integer> columns;
+    boolean grouped;
+    try (CSVParser parser = open(file)) {
       Iterator<CSVRecord> records = parser.iterator();
       if (!records.hasNext()) {
         return badRequest(error("file", "CSV header row is missing"));
@@ -71,7 +92,7 @@ public class BomsCsvImportService {
       if (!headers.isEmpty()) {
         headers.set(0, stripBom(headers.getFirst()));
       }
-      Map<String, Integer> columns = mapColumns(headers);
+      columns = mapColumns(headers);
 
       if (!columns.containsKey("bomId")
           || !columns.containsKey("productId")
@@ -79,59 +100,234 @@ public class BomsCsvImportService {
           || !columns.containsKey("status")) {
         return badRequest(error("header", "Required columns: bomId, productId, revision, status"));
       }
+      if (validateOnly) {
+        return validateRows(records, columns, progress);
+      }
+      grouped = isGroupedByBomId(records, columns.get("bomId"));
+    } catch (IOException e) {
+      log.error("Failed to read BOM CSV import file", e);
+      return badRequest(error("file", "Failed to read CSV file"));
+    }
+
+    List<ImportResultErrorsInner> errors = new ArrayList<>();
+    BomChunkWriter writer =
+        new BomChunkWriter(bomService, createOnly, properties.getChunkSize(), errors);
+    try (CSVParser parser = open(file)) {
+      Iterator<CSVRecord> records = parser.iterator();
+      records.next();
+      if (grouped) {
+        importGrouped(records, columns, writer, errors, progress);
+      } else {
+        log.info("BOM CSV import is not grouped by BOM ID, spilling rows to temporary files");
+        importSpilled(records, columns, writer, errors, progress);
+      }
+    } catch (IOException e) {
+      log.error("Failed to read BOM CSV import file", e);
+      return badRequest(error("file", "Failed to read CSV file"));
+    }
+
+    errors.sort(Comparator.comparing(ImportResultErrorsInner::getRow));
+    return new CsvImportExecution(
+        HttpStatus.OK,
+        new ImportResult().created(writer.created()).updated(writer.updated()).errors(errors));
+  }
+
+  /**
+   * Whether all rows of each BOM ID are adjacent. Only the BOM ID column is looked at; rows
+   * without one are skipped here and reported by the import pass.
+   */
+  private static boolean isGroupedByBomId(Iterator<CSVRecord> records, int bomIdColumn) {
+    Set<String> finished = new HashSet<>();
+    String current = null;
+    while (records.hasNext()) {
+      String bomId = normalizedBomId(toCells(records.next()), bomIdColumn);
+      if (bomId.isEmpty() || bomId.equals(current)) {
+        continue;
+      }
+      if (current != null) {
+        finished.add(current);
+      }
+      if (finished.contains(bomId)) {
+        return false;
+      }
+      current = bomId;
+    }
+    return true;
+  }
+
+  /** Rows arrive BOM by BOM: each BOM is queued for writing as soon as the next one starts. */
+  private static void importGrouped(
+      Iterator<CSVRecord> records,
+      Map<String, Integer> columns,
+      BomChunkWriter writer,
+      List<ImportResultErrorsInner> errors,
+      ImportProgress progress) {
+    GroupedBom current = null;
+    int rowNumber = 1;
+    while (records.hasNext()) {
+      progress.update(rowNumber - 1, writer.created(), writer.updated(), errors);
+      if (progress.cancelled()) {
+        return;
+      }
+      CSVRecord record = records.next();
+      rowNumber++;
+      if (isBlankRecord(record)) {
+        continue;
+      }
+      ParsedRow row = parseRow(toCells(record), columns, rowNumber, errors);
+      if (!row.valid) {
+        continue;
+      }
+      if (current == null || !current.bomId.equals(row.bomId)) {
+        if (current != null) {
+          writer.add(current.toImport());
+        }
+        current = new GroupedBom(row, rowNumber);
+      }
+      current.add(row, rowNumber, errors);
+    }
+    if (current != null) {
+      writer.add(current.toImport());
+    }
+    writer.flush();
+    progress.update(rowNumber - 1, writer.created(), writer.updated(), errors);
+  }
 
+  /**
+   * Rows of a BOM are spread over the file: they are written to {@link
+   * BomImportProperties#getSpillPartitions()} temporary files by BOM ID, and each file is then
+   * grouped in memory on its own. BOMs are written in the order of their first row per file.
+   */
+  private void importSpilled(
+      Iterator<CSVRecord> records,
+      Map<String, Integer> columns,
+      BomChunkWriter writer,
+      List<ImportResultErrorsInner> errors,
+      ImportProgress progress)
+      throws IOException {
+    int bomIdColumn = columns.get("bomId");
+    Path[] partitions = new Path[properties.getSpillPartitions()];
+    CSVPrinter[] printers = new CSVPrinter[partitions.length];
+    try {
       int rowNumber = 1;
-      while (records.hasNext()) {
-        CSVRecord record = records.next();
-        rowNumber++;
-        if (isBlankRecord(record)) {
-          continue;
+      try {
+        while (records.hasNext()) {
+          progress.update(rowNumber - 1, 0, 0, errors);
+          if (progress.cancelled()) {
+            return;
+          }
+          CSVRecord record = records.next();
+          rowNumber++;
+          if (isBlankRecord(record)) {
+            continue;
+          }
+          List<String> cells = toCells(record);
+          String bomId = normalizedBomId(cells, bomIdColumn);
+          if (bomId.isEmpty()) {
+            parseRow(cells, columns, rowNumber, errors);
+            continue;
+          }
+          int partition = Math.floorMod(bomId.hashCode(), partitions.length);
+          if (printers[partition] == null) {
+            partitions[partition] = Files.createTempFile("craftify-bom-import-", ".csv");
+            printers[partition] =
+                CSVFormat.DEFAULT.print(
+                    Files.newBufferedWriter(partitions[partition], StandardCharsets.UTF_8));
+          }
+          List<String> spilled = new ArrayList<>(cells.size() + 1);
+          spilled.add(Integer.toString(rowNumber));
+          spilled.addAll(cells);
+          printers[partition].printRecord(spilled);
         }
-        ParsedRow row = parseRow(toCells(record), columns, rowNumber, errors);
-        if (!row.valid) {
-          continue;
+      } finally {
+        for (CSVPrinter printer : printers) {
+          if (printer != null) {
+            printer.close();
+          }
         }
-        final int currentRowNumber = rowNumber;
-        GroupedBom gb = grouped.computeIfAbsent(row.bomId, k -> new GroupedBom(row, currentRowNumber));
-        gb.mergeHeader(row, currentRowNumber, errors);
-        gb.addComponent(row.componentOrder, row.componentItemId, row.componentQuantity, row.componentUom, row.componentNote);
       }
 
-      for (GroupedBom gb : grouped.values()) {
-        List<BomComponent> components =
-            gb.components.stream()
-                .sorted(Comparator.comparingInt(ComponentLine::order))
-                .map(c -> new BomComponent().itemId(c.itemId()).quantity(c.quantity()).uom(c.uom()).note(c.note()))
-                .toList();
-
-        try {
-          var before = bomService.getByCode(gb.bomId);
-          bomService.upsertFromImport(
-              gb.bomId,
-              gb.productId,
-              gb.productName,
-              gb.revision,
-              gb.status,
-              gb.description,
-              gb.note,
-              components,
-              createOnly);
-          if (before == null) {
-            created++;
-          } else {
-            updated++;
+      for (Path partition : partitions) {
+        if (partition == null) {
+          continue;
+        }
+        progress.update(rowNumber - 1, writer.created(), writer.updated(), errors);
+        if (progress.cancelled()) {
+          return;
+        }
+        Map<String, GroupedBom> grouped = new LinkedHashMap<>();
+        try (CSVParser parser =
+            CSVFormat.DEFAULT.parse(Files.newBufferedReader(partition, StandardCharsets.UTF_8))) {
+          for (CSVRecord record : parser) {
+            List<String> cells = toCells(record);
+            int spilledRow = Integer.parseInt(cells.getFirst());
+            ParsedRow row = parseRow(cells.subList(1, cells.size()), columns, spilledRow, errors);
+            if (row.valid) {
+              grouped
+                  .computeIfAbsent(row.bomId, k -> new GroupedBom(row, spilledRow))
+                  .add(row, spilledRow, errors);
+            }
           }
-        } catch (ApiException ex) {
-          errors.add(error(gb.firstRow, "bomId", "BOM already exists in create-only mode"));
+        }
+        for (GroupedBom gb : grouped.values()) {
+          writer.add(gb.toImport());
+        }
+        Files.deleteIfExists(partition);
+      }
+      writer.flush();
+      progress.update(rowNumber - 1, writer.created(), writer.updated(), errors);
+    } finally {
+      for (Path partition : partitions) {
+        if (partition != null) {
+          Files.deleteIfExists(partition);
         }
       }
-    } catch (IOException e) {
-      log.error("Failed to read BOM CSV import file", e);
-      return badRequest(error("file", "Failed to read CSV file"));
     }
+  }
 
-    return new CsvImportExecution(
-        HttpStatus.OK, new ImportResult().created(created).updated(updated).errors(errors));
+  private static CSVParser open(Resource file) throws IOException {
+    return CSVFormat.DEFAULT.parse(
+        new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)));
+  }
+
+  private static String normalizedBomId(List<String> cells, int bomIdColumn) {
+    String bomId = pick(cells, bomIdColumn);
+    return bomId == null ? "" : bomId.toUpperCase(Locale.ROOT);
+  }
+
+  /**
+   * Checks every row without writing. Item references are checked against the caller's item
+   * codes, loaded once; conflicting header values are checked in file order, as the import does.
+   */
+  private CsvImportExecution validateRows(
+      Iterator<CSVRecord> records, Map<String, Integer> columns, ImportProgress progress) {
+    Set<String> itemCodes = itemService.codesForCurrentUser();
+    List<ImportResultErrorsInner> errors = new ArrayList<>();
+    Map<String, GroupedBom> headers = new HashMap<>();
+    ParallelRowValidation.run(
+        records,
+        (cells, rowNumber, rowErrors) -> {
+          ParsedRow row = parseRow(cells, columns, rowNumber, rowErrors);
+          if (!row.valid) {
+            return null;
+          }
+          if (!itemCodes.contains(row.productId)) {
+            rowErrors.add(error(rowNumber, "productId", "Product item not found"));
+          }
+          if (row.componentItemId != null
+              && !row.componentItemId.isBlank()
+              && !itemCodes.contains(row.componentItemId)) {
+            rowErrors.add(error(rowNumber, "componentItemId", "Component item not found"));
+          }
+          return row;
+        },
+        (row, rowNumber) ->
+            headers
+                .computeIfAbsent(row.bomId, k -> new GroupedBom(row, rowNumber))
+                .mergeHeader(row, rowNumber, errors),
+        errors,
+        progress);
+    return ParallelRowValidation.result(errors);
   }
 
   private static ParsedRow parseRow(
@@ -368,6 +564,32 @@ public class BomsCsvImportService {
       }
     }
 
+    private void add(ParsedRow row, int rowNumber, List<ImportResultErrorsInner> errors) {
+      mergeHeader(row, rowNumber, errors);
+      addComponent(
+          row.componentOrder,
+          row.componentItemId,
+          row.componentQuantity,
+          row.componentUom,
+          row.componentNote);
+    }
+
+    private BomImport toImport() {
+      List<BomComponent> lines =
+          components.stream()
+              .sorted(Comparator.comparingInt(ComponentLine::order))
+              .map(
+                  c ->
+                      new BomComponent()
+                          .itemId(c.itemId())
+                          .quantity(c.quantity())
+                          .uom(c.uom())
+                          .note(c.note()))
+              .toList();
+      return new BomImport(
+          firstRow, bomId, productId, productName, revision, status, description, note, lines);
+    }
+
     private void addComponent(Integer order, String itemId, Double qty, String uom, String note) {
       boolean hasAny = (itemId != null && !itemId.isBlank()) || qty != null || (uom != null && !uom.isBlank());
       if (!hasAny) {
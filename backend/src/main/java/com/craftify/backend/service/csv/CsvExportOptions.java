@@ -0,0 +1,11 @@
+package com.craftify.backend.service.csv;
+
+/**
+ * How an export is delivered.
+ *
+ * @param mode {@code stream} (default) or {@code file}
+ * @param compression {@code gzip} or {@code zstd} for a compressed file, {@code none}, or null to
+ *     negotiate a transfer encoding from {@code acceptEncoding}
+ * @param acceptEncoding the request's {@code Accept-Encoding} header, if any
+ */
+public record CsvExportOptions(String mode, String compression, String acceptEncoding) {}
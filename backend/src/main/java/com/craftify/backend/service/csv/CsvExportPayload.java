@@ -1,5 +1,14 @@
 package com.craftify.backend.service.csv;
 
-import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-public record CsvExportPayload(Resource resource, String filename) {}
+/**
+ * An export ready to be written to the response. {@code contentLength} is -1 when unknown and
+ * {@code contentEncoding} is null unless the body is compressed for transfer.
+ */
+public record CsvExportPayload(
+    StreamingResponseBody body,
+    String filename,
+    String contentType,
+    String contentEncoding,
+    long contentLength) {}
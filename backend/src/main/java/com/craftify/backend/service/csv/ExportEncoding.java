@@ -0,0 +1,120 @@
+package com.craftify.backend.service.csv;
+
+import com.craftify.backend.error.ApiException;
+import com.github.luben.zstd.ZstdOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/** Compression applied to an export while it is written. */
+enum ExportEncoding {
+  IDENTITY(null, "", null),
+  GZIP("gzip", ".gz", "application/gzip"),
+  ZSTD("zstd", ".zst", "application/zstd");
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final String token;
+  private final String fileSuffix;
+  private final String fileContentType;
+
+  ExportEncoding(String token, String fileSuffix, String fileContentType) {
+    this.token = token;
+    this.fileSuffix = fileSuffix;
+    this.fileContentType = fileContentType;
+  }
+
+  /** The {@code Content-Encoding} token; null for identity. */
+  String token() {
+    return token;
+  }
+
+  String fileSuffix() {
+    return fileSuffix;
+  }
+
+  String fileContentType() {
+    return fileContentType;
+  }
+
+  /**
+   * Wraps {@code out}; closing the result ends the compressed stream but leaves {@code out} open,
+   * so a servlet response can be finished by the container.
+   */
+  OutputStream wrap(OutputStream out) throws IOException {
+    OutputStream shielded =
+        new FilterOutputStream(out) {
+          @Override
+          public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+          }
+
+          @Override
+          public void close() throws IOException {
+            flush();
+          }
+        };
+    return switch (this) {
+      case IDENTITY -> shielded;
+      case GZIP -> new GZIPOutputStream(shielded, BUFFER_SIZE);
+      case ZSTD -> new ZstdOutputStream(shielded);
+    };
+  }
+
+  /** Parses the {@code compression} parameter: gzip, zstd or none. */
+  static ExportEncoding fromParameter(String value) {
+    return switch (value.trim().toLowerCase(Locale.ROOT)) {
+      case "none", "identity" -> IDENTITY;
+      case "gzip" -> GZIP;
+      case "zstd" -> ZSTD;
+      default -> throw ApiException.badRequest("invalid_export_compression");
+    };
+  }
+
+  /**
+   * Picks the best encoding the client accepts: the highest q-value wins, zstd before gzip on a
+   * tie. {@code *} counts as gzip.
+   */
+  static ExportEncoding negotiate(String acceptEncoding) {
+    if (acceptEncoding == null || acceptEncoding.isBlank()) {
+      return IDENTITY;
+    }
+    double gzip = 0;
+    double zstd = 0;
+    double any = 0;
+    for (String part : acceptEncoding.split(",")) {
+      String[] fields = part.split(";");
+      String coding = fields[0].trim().toLowerCase(Locale.ROOT);
+      double q = quality(fields);
+      switch (coding) {
+        case "gzip", "x-gzip" -> gzip = Math.max(gzip, q);
+        case "zstd" -> zstd = Math.max(zstd, q);
+        case "*" -> any = Math.max(any, q);
+        default -> {}
+      }
+    }
+    if (gzip == 0) {
+      gzip = any;
+    }
+    if (zstd > 0 && zstd >= gzip) {
+      return ZSTD;
+    }
+    return gzip > 0 ? GZIP : IDENTITY;
+  }
+
+  private static double quality(String[] fields) {
+    for (int i = 1; i < fields.length; i++) {
+      String param = fields[i].trim();
+      if (param.startsWith("q=") || param.startsWith("Q=")) {
+        try {
+          return Double.parseDouble(param.substring(2).trim());
+        } catch (NumberFormatException ex) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
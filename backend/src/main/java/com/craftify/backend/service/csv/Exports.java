@@ -0,0 +1,185 @@
+package com.craftify.backend.service.csv;
+
+import com.craftify.backend.error.ApiException;
+import com.craftify.backend.utils.TempFileResource;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivery of CSV and NDJSON exports. {@code stream} (the default) defers all work to the response
+ * body, which writes rows while they are read, so a slow client simply slows the read down.
+ * {@code file} renders the file to disk before answering, trading the first-byte delay for a
+ * Content-Length and for errors that surface as a proper error response.
+ *
+ * <p>Compression is applied as the rows are written, in either mode. {@code compression=gzip|zstd}
+ * produces a compressed file ({@code .gz} or {@code .zst} appended); without it the encoding is
+ * negotiated from {@code Accept-Encoding} and sent as {@code Content-Encoding}.
+ */
+final class Exports {
+
+  private static final Logger log = LoggerFactory.getLogger(Exports.class);
+
+  private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  private static final String CSV_CONTENT_TYPE = "text/csv; charset=UTF-8";
+
+  static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+  /** Prints an export's rows; may throw {@link UncheckedIOException} from inside callbacks. */
+  @FunctionalInterface
+  interface Rows {
+    void printTo(CSVPrinter printer) throws IOException;
+  }
+
+  /** Writes an export's content; may throw {@link UncheckedIOException} from inside callbacks. */
+  @FunctionalInterface
+  interface Body {
+    void writeTo(OutputStream out) throws IOException;
+  }
+
+  private Exports() {}
+
+  static CsvExportPayload csv(
+      CsvExportOptions options, String filename, String tempPrefix, CSVFormat format, Rows rows) {
+    return payload(
+        options,
+        filename,
+        CSV_CONTENT_TYPE,
+        tempPrefix,
+        ".csv",
+        out -> writeCsv(out, format, rows));
+  }
+
+  static CsvExportPayload ndjson(
+      CsvExportOptions options, String filename, String tempPrefix, Body body) {
+    return payload(options, filename, NDJSON_CONTENT_TYPE, tempPrefix, ".ndjson", body);
+  }
+
+  private static CsvExportPayload payload(
+      CsvExportOptions options,
+      String filename,
+      String contentType,
+      String tempPrefix,
+      String tempSuffix,
+      Body body) {
+    String mode = options.mode();
+    boolean stream = mode == null || mode.isBlank() || "stream".equalsIgnoreCase(mode);
+    if (!stream && !"file".equalsIgnoreCase(mode)) {
+      throw ApiException.badRequest("invalid_export_mode");
+    }
+
+    Target target;
+    if (options.compression() == null || options.compression().isBlank()) {
+      ExportEncoding encoding = ExportEncoding.negotiate(options.acceptEncoding());
+      target = new Target(encoding, filename, contentType, encoding.token());
+    } else {
+      ExportEncoding encoding = ExportEncoding.fromParameter(options.compression());
+      target =
+          encoding == ExportEncoding.IDENTITY
+              ? new Target(encoding, filename, contentType, null)
+              : new Target(
+                  encoding,
+                  filename + encoding.fileSuffix(),
+                  encoding.fileContentType(),
+                  null);
+    }
+
+    if (stream) {
+      return new CsvExportPayload(
+          out -> write(out, target.encoding(), body),
+          target.filename(),
+          target.contentType(),
+          target.contentEncoding(),
+          -1);
+    }
+    return toFile(target, tempPrefix, tempSuffix, body);
+  }
+
+  private static CsvExportPayload toFile(
+      Target target, String tempPrefix, String tempSuffix, Body body) {
+    String errorCode = "failed_to_generate_" + tempSuffix.substring(1);
+    Path tempFile;
+    try {
+      tempFile = Files.createTempFile(tempPrefix, tempSuffix + target.encoding().fileSuffix());
+    } catch (IOException ex) {
+      throw ApiException.internalServerError(errorCode);
+    }
+
+    TempFileResource resource;
+    try {
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+        write(out, target.encoding(), body);
+      }
+      resource = TempFileResource.from(tempFile, target.filename());
+    } catch (IOException ex) {
+      deleteQuietly(tempFile);
+      throw ApiException.internalServerError(errorCode);
+    } catch (RuntimeException ex) {
+      deleteQuietly(tempFile);
+      throw ex;
+    }
+
+    return new CsvExportPayload(
+        out -> {
+          try (InputStream in = resource.getInputStream()) {
+            in.transferTo(out);
+          }
+        },
+        target.filename(),
+        target.contentType(),
+        target.contentEncoding(),
+        resource.contentLength());
+  }
+
+  /**
+   * Writes {@code body} to {@code out} through {@code encoding}, ending the compressed stream but
+   * leaving {@code out} open.
+   */
+  private static void write(OutputStream out, ExportEncoding encoding, Body body)
+      throws IOException {
+    try (OutputStream encoded = encoding.wrap(out)) {
+      try {
+        body.writeTo(encoded);
+      } catch (UncheckedIOException ex) {
+        throw ex.getCause();
+      }
+    }
+  }
+
+  /** Writes the BOM, header and rows, flushing but not closing {@code out}. */
+  private static void writeCsv(OutputStream out, CSVFormat format, Rows rows) throws IOException {
+    out.write(UTF8_BOM);
+    CSVPrinter printer =
+        new CSVPrinter(
+            new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE),
+            format);
+    rows.printTo(printer);
+    printer.flush();
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException suppressed) {
+      log.warn("Failed to delete temp export file {}", path, suppressed);
+    }
+  }
+
+  private record Target(
+      ExportEncoding encoding, String filename, String contentType, String contentEncoding) {}
+}
@@ -0,0 +1,460 @@
+package com.craftify.backend.service.csv;
+
+import com.craftify.backend.config.ImportJobProperties;
+import com.craftify.backend.error.ApiException;
+import com.craftify.backend.model.ImportJob;
+import com.craftify.backend.model.ImportResult;
+import com.craftify.backend.model.ImportResultErrorsInner;
+import com.craftify.backend.persistence.entity.ImportJobEntity;
+import com.craftify.backend.persistence.entity.ImportJobEntity.Kind;
+import com.craftify.backend.persistence.entity.ImportJobEntity.Status;
+import com.craftify.backend.persistence.repository.ImportJobRepository;
+import com.craftify.backend.service.CurrentUserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Runs CSV imports in the background.
+ *
+ * <p>The upload is written to {@link ImportJobProperties#getStorageDir()} (which must be local to
+ * the node) and processed by this node's bounded worker pool with the submitter's security
+ * context. Progress, the first row errors and cancellation requests go through {@code
+ * import_jobs}, so polls and cancels can arrive on any node. A job writes them in transactions of
+ * its own, since an import may keep one transaction open for the whole file. A cancelled job stops
+ * at the next row or chunk boundary; what was written until then is kept.
+ *
+ * <p>The node keeps the heartbeat of the jobs it holds fresh. Any node fails queued or running jobs
+ * whose heartbeat went stale, since their node is gone. On shutdown running jobs stop at the next
+ * chunk boundary and are failed as interrupted, and queued ones are failed without starting.
+ */
+@Service
+public class ImportJobService {
+
+  private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+  private static final Set<String> MODES = Set.of("upsert", "create-only", "validate");
+  private static final List<Status> ACTIVE = List.of(Status.QUEUED, Status.RUNNING);
+  private static final TypeReference<List<ImportResultErrorsInner>> ERRORS_TYPE =
+      new TypeReference<>() {};
+
+  private final ImportJobRepository importJobRepository;
+  private final ItemsCsvImportService itemsCsvImportService;
+  private final BomsCsvImportService bomsCsvImportService;
+  private final InventoryCsvImportService inventoryCsvImportService;
+  private final CurrentUserService currentUserService;
+  private final ObjectMapper objectMapper;
+  private final ImportJobProperties properties;
+  private final TransactionTemplate ownTransaction;
+  private final ThreadPoolTaskExecutor executor;
+  private final Set<UUID> heldJobs = ConcurrentHashMap.newKeySet();
+  private volatile boolean stopping;
+
+  public ImportJobService(
+      ImportJobRepository importJobRepository,
+      ItemsCsvImportService itemsCsvImportService,
+      BomsCsvImportService bomsCsvImportService,
+      InventoryCsvImportService inventoryCsvImportService,
+      CurrentUserService currentUserService,
+      ObjectMapper objectMapper,
+      ImportJobProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.importJobRepository = importJobRepository;
+    this.itemsCsvImportService = itemsCsvImportService;
+    this.bomsCsvImportService = bomsCsvImportService;
+    this.inventoryCsvImportService = inventoryCsvImportService;
+    this.currentUserService = currentUserService;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.ownTransaction = new TransactionTemplate(transactionManager);
+    this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.executor = new ThreadPoolTaskExecutor();
+    this.executor.setCorePoolSize(properties.getWorkers());
+    this.executor.setMaxPoolSize(properties.getWorkers());
+    this.executor.setQueueCapacity(properties.getQueueCapacity());
+    this.executor.setThreadNamePrefix("import-job-");
+    this.executor.setWaitForTasksToCompleteOnShutdown(true);
+    this.executor.setAwaitTerminationMillis(properties.getShutdownTimeout().toMillis());
+    this.executor.initialize();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    stopping = true;
+    executor.shutdown();
+  }
+
+  /**
+   * Refreshes the heartbeat of the jobs this node holds, then fails active jobs whose heartbeat is
+   * older than {@link ImportJobProperties#getStaleAfter()}: their node stopped without finishing
+   * them and nothing will pick them up again.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+      fixedDelayString = "${craftify.imports.heartbeat-interval:30s}",
+      initialDelayString = "${craftify.imports.heartbeat-interval:30s}")
+  public void heartbeat() {
+    OffsetDateTime now = OffsetDateTime.now();
+    if (!heldJobs.isEmpty()) {
+      importJobRepository.heartbeat(List.copyOf(heldJobs), ACTIVE, now);
+    }
+    OffsetDateTime cutoff = now.minus(properties.getStaleAfter());
+    for (ImportJobEntity job :
+        importJobRepository.findByStatusInAndHeartbeatAtBefore(ACTIVE, cutoff)) {
+      if (importJobRepository.failStale(
+              job.getId(), ACTIVE, cutoff, Status.FAILED, "interrupted", now)
+          > 0) {
+        // Its upload stays: it is on the node that held the job, which deletes it if it is alive.
+        log.warn("Import job {} lost its node; marked failed", job.getId());
+      }
+    }
+  }
+
+  public ImportJob submit(String type, MultipartFile file, String mode) {
+    String ownerSub = currentUserService.requiredSub();
+    Kind kind = parseKind(type);
+    String normalizedMode = normalizeMode(mode);
+    if (file == null || file.isEmpty()) {
+      throw ApiException.badRequest("import_file_required");
+    }
+
+    Path upload = store(file);
+    return enqueue(
+        ownerSub,
+        kind,
+        normalizedMode,
+        file.getOriginalFilename(),
+        file.getSize(),
+        upload,
+        () -> deleteQuietly(upload));
+  }
+
+  /**
+   * Starts an import of a file that is already on this node's disk, such as a finished resumable
+   * upload. The file is moved into the import storage directory and deleted when the job is done;
+   * when the queue is full it is moved back, so the caller still owns it.
+   */
+  public ImportJob submit(String type, Path file, String fileName, long fileSize, String mode) {
+    String ownerSub = currentUserService.requiredSub();
+    Kind kind = parseKind(type);
+    String normalizedMode = normalizeMode(mode);
+
+    Path upload = adopt(file);
+    return enqueue(
+        ownerSub,
+        kind,
+        normalizedMode,
+        fileName,
+        fileSize,
+        upload,
+        () -> restore(upload, file));
+  }
+
+  private ImportJob enqueue(
+      String ownerSub,
+      Kind kind,
+      String mode,
+      String fileName,
+      long fileSize,
+      Path upload,
+      Runnable onRejected) {
+    ImportJobEntity job = new ImportJobEntity();
+    job.setOwnerSub(ownerSub);
+    job.setKind(kind);
+    job.setMode(mode);
+    job.setFileName(fileName);
+    job.setFileSize(fileSize);
+    job.setStoragePath(upload.toString());
+    job.setStatus(Status.QUEUED);
+    ImportJobEntity saved = importJobRepository.save(job);
+
+    heldJobs.add(saved.getId());
+    try {
+      executor.execute(
+          new DelegatingSecurityContextRunnable(() -> run(saved.getId(), kind, mode, upload)));
+    } catch (TaskRejectedException ex) {
+      heldJobs.remove(saved.getId());
+      importJobRepository.delete(saved);
+      onRejected.run();
+      throw ApiException.serviceUnavailable("import_queue_full");
+    }
+    log.info(
+        "Queued import job {} type={} mode={} fileName={} size={}",
+        saved.getId(),
+        kind.name().toLowerCase(Locale.ROOT),
+        mode,
+        fileName,
+        fileSize);
+    return toModel(saved);
+  }
+
+  public ImportJob get(UUID id) {
+    String ownerSub = currentUserService.requiredSub();
+    return importJobRepository.findByIdAndOwnerSub(id, ownerSub).map(this::toModel).orElse(null);
+  }
+
+  public ImportJob cancel(UUID id) {
+    String ownerSub = currentUserService.requiredSub();
+    if (importJobRepository.findByIdAndOwnerSub(id, ownerSub).isEmpty()) {
+      throw ApiException.notFound("import_job_not_found");
+    }
+    boolean cancelled =
+        importJobRepository.markCancelled(
+                    id, ownerSub, Status.QUEUED, Status.CANCELLED, OffsetDateTime.now())
+                > 0
+            || importJobRepository.requestCancel(id, ownerSub, Status.RUNNING) > 0;
+    if (!cancelled) {
+      throw ApiException.conflict("import_job_not_cancelable");
+    }
+    return get(id);
+  }
+
+  private void run(UUID jobId, Kind kind, String mode, Path upload) {
+    try {
+      int started =
+          importJobRepository.markStarted(
+              jobId, Status.QUEUED, Status.RUNNING, OffsetDateTime.now());
+      if (started == 0) {
+        // Cancelled while queued.
+        return;
+      }
+      JobProgress progress = new JobProgress(jobId);
+      if (stopping) {
+        progress.finish(Status.FAILED, null, "interrupted");
+        return;
+      }
+      try {
+        Resource file = new FileSystemResource(upload);
+        CsvImportExecution execution =
+            switch (kind) {
+              case ITEMS -> itemsCsvImportService.importCsv(file, mode, progress);
+              case BOMS -> bomsCsvImportService.importCsv(file, mode, progress);
+              case INVENTORY -> inventoryCsvImportService.importCsv(file, mode, progress);
+            };
+        ImportResult result = execution.body();
+        if (execution.status().isError()) {
+          progress.finish(Status.FAILED, result, "invalid_file");
+        } else if (progress.interrupted) {
+          progress.finish(Status.FAILED, result, "interrupted");
+        } else {
+          progress.finish(progress.cancelled ? Status.CANCELLED : Status.SUCCEEDED, result, null);
+        }
+      } catch (RuntimeException ex) {
+        log.error("Import job {} failed", jobId, ex);
+        progress.finish(Status.FAILED, null, "internal_error");
+      }
+    } finally {
+      heldJobs.remove(jobId);
+      deleteQuietly(upload);
+    }
+  }
+
+  private Path store(MultipartFile file) {
+    try {
+      Path dir = Path.of(properties.getStorageDir());
+      Files.createDirectories(dir);
+      Path upload = dir.resolve(UUID.randomUUID() + ".csv");
+      file.transferTo(upload);
+      return upload;
+    } catch (IOException ex) {
+      log.error("Failed to store import upload", ex);
+      throw ApiException.internalServerError("import_upload_failed");
+    }
+  }
+
+  private Path adopt(Path file) {
+    try {
+      Path dir = Path.of(properties.getStorageDir());
+      Files.createDirectories(dir);
+      return Files.move(
+          file, dir.resolve(UUID.randomUUID() + ".csv"), StandardCopyOption.ATOMIC_MOVE);
+    } catch (NoSuchFileException ex) {
+      throw ApiException.conflict("import_file_missing");
+    } catch (IOException ex) {
+      log.error("Failed to take over import file {}", file, ex);
+      throw ApiException.internalServerError("import_upload_failed");
+    }
+  }
+
+  private static void restore(Path upload, Path file) {
+    try {
+      Files.move(upload, file, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException ex) {
+      log.warn("Failed to return import file {} to {}", upload, file, ex);
+      deleteQuietly(upload);
+    }
+  }
+
+  private static void deleteQuietly(Path upload) {
+    try {
+      Files.deleteIfExists(upload);
+    } catch (IOException ex) {
+      log.warn("Failed to delete import upload {}", upload, ex);
+    }
+  }
+
+  private static String normalizeMode(String mode) {
+    String normalized =
+        mode == null || mode.isBlank() ? "upsert" : mode.trim().toLowerCase(Locale.ROOT);
+    if (!MODES.contains(normalized)) {
+      throw ApiException.badRequest("invalid_import_mode");
+    }
+    return normalized;
+  }
+
+  private static Kind parseKind(String type) {
+    try {
+      return Kind.valueOf(Objects.requireNonNullElse(type, "").trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw ApiException.badRequest("invalid_import_type");
+    }
+  }
+
+  private String toErrorsJson(List<ImportResultErrorsInner> errors) {
+    try {
+      return objectMapper.writeValueAsString(
+          errors.subList(0, Math.min(errors.size(), properties.getMaxStoredErrors())));
+    } catch (JsonProcessingException ex) {
+      log.warn("Failed to serialize import errors", ex);
+      return "[]";
+    }
+  }
+
+  private List<ImportResultErrorsInner> fromErrorsJson(String json) {
+    try {
+      return objectMapper.readValue(json == null || json.isBlank() ? "[]" : json, ERRORS_TYPE);
+    } catch (JsonProcessingException ex) {
+      return List.of();
+    }
+  }
+
+  private ImportJob toModel(ImportJobEntity entity) {
+    ImportJob job = new ImportJob();
+    job.setId(entity.getId());
+    job.setType(entity.getKind().name().toLowerCase(Locale.ROOT));
+    job.setMode(entity.getMode());
+    job.setFileName(entity.getFileName());
+    job.setStatus(entity.getStatus().name().toLowerCase(Locale.ROOT));
+    job.setCancelRequested(entity.isCancelRequested());
+    job.setRowsProcessed(entity.getRowsProcessed());
+    job.setCreated(entity.getCreatedCount());
+    job.setUpdated(entity.getUpdatedCount());
+    job.setErrorCount(entity.getErrorCount());
+    job.setErrors(fromErrorsJson(entity.getErrorsJson()));
+    job.setMessage(entity.getMessage());
+    job.setCreatedAt(entity.getCreatedAt());
+    job.setStartedAt(entity.getStartedAt());
+    job.setFinishedAt(entity.getFinishedAt());
+    if (entity.getStartedAt() != null) {
+      OffsetDateTime end =
+          entity.getFinishedAt() == null ? OffsetDateTime.now() : entity.getFinishedAt();
+      long millis = Duration.between(entity.getStartedAt(), end).toMillis();
+      job.setRowsPerSecond(
+          millis <= 0 ? null : Math.round(entity.getRowsProcessed() * 10_000.0 / millis) / 10.0);
+    }
+    return job;
+  }
+
+  /** Keeps the latest progress in memory and writes it at most once per progress interval. */
+  private final class JobProgress implements ImportProgress {
+
+    private final UUID jobId;
+    private final long intervalNanos = properties.getProgressInterval().toNanos();
+    private long nextFlush = System.nanoTime() + intervalNanos;
+    private boolean cancelled;
+    private boolean interrupted;
+    private int rowsRead;
+    private int created;
+    private int updated;
+    private List<ImportResultErrorsInner> errors = List.of();
+
+    JobProgress(UUID jobId) {
+      this.jobId = jobId;
+    }
+
+    @Override
+    public void update(
+        int rowsRead, int created, int updated, List<ImportResultErrorsInner> errors) {
+      this.rowsRead = rowsRead;
+      this.created = created;
+      this.updated = updated;
+      this.errors = errors;
+      long now = System.nanoTime();
+      if (now - nextFlush < 0) {
+        return;
+      }
+      nextFlush = now + intervalNanos;
+      String errorsJson = toErrorsJson(errors);
+      cancelled =
+          Boolean.TRUE.equals(
+              ownTransaction.execute(
+                  tx -> {
+                    importJobRepository.updateProgress(
+                        jobId, rowsRead, created, updated, errors.size(), errorsJson);
+                    return importJobRepository.isCancelRequested(jobId);
+                  }));
+    }
+
+    @Override
+    public boolean cancelled() {
+      if (stopping) {
+        // The node is shutting down: stop at this boundary rather than leave the job half done.
+        interrupted = true;
+        return true;
+      }
+      return cancelled;
+    }
+
+    void finish(Status status, ImportResult result, String message) {
+      List<ImportResultErrorsInner> finalErrors =
+          result == null || result.getErrors() == null ? errors : result.getErrors();
+      int finished =
+          importJobRepository.finish(
+              jobId,
+              Status.RUNNING,
+              status,
+              rowsRead,
+              result == null ? created : Objects.requireNonNullElse(result.getCreated(), 0),
+              result == null ? updated : Objects.requireNonNullElse(result.getUpdated(), 0),
+              finalErrors.size(),
+              toErrorsJson(finalErrors),
+              message,
+              OffsetDateTime.now());
+      if (finished == 0) {
+        log.warn(
+            "Import job {} was no longer running when it finished as {}; left unchanged",
+            jobId,
+            status);
+      }
+    }
+  }
+}
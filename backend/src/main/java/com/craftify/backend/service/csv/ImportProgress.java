@@ -0,0 +1,29 @@
+package com.craftify.backend.service.csv;
+
+import com.craftify.backend.model.ImportResultErrorsInner;
+import java.util.List;
+
+/** Receives progress of a running CSV import; synchronous imports use {@link #NONE}. */
+public interface ImportProgress {
+
+  ImportProgress NONE =
+      new ImportProgress() {
+        @Override
+        public void update(
+            int rowsRead, int created, int updated, List<ImportResultErrorsInner> errors) {}
+
+        @Override
+        public boolean cancelled() {
+          return false;
+        }
+      };
+
+  /**
+   * Called as rows are read and written. {@code errors} is the import's live error list; it may
+   * be read during the call but not kept.
+   */
+  void update(int rowsRead, int created, int updated, List<ImportResultErrorsInner> errors);
+
+  /** True once the import should stop; whatever was written so far is kept. */
+  boolean cancelled();
+}
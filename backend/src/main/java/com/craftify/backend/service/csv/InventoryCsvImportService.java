@@ -1,15 +1,18 @@
 package com.craftify.backend.service.csv;
 
-import com.craftify.backend.error.ApiException;
 import com.craftify.backend.model.ImportResult;
 import com.craftify.backend.model.ImportResultErrorsInner;
-import com.craftify.backend.service.InventoryService;
+import com.craftify.backend.service.InventoryBulkImportService;
+import com.craftify.backend.service.InventoryBulkImportService.RejectedRow;
+import com.craftify.backend.service.InventoryBulkImportService.StagedRow;
+import com.craftify.backend.service.InventoryBulkImportService.Violation;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -20,38 +23,48 @@ import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+/**
+ * Inventory CSV import. Valid rows are streamed into a staging table and merged set-based by
+ * {@link InventoryBulkImportService}, in one transaction for the whole file. In {@code validate}
+ * mode rows are only checked, in parallel, and nothing is written.
+ */
 @Service
 public class InventoryCsvImportService {
 
   private static final Logger log = LoggerFactory.getLogger(InventoryCsvImportService.class);
 
-  private final InventoryService inventoryService;
+  private final InventoryBulkImportService bulkImportService;
 
-  public InventoryCsvImportService(InventoryService inventoryService) {
-    this.inventoryService = inventoryService;
+  public InventoryCsvImportService(InventoryBulkImportService bulkImportService) {
+    this.bulkImportService = bulkImportService;
   }
 
   public CsvImportExecution importCsv(MultipartFile file, String mode) {
     if (file == null || file.isEmpty()) {
       return badRequest(error("file", "CSV file is required"));
     }
-
-    boolean createOnly = "create-only".equalsIgnoreCase(mode);
-    boolean upsert = mode == null || mode.isBlank() || "upsert".equalsIgnoreCase(mode);
-    if (!createOnly && !upsert) {
-      return badRequest(error("mode", "Mode must be 'upsert' or 'create-only'"));
-    }
-
     log.info(
         "POST /inventory:import mode={} fileName={} size={}",
         mode,
         file.getOriginalFilename(),
         file.getSize());
+    return importCsv(file.getResource(), mode, ImportProgress.NONE);
+  }
+
+  /** Imports a stored upload, reporting to {@code progress} and stopping once it is cancelled. */
+  public CsvImportExecution importCsv(Resource file, String mode, ImportProgress progress) {
+    boolean createOnly = "create-only".equalsIgnoreCase(mode);
+    boolean upsert = mode == null || mode.isBlank() || "upsert".equalsIgnoreCase(mode);
+    boolean validateOnly = "validate".equalsIgnoreCase(mode);
+    if (!createOnly && !upsert && !validateOnly) {
+      return badRequest(
+          error("mode", "Mode must be 'upsert', 'create-only' or 'validate'"));
+    }
 
     List<ImportResultErrorsInner> errors = new ArrayList<>();
     int created = 0;
@@ -77,51 +90,27 @@ public class InventoryCsvImportService {
           || !columns.containsKey("available")) {
         return badRequest(error("header", "Required columns: itemId (or item ref), itemName, category, uom, available"));
       }
-
-      int rowNumber = 1;
-      while (records.hasNext()) {
-        CSVRecord record = records.next();
-        rowNumber++;
-        if (isBlankRecord(record)) {
-          continue;
-        }
-
-        ParsedRow row = parseRow(toCells(record), columns, rowNumber, errors);
-        if (!row.valid()) {
-          continue;
-        }
-
-        try {
-          var before = inventoryService.getByCode(row.code());
-          inventoryService.upsertFromImport(
-              row.code(),
-              row.itemId(),
-              row.itemName(),
-              row.itemCategoryName(),
-              row.categoryDetached(),
-              row.detachedCategoryName(),
-              row.uom(),
-              row.available(),
-              createOnly);
-          if (before == null) {
-            created++;
-          } else {
-            updated++;
-          }
-        } catch (ApiException ex) {
-          String message =
-              switch (ex.getErrorCode()) {
-                case "create_only_conflict" -> "Inventory record already exists in create-only mode";
-                default -> "Failed to import inventory row";
-              };
-          errors.add(error(rowNumber, "code", message));
-        } catch (DataIntegrityViolationException ex) {
-          errors.add(error(rowNumber, "code", "Inventory code already exists"));
-        } catch (RuntimeException ex) {
-          log.error("Unexpected inventory import error at row {}", rowNumber, ex);
-          errors.add(error(rowNumber, "row", "Unexpected error while importing this row"));
-        }
+      if (validateOnly) {
+        ParallelRowValidation.run(
+            records,
+            (cells, row, rowErrors) -> {
+              ParsedRow parsed = parseRow(cells, columns, row, rowErrors);
+              return parsed.valid() ? parsed : null;
+            },
+            (parsed, row) -> {},
+            errors,
+            progress);
+        return ParallelRowValidation.result(errors);
       }
+
+      InventoryBulkImportService.Result result =
+          bulkImportService.importRows(
+              sink -> stageRows(records, columns, sink, errors, progress), createOnly);
+      result.rejected().forEach(rejected -> errors.add(rejectionError(rejected)));
+      created = result.created();
+      updated = result.updated();
+      errors.sort(Comparator.comparing(ImportResultErrorsInner::getRow));
+      progress.update((int) parser.getRecordNumber() - 1, created, updated, errors);
     } catch (IOException e) {
       log.error("Failed to read inventory CSV import file", e);
       return badRequest(error("file", "Failed to read CSV file"));
@@ -131,6 +120,54 @@ public class InventoryCsvImportService {
         HttpStatus.OK, new ImportResult().created(created).updated(updated).errors(errors));
   }
 
+  /** The import error for a row the bulk import did not write; shared with the NDJSON import. */
+  static ImportResultErrorsInner rejectionError(RejectedRow rejected) {
+    return switch (rejected.reason()) {
+      case CREATE_ONLY_CONFLICT ->
+          error(
+              rejected.rowNumber(), "code", "Inventory record already exists in create-only mode");
+      case ITEM_ALREADY_STOCKED ->
+          error(rejected.rowNumber(), "itemId", "Inventory record for this item already exists");
+    };
+  }
+
+  /** Streams valid rows to the staging table; returns false once {@code progress} is cancelled. */
+  private static boolean stageRows(
+      Iterator<CSVRecord> records,
+      Map<String, Integer> columns,
+      InventoryBulkImportService.Sink sink,
+      List<ImportResultErrorsInner> errors,
+      ImportProgress progress)
+      throws IOException {
+    int rowNumber = 1;
+    while (records.hasNext()) {
+      progress.update(rowNumber - 1, 0, 0, errors);
+      if (progress.cancelled()) {
+        return false;
+      }
+      CSVRecord record = records.next();
+      rowNumber++;
+      if (isBlankRecord(record)) {
+        continue;
+      }
+      ParsedRow row = parseRow(toCells(record), columns, rowNumber, errors);
+      if (row.valid()) {
+        sink.add(
+            new StagedRow(
+                rowNumber,
+                row.code(),
+                row.itemId(),
+                row.itemName(),
+                row.itemCategoryName(),
+                row.categoryDetached(),
+                row.detachedCategoryName(),
+                row.uom(),
+                row.available()));
+      }
+    }
+    return true;
+  }
+
   private static ParsedRow parseRow(
       List<String> cells, Map<String, Integer> columns, int rowNumber, List<ImportResultErrorsInner> errors) {
     String code = pick(cells, columns.get("code"));
@@ -169,6 +206,21 @@ public class InventoryCsvImportService {
       errors.add(error(rowNumber, "available", "Available must be a valid number"));
       ok = false;
     }
+    StagedRow candidate =
+        new StagedRow(
+            rowNumber,
+            code,
+            itemId,
+            itemName,
+            effectiveItemCategory,
+            categoryDetached,
+            detachedCategoryName,
+            uom,
+            available);
+    for (Violation violation : candidate.violations()) {
+      errors.add(error(rowNumber, violation.field(), violation.message()));
+      ok = false;
+    }
 
     if (!ok) {
       return new ParsedRow(false, null, null, null, null, false, null, null, null);
@@ -0,0 +1,95 @@
+package com.craftify.backend.service.csv;
+
+import com.craftify.backend.model.ImportResultErrorsInner;
+import com.craftify.backend.model.ItemsBatchUpsertResult;
+import com.craftify.backend.service.ItemBatchService;
+import com.craftify.backend.service.ItemBatchService.ExistingItems;
+import com.craftify.backend.service.ItemBatchService.ItemWrite;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects parsed item rows of a file import into chunks and writes each full chunk through {@link
+ * ItemBatchService}, translating rejected rows into import errors. {@link ItemWrite#index()} is the
+ * row (or line) number reported.
+ */
+final class ItemChunkWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(ItemChunkWriter.class);
+
+  private final ItemBatchService itemBatchService;
+  private final ExistingItems existingItems;
+  private final int chunkSize;
+  private final List<ImportResultErrorsInner> errors;
+  private final List<ItemWrite> chunk;
+  private int created;
+  private int updated;
+
+  ItemChunkWriter(
+      ItemBatchService itemBatchService,
+      ExistingItems existingItems,
+      int chunkSize,
+      List<ImportResultErrorsInner> errors) {
+    this.itemBatchService = itemBatchService;
+    this.existingItems = existingItems;
+    this.chunkSize = chunkSize;
+    this.errors = errors;
+    this.chunk = new ArrayList<>(chunkSize);
+  }
+
+  /** Queues {@code row}; returns true when that filled the chunk and it was written. */
+  boolean add(ItemWrite row) {
+    chunk.add(row);
+    if (chunk.size() < chunkSize) {
+      return false;
+    }
+    flush();
+    return true;
+  }
+
+  /** Writes whatever is queued. */
+  void flush() {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    for (ItemsBatchUpsertResult result : itemBatchService.write(chunk, existingItems, 0, true)) {
+      switch (result.getOutcome()) {
+        case CREATED -> created++;
+        case UPDATED -> updated++;
+        case CONFLICT ->
+            errors.add(
+                error(result.getIndex(), "code", "Item already exists in create-only mode"));
+        case FAILED -> {
+          if ("constraint_violation".equals(result.getError())) {
+            errors.add(error(result.getIndex(), "code", "Item code already exists"));
+          } else {
+            log.error("Unexpected import error at row {}", result.getIndex());
+            errors.add(
+                error(result.getIndex(), "row", "Unexpected error while importing this row"));
+          }
+        }
+        default ->
+            errors.add(
+                error(
+                    result.getIndex(),
+                    "code",
+                    "Failed to import item: " + result.getOutcome().getValue()));
+      }
+    }
+    chunk.clear();
+  }
+
+  int created() {
+    return created;
+  }
+
+  int updated() {
+    return updated;
+  }
+
+  private static ImportResultErrorsInner error(int row, String field, String message) {
+    return new ImportResultErrorsInner().row(row).field(field).message(message);
+  }
+}
@@ -1,18 +1,12 @@
 package com.craftify.backend.service.csv;
 
-import com.craftify.backend.error.ApiException;
+import com.craftify.backend.config.ExportProperties;
 import com.craftify.backend.model.ItemDetail;
 import com.craftify.backend.model.ItemUom;
 import com.craftify.backend.model.Status;
 import com.craftify.backend.service.ItemService;
-import com.craftify.backend.utils.TempFileResource;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
@@ -26,19 +20,49 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+/**
+ * Item CSV export. By default rows are streamed from a database cursor straight into the response,
+ * so the first bytes go out immediately and memory does not grow with the result. {@code mode=file}
+ * writes the whole file to disk first and serves it with a known length.
+ */
 @Service
 public class ItemsCsvExportService {
 
   private static final Logger log = LoggerFactory.getLogger(ItemsCsvExportService.class);
 
+  private static final CSVFormat FORMAT =
+      CSVFormat.DEFAULT.builder()
+          .setHeader(
+              "Id",
+              "Code",
+              "Name",
+              "Status",
+              "Category",
+              "UoM Base",
+              "Description",
+              "Additional Units Count",
+              "Additional Units",
+              "Created At",
+              "Updated At",
+              "Version")
+          .build();
+
   private final ItemService itemService;
+  private final ExportProperties exportProperties;
 
-  public ItemsCsvExportService(ItemService itemService) {
+  public ItemsCsvExportService(ItemService itemService, ExportProperties exportProperties) {
     this.itemService = itemService;
+    this.exportProperties = exportProperties;
   }
 
   public CsvExportPayload export(
-      String q, Status status, UUID categoryId, String categoryName, String uom, String ids) {
+      String q,
+      Status status,
+      UUID categoryId,
+      String categoryName,
+      String uom,
+      String ids,
+      CsvExportOptions options) {
     List<String> codes =
         (ids == null || ids.isBlank())
             ? List.of()
@@ -49,79 +73,48 @@ public class ItemsCsvExportService {
                 .toList();
 
     log.info(
-        "GET /items:export q={} status={} categoryId={} categoryName={} uom={} codes={}",
+        "GET /items:export q={} status={} categoryId={} categoryName={} uom={} codes={} mode={}"
+            + " compression={}",
         q,
         status,
         categoryId,
         categoryName,
         uom,
-        codes.size());
+        codes.size(),
+        options.mode(),
+        options.compression());
 
-    List<ItemDetail> rows = itemService.listForExport(q, status, categoryName, uom, codes);
     String filename = "items_" + LocalDate.now() + ".csv";
-    return new CsvExportPayload(writeCsv(rows, filename), filename);
+    Exports.Rows rows =
+        printer ->
+            itemService.scanForExport(
+                q,
+                status,
+                categoryName,
+                uom,
+                codes,
+                exportProperties.getFetchSize(),
+                d -> printRow(printer, d));
+    return Exports.csv(options, filename, "items-export-", FORMAT, rows);
   }
 
-  private TempFileResource writeCsv(List<ItemDetail> rows, String filename) {
-    Path tempFile;
+  private static void printRow(CSVPrinter printer, ItemDetail d) {
     try {
-      tempFile = Files.createTempFile("items-export-", ".csv");
-    } catch (IOException ex) {
-      throw ApiException.internalServerError("failed_to_generate_csv");
-    }
-
-    try (BufferedOutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
-      outputStream.write(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+      printer.printRecord(
+          d.getId(),
+          d.getCode(),
+          d.getName(),
+          d.getStatus() == null ? "" : d.getStatus().getValue(),
+          d.getCategoryName(),
+          d.getUomBase(),
+          d.getDescription(),
+          String.valueOf(Objects.requireNonNullElse(d.getUoms(), List.<ItemUom>of()).size()),
+          formatAdditionalUnits(d.getUoms()),
+          d.getCreatedAt() == null ? "" : d.getCreatedAt().toString(),
+          d.getUpdatedAt() == null ? "" : d.getUpdatedAt().toString(),
+          d.getVersion() == null ? "" : d.getVersion().toString());
     } catch (IOException ex) {
-      deleteQuietly(tempFile);
-      throw ApiException.internalServerError("failed_to_generate_csv");
-    }
-
-    try (CSVPrinter printer =
-        new CSVPrinter(
-            new OutputStreamWriter(
-                new BufferedOutputStream(Files.newOutputStream(tempFile, StandardOpenOption.APPEND)),
-                StandardCharsets.UTF_8),
-            CSVFormat.DEFAULT.builder()
-                .setHeader(
-                    "Id",
-                    "Code",
-                    "Name",
-                    "Status",
-                    "Category",
-                    "UoM Base",
-                    "Description",
-                    "Additional Units Count",
-                    "Additional Units",
-                    "Created At",
-                    "Updated At",
-                    "Version")
-                .build())) {
-      for (ItemDetail d : rows) {
-        printer.printRecord(
-            d.getId(),
-            d.getCode(),
-            d.getName(),
-            d.getStatus() == null ? "" : d.getStatus().getValue(),
-            d.getCategoryName(),
-            d.getUomBase(),
-            d.getDescription(),
-            String.valueOf(Objects.requireNonNullElse(d.getUoms(), List.<ItemUom>of()).size()),
-            formatAdditionalUnits(d.getUoms()),
-            d.getCreatedAt() == null ? "" : d.getCreatedAt().toString(),
-            d.getUpdatedAt() == null ? "" : d.getUpdatedAt().toString(),
-            d.getVersion() == null ? "" : d.getVersion().toString());
-      }
-    } catch (IOException ex) {
-      deleteQuietly(tempFile);
-      throw ApiException.internalServerError("failed_to_generate_csv");
-    }
-
-    try {
-      return TempFileResource.from(tempFile, filename);
-    } catch (IOException ex) {
-      deleteQuietly(tempFile);
-      throw ApiException.internalServerError("failed_to_generate_csv");
+      throw new UncheckedIOException(ex);
     }
   }
 
@@ -147,12 +140,4 @@ public class ItemsCsvExportService {
     }
     return value.replace("\\", "\\\\").replace("|", "\\|").replace(";", "\\;");
   }
-
-  private void deleteQuietly(Path path) {
-    try {
-      Files.deleteIfExists(path);
-    } catch (IOException suppressed) {
-      log.warn("Failed to delete temp export file {}", path, suppressed);
-    }
-  }
 }
@@ -1,17 +1,20 @@
 package com.craftify.backend.service.csv;
 
-import com.craftify.backend.error.ApiException;
+import com.craftify.backend.config.ItemBatchProperties;
 import com.craftify.backend.model.ImportResult;
 import com.craftify.backend.model.ImportResultErrorsInner;
 import com.craftify.backend.model.ItemUom;
 import com.craftify.backend.model.Status;
-import com.craftify.backend.service.ItemService;
+import com.craftify.backend.service.ItemBatchService;
+import com.craftify.backend.service.ItemBatchService.ExistingItems;
+import com.craftify.backend.service.ItemBatchService.ItemWrite;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -22,42 +25,58 @@ import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+/**
+ * Item CSV import. Parsed rows are collected into chunks of {@link
+ * ItemBatchProperties#getImportChunkSize()} and written through {@link ItemBatchService}, one
+ * transaction and a handful of statements per chunk instead of several per row. In {@code
+ * validate} mode rows are only checked, in parallel, and nothing is written.
+ */
 @Service
 public class ItemsCsvImportService {
 
   private static final Logger log = LoggerFactory.getLogger(ItemsCsvImportService.class);
 
-  private final ItemService itemService;
+  private final ItemBatchService itemBatchService;
+  private final ItemBatchProperties batchProperties;
 
-  public ItemsCsvImportService(ItemService itemService) {
-    this.itemService = itemService;
+  public ItemsCsvImportService(
+      ItemBatchService itemBatchService, ItemBatchProperties batchProperties) {
+    this.itemBatchService = itemBatchService;
+    this.batchProperties = batchProperties;
   }
 
   public CsvImportExecution importCsv(MultipartFile file, String mode) {
     if (file == null || file.isEmpty()) {
       return badRequest(error("file", "CSV file is required"));
     }
-
-    boolean createOnly = "create-only".equalsIgnoreCase(mode);
-    boolean upsert = mode == null || mode.isBlank() || "upsert".equalsIgnoreCase(mode);
-    if (!createOnly && !upsert) {
-      return badRequest(error("mode", "Mode must be 'upsert' or 'create-only'"));
-    }
-
     log.info(
         "POST /items:import mode={} fileName={} size={}",
         mode,
         file.getOriginalFilename(),
         file.getSize());
+    return importCsv(file.getResource(), mode, ImportProgress.NONE);
+  }
+
+  /** Imports a stored upload, reporting to {@code progress} and stopping once it is cancelled. */
+  public CsvImportExecution importCsv(Resource file, String mode, ImportProgress progress) {
+    boolean createOnly = "create-only".equalsIgnoreCase(mode);
+    boolean upsert = mode == null || mode.isBlank() || "upsert".equalsIgnoreCase(mode);
+    boolean validateOnly = "validate".equalsIgnoreCase(mode);
+    if (!createOnly && !upsert && !validateOnly) {
+      return badRequest(
+          error("mode", "Mode must be 'upsert', 'create-only' or 'validate'"));
+    }
 
     List<ImportResultErrorsInner> errors = new ArrayList<>();
-    int created = 0;
-    int updated = 0;
+    ExistingItems existingItems = createOnly ? ExistingItems.REJECT : ExistingItems.OVERWRITE;
+    ItemChunkWriter writer =
+        new ItemChunkWriter(
+            itemBatchService, existingItems, batchProperties.getImportChunkSize(), errors);
 
     try (BufferedReader reader =
             new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
@@ -79,6 +98,18 @@ public class ItemsCsvImportService {
           || !columns.containsKey("uomBase")) {
         return badRequest(error("header", "Required columns: name, status, category (or categoryName), uom (or uomBase)"));
       }
+      if (validateOnly) {
+        ParallelRowValidation.run(
+            records,
+            (cells, row, rowErrors) -> {
+              ParsedRow parsed = parseRow(cells, columns, row, rowErrors);
+              return parsed.valid() ? parsed : null;
+            },
+            (parsed, row) -> {},
+            errors,
+            progress);
+        return ParallelRowValidation.result(errors);
+      }
 
       int rowNumber = 1;
       while (records.hasNext()) {
@@ -93,44 +124,36 @@ public class ItemsCsvImportService {
           continue;
         }
 
-        try {
-          var before = itemService.getByCode(parsed.code());
-          itemService.upsertFromImport(
-              parsed.code(),
-              parsed.name(),
-              parsed.status(),
-              parsed.categoryName(),
-              parsed.uomBase(),
-              parsed.description(),
-              parsed.uoms(),
-              createOnly);
-          if (before == null) {
-            created++;
-          } else {
-            updated++;
+        boolean written =
+            writer.add(
+                new ItemWrite(
+                    rowNumber,
+                    parsed.code(),
+                    parsed.name(),
+                    parsed.status(),
+                    parsed.categoryName(),
+                    parsed.uomBase(),
+                    parsed.description(),
+                    parsed.uoms(),
+                    null));
+        if (written) {
+          progress.update(rowNumber - 1, writer.created(), writer.updated(), errors);
+          if (progress.cancelled()) {
+            break;
           }
-        } catch (ApiException ex) {
-          String message =
-              switch (ex.getErrorCode()) {
-                case "create_only_conflict" -> "Item already exists in create-only mode";
-                case "code_conflict" -> "Item code already exists";
-                default -> "Failed to import item: " + ex.getErrorCode();
-              };
-          errors.add(error(rowNumber, "code", message));
-        } catch (DataIntegrityViolationException ex) {
-          errors.add(error(rowNumber, "code", "Item code already exists"));
-        } catch (RuntimeException ex) {
-          log.error("Unexpected import error at row {}", rowNumber, ex);
-          errors.add(error(rowNumber, "row", "Unexpected error while importing this row"));
         }
       }
+      writer.flush();
+      progress.update(rowNumber - 1, writer.created(), writer.updated(), errors);
     } catch (IOException e) {
       log.error("Failed to read CSV import file", e);
       return badRequest(error("file", "Failed to read CSV file"));
     }
 
+    errors.sort(Comparator.comparing(ImportResultErrorsInner::getRow));
     return new CsvImportExecution(
-        HttpStatus.OK, new ImportResult().created(created).updated(updated).errors(errors));
+        HttpStatus.OK,
+        new ImportResult().created(writer.created()).updated(writer.updated()).errors(errors));
   }
 
   private static ParsedRow parseRow(
@@ -0,0 +1,124 @@
+package com.craftify.backend.service.csv;
+
+import com.craftify.backend.config.ExportProperties;
+import com.craftify.backend.model.BomDetail;
+import com.craftify.backend.model.InventoryDetail;
+import com.craftify.backend.model.ItemDetail;
+import com.craftify.backend.service.BomService;
+import com.craftify.backend.service.InventoryService;
+import com.craftify.backend.service.ItemService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Newline-delimited JSON exports of all of the caller's items, BOMs (with components) and
+ * inventory: one API detail object per line, streamed from a database cursor like the CSV exports.
+ */
+@Service
+public class NdjsonExportService {
+
+  private static final Logger log = LoggerFactory.getLogger(NdjsonExportService.class);
+
+  /** Feeds every exported row to {@code action}. */
+  @FunctionalInterface
+  private interface Scan<T> {
+    void forEach(Consumer<T> action);
+  }
+
+  private final ItemService itemService;
+  private final BomService bomService;
+  private final InventoryService inventoryService;
+  private final ExportProperties exportProperties;
+  private final ObjectWriter writer;
+
+  public NdjsonExportService(
+      ItemService itemService,
+      BomService bomService,
+      InventoryService inventoryService,
+      ExportProperties exportProperties,
+      ObjectMapper objectMapper) {
+    this.itemService = itemService;
+    this.bomService = bomService;
+    this.inventoryService = inventoryService;
+    this.exportProperties = exportProperties;
+    this.writer =
+        objectMapper
+            .writer()
+            .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .withRootValueSeparator("\n");
+  }
+
+  public CsvExportPayload exportItems(CsvExportOptions options) {
+    log.info(
+        "GET /items:export-ndjson mode={} compression={}", options.mode(), options.compression());
+    int fetchSize = exportProperties.getFetchSize();
+    return export(
+        options,
+        "items",
+        ItemDetail.class,
+        action -> itemService.scanForExport(null, null, null, null, List.of(), fetchSize, action));
+  }
+
+  public CsvExportPayload exportBoms(CsvExportOptions options) {
+    log.info(
+        "GET /boms:export-ndjson mode={} compression={}", options.mode(), options.compression());
+    int fetchSize = exportProperties.getFetchSize();
+    return export(
+        options,
+        "boms",
+        BomDetail.class,
+        action -> bomService.scanForExport(null, null, List.of(), fetchSize, action));
+  }
+
+  public CsvExportPayload exportInventory(CsvExportOptions options) {
+    log.info(
+        "GET /inventory:export-ndjson mode={} compression={}",
+        options.mode(),
+        options.compression());
+    int fetchSize = exportProperties.getFetchSize();
+    return export(
+        options,
+        "inventory",
+        InventoryDetail.class,
+        action -> inventoryService.scanForExport(null, null, null, fetchSize, action));
+  }
+
+  private <T> CsvExportPayload export(
+      CsvExportOptions options, String name, Class<T> type, Scan<T> scan) {
+    String filename = name + "_" + LocalDate.now() + ".ndjson";
+    return Exports.ndjson(
+        options, filename, name + "-export-", out -> writeLines(out, type, scan));
+  }
+
+  /** One JSON value per line, each line newline-terminated. */
+  private <T> void writeLines(OutputStream out, Class<T> type, Scan<T> scan) throws IOException {
+    boolean[] any = {false};
+    try (SequenceWriter lines = writer.forType(type).writeValues(out)) {
+      scan.forEach(
+          value -> {
+            try {
+              lines.write(value);
+              any[0] = true;
+            } catch (IOException ex) {
+              throw new UncheckedIOException(ex);
+            }
+          });
+    }
+    if (any[0]) {
+      out.write('\n');
+    }
+  }
+}
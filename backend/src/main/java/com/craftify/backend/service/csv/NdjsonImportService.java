@@ -0,0 +1,370 @@
+package com.craftify.backend.service.csv;
+
+import com.craftify.backend.config.BomImportProperties;
+import com.craftify.backend.config.ItemBatchProperties;
+import com.craftify.backend.model.BomComponent;
+import com.craftify.backend.model.BomDetail;
+import com.craftify.backend.model.ImportResult;
+import com.craftify.backend.model.ImportResultErrorsInner;
+import com.craftify.backend.model.InventoryDetail;
+import com.craftify.backend.model.ItemsBatchUpsertRow;
+import com.craftify.backend.service.BomService;
+import com.craftify.backend.service.BomService.BomImport;
+import com.craftify.backend.service.InventoryBulkImportService;
+import com.craftify.backend.service.InventoryBulkImportService.StagedRow;
+import com.craftify.backend.service.InventoryBulkImportService.Violation;
+import com.craftify.backend.service.ItemBatchService;
+import com.craftify.backend.service.ItemBatchService.ExistingItems;
+import com.craftify.backend.service.ItemBatchService.ItemWrite;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Newline-delimited JSON imports: one object per line, in the shape the NDJSON exports write, so a
+ * file round-trips without the CSV escaping. The body is read a line at a time, at most {@link
+ * #MAX_LINE_LENGTH} characters each, and each line is bound on its own, so a malformed or oversized
+ * line is reported with its line number and the rest still imports. Lines feed the same batched
+ * writers as the CSV imports: items the chunked item writer, BOMs {@link BomChunkWriter}, and
+ * inventory rows the COPY staging of {@link InventoryBulkImportService}, which applies the file as
+ * a whole.
+ */
+@Service
+public class NdjsonImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(NdjsonImportService.class);
+
+  /** Longest line accepted, in characters; a longer line is skipped and reported. */
+  static final int MAX_LINE_LENGTH = 4 * 1024 * 1024;
+
+  @FunctionalInterface
+  private interface LineHandler<T> {
+    void handle(T value, int lineNumber) throws IOException;
+  }
+
+  private final ItemBatchService itemBatchService;
+  private final ItemBatchProperties batchProperties;
+  private final BomService bomService;
+  private final BomImportProperties bomImportProperties;
+  private final InventoryBulkImportService inventoryBulkImportService;
+  private final ObjectReader reader;
+
+  public NdjsonImportService(
+      ItemBatchService itemBatchService,
+      ItemBatchProperties batchProperties,
+      BomService bomService,
+      BomImportProperties bomImportProperties,
+      InventoryBulkImportService inventoryBulkImportService,
+      ObjectMapper objectMapper) {
+    this.itemBatchService = itemBatchService;
+    this.batchProperties = batchProperties;
+    this.bomService = bomService;
+    this.bomImportProperties = bomImportProperties;
+    this.inventoryBulkImportService = inventoryBulkImportService;
+    // Exported lines carry read-only fields (createdAt, version, ...) that imports ignore.
+    this.reader = objectMapper.reader().without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  }
+
+  public CsvImportExecution importItems(InputStream body, String mode) {
+    log.info("POST /items:import-ndjson mode={}", mode);
+    Boolean createOnly = parseMode(mode);
+    if (createOnly == null) {
+      return badRequest(error(1, "mode", "Mode must be 'upsert' or 'create-only'"));
+    }
+
+    List<ImportResultErrorsInner> errors = new ArrayList<>();
+    ItemChunkWriter writer =
+        new ItemChunkWriter(
+            itemBatchService,
+            createOnly ? ExistingItems.REJECT : ExistingItems.OVERWRITE,
+            batchProperties.getImportChunkSize(),
+            errors);
+    LineHandler<ItemsBatchUpsertRow> handler =
+        (row, line) -> {
+          String problem = itemBatchService.validate(row);
+          if (problem != null) {
+            errors.add(error(line, "item", problem));
+            return;
+          }
+          writer.add(
+              new ItemWrite(
+                  line,
+                  row.getCode() == null || row.getCode().isBlank() ? null : row.getCode().trim(),
+                  row.getName().trim(),
+                  row.getStatus(),
+                  row.getCategoryName().trim(),
+                  row.getUomBase().trim(),
+                  row.getDescription() == null ? null : row.getDescription().trim(),
+                  row.getUoms(),
+                  null));
+        };
+    try {
+      readLines(body, ItemsBatchUpsertRow.class, handler, errors);
+    } catch (IOException ex) {
+      log.error("Failed to read NDJSON import body", ex);
+      return badRequest(error(1, "body", "Failed to read NDJSON body"));
+    }
+    writer.flush();
+    return result(writer.created(), writer.updated(), errors);
+  }
+
+  public CsvImportExecution importBoms(InputStream body, String mode) {
+    log.info("POST /boms:import-ndjson mode={}", mode);
+    Boolean createOnly = parseMode(mode);
+    if (createOnly == null) {
+      return badRequest(error(1, "mode", "Mode must be 'upsert' or 'create-only'"));
+    }
+
+    List<ImportResultErrorsInner> errors = new ArrayList<>();
+    BomChunkWriter writer =
+        new BomChunkWriter(bomService, createOnly, bomImportProperties.getChunkSize(), errors);
+    LineHandler<BomDetail> handler =
+        (bom, line) -> {
+          if (validBom(bom, line, errors)) {
+            writer.add(
+                new BomImport(
+                    line,
+                    bom.getId(),
+                    bom.getProductId(),
+                    bom.getProductName(),
+                    bom.getRevision(),
+                    bom.getStatus(),
+                    bom.getDescription(),
+                    bom.getNote(),
+                    Objects.requireNonNullElse(bom.getComponents(), List.of())));
+          }
+        };
+    try {
+      readLines(body, BomDetail.class, handler, errors);
+    } catch (IOException ex) {
+      log.error("Failed to read NDJSON import body", ex);
+      return badRequest(error(1, "body", "Failed to read NDJSON body"));
+    }
+    writer.flush();
+    return result(writer.created(), writer.updated(), errors);
+  }
+
+  public CsvImportExecution importInventory(InputStream body, String mode) {
+    log.info("POST /inventory:import-ndjson mode={}", mode);
+    Boolean createOnly = parseMode(mode);
+    if (createOnly == null) {
+      return badRequest(error(1, "mode", "Mode must be 'upsert' or 'create-only'"));
+    }
+
+    List<ImportResultErrorsInner> errors = new ArrayList<>();
+    InventoryBulkImportService.Result imported;
+    try {
+      imported =
+          inventoryBulkImportService.importRows(
+              sink -> {
+                readLines(
+                    body,
+                    InventoryDetail.class,
+                    (row, line) -> {
+                      String itemCategory =
+                          isBlank(row.getItemCategoryName())
+                              ? row.getCategoryName()
+                              : row.getItemCategoryName();
+                      StagedRow staged =
+                          new StagedRow(
+                              line,
+                              row.getCode(),
+                              row.getItemId(),
+                              row.getItemName(),
+                              itemCategory,
+                              Boolean.TRUE.equals(row.getCategoryDetached()),
+                              row.getDetachedCategoryName(),
+                              row.getUom(),
+                              row.getAvailable());
+                      if (validInventory(staged, errors)) {
+                        sink.add(staged);
+                      }
+                    },
+                    errors);
+                return true;
+              },
+              createOnly);
+    } catch (IOException ex) {
+      log.error("Failed to read NDJSON import body", ex);
+      return badRequest(error(1, "body", "Failed to read NDJSON body"));
+    }
+    imported
+        .rejected()
+        .forEach(rejected -> errors.add(InventoryCsvImportService.rejectionError(rejected)));
+    return result(imported.created(), imported.updated(), errors);
+  }
+
+  /**
+   * Binds each non-blank line to {@code type} and hands it on; lines that are not a JSON object of
+   * that shape, or longer than {@link #MAX_LINE_LENGTH}, are reported. Only one line is held in
+   * memory at a time.
+   */
+  private <T> void readLines(
+      InputStream body,
+      Class<T> type,
+      LineHandler<T> handler,
+      List<ImportResultErrorsInner> errors)
+      throws IOException {
+    ObjectReader lineReader = reader.forType(type);
+    try (BufferedReader lines =
+        new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+      StringBuilder buffer = new StringBuilder();
+      int lineNumber = 0;
+      LineStatus status;
+      while ((status = readLine(lines, buffer)) != LineStatus.END) {
+        lineNumber++;
+        if (status == LineStatus.TOO_LONG) {
+          errors.add(
+              error(
+                  lineNumber, "line", "Line is longer than " + MAX_LINE_LENGTH + " characters"));
+          continue;
+        }
+        if (lineNumber == 1 && !buffer.isEmpty() && buffer.charAt(0) == '\uFEFF') {
+          buffer.deleteCharAt(0);
+        }
+        String line = buffer.toString();
+        if (line.isBlank()) {
+          continue;
+        }
+        T value;
+        try {
+          value = lineReader.readValue(line);
+        } catch (JsonProcessingException ex) {
+          errors.add(error(lineNumber, "line", "Invalid JSON: " + ex.getOriginalMessage()));
+          continue;
+        }
+        if (value == null) {
+          errors.add(error(lineNumber, "line", "Expected a JSON object"));
+          continue;
+        }
+        handler.handle(value, lineNumber);
+      }
+    }
+  }
+
+  private enum LineStatus {
+    LINE,
+    TOO_LONG,
+    END
+  }
+
+  /**
+   * Reads the next line into {@code buffer} without its terminator. A line longer than {@link
+   * #MAX_LINE_LENGTH} is consumed to its end without being kept and comes back as {@code TOO_LONG}.
+   */
+  private static LineStatus readLine(BufferedReader in, StringBuilder buffer) throws IOException {
+    buffer.setLength(0);
+    int c = in.read();
+    if (c < 0) {
+      return LineStatus.END;
+    }
+    boolean tooLong = false;
+    while (c >= 0 && c != '\n') {
+      if (buffer.length() == MAX_LINE_LENGTH) {
+        tooLong = true;
+        buffer.setLength(0);
+      }
+      if (!tooLong) {
+        buffer.append((char) c);
+      }
+      c = in.read();
+    }
+    int last = buffer.length() - 1;
+    if (last >= 0 && buffer.charAt(last) == '\r') {
+      buffer.setLength(last);
+    }
+    return tooLong ? LineStatus.TOO_LONG : LineStatus.LINE;
+  }
+
+  private static boolean validBom(BomDetail bom, int line, List<ImportResultErrorsInner> errors) {
+    int before = errors.size();
+    if (isBlank(bom.getProductId())) {
+      errors.add(error(line, "productId", "Product ID is required"));
+    }
+    if (isBlank(bom.getRevision())) {
+      errors.add(error(line, "revision", "Revision is required"));
+    }
+    if (bom.getStatus() == null) {
+      errors.add(error(line, "status", "Status must be one of: Draft, Active, Hold, Obsolite"));
+    }
+    List<BomComponent> components = Objects.requireNonNullElse(bom.getComponents(), List.of());
+    for (int i = 0; i < components.size(); i++) {
+      BomComponent c = components.get(i);
+      String field = "components[" + i + "]";
+      if (c == null || isBlank(c.getItemId())) {
+        errors.add(error(line, field + ".itemId", "Component item ID is required"));
+      } else if (c.getQuantity() == null || c.getQuantity() <= 0) {
+        errors.add(error(line, field + ".quantity", "Component quantity must be > 0"));
+      } else if (isBlank(c.getUom())) {
+        errors.add(error(line, field + ".uom", "Component UoM is required"));
+      }
+    }
+    return errors.size() == before;
+  }
+
+  private static boolean validInventory(StagedRow row, List<ImportResultErrorsInner> errors) {
+    int line = row.rowNumber();
+    int before = errors.size();
+    if (isBlank(row.itemId())) {
+      errors.add(error(line, "itemId", "Item Ref is required"));
+    }
+    if (isBlank(row.itemName())) {
+      errors.add(error(line, "itemName", "Item Name is required"));
+    }
+    if (isBlank(row.itemCategoryName())) {
+      errors.add(error(line, "categoryName", "Category is required"));
+    }
+    if (isBlank(row.uom())) {
+      errors.add(error(line, "uom", "UoM is required"));
+    }
+    if (row.available() == null) {
+      errors.add(error(line, "available", "Available must be a valid number"));
+    }
+    for (Violation violation : row.violations()) {
+      errors.add(error(line, violation.field(), violation.message()));
+    }
+    return errors.size() == before;
+  }
+
+  /** True for create-only, false for upsert, null when {@code mode} is neither. */
+  private static Boolean parseMode(String mode) {
+    if (mode == null || mode.isBlank() || "upsert".equalsIgnoreCase(mode)) {
+      return false;
+    }
+    return "create-only".equalsIgnoreCase(mode) ? true : null;
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
+  }
+
+  private static CsvImportExecution result(
+      int created, int updated, List<ImportResultErrorsInner> errors) {
+    errors.sort(Comparator.comparing(ImportResultErrorsInner::getRow));
+    return new CsvImportExecution(
+        HttpStatus.OK, new ImportResult().created(created).updated(updated).errors(errors));
+  }
+
+  private static CsvImportExecution badRequest(ImportResultErrorsInner error) {
+    return new CsvImportExecution(
+        HttpStatus.BAD_REQUEST, new ImportResult().created(0).updated(0).errors(List.of(error)));
+  }
+
+  private static ImportResultErrorsInner error(int row, String field, String message) {
+    return new ImportResultErrorsInner().row(row).field(field).message(message);
+  }
+}
@@ -0,0 +1,130 @@
+package com.craftify.backend.service.csv;
+
+import com.craftify.backend.model.ImportResult;
+import com.craftify.backend.model.ImportResultErrorsInner;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.ObjIntConsumer;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Dry-run validation for the CSV imports ({@code mode=validate}).
+ *
+ * <p>Records are read on the calling thread, which CSV quoting requires, and handed out in slices
+ * of {@link #SLICE_ROWS}. Each slice is checked on the common fork-join pool while the next one is
+ * read. Row checks must not touch the database or the security context; anything they need is
+ * loaded up front. Accepted rows are passed back in file order on the calling thread.
+ */
+final class ParallelRowValidation {
+
+  static final int SLICE_ROWS = 8192;
+
+  /** Parses and checks one row, adding its problems to {@code errors}. */
+  @FunctionalInterface
+  interface RowCheck<T> {
+    /** Returns the parsed row, or null when it is invalid. */
+    T check(List<String> cells, int rowNumber, List<ImportResultErrorsInner> errors);
+  }
+
+  private ParallelRowValidation() {}
+
+  /**
+   * Checks all remaining {@code records}, collecting row errors into {@code errors} and passing
+   * valid rows with their row numbers to {@code accept}. Stops early once {@code progress} is
+   * cancelled.
+   */
+  static <T> void run(
+      Iterator<CSVRecord> records,
+      RowCheck<T> check,
+      ObjIntConsumer<T> accept,
+      List<ImportResultErrorsInner> errors,
+      ImportProgress progress) {
+    int rowNumber = 1;
+    CompletableFuture<List<Checked<T>>> pending = null;
+    while (records.hasNext()) {
+      List<Row> slice = new ArrayList<>(SLICE_ROWS);
+      while (records.hasNext() && slice.size() < SLICE_ROWS) {
+        CSVRecord record = records.next();
+        rowNumber++;
+        if (!isBlankRecord(record)) {
+          slice.add(new Row(rowNumber, toCells(record)));
+        }
+      }
+      CompletableFuture<List<Checked<T>>> next =
+          CompletableFuture.supplyAsync(
+              () -> slice.parallelStream().map(row -> checkRow(check, row)).toList());
+      drain(pending, accept, errors);
+      pending = next;
+      progress.update(rowNumber - 1, 0, 0, errors);
+      if (progress.cancelled()) {
+        break;
+      }
+    }
+    drain(pending, accept, errors);
+    progress.update(rowNumber - 1, 0, 0, errors);
+  }
+
+  /** The result of a validation run: nothing created or updated, errors in row order. */
+  static CsvImportExecution result(List<ImportResultErrorsInner> errors) {
+    errors.sort(Comparator.comparing(ImportResultErrorsInner::getRow));
+    return new CsvImportExecution(
+        HttpStatus.OK, new ImportResult().created(0).updated(0).errors(errors));
+  }
+
+  private static <T> Checked<T> checkRow(RowCheck<T> check, Row row) {
+    List<ImportResultErrorsInner> rowErrors = new ArrayList<>(0);
+    T value = check.check(row.cells(), row.number(), rowErrors);
+    return new Checked<>(row.number(), value, rowErrors);
+  }
+
+  private static <T> void drain(
+      CompletableFuture<List<Checked<T>>> pending,
+      ObjIntConsumer<T> accept,
+      List<ImportResultErrorsInner> errors) {
+    if (pending == null) {
+      return;
+    }
+    List<Checked<T>> checked;
+    try {
+      checked = pending.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+    for (Checked<T> row : checked) {
+      errors.addAll(row.errors());
+      if (row.value() != null) {
+        accept.accept(row.value(), row.number());
+      }
+    }
+  }
+
+  private static List<String> toCells(CSVRecord record) {
+    List<String> out = new ArrayList<>(record.size());
+    record.forEach(out::add);
+    return out;
+  }
+
+  private static boolean isBlankRecord(CSVRecord record) {
+    if (record == null || record.size() == 0) {
+      return true;
+    }
+    for (String value : record) {
+      if (value != null && !value.isBlank()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private record Row(int number, List<String> cells) {}
+
+  private record Checked<T>(int number, T value, List<ImportResultErrorsInner> errors) {}
+}
@@ -0,0 +1,267 @@
+package com.craftify.backend.service.csv;
+
+import com.craftify.backend.config.ImportJobProperties;
+import com.craftify.backend.config.UploadProperties;
+import com.craftify.backend.error.ApiException;
+import com.craftify.backend.model.ImportJob;
+import com.craftify.backend.model.UploadSession;
+import com.craftify.backend.model.UploadSessionCreateRequest;
+import com.craftify.backend.persistence.entity.UploadSessionEntity;
+import com.craftify.backend.persistence.repository.UploadSessionRepository;
+import com.craftify.backend.service.CurrentUserService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resumable uploads of large import files.
+ *
+ * <p>A session fixes the file size and chunk size up front. Each chunk is streamed from the request
+ * straight into its place in the session file with a positional {@link FileChannel} write, hashed
+ * on the way, and only recorded once its SHA-256 matches the one the client sent; sending a chunk
+ * again replaces it. Finalizing hands the assembled file to {@link ImportJobService}. Like import
+ * jobs, the file lives on the node that created the session, so chunks must reach that node.
+ */
+@Service
+public class ResumableUploadService {
+
+  private static final Logger log = LoggerFactory.getLogger(ResumableUploadService.class);
+
+  private static final int MIN_CHUNK_SIZE = 64 * 1024;
+  private static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-fA-F]{64}");
+
+  private final UploadSessionRepository uploadSessionRepository;
+  private final ImportJobService importJobService;
+  private final CurrentUserService currentUserService;
+  private final UploadProperties properties;
+  private final Path storageDir;
+
+  public ResumableUploadService(
+      UploadSessionRepository uploadSessionRepository,
+      ImportJobService importJobService,
+      CurrentUserService currentUserService,
+      UploadProperties properties,
+      ImportJobProperties importJobProperties) {
+    this.uploadSessionRepository = uploadSessionRepository;
+    this.importJobService = importJobService;
+    this.currentUserService = currentUserService;
+    this.properties = properties;
+    this.storageDir = Path.of(importJobProperties.getStorageDir(), "uploads");
+  }
+
+  /**
+   * Expired sessions whose file is on this node are removed with their file, at startup and then
+   * every {@code craftify.uploads.cleanup-interval}.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+      fixedDelayString = "${craftify.uploads.cleanup-interval:1h}",
+      initialDelayString = "${craftify.uploads.cleanup-interval:1h}")
+  public void deleteExpired() {
+    for (UploadSessionEntity session :
+        uploadSessionRepository.findByExpiresAtBefore(OffsetDateTime.now())) {
+      Path file = Path.of(session.getStoragePath());
+      if (Files.exists(file)) {
+        uploadSessionRepository.delete(session);
+        deleteQuietly(file);
+      }
+    }
+  }
+
+  public UploadSession create(UploadSessionCreateRequest req) {
+    String ownerSub = currentUserService.requiredSub();
+    long size = req.getSize() == null ? 0 : req.getSize();
+    if (size <= 0 || size > properties.getMaxFileSize()) {
+      throw ApiException.badRequest("invalid_upload_size");
+    }
+    int chunkSize =
+        req.getChunkSize() == null ? properties.getDefaultChunkSize() : req.getChunkSize();
+    if (chunkSize < MIN_CHUNK_SIZE || chunkSize > MAX_CHUNK_SIZE) {
+      throw ApiException.badRequest("invalid_chunk_size");
+    }
+    deleteExpired();
+
+    Path file = createFile();
+    UploadSessionEntity session = new UploadSessionEntity();
+    session.setOwnerSub(ownerSub);
+    session.setFileName(req.getFileName());
+    session.setFileSize(size);
+    session.setChunkSize(chunkSize);
+    session.setChunkCount((int) ((size + chunkSize - 1) / chunkSize));
+    session.setStoragePath(file.toString());
+    session.setExpiresAt(OffsetDateTime.now().plus(properties.getTtl()));
+    UploadSessionEntity saved = uploadSessionRepository.save(session);
+    log.info(
+        "Started upload {} fileName={} size={} chunks={}",
+        saved.getId(),
+        saved.getFileName(),
+        size,
+        saved.getChunkCount());
+    return toModel(saved);
+  }
+
+  public UploadSession get(UUID id) {
+    String ownerSub = currentUserService.requiredSub();
+    return uploadSessionRepository
+        .findByIdAndOwnerSub(id, ownerSub)
+        .filter(session -> !isExpired(session))
+        .map(this::toModel)
+        .orElse(null);
+  }
+
+  /**
+   * Writes chunk {@code index} from {@code body}. The body must have exactly the chunk's length and
+   * the SHA-256 given as {@code checksum} (hex); otherwise the chunk stays missing.
+   */
+  public void putChunk(UUID id, int index, String checksum, InputStream body) {
+    UploadSessionEntity session = requireSession(id);
+    if (index < 0 || index >= session.getChunkCount()) {
+      throw ApiException.badRequest("invalid_chunk_index");
+    }
+    if (checksum == null || !SHA256_HEX.matcher(checksum.trim()).matches()) {
+      throw ApiException.badRequest("invalid_chunk_checksum");
+    }
+    Path file = requireFile(session);
+    uploadSessionRepository.forgetChunk(id, index);
+
+    long length = session.chunkLength(index);
+    long position = (long) index * session.getChunkSize();
+    MessageDigest digest = sha256();
+    long written = 0;
+    try (ReadableByteChannel in = Channels.newChannel(body);
+        FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+      while (in.read(buffer) >= 0) {
+        if (written + buffer.position() > length) {
+          throw ApiException.badRequest("chunk_size_mismatch");
+        }
+        buffer.flip();
+        digest.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+          written += out.write(buffer, position + written);
+        }
+        buffer.clear();
+      }
+    } catch (IOException ex) {
+      log.warn("Upload {} chunk {} failed after {} bytes: {}", id, index, written, ex.getMessage());
+      throw ApiException.badRequest("upload_chunk_failed");
+    }
+    if (written != length) {
+      throw ApiException.badRequest("chunk_size_mismatch");
+    }
+    String actual = HexFormat.of().formatHex(digest.digest());
+    if (!actual.equals(checksum.trim().toLowerCase(Locale.ROOT))) {
+      throw ApiException.badRequest("chunk_checksum_mismatch");
+    }
+    uploadSessionRepository.recordChunk(id, index, actual);
+  }
+
+  /**
+   * Starts an import of the assembled file once every chunk has arrived. The session ends here;
+   * when the import queue is full it is kept so finalizing can be retried.
+   */
+  public ImportJob finalizeUpload(UUID id, String type, String mode) {
+    UploadSessionEntity session = requireSession(id);
+    if (uploadSessionRepository.countReceivedChunks(id) < session.getChunkCount()) {
+      throw ApiException.conflict("upload_incomplete");
+    }
+    Path file = requireFile(session);
+    ImportJob job =
+        importJobService.submit(type, file, session.getFileName(), session.getFileSize(), mode);
+    uploadSessionRepository.delete(session);
+    log.info("Finalized upload {} as import job {}", id, job.getId());
+    return job;
+  }
+
+  public void abort(UUID id) {
+    UploadSessionEntity session = requireSession(id);
+    uploadSessionRepository.delete(session);
+    deleteQuietly(Path.of(session.getStoragePath()));
+  }
+
+  /** The caller's session; an expired one is gone even before the cleanup removes it. */
+  private UploadSessionEntity requireSession(UUID id) {
+    String ownerSub = currentUserService.requiredSub();
+    UploadSessionEntity session =
+        uploadSessionRepository
+            .findByIdAndOwnerSub(id, ownerSub)
+            .orElseThrow(() -> ApiException.notFound("upload_not_found"));
+    if (isExpired(session)) {
+      throw ApiException.notFound("upload_expired");
+    }
+    return session;
+  }
+
+  private static boolean isExpired(UploadSessionEntity session) {
+    return session.getExpiresAt() != null && session.getExpiresAt().isBefore(OffsetDateTime.now());
+  }
+
+  private static Path requireFile(UploadSessionEntity session) {
+    Path file = Path.of(session.getStoragePath());
+    if (!Files.exists(file)) {
+      // Created on another node, or already handed to an import.
+      throw ApiException.conflict("upload_file_missing");
+    }
+    return file;
+  }
+
+  private Path createFile() {
+    try {
+      Files.createDirectories(storageDir);
+      return Files.createFile(storageDir.resolve(UUID.randomUUID() + ".part"));
+    } catch (IOException ex) {
+      log.error("Failed to create upload file", ex);
+      throw ApiException.internalServerError("upload_create_failed");
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ex) {
+      log.warn("Failed to delete upload file {}", file, ex);
+    }
+  }
+
+  private UploadSession toModel(UploadSessionEntity entity) {
+    UploadSession session = new UploadSession();
+    session.setId(entity.getId());
+    session.setFileName(entity.getFileName());
+    session.setSize(entity.getFileSize());
+    session.setChunkSize(entity.getChunkSize());
+    session.setChunkCount(entity.getChunkCount());
+    session.setReceivedChunks(uploadSessionRepository.findReceivedChunks(entity.getId()));
+    session.setCreatedAt(entity.getCreatedAt());
+    session.setExpiresAt(entity.getExpiresAt());
+    return session;
+  }
+}
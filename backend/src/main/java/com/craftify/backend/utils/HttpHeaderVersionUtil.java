@@ -1,5 +1,10 @@
 package com.craftify.backend.utils;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
 public final class HttpHeaderVersionUtil {
 
   private HttpHeaderVersionUtil() {}
@@ -26,4 +31,22 @@ public final class HttpHeaderVersionUtil {
     int normalized = (version == null) ? 0 : Math.max(version, 0);
     return "W\"" + normalized + "\"";
   }
+
+  /**
+   * Weak ETag for a listing of a versioned collection, e.g. {@code W/"items-42-1f0c..."}. The
+   * variant (owner and query parameters) is hashed so each page and filter gets its own tag.
+   */
+  public static String toCollectionEtag(String collection, long version, String variant) {
+    return "W/\"" + collection + "-" + version + "-" + digest(variant) + "\"";
+  }
+
+  private static String digest(String value) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash, 0, 8);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
 }
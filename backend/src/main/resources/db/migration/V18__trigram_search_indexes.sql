@@ -0,0 +1,26 @@
+-- Trigram indexes for the list `q` filters.
+-- The LOWER() btree indexes from V1 cannot serve '%term%' or fuzzy matches; pg_trgm GIN indexes can.
+-- btree_gin lets owner_sub live in the same GIN index, so a tenant's search never touches other tenants' postings.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS idx_items_code_trgm
+  ON items USING gin (owner_sub, LOWER(code) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm
+  ON items USING gin (owner_sub, LOWER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_category_trgm
+  ON items USING gin (owner_sub, LOWER(category_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_boms_code_trgm
+  ON boms USING gin (owner_sub, LOWER(code) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_boms_product_id_trgm
+  ON boms USING gin (owner_sub, LOWER(product_id) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_boms_product_name_trgm
+  ON boms USING gin (owner_sub, LOWER(product_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_code_trgm
+  ON inventory USING gin (owner_sub, LOWER(code) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_inventory_item_id_trgm
+  ON inventory USING gin (owner_sub, LOWER(item_id) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_inventory_item_name_trgm
+  ON inventory USING gin (owner_sub, LOWER(item_name) gin_trgm_ops);
@@ -0,0 +1,58 @@
+-- Reverse index of item usages so "is this item in use?" is one indexed lookup instead of
+-- hydrating every BOM and regex-scanning every queued work item snapshot.
+-- One row per (source, reference kind, item); maintained by the services that write BOMs and work items.
+CREATE TABLE IF NOT EXISTS item_references (
+  id UUID PRIMARY KEY,
+  owner_sub VARCHAR(191) NOT NULL,
+  item_code VARCHAR(64) NOT NULL,
+  source_type VARCHAR(32) NOT NULL,
+  source_id UUID NOT NULL,
+  source_code VARCHAR(64) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_references_owner_item
+  ON item_references(owner_sub, item_code);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_item_references_source_item
+  ON item_references(source_id, source_type, item_code);
+
+INSERT INTO item_references (id, owner_sub, item_code, source_type, source_id, source_code)
+SELECT gen_random_uuid(), b.owner_sub, UPPER(TRIM(b.product_id)), 'BOM_PRODUCT', b.id, b.code
+FROM boms b
+WHERE b.owner_sub IS NOT NULL AND TRIM(b.product_id) <> ''
+ON CONFLICT DO NOTHING;
+
+INSERT INTO item_references (id, owner_sub, item_code, source_type, source_id, source_code)
+SELECT gen_random_uuid(), x.owner_sub, x.item_code, 'BOM_COMPONENT', x.bom_id, x.code
+FROM (
+  SELECT DISTINCT b.owner_sub, UPPER(TRIM(c.item_id)) AS item_code, b.id AS bom_id, b.code
+  FROM bom_components c
+  JOIN boms b ON b.id = c.bom_id
+  WHERE b.owner_sub IS NOT NULL AND TRIM(c.item_id) <> ''
+) x
+ON CONFLICT DO NOTHING;
+
+INSERT INTO item_references (id, owner_sub, item_code, source_type, source_id, source_code)
+SELECT gen_random_uuid(), w.owner_sub, UPPER(TRIM(w.output_item_id)), 'WORK_ITEM_OUTPUT', w.id, w.code
+FROM work_items w
+WHERE w.status = 'QUEUED'
+  AND w.owner_sub IS NOT NULL
+  AND TRIM(w.output_item_id) <> ''
+  AND UPPER(TRIM(w.output_item_id)) <> 'UNKNOWN'
+ON CONFLICT DO NOTHING;
+
+INSERT INTO item_references (id, owner_sub, item_code, source_type, source_id, source_code)
+SELECT gen_random_uuid(), x.owner_sub, x.item_code, 'WORK_ITEM_COMPONENT', x.work_item_id, x.code
+FROM (
+  SELECT DISTINCT w.owner_sub, UPPER(TRIM(a.value ->> 'itemId')) AS item_code, w.id AS work_item_id, w.code
+  FROM work_items w
+  CROSS JOIN LATERAL jsonb_array_elements(
+    CASE
+      WHEN w.allocated_components_json ~ '^\s*\[' THEN w.allocated_components_json::jsonb
+      ELSE '[]'::jsonb
+    END) a
+  WHERE w.status = 'QUEUED'
+    AND w.owner_sub IS NOT NULL
+    AND COALESCE(TRIM(a.value ->> 'itemId'), '') <> ''
+) x
+ON CONFLICT DO NOTHING;
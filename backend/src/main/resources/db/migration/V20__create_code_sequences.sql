@@ -0,0 +1,37 @@
+-- Per-owner, per-prefix counters for generated business codes (ITM-001, BOM-001, ...).
+-- next_value is the first number not yet handed out; app nodes reserve blocks with an atomic
+-- UPDATE ... RETURNING, so concurrent creates never compute the same code.
+CREATE TABLE IF NOT EXISTS code_sequences (
+  owner_sub VARCHAR(191) NOT NULL,
+  prefix VARCHAR(16) NOT NULL,
+  next_value BIGINT NOT NULL,
+  PRIMARY KEY (owner_sub, prefix)
+);
+
+INSERT INTO code_sequences (owner_sub, prefix, next_value)
+SELECT owner_sub, 'ITM-', COALESCE(MAX(CAST(SUBSTRING(code FROM '[0-9]+$') AS BIGINT)), 0) + 1
+FROM items
+WHERE owner_sub IS NOT NULL AND code LIKE 'ITM-%'
+GROUP BY owner_sub
+ON CONFLICT DO NOTHING;
+
+INSERT INTO code_sequences (owner_sub, prefix, next_value)
+SELECT owner_sub, 'BOM-', COALESCE(MAX(CAST(SUBSTRING(code FROM '[0-9]+$') AS BIGINT)), 0) + 1
+FROM boms
+WHERE owner_sub IS NOT NULL AND code LIKE 'BOM-%'
+GROUP BY owner_sub
+ON CONFLICT DO NOTHING;
+
+INSERT INTO code_sequences (owner_sub, prefix, next_value)
+SELECT owner_sub, 'INV-', COALESCE(MAX(CAST(SUBSTRING(code FROM '[0-9]+$') AS BIGINT)), 0) + 1
+FROM inventory
+WHERE owner_sub IS NOT NULL AND code LIKE 'INV-%'
+GROUP BY owner_sub
+ON CONFLICT DO NOTHING;
+
+INSERT INTO code_sequences (owner_sub, prefix, next_value)
+SELECT owner_sub, 'WI-', COALESCE(MAX(CAST(SUBSTRING(code FROM '[0-9]+$') AS BIGINT)), 0) + 1
+FROM work_items
+WHERE owner_sub IS NOT NULL AND code LIKE 'WI-%'
+GROUP BY owner_sub
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,9 @@
+-- Per-owner data version of each collection (items, boms, ...). Every committed write bumps the
+-- version of the collections it touched, so any node can tell whether something it cached for an
+-- owner is still current with a single primary-key read.
+CREATE TABLE IF NOT EXISTS collection_versions (
+  owner_sub VARCHAR(191) NOT NULL,
+  collection VARCHAR(32) NOT NULL,
+  version BIGINT NOT NULL,
+  PRIMARY KEY (owner_sub, collection)
+);
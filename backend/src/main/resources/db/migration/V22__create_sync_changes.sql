@@ -0,0 +1,80 @@
+-- Change feed for delta sync of items, boms and inventory.
+-- One row per (owner, collection, code) holding the latest change: an upsert, or a tombstone when
+-- the row was deleted or its code changed. txid is the id of the writing transaction; readers only
+-- return rows below the xmin of their snapshot, so a change can never become visible behind a
+-- token a client already holds.
+CREATE TABLE IF NOT EXISTS sync_changes (
+  owner_sub VARCHAR(191) NOT NULL,
+  collection VARCHAR(32) NOT NULL,
+  code VARCHAR(64) NOT NULL,
+  deleted BOOLEAN NOT NULL,
+  txid BIGINT NOT NULL,
+  changed_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  PRIMARY KEY (owner_sub, collection, code)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_changes_feed
+  ON sync_changes(owner_sub, collection, txid, code);
+
+CREATE OR REPLACE FUNCTION put_sync_change(
+  p_owner_sub VARCHAR, p_collection VARCHAR, p_code VARCHAR, p_deleted BOOLEAN)
+RETURNS void AS $$
+  INSERT INTO sync_changes (owner_sub, collection, code, deleted, txid, changed_at)
+  VALUES (p_owner_sub, p_collection, p_code, p_deleted, pg_current_xact_id()::text::bigint, now())
+  ON CONFLICT (owner_sub, collection, code) DO UPDATE
+    SET deleted = EXCLUDED.deleted, txid = EXCLUDED.txid, changed_at = EXCLUDED.changed_at;
+$$ LANGUAGE sql;
+
+-- TG_ARGV[0] is the collection name, matching collection_versions.collection.
+CREATE OR REPLACE FUNCTION record_sync_change() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'DELETE' THEN
+    IF OLD.owner_sub IS NOT NULL THEN
+      PERFORM put_sync_change(OLD.owner_sub, TG_ARGV[0], OLD.code, TRUE);
+    END IF;
+    RETURN NULL;
+  END IF;
+  IF TG_OP = 'UPDATE'
+     AND OLD.owner_sub IS NOT NULL
+     AND (OLD.code IS DISTINCT FROM NEW.code OR OLD.owner_sub IS DISTINCT FROM NEW.owner_sub) THEN
+    PERFORM put_sync_change(OLD.owner_sub, TG_ARGV[0], OLD.code, TRUE);
+  END IF;
+  IF NEW.owner_sub IS NOT NULL THEN
+    PERFORM put_sync_change(NEW.owner_sub, TG_ARGV[0], NEW.code, FALSE);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_items_sync_changes ON items;
+CREATE TRIGGER trg_items_sync_changes
+  AFTER INSERT OR UPDATE OR DELETE ON items
+  FOR EACH ROW EXECUTE FUNCTION record_sync_change('items');
+
+DROP TRIGGER IF EXISTS trg_boms_sync_changes ON boms;
+CREATE TRIGGER trg_boms_sync_changes
+  AFTER INSERT OR UPDATE OR DELETE ON boms
+  FOR EACH ROW EXECUTE FUNCTION record_sync_change('boms');
+
+DROP TRIGGER IF EXISTS trg_inventory_sync_changes ON inventory;
+CREATE TRIGGER trg_inventory_sync_changes
+  AFTER INSERT OR UPDATE OR DELETE ON inventory
+  FOR EACH ROW EXECUTE FUNCTION record_sync_change('inventory');
+
+INSERT INTO sync_changes (owner_sub, collection, code, deleted, txid)
+SELECT owner_sub, 'items', code, FALSE, pg_current_xact_id()::text::bigint
+FROM items
+WHERE owner_sub IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+INSERT INTO sync_changes (owner_sub, collection, code, deleted, txid)
+SELECT owner_sub, 'boms', code, FALSE, pg_current_xact_id()::text::bigint
+FROM boms
+WHERE owner_sub IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+INSERT INTO sync_changes (owner_sub, collection, code, deleted, txid)
+SELECT owner_sub, 'inventory', code, FALSE, pg_current_xact_id()::text::bigint
+FROM inventory
+WHERE owner_sub IS NOT NULL
+ON CONFLICT DO NOTHING;
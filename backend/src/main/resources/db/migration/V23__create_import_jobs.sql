@@ -0,0 +1,26 @@
+-- Background CSV imports. The upload is stored on the node that accepted it and processed there by
+-- a bounded worker pool; this row carries status, progress and the first errors so any node can
+-- answer polls and take cancellation requests.
+CREATE TABLE IF NOT EXISTS import_jobs (
+  id UUID PRIMARY KEY,
+  owner_sub VARCHAR(191) NOT NULL,
+  kind VARCHAR(16) NOT NULL,
+  mode VARCHAR(16) NOT NULL,
+  file_name VARCHAR(255),
+  file_size BIGINT NOT NULL,
+  storage_path VARCHAR(1024) NOT NULL,
+  status VARCHAR(16) NOT NULL,
+  cancel_requested BOOLEAN NOT NULL DEFAULT FALSE,
+  rows_processed INT NOT NULL DEFAULT 0,
+  created_count INT NOT NULL DEFAULT 0,
+  updated_count INT NOT NULL DEFAULT 0,
+  error_count INT NOT NULL DEFAULT 0,
+  errors_json TEXT NOT NULL DEFAULT '[]',
+  message VARCHAR(255),
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  started_at TIMESTAMPTZ,
+  finished_at TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_import_jobs_owner_created
+  ON import_jobs(owner_sub, created_at DESC);
@@ -0,0 +1,24 @@
+-- Resumable uploads for large import files. The file is assembled on the node that created the
+-- session; chunks are recorded here once their checksum has been verified so a client can ask which
+-- ones are still missing after a dropped connection.
+CREATE TABLE IF NOT EXISTS upload_sessions (
+  id UUID PRIMARY KEY,
+  owner_sub VARCHAR(191) NOT NULL,
+  file_name VARCHAR(255),
+  file_size BIGINT NOT NULL,
+  chunk_size INT NOT NULL,
+  chunk_count INT NOT NULL,
+  storage_path VARCHAR(1024) NOT NULL,
+  created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  expires_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_expires_at ON upload_sessions(expires_at);
+
+CREATE TABLE IF NOT EXISTS upload_chunks (
+  upload_id UUID NOT NULL REFERENCES upload_sessions(id) ON DELETE CASCADE,
+  chunk_index INT NOT NULL,
+  sha256 VARCHAR(64) NOT NULL,
+  received_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+  PRIMARY KEY (upload_id, chunk_index)
+);
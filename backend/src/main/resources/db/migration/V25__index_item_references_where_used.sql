@@ -0,0 +1,7 @@
+-- Where-used lookups walk item_references from an item to the BOMs that consume it and on to their
+-- products. bom_components carries no owner, so the owner-scoped reverse index is the entry point;
+-- covering the source columns lets every recursion step be an index-only scan.
+CREATE INDEX IF NOT EXISTS idx_item_references_owner_item_type
+  ON item_references(owner_sub, item_code, source_type) INCLUDE (source_id, source_code);
+
+DROP INDEX IF EXISTS idx_item_references_owner_item;
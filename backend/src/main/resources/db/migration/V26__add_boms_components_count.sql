@@ -0,0 +1,7 @@
+-- The BOM list shows the number of components per BOM. Keeping it on the row lets list queries read
+-- boms alone instead of counting bom_components for every row; BomEntity updates it whenever the
+-- components are replaced.
+ALTER TABLE boms ADD COLUMN IF NOT EXISTS components_count INT NOT NULL DEFAULT 0;
+
+UPDATE boms b
+SET components_count = (SELECT COUNT(*) FROM bom_components c WHERE c.bom_id = b.id);
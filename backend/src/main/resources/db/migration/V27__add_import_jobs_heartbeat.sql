@@ -0,0 +1,8 @@
+-- The node running an import refreshes heartbeat_at while the job is queued or running. A job
+-- whose heartbeat has gone stale lost its node and is failed by whichever node notices, so a
+-- restart of one node never fails jobs that another node sharing the storage directory still runs.
+ALTER TABLE import_jobs ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS idx_import_jobs_active_heartbeat
+  ON import_jobs(heartbeat_at)
+  WHERE status IN ('QUEUED', 'RUNNING');
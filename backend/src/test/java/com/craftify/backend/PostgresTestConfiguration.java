@@ -0,0 +1,21 @@
+package com.craftify.backend;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * PostgreSQL for tests that depend on its behaviour (null ordering, recursive CTEs, advisory locks,
+ * COPY). The schema comes from the Flyway migrations, as in production.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresTestConfiguration {
+
+  @Bean
+  @ServiceConnection
+  PostgreSQLContainer postgres() {
+    return new PostgreSQLContainer(DockerImageName.parse("postgres:16-alpine"));
+  }
+}
@@ -0,0 +1,87 @@
+package com.craftify.backend.persistence.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/** V26 adds {@code boms.components_count} and fills it for the BOMs already stored. */
+@Testcontainers
+class BomsComponentsCountMigrationTest {
+
+  @Container
+  static final PostgreSQLContainer postgres =
+      new PostgreSQLContainer(DockerImageName.parse("postgres:16-alpine"));
+
+  @Test
+  void backfillCountsTheComponentsOfExistingBoms() {
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    migrate(dataSource, "25");
+
+    UUID empty = insertBom(jdbcTemplate, "BF-EMPTY");
+    UUID three = insertBom(jdbcTemplate, "BF-THREE");
+    for (int ord = 0; ord < 3; ord++) {
+      jdbcTemplate.update(
+          """
+          insert into bom_components (bom_id, ord, item_id, quantity, uom)
+          values (?, ?, ?, 1, 'pcs')
+          """,
+          three,
+          ord,
+          "PART-" + ord);
+    }
+
+    migrate(dataSource, "26");
+
+    assertEquals(0, componentsCount(jdbcTemplate, empty));
+    assertEquals(3, componentsCount(jdbcTemplate, three));
+    // The seeded demo BOMs are backfilled too.
+    List<Map<String, Object>> wrong =
+        jdbcTemplate.queryForList(
+            """
+            select b.code from boms b
+            where b.components_count
+              <> (select count(*) from bom_components c where c.bom_id = b.id)
+            """);
+    assertEquals(List.of(), wrong);
+  }
+
+  private static void migrate(DriverManagerDataSource dataSource, String target) {
+    Flyway.configure()
+        .dataSource(dataSource)
+        .locations("classpath:db/migration")
+        .target(target)
+        .load()
+        .migrate();
+  }
+
+  private static UUID insertBom(JdbcTemplate jdbcTemplate, String code) {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        """
+        insert into boms (id, code, product_id, revision, status, owner_sub, created_at,
+          updated_at, version)
+        values (?, ?, 'ITEM-1', '1', 'ACTIVE', 'backfill-owner', now(), now(), 0)
+        """,
+        id,
+        code);
+    return id;
+  }
+
+  private static int componentsCount(JdbcTemplate jdbcTemplate, UUID bomId) {
+    return jdbcTemplate.queryForObject(
+        "select components_count from boms where id = ?", Integer.class, bomId);
+  }
+}
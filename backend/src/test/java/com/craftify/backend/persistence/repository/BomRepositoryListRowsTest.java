@@ -0,0 +1,117 @@
+package com.craftify.backend.persistence.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.craftify.backend.model.BomStatus;
+import com.craftify.backend.persistence.entity.BomComponentEmbeddable;
+import com.craftify.backend.persistence.entity.BomEntity;
+import com.craftify.backend.persistence.projection.BomListRow;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+@DataJpaTest(
+    properties = {
+      "spring.flyway.enabled=false",
+      "spring.jpa.hibernate.ddl-auto=create-drop",
+      "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+      "spring.jpa.properties.hibernate.generate_statistics=true"
+    })
+class BomRepositoryListRowsTest {
+
+  private static final String OWNER = "owner-1";
+
+  @Autowired private BomRepository bomRepository;
+  @Autowired private EntityManager entityManager;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < 50; i++) {
+      bomRepository.save(bom(i, i % 4 + 1));
+    }
+    bomRepository.flush();
+    entityManager.clear();
+    statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void listPageDoesNotQueryComponentsPerRow() {
+    Page<BomListRow> page =
+        bomRepository.findListRows(ownedBy(OWNER), PageRequest.of(0, 20, Sort.by("code")));
+
+    assertEquals(20, page.getNumberOfElements());
+    assertEquals(50, page.getTotalElements());
+    // The rows and the total, whatever the page size.
+    assertEquals(2, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getCollectionFetchCount());
+  }
+
+  @Test
+  void listRowsCarryComponentCounts() {
+    List<BomListRow> rows = bomRepository.findListRows(ownedBy(OWNER), Sort.by("code"), 50);
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    for (BomListRow row : rows) {
+      int index = Integer.parseInt(row.code().substring("BOM-".length()));
+      assertEquals(index % 4 + 1, row.componentsCount());
+    }
+  }
+
+  @Test
+  void replacingComponentsUpdatesTheCount() {
+    BomEntity bom = bomRepository.findByCodeIgnoreCaseAndOwnerSub("BOM-001", OWNER).orElseThrow();
+    bom.setComponents(components(7));
+    bomRepository.flush();
+    entityManager.clear();
+
+    List<BomListRow> rows =
+        bomRepository.findListRows(
+            ownedBy(OWNER).and((root, cq, cb) -> cb.equal(root.get("code"), "BOM-001")),
+            Sort.unsorted(),
+            1);
+
+    assertEquals(7, rows.getFirst().componentsCount());
+  }
+
+  private static Specification<BomEntity> ownedBy(String ownerSub) {
+    return (root, cq, cb) -> cb.equal(root.get("ownerSub"), ownerSub);
+  }
+
+  private static BomEntity bom(int index, int componentCount) {
+    BomEntity bom = new BomEntity();
+    bom.setCode("BOM-%03d".formatted(index));
+    bom.setProductId("ITEM-%03d".formatted(index));
+    bom.setRevision("1");
+    bom.setStatus(BomStatus.ACTIVE);
+    bom.setOwnerSub(OWNER);
+    bom.setComponents(components(componentCount));
+    return bom;
+  }
+
+  private static List<BomComponentEmbeddable> components(int count) {
+    List<BomComponentEmbeddable> components = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      BomComponentEmbeddable component = new BomComponentEmbeddable();
+      component.setItemId("PART-%03d".formatted(i));
+      component.setQuantity(BigDecimal.ONE);
+      component.setUom("pcs");
+      components.add(component);
+    }
+    return components;
+  }
+}
@@ -0,0 +1,230 @@
+package com.craftify.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.craftify.backend.error.ApiException;
+import com.craftify.backend.model.BomExplosion;
+import com.craftify.backend.model.BomStatus;
+import com.craftify.backend.persistence.projection.BomGraphRow;
+import com.craftify.backend.persistence.repository.BomRepository;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BomExplosionServiceTest {
+
+  private static final String OWNER = "owner-1";
+  private static final OffsetDateTime UPDATED_AT =
+      OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  private final BomRepository bomRepository = mock(BomRepository.class);
+  private final CurrentUserService currentUserService = mock(CurrentUserService.class);
+  private final BomExplosionService service =
+      new BomExplosionService(bomRepository, currentUserService);
+
+  @BeforeEach
+  void setUp() {
+    when(currentUserService.requiredSub()).thenReturn(OWNER);
+  }
+
+  @Test
+  void sharedSubAssemblyIsScaledWhereverItAppears() {
+    graph(
+        row("BOM-1", "BIKE", BomStatus.ACTIVE, "WHEEL", "2", "pcs"),
+        row("BOM-1", "BIKE", BomStatus.ACTIVE, "TRAILER", "1", "pcs"),
+        row("BOM-T", "TRAILER", BomStatus.ACTIVE, "WHEEL", "3", "pcs"),
+        row("BOM-W", "WHEEL", BomStatus.ACTIVE, "RUBBER", "0.5", "kg"),
+        row("BOM-W", "WHEEL", BomStatus.ACTIVE, "SPOKE", "4", "pcs"));
+
+    BomExplosion explosion = service.explode("bom-1", new BigDecimal("10"));
+
+    assertEquals("BOM-1", explosion.getBomId());
+    assertEquals("BIKE", explosion.getProductId());
+    assertEquals(3, explosion.getLevels());
+    assertEquals(
+        List.of(
+            "1 WHEEL BOM-W 2 20 pcs",
+            "2 RUBBER - 0.5 10 kg",
+            "2 SPOKE - 4 80 pcs",
+            "1 TRAILER BOM-T 1 10 pcs",
+            "2 WHEEL BOM-W 3 30 pcs",
+            "3 RUBBER - 0.5 15 kg",
+            "3 SPOKE - 4 120 pcs"),
+        tree(explosion));
+    assertEquals(List.of("RUBBER 25 kg", "SPOKE 200 pcs"), requirements(explosion));
+    verify(bomRepository).findGraphRows(OWNER);
+  }
+
+  @Test
+  void leavesAreTotalledPerItemAndUnit() {
+    graph(
+        row("BOM-1", "CAKE", BomStatus.ACTIVE, "SUGAR", "1", "kg"),
+        row("BOM-1", "CAKE", BomStatus.ACTIVE, "SUGAR", "200", "g"),
+        row("BOM-1", "CAKE", BomStatus.ACTIVE, "EGG", "3", "pcs"),
+        row("BOM-1", "CAKE", BomStatus.ACTIVE, "SUGAR", "0.5", "kg"));
+
+    BomExplosion explosion = service.explode("BOM-1", null);
+
+    assertEquals(0, BigDecimal.ONE.compareTo(explosion.getQuantity()));
+    assertEquals(1, explosion.getLevels());
+    assertEquals(List.of("EGG 3 pcs", "SUGAR 200 g", "SUGAR 1.5 kg"), requirements(explosion));
+  }
+
+  @Test
+  void activeSubAssemblyBomIsPreferred() {
+    graph(
+        row("BOM-1", "BIKE", BomStatus.ACTIVE, "WHEEL", "2", "pcs"),
+        row("BOM-WD", "WHEEL", BomStatus.DRAFT, UPDATED_AT.plusDays(3), "RIM", "1", "pcs"),
+        row("BOM-WH", "WHEEL", BomStatus.HOLD, UPDATED_AT.plusDays(2), "RIM", "1", "pcs"),
+        row("BOM-WO", "WHEEL", BomStatus.OBSOLITE, UPDATED_AT.plusDays(4), "RIM", "1", "pcs"),
+        row("BOM-WA", "WHEEL", BomStatus.ACTIVE, UPDATED_AT, "RIM", "1", "pcs"));
+
+    assertEquals(
+        List.of("1 WHEEL BOM-WA 2 2 pcs", "2 RIM - 1 2 pcs"),
+        tree(service.explode("BOM-1", BigDecimal.ONE)));
+  }
+
+  @Test
+  void withoutAnActiveBomDraftThenHoldIsUsedAndObsoleteNever() {
+    graph(
+        row("BOM-1", "BIKE", BomStatus.ACTIVE, "WHEEL", "1", "pcs"),
+        row("BOM-1", "BIKE", BomStatus.ACTIVE, "FRAME", "1", "pcs"),
+        row("BOM-1", "BIKE", BomStatus.ACTIVE, "SADDLE", "1", "pcs"),
+        row("BOM-WH", "WHEEL", BomStatus.HOLD, UPDATED_AT.plusDays(1), "RIM", "1", "pcs"),
+        row("BOM-WD1", "WHEEL", BomStatus.DRAFT, UPDATED_AT, "RIM", "1", "pcs"),
+        row("BOM-WD2", "WHEEL", BomStatus.DRAFT, UPDATED_AT.plusDays(1), "RIM", "1", "pcs"),
+        row("BOM-F", "FRAME", BomStatus.HOLD, "TUBE", "3", "pcs"),
+        row("BOM-S", "SADDLE", BomStatus.OBSOLITE, "LEATHER", "1", "pcs"));
+
+    assertEquals(
+        List.of(
+            "1 WHEEL BOM-WD2 1 1 pcs",
+            "2 RIM - 1 1 pcs",
+            "1 FRAME BOM-F 1 1 pcs",
+            "2 TUBE - 3 3 pcs",
+            "1 SADDLE - 1 1 pcs"),
+        tree(service.explode("BOM-1", BigDecimal.ONE)));
+  }
+
+  @Test
+  void componentLoopIsRefused() {
+    graph(
+        row("BOM-A", "A", BomStatus.ACTIVE, "B", "1", "pcs"),
+        row("BOM-B", "B", BomStatus.ACTIVE, "A", "1", "pcs"));
+
+    ApiException ex = assertThrows(ApiException.class, () -> service.explode("BOM-A", null));
+    assertEquals("bom_cycle", ex.getErrorCode());
+  }
+
+  @Test
+  void bomConsumingItsOwnProductIsRefused() {
+    graph(row("BOM-A", "A", BomStatus.DRAFT, "A", "1", "pcs"));
+
+    ApiException ex = assertThrows(ApiException.class, () -> service.explode("BOM-A", null));
+    assertEquals("bom_cycle", ex.getErrorCode());
+  }
+
+  @Test
+  void treeLargerThanTheCapIsRefused() {
+    // Each level uses the one below twice, so the tree doubles per level while the graph stays
+    // small: 17 levels are about 3 * 2^16 lines.
+    graph(doublingChain(17));
+
+    ApiException ex = assertThrows(ApiException.class, () -> service.explode("BOM-17", null));
+    assertEquals("bom_explosion_too_large", ex.getErrorCode());
+  }
+
+  @Test
+  void treeBelowTheCapIsExplodedFully() {
+    graph(doublingChain(12));
+
+    BomExplosion explosion = service.explode("BOM-12", null);
+
+    assertTrue(explosion.getTree().size() < BomExplosionService.MAX_TREE_LINES);
+    assertEquals(3 * (1 << 12) - 2, explosion.getTree().size());
+    assertEquals(13, explosion.getLevels());
+    assertEquals(List.of("LEAF 4096 pcs"), requirements(explosion));
+  }
+
+  @Test
+  void unknownBomAndNonPositiveQuantityAreRejected() {
+    graph(row("BOM-1", "BIKE", BomStatus.ACTIVE, "WHEEL", "1", "pcs"));
+
+    ApiException missing =
+        assertThrows(ApiException.class, () -> service.explode("BOM-2", BigDecimal.ONE));
+    ApiException zero =
+        assertThrows(ApiException.class, () -> service.explode("BOM-1", BigDecimal.ZERO));
+    assertEquals("bom_not_found", missing.getErrorCode());
+    assertEquals("invalid_quantity", zero.getErrorCode());
+  }
+
+  private void graph(BomGraphRow... rows) {
+    graph(List.of(rows));
+  }
+
+  private void graph(List<BomGraphRow> rows) {
+    when(bomRepository.findGraphRows(OWNER)).thenReturn(rows);
+  }
+
+  /** BOM-0 makes P0 from one LEAF; BOM-n makes Pn from two lines of P(n-1). */
+  private static List<BomGraphRow> doublingChain(int levels) {
+    List<BomGraphRow> rows = new ArrayList<>();
+    rows.add(row("BOM-0", "P0", BomStatus.ACTIVE, "LEAF", "1", "pcs"));
+    for (int n = 1; n <= levels; n++) {
+      rows.add(row("BOM-" + n, "P" + n, BomStatus.ACTIVE, "P" + (n - 1), "1", "pcs"));
+      rows.add(row("BOM-" + n, "P" + n, BomStatus.ACTIVE, "P" + (n - 1), "1", "pcs"));
+    }
+    return rows;
+  }
+
+  private static BomGraphRow row(
+      String code, String productId, BomStatus status, String itemId, String qty, String uom) {
+    return row(code, productId, status, UPDATED_AT, itemId, qty, uom);
+  }
+
+  private static BomGraphRow row(
+      String code,
+      String productId,
+      BomStatus status,
+      OffsetDateTime updatedAt,
+      String itemId,
+      String qty,
+      String uom) {
+    return new BomGraphRow(code, productId, status, updatedAt, itemId, new BigDecimal(qty), uom);
+  }
+
+  /** Tree lines as "level item bom quantityPer quantity uom", with "-" for leaves. */
+  private static List<String> tree(BomExplosion explosion) {
+    return explosion.getTree().stream()
+        .map(
+            line ->
+                String.join(
+                    " ",
+                    String.valueOf(line.getLevel()),
+                    line.getItemId(),
+                    line.getBomId() == null ? "-" : line.getBomId(),
+                    plain(line.getQuantityPer()),
+                    plain(line.getQuantity()),
+                    line.getUom()))
+        .toList();
+  }
+
+  private static List<String> requirements(BomExplosion explosion) {
+    return explosion.getRequirements().stream()
+        .map(r -> r.getItemId() + " " + plain(r.getQuantity()) + " " + r.getUom())
+        .toList();
+  }
+
+  private static String plain(BigDecimal value) {
+    return value.stripTrailingZeros().toPlainString();
+  }
+}
@@ -0,0 +1,278 @@
+package com.craftify.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.craftify.backend.PostgresTestConfiguration;
+import com.craftify.backend.config.CodeSequenceProperties;
+import com.craftify.backend.service.InventoryBulkImportService.RejectedRow;
+import com.craftify.backend.service.InventoryBulkImportService.Rejection;
+import com.craftify.backend.service.InventoryBulkImportService.Result;
+import com.craftify.backend.service.InventoryBulkImportService.StagedRow;
+import com.craftify.backend.service.InventoryBulkImportService.Violation;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Runs outside a test transaction: the staging table is dropped when the import commits. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  PostgresTestConfiguration.class,
+  InventoryBulkImportService.class,
+  CodeSequenceService.class,
+  CollectionVersionService.class
+})
+@EnableConfigurationProperties(CodeSequenceProperties.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryBulkImportServiceTest {
+
+  private static final String OWNER = "bulk-owner";
+
+  @Autowired private InventoryBulkImportService service;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @MockitoBean private CurrentUserService currentUserService;
+
+  @BeforeEach
+  void setUp() {
+    when(currentUserService.requiredSub()).thenReturn(OWNER);
+    jdbcTemplate.update(
+        """
+        insert into inventory (id, code, item_id, item_name, item_category_name,
+          category_detached, category_name, uom, available, owner_sub, created_at, updated_at,
+          version)
+        values (gen_random_uuid(), 'INV-001', 'ITEM-A', 'Flour', 'Raw', false, 'Raw', 'kg', 1,
+          ?, now(), now(), 0)
+        """,
+        OWNER);
+  }
+
+  @AfterEach
+  void tearDown() {
+    for (String table :
+        List.of(
+            "inventory", "categories", "code_sequences", "collection_versions", "sync_changes")) {
+      jdbcTemplate.update("delete from " + table + " where owner_sub = ?", OWNER);
+    }
+  }
+
+  @Test
+  void copiesRowsAndCountsInsertsAndUpdatesApart() throws IOException {
+    Result result =
+        service.importRows(
+            sink -> {
+              sink.add(row(2, "inv-001", "item-a", "5"));
+              sink.add(
+                  new StagedRow(
+                      3,
+                      "INV-002",
+                      "ITEM-B",
+                      "Bolt, \"M6\"\nzinc",
+                      "Hardware",
+                      false,
+                      null,
+                      "pcs",
+                      new BigDecimal("12.5")));
+              sink.add(row(4, " ", "ITEM-C", "3"));
+              return true;
+            },
+            false);
+
+    assertTrue(result.completed());
+    assertEquals(2, result.created());
+    assertEquals(1, result.updated());
+    assertEquals(List.of(), result.rejected());
+    assertEquals(new BigDecimal("5.000000"), available("INV-001"));
+    assertEquals(1L, version("INV-001"));
+    assertEquals(
+        "Bolt, \"M6\"\nzinc",
+        jdbcTemplate.queryForObject(
+            "select item_name from inventory where owner_sub = ? and code = 'INV-002'",
+            String.class,
+            OWNER));
+    String generated =
+        jdbcTemplate.queryForObject(
+            "select code from inventory where owner_sub = ? and item_id = 'ITEM-C'",
+            String.class,
+            OWNER);
+    assertTrue(generated.startsWith("INV-") && !generated.equals("INV-001"), generated);
+    assertEquals(
+        2,
+        jdbcTemplate.queryForObject(
+            "select count(*) from categories where owner_sub = ?", Integer.class, OWNER));
+  }
+
+  @Test
+  void upsertKeepsTheLastRowForACodeAndCountsTheOthersAsUpdated() throws IOException {
+    Result result =
+        service.importRows(
+            sink -> {
+              sink.add(row(2, "INV-010", "ITEM-D", "1"));
+              sink.add(row(3, "INV-010", "ITEM-D", "2"));
+              sink.add(row(4, "INV-010", "ITEM-D", "3"));
+              return true;
+            },
+            false);
+
+    assertEquals(1, result.created());
+    assertEquals(2, result.updated());
+    assertEquals(List.of(), result.rejected());
+    assertEquals(new BigDecimal("3.000000"), available("INV-010"));
+  }
+
+  @Test
+  void createOnlyKeepsTheFirstRowForACodeAndRejectsExistingCodes() throws IOException {
+    Result result =
+        service.importRows(
+            sink -> {
+              sink.add(row(2, "INV-010", "ITEM-D", "1"));
+              sink.add(row(3, "INV-010", "ITEM-D", "2"));
+              sink.add(row(4, "INV-001", "ITEM-A", "9"));
+              return true;
+            },
+            true);
+
+    assertEquals(1, result.created());
+    assertEquals(0, result.updated());
+    assertEquals(
+        List.of(
+            new RejectedRow(3, Rejection.CREATE_ONLY_CONFLICT),
+            new RejectedRow(4, Rejection.CREATE_ONLY_CONFLICT)),
+        result.rejected());
+    assertEquals(new BigDecimal("1.000000"), available("INV-010"));
+    assertEquals(new BigDecimal("1.000000"), available("INV-001"));
+  }
+
+  @Test
+  void rejectedRowsAreReportedByRowNumber() throws IOException {
+    Result result =
+        service.importRows(
+            sink -> {
+              sink.add(row(2, "INV-005", "ITEM-A", "1"));
+              sink.add(row(3, "INV-006", "ITEM-B", "1"));
+              sink.add(row(4, "INV-007", "ITEM-B", "1"));
+              return true;
+            },
+            false);
+
+    assertEquals(1, result.created());
+    assertEquals(0, result.updated());
+    assertEquals(
+        List.of(
+            new RejectedRow(2, Rejection.ITEM_ALREADY_STOCKED),
+            new RejectedRow(4, Rejection.ITEM_ALREADY_STOCKED)),
+        result.rejected());
+    assertEquals(Map.of("INV-001", "ITEM-A", "INV-006", "ITEM-B"), stock());
+  }
+
+  @Test
+  void rowRestatingTheExistingCodeSurvivesAnEarlierRejectedMove() throws IOException {
+    Result result =
+        service.importRows(
+            sink -> {
+              sink.add(row(2, "INV-009", "ITEM-A", "4"));
+              sink.add(row(3, "INV-001", "ITEM-A", "7"));
+              return true;
+            },
+            false);
+
+    assertEquals(0, result.created());
+    assertEquals(1, result.updated());
+    assertEquals(List.of(new RejectedRow(2, Rejection.ITEM_ALREADY_STOCKED)), result.rejected());
+    assertEquals(new BigDecimal("7.000000"), available("INV-001"));
+  }
+
+  @Test
+  void abandonedImportWritesNothing() throws IOException {
+    Result result =
+        service.importRows(
+            sink -> {
+              sink.add(row(2, "INV-002", "ITEM-B", "1"));
+              return false;
+            },
+            false);
+
+    assertEquals(new Result(false, 0, 0, List.of()), result);
+    assertEquals(Map.of("INV-001", "ITEM-A"), stock());
+  }
+
+  @Test
+  void violationsNameTheValuesTheStagingTableCannotHold() {
+    StagedRow row =
+        new StagedRow(
+            2,
+            "C".repeat(65),
+            "ITEM-A",
+            "N".repeat(201),
+            "Raw",
+            true,
+            "D".repeat(101),
+            "kg",
+            new BigDecimal("-1E13"));
+
+    assertEquals(
+        List.of(
+            new Violation("available", "Available is out of range"),
+            new Violation("code", "Code must be at most 64 characters"),
+            new Violation("itemName", "Item Name must be at most 200 characters"),
+            new Violation(
+                "detachedCategoryName", "Detached category must be at most 100 characters")),
+        row.violations());
+    assertEquals(List.of(), row(3, null, "ITEM-A", "9999999999999.999999").violations());
+  }
+
+  private static StagedRow row(int rowNumber, String code, String itemId, String available) {
+    return new StagedRow(
+        rowNumber,
+        code,
+        itemId,
+        "Item " + itemId,
+        "Raw",
+        false,
+        null,
+        "kg",
+        new BigDecimal(available));
+  }
+
+  private BigDecimal available(String code) {
+    return jdbcTemplate.queryForObject(
+        "select available from inventory where owner_sub = ? and code = ?",
+        BigDecimal.class,
+        OWNER,
+        code);
+  }
+
+  private long version(String code) {
+    return jdbcTemplate.queryForObject(
+        "select version from inventory where owner_sub = ? and code = ?", Long.class, OWNER, code);
+  }
+
+  /** Code to item of the owner's inventory records. */
+  private Map<String, String> stock() {
+    return jdbcTemplate.query(
+        "select code, item_id from inventory where owner_sub = ?",
+        rs -> {
+          Map<String, String> stock = new HashMap<>();
+          while (rs.next()) {
+            stock.put(rs.getString("code"), rs.getString("item_id"));
+          }
+          return stock;
+        },
+        OWNER);
+  }
+}
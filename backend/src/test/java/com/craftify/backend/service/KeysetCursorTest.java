@@ -0,0 +1,145 @@
+package com.craftify.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.craftify.backend.PostgresTestConfiguration;
+import com.craftify.backend.error.ApiException;
+import com.craftify.backend.model.BomStatus;
+import com.craftify.backend.persistence.entity.BomEntity;
+import com.craftify.backend.persistence.projection.BomListRow;
+import com.craftify.backend.persistence.repository.BomRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestConfiguration.class)
+class KeysetCursorTest {
+
+  private static final String OWNER = "cursor-owner";
+
+  /** Product names in insertion order: ties on both sides of the NULL boundary. */
+  private static final String[] PRODUCT_NAMES = {
+    "Beta", null, "Alpha", "Gamma", null, "Alpha", "Beta", null, "Alpha"
+  };
+
+  @Autowired private BomRepository bomRepository;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < PRODUCT_NAMES.length; i++) {
+      BomEntity bom = new BomEntity();
+      bom.setCode("CUR-%02d".formatted(i));
+      bom.setProductId("ITEM-%02d".formatted(i));
+      bom.setProductName(PRODUCT_NAMES[i]);
+      bom.setRevision("1");
+      bom.setStatus(BomStatus.ACTIVE);
+      bom.setOwnerSub(OWNER);
+      bomRepository.save(bom);
+    }
+    bomRepository.flush();
+  }
+
+  @ParameterizedTest
+  @EnumSource(Sort.Direction.class)
+  void cursorPagesMatchTheFullOrderAcrossTheNullBoundary(Sort.Direction direction) {
+    Sort sort = KeysetCursor.withTieBreaker(Sort.by(direction, "productName"));
+    List<BomListRow> all = bomRepository.findListRows(ownedBy(OWNER), sort, 100);
+    assertEquals(PRODUCT_NAMES.length, all.size());
+    assertNullPlacement(direction, all);
+
+    for (int size = 1; size <= PRODUCT_NAMES.length; size++) {
+      assertEquals(codes(all), codes(readAllPages(sort, size)), "page size " + size);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(Sort.Direction.class)
+  void cursorAfterEachRowSeeksToTheRestOfTheOrder(Sort.Direction direction) {
+    Sort sort = KeysetCursor.withTieBreaker(Sort.by(direction, "productName"));
+    List<BomListRow> all = bomRepository.findListRows(ownedBy(OWNER), sort, 100);
+
+    for (int i = 0; i < all.size(); i++) {
+      String token = KeysetCursor.after(all.get(i), sort).encode();
+      List<BomListRow> rest =
+          bomRepository.findListRows(
+              ownedBy(OWNER).and(KeysetCursor.decode(token, sort).toSpecification()), sort, 100);
+      assertEquals(codes(all.subList(i + 1, all.size())), codes(rest), "after row " + i);
+    }
+  }
+
+  @Test
+  void blankTokenMeansFirstPage() {
+    assertNull(KeysetCursor.decode(" ", Sort.by("productName")));
+  }
+
+  @Test
+  void tokenForAnotherSortIsRejected() {
+    BomListRow row = bomRepository.findListRows(ownedBy(OWNER), Sort.by("code"), 1).getFirst();
+    String token = KeysetCursor.after(row, Sort.by(Sort.Direction.ASC, "productName")).encode();
+
+    ApiException desc =
+        assertThrows(
+            ApiException.class,
+            () -> KeysetCursor.decode(token, Sort.by(Sort.Direction.DESC, "productName")));
+    ApiException otherKey =
+        assertThrows(ApiException.class, () -> KeysetCursor.decode(token, Sort.by("code")));
+    assertEquals("invalid_cursor", desc.getErrorCode());
+    assertEquals("invalid_cursor", otherKey.getErrorCode());
+  }
+
+  @Test
+  void garbledTokenIsRejected() {
+    ApiException ex =
+        assertThrows(
+            ApiException.class, () -> KeysetCursor.decode("not a cursor", Sort.by("code")));
+    assertEquals("invalid_cursor", ex.getErrorCode());
+  }
+
+  private List<BomListRow> readAllPages(Sort sort, int size) {
+    List<BomListRow> seen = new ArrayList<>();
+    String after = null;
+    do {
+      KeysetCursor cursor = KeysetCursor.decode(after, sort);
+      Specification<BomEntity> spec =
+          cursor == null ? ownedBy(OWNER) : ownedBy(OWNER).and(cursor.toSpecification());
+      List<BomListRow> rows = bomRepository.findListRows(spec, sort, size + 1);
+      boolean hasMore = rows.size() > size;
+      List<BomListRow> content = hasMore ? rows.subList(0, size) : rows;
+      seen.addAll(content);
+      after = hasMore ? KeysetCursor.after(content.getLast(), sort).encode() : null;
+    } while (after != null && seen.size() <= PRODUCT_NAMES.length);
+    return seen;
+  }
+
+  /** PostgreSQL puts NULLs last when ascending and first when descending. */
+  private static void assertNullPlacement(Sort.Direction direction, List<BomListRow> rows) {
+    long nulls = Arrays.stream(PRODUCT_NAMES).filter(name -> name == null).count();
+    List<BomListRow> expectedNull =
+        direction.isAscending()
+            ? rows.subList(rows.size() - (int) nulls, rows.size())
+            : rows.subList(0, (int) nulls);
+    expectedNull.forEach(row -> assertNull(row.productName(), row.code()));
+  }
+
+  private static List<String> codes(List<BomListRow> rows) {
+    return rows.stream().map(BomListRow::code).toList();
+  }
+
+  private static Specification<BomEntity> ownedBy(String ownerSub) {
+    return (root, cq, cb) -> cb.equal(root.get("ownerSub"), ownerSub);
+  }
+}
@@ -0,0 +1,167 @@
+package com.craftify.backend.service.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.craftify.backend.PostgresTestConfiguration;
+import com.craftify.backend.config.CodeSequenceProperties;
+import com.craftify.backend.config.LookupCacheProperties;
+import com.craftify.backend.error.ApiException;
+import com.craftify.backend.model.BomComponent;
+import com.craftify.backend.model.BomStatus;
+import com.craftify.backend.model.ImportResultErrorsInner;
+import com.craftify.backend.service.BomService;
+import com.craftify.backend.service.BomService.BomImport;
+import com.craftify.backend.service.CodeLookupService;
+import com.craftify.backend.service.CodeSequenceService;
+import com.craftify.backend.service.CollectionVersionService;
+import com.craftify.backend.service.CurrentUserService;
+import com.craftify.backend.service.ItemReferenceService;
+import com.craftify.backend.service.SyncChangeService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Component loops through {@link BomService#importChunk} and {@link BomChunkWriter}, checked by the
+ * recursive query over {@code item_references}. Runs outside a test transaction so that a chunk
+ * failing with {@code bom_cycle} rolls back on its own, as it does in an import.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  PostgresTestConfiguration.class,
+  BomService.class,
+  ItemReferenceService.class,
+  CodeSequenceService.class,
+  CodeLookupService.class,
+  CollectionVersionService.class,
+  SyncChangeService.class
+})
+@EnableConfigurationProperties({CodeSequenceProperties.class, LookupCacheProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BomImportCycleTest {
+
+  private static final String OWNER = "cycle-owner";
+
+  @Autowired private BomService bomService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @MockitoBean private CurrentUserService currentUserService;
+
+  @BeforeEach
+  void setUp() {
+    when(currentUserService.requiredSub()).thenReturn(OWNER);
+    for (String code : List.of("A", "B", "C", "S", "TOP", "LEFT", "RIGHT", "BASE", "BOLT")) {
+      jdbcTemplate.update(
+          """
+          insert into items (id, code, name, status, category_name, uom_base, owner_sub,
+            created_at, updated_at, version)
+          values (gen_random_uuid(), ?, ?, 'ACTIVE', 'Parts', 'pcs', ?, now(), now(), 0)
+          """,
+          code,
+          "Item " + code,
+          OWNER);
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    for (String table :
+        List.of(
+            "item_references",
+            "boms",
+            "items",
+            "code_sequences",
+            "collection_versions",
+            "sync_changes")) {
+      jdbcTemplate.update("delete from " + table + " where owner_sub = ?", OWNER);
+    }
+  }
+
+  @Test
+  void bomClosingALoopWithAStoredBomIsRefused() {
+    bomService.importChunk(List.of(bom(1, "BOM-A", "A", "B")), false);
+
+    ApiException ex =
+        assertThrows(
+            ApiException.class,
+            () -> bomService.importChunk(List.of(bom(2, "BOM-B", "B", "A")), false));
+
+    assertEquals("bom_cycle", ex.getErrorCode());
+    assertEquals(List.of("BOM-A"), storedCodes());
+  }
+
+  @Test
+  void bomUsingItsOwnProductIsRefused() {
+    ApiException ex =
+        assertThrows(
+            ApiException.class,
+            () -> bomService.importChunk(List.of(bom(1, "BOM-S", "S", "BOLT", "S")), false));
+
+    assertEquals("bom_cycle", ex.getErrorCode());
+    assertEquals(List.of(), storedCodes());
+  }
+
+  @Test
+  void chunkClosingALoopIsRetriedBomByBom() {
+    bomService.importChunk(List.of(bom(1, "BOM-A", "A", "B")), false);
+    List<ImportResultErrorsInner> errors = new ArrayList<>();
+    BomChunkWriter writer = new BomChunkWriter(bomService, false, 10, errors);
+
+    writer.add(bom(2, "BOM-C", "C", "BOLT"));
+    writer.add(bom(3, "BOM-B", "B", "A"));
+    writer.add(bom(4, "BOM-TOP", "TOP", "BOLT"));
+    writer.flush();
+
+    assertEquals(2, writer.created());
+    assertEquals(0, writer.updated());
+    assertEquals(1, errors.size());
+    assertEquals(3, errors.getFirst().getRow());
+    assertEquals("componentItemId", errors.getFirst().getField());
+    assertEquals(List.of("BOM-A", "BOM-C", "BOM-TOP"), storedCodes());
+  }
+
+  @Test
+  void diamondIsNotALoop() {
+    List<ImportResultErrorsInner> errors = new ArrayList<>();
+    BomChunkWriter writer = new BomChunkWriter(bomService, false, 10, errors);
+
+    writer.add(bom(1, "BOM-TOP", "TOP", "LEFT", "RIGHT"));
+    writer.add(bom(2, "BOM-LEFT", "LEFT", "BASE"));
+    writer.add(bom(3, "BOM-RIGHT", "RIGHT", "BASE"));
+    writer.add(bom(4, "BOM-BASE", "BASE", "BOLT"));
+    writer.flush();
+
+    assertEquals(List.of(), errors);
+    assertEquals(4, writer.created());
+    // Changing the shared base afterwards must not be mistaken for a loop either.
+    bomService.importChunk(List.of(bom(5, "BOM-BASE", "BASE", "BOLT", "C")), false);
+    assertEquals(List.of("BOM-BASE", "BOM-LEFT", "BOM-RIGHT", "BOM-TOP"), storedCodes());
+  }
+
+  private static BomImport bom(int index, String code, String productId, String... components) {
+    List<BomComponent> lines =
+        Arrays.stream(components)
+            .map(item -> new BomComponent().itemId(item).quantity(1.0).uom("pcs"))
+            .toList();
+    return new BomImport(index, code, productId, null, "1", BomStatus.ACTIVE, null, null, lines);
+  }
+
+  private List<String> storedCodes() {
+    return jdbcTemplate.queryForList(
+        "select code from boms where owner_sub = ? order by code", String.class, OWNER);
+  }
+}
@@ -0,0 +1,156 @@
+package com.craftify.backend.service.csv;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.craftify.backend.PostgresTestConfiguration;
+import com.craftify.backend.config.CodeSequenceProperties;
+import com.craftify.backend.config.ImportJobProperties;
+import com.craftify.backend.config.JacksonConfig;
+import com.craftify.backend.model.ImportJob;
+import com.craftify.backend.persistence.entity.ImportJobEntity;
+import com.craftify.backend.persistence.entity.ImportJobEntity.Status;
+import com.craftify.backend.persistence.repository.ImportJobRepository;
+import com.craftify.backend.service.CodeSequenceService;
+import com.craftify.backend.service.CollectionVersionService;
+import com.craftify.backend.service.CurrentUserService;
+import com.craftify.backend.service.InventoryBulkImportService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * An inventory import run as a job, with progress written on every row. The whole file is staged in
+ * one transaction, so this checks that progress is committed while it is open and that a cancel
+ * request gets through.
+ */
+@DataJpaTest(properties = "craftify.imports.progress-interval=0s")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  PostgresTestConfiguration.class,
+  JacksonConfig.class,
+  ImportJobService.class,
+  InventoryCsvImportService.class,
+  InventoryBulkImportService.class,
+  CodeSequenceService.class,
+  CollectionVersionService.class
+})
+@EnableConfigurationProperties({ImportJobProperties.class, CodeSequenceProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryImportJobTest {
+
+  private static final String OWNER = "import-job-owner";
+  /** More than one {@code COPY} batch. */
+  private static final int ROWS = 6_000;
+
+  @Autowired private ImportJobService importJobService;
+  @Autowired private ImportJobRepository importJobRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @MockitoBean private CurrentUserService currentUserService;
+  @MockitoBean private ItemsCsvImportService itemsCsvImportService;
+  @MockitoBean private BomsCsvImportService bomsCsvImportService;
+
+  @BeforeEach
+  void setUp() {
+    when(currentUserService.requiredSub()).thenReturn(OWNER);
+  }
+
+  @AfterEach
+  void tearDown() {
+    for (String table :
+        List.of(
+            "inventory",
+            "categories",
+            "code_sequences",
+            "collection_versions",
+            "sync_changes",
+            "import_jobs")) {
+      jdbcTemplate.update("delete from " + table + " where owner_sub = ?", OWNER);
+    }
+  }
+
+  @Test
+  void progressIsCommittedWhileTheFileIsStaged() throws Exception {
+    UUID jobId = submit();
+
+    int seen = awaitProgress(jobId);
+    ImportJobEntity job = awaitFinished(jobId);
+
+    assertTrue(seen > 0 && seen < ROWS, "progress seen mid-import: " + seen);
+    assertEquals(Status.SUCCEEDED, job.getStatus());
+    assertEquals(ROWS, job.getRowsProcessed());
+    assertEquals(ROWS, job.getCreatedCount());
+    assertEquals(0, job.getErrorCount());
+    assertEquals(ROWS, inventoryCount());
+  }
+
+  @Test
+  void cancelRequestStopsTheImportAndWritesNothing() throws Exception {
+    UUID jobId = submit();
+
+    awaitProgress(jobId);
+    ImportJob cancelled = importJobService.cancel(jobId);
+    ImportJobEntity job = awaitFinished(jobId);
+
+    assertTrue(cancelled.isCancelRequested());
+    assertEquals(Status.CANCELLED, job.getStatus());
+    assertEquals(0, inventoryCount());
+  }
+
+  private UUID submit() throws IOException {
+    StringBuilder csv = new StringBuilder("Code,Item Ref,Item Name,Category,UoM,Available\n");
+    for (int i = 1; i <= ROWS; i++) {
+      csv.append("INV-J%05d,ITEM-J%05d,Item %d,Raw,kg,%d\n".formatted(i, i, i, i));
+    }
+    Path file = Files.createTempFile("inventory-import", ".csv");
+    Files.writeString(file, csv);
+    return importJobService
+        .submit("inventory", file, "inventory.csv", Files.size(file), "upsert")
+        .getId();
+  }
+
+  /** Waits until the running job has committed progress and returns the rows it reported. */
+  private int awaitProgress(UUID jobId) throws InterruptedException {
+    long deadline = System.nanoTime() + 60_000_000_000L;
+    while (System.nanoTime() < deadline) {
+      ImportJobEntity job = importJobRepository.findById(jobId).orElseThrow();
+      if (job.getStatus() != Status.QUEUED && job.getRowsProcessed() > 0) {
+        return job.getRowsProcessed();
+      }
+      Thread.sleep(5);
+    }
+    throw new AssertionError("no progress from import job " + jobId);
+  }
+
+  private ImportJobEntity awaitFinished(UUID jobId) throws InterruptedException {
+    long deadline = System.nanoTime() + 120_000_000_000L;
+    while (System.nanoTime() < deadline) {
+      ImportJobEntity job = importJobRepository.findById(jobId).orElseThrow();
+      if (job.getStatus() != Status.QUEUED && job.getStatus() != Status.RUNNING) {
+        return job;
+      }
+      Thread.sleep(20);
+    }
+    throw new AssertionError("import job " + jobId + " did not finish");
+  }
+
+  private int inventoryCount() {
+    return jdbcTemplate.queryForObject(
+        "select count(*) from inventory where owner_sub = ?", Integer.class, OWNER);
+  }
+}